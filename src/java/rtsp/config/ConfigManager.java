@@ -4,6 +4,7 @@ import org.apache.commons.net.ntp.TimeStamp;
 import org.ini4j.Ini;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rtsp.module.egress.RtpEgressFactory;
 import rtsp.module.sdp.SdpParser;
 import rtsp.module.sdp.base.Sdp;
 import rtsp.service.ServiceManager;
@@ -30,6 +31,7 @@ public class ConfigManager {
     public static final String SECTION_NETWORK = "NETWORK"; // NETWORK Section 이름
     public static final String SECTION_HLS = "HLS"; // HLS Section 이름
     public static final String SECTION_REGISTER = "REGISTER"; // REGISTER Section 이름
+    public static final String SECTION_STREAM = "STREAM"; // STREAM Section 이름
     private static final String SECTION_SDP = "SDP"; // SDP Section 이름
 
     // Field String
@@ -46,6 +48,9 @@ public class ConfigManager {
     public static final String FIELD_LOCAL_RTSP_REGISTER_LISTEN_PORT = "LOCAL_RTSP_REGISTER_LISTEN_PORT";
     public static final String FIELD_LOCAL_RTSP_LISTEN_PORT = "LOCAL_RTSP_LISTEN_PORT";
     public static final String FIELD_LOCAL_RTCP_LISTEN_PORT = "LOCAL_RTCP_LISTEN_PORT";
+    public static final String FIELD_LOCAL_METRICS_LISTEN_PORT = "LOCAL_METRICS_LISTEN_PORT";
+    public static final String FIELD_RTSP_IO_TIMEOUT = "RTSP_IO_TIMEOUT";
+    public static final String FIELD_RTSP_IO_MAX_PENDING = "RTSP_IO_MAX_PENDING";
     public static final String FIELD_TARGET_RTP_PORT_MIN = "TARGET_RTP_PORT_MIN";
     public static final String FIELD_TARGET_RTP_PORT_MAX = "TARGET_RTP_PORT_MAX";
 
@@ -55,6 +60,25 @@ public class ConfigManager {
     public static final String FIELD_DELETE_M3U8 = "DELETE_M3U8";
     public static final String FIELD_DELETE_TS = "DELETE_TS";
 
+    public static final String FIELD_FAST_START_ENABLE = "FAST_START_ENABLE";
+    public static final String FIELD_FAST_START_MODE = "FAST_START_MODE";
+    public static final String FIELD_FAST_START_DURATION = "FAST_START_DURATION";
+    public static final String FIELD_FAST_START_RATE = "FAST_START_RATE";
+    public static final String FIELD_RTX_ENABLE = "RTX_ENABLE";
+    public static final String FIELD_RTX_PAYLOAD_TYPE = "RTX_PAYLOAD_TYPE";
+    public static final String FIELD_RTX_CACHE_SIZE = "RTX_CACHE_SIZE";
+    public static final String FIELD_RTX_TIME = "RTX_TIME";
+    public static final String FIELD_RTX_MAX_RATE = "RTX_MAX_RATE";
+    public static final String FIELD_FEC_ENABLE = "FEC_ENABLE";
+    public static final String FIELD_FEC_COLUMNS = "FEC_COLUMNS";
+    public static final String FIELD_FEC_ROWS = "FEC_ROWS";
+    public static final String FIELD_FEC_COLUMN_PAYLOAD_TYPE = "FEC_COLUMN_PAYLOAD_TYPE";
+    public static final String FIELD_FEC_ROW_PAYLOAD_TYPE = "FEC_ROW_PAYLOAD_TYPE";
+    public static final String FIELD_RTCP_SR_ENABLE = "RTCP_SR_ENABLE";
+    public static final String FIELD_RTCP_SESSION_BANDWIDTH = "RTCP_SESSION_BANDWIDTH";
+    public static final String FIELD_RTCP_MIN_INTERVAL = "RTCP_MIN_INTERVAL";
+    public static final String FIELD_RTP_EGRESS = "RTP_EGRESS";
+
     private static final String FIELD_REALM = "REALM";
     private static final String FIELD_MAGIC_COOKIE = "MAGIC_COOKIE";
     private static final String FIELD_HASH_KEY = "HASH_KEY";
@@ -75,6 +99,9 @@ public class ConfigManager {
     private int localRtspRegisterListenPort = 0;
     private int localRtspListenPort = 0;
     private int localRtcpListenPort = 0;
+    private int localMetricsListenPort = 0; // 0 이면 통계 조회 (HTTP) 비활성화
+    private long rtspIoTimeout = 0; // ms, RTSP 요청 처리 중 블로킹 작업 (SDP 생성, 파일 분석, 송신 채널 연결) 제한 시간
+    private int rtspIoMaxPending = 0; // 동시에 대기/실행할 수 있는 RTSP 블로킹 작업 수
     private int targetRtpPortMin = 0;
     private int targetRtpPortMax = 0;
 
@@ -85,6 +112,28 @@ public class ConfigManager {
     private boolean deleteM3u8 = true;
     private boolean deleteTs = true;
 
+    // STREAM
+    public static final String FAST_START_MODE_GOP = "GOP";
+    public static final String FAST_START_MODE_DURATION = "DURATION";
+    private boolean isFastStartEnabled = false;
+    private String fastStartMode = FAST_START_MODE_GOP;
+    private long fastStartDuration = 0; // ms
+    private int fastStartRate = 1; // 실시간 대비 배속
+    private boolean isRtxEnabled = false;
+    private int rtxPayloadType = 96;
+    private int rtxCacheSize = 0; // packets
+    private long rtxTime = 0; // ms
+    private int rtxMaxRate = 0; // packets/sec
+    private boolean isFecEnabled = false;
+    private int fecColumns = 0; // L
+    private int fecRows = 0; // D
+    private int fecColumnPayloadType = 97;
+    private int fecRowPayloadType = 0; // 0 이면 Row FEC 비활성화
+    private boolean isRtcpSrEnabled = false;
+    private int rtcpSessionBandwidth = 0; // kbps
+    private long rtcpMinInterval = 0; // ms
+    private String rtpEgressType = RtpEgressFactory.TYPE_AUTO;
+
     // REGISTER
     private String realm;
     private String magicCookie;
@@ -122,6 +171,7 @@ public class ConfigManager {
             loadFfmpegConfig();
             loadNetworkConfig();
             loadHlsConfig();
+            loadStreamConfig();
             loadRegisterConfig();
             loadSdpConfig();
 
@@ -216,6 +266,24 @@ public class ConfigManager {
             System.exit(1);
         }
 
+        this.localMetricsListenPort = Integer.parseInt(getIniValue(SECTION_NETWORK, FIELD_LOCAL_METRICS_LISTEN_PORT));
+        if (this.localMetricsListenPort < 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_NETWORK, FIELD_LOCAL_METRICS_LISTEN_PORT, localMetricsListenPort);
+            System.exit(1);
+        }
+
+        this.rtspIoTimeout = Long.parseLong(getIniValue(SECTION_NETWORK, FIELD_RTSP_IO_TIMEOUT));
+        if (this.rtspIoTimeout <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_NETWORK, FIELD_RTSP_IO_TIMEOUT, rtspIoTimeout);
+            System.exit(1);
+        }
+
+        this.rtspIoMaxPending = Integer.parseInt(getIniValue(SECTION_NETWORK, FIELD_RTSP_IO_MAX_PENDING));
+        if (this.rtspIoMaxPending <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_NETWORK, FIELD_RTSP_IO_MAX_PENDING, rtspIoMaxPending);
+            System.exit(1);
+        }
+
         this.targetRtpPortMin = Integer.parseInt(getIniValue(SECTION_NETWORK, FIELD_TARGET_RTP_PORT_MIN));
         if (this.targetRtpPortMin <= 0) {
             logger.error("Fail to load [{}-{}]. ({})", SECTION_NETWORK, FIELD_TARGET_RTP_PORT_MIN, targetRtpPortMin);
@@ -261,6 +329,112 @@ public class ConfigManager {
         logger.debug("Load [{}] config...(OK)", SECTION_HLS);
     }
 
+    /**
+     * @fn private void loadStreamConfig()
+     * @brief STREAM Section 을 로드하는 함수
+     */
+    private void loadStreamConfig() {
+        this.isFastStartEnabled = Boolean.parseBoolean(getIniValue(SECTION_STREAM, FIELD_FAST_START_ENABLE));
+
+        this.fastStartMode = getIniValue(SECTION_STREAM, FIELD_FAST_START_MODE).toUpperCase();
+        if (!fastStartMode.equals(FAST_START_MODE_GOP) && !fastStartMode.equals(FAST_START_MODE_DURATION)) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FAST_START_MODE, fastStartMode);
+            System.exit(1);
+        }
+
+        this.fastStartDuration = Long.parseLong(getIniValue(SECTION_STREAM, FIELD_FAST_START_DURATION));
+        if (this.fastStartDuration <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FAST_START_DURATION, fastStartDuration);
+            System.exit(1);
+        }
+
+        this.fastStartRate = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_FAST_START_RATE));
+        if (this.fastStartRate < 1) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FAST_START_RATE, fastStartRate);
+            System.exit(1);
+        }
+
+        this.isRtxEnabled = Boolean.parseBoolean(getIniValue(SECTION_STREAM, FIELD_RTX_ENABLE));
+
+        this.rtxPayloadType = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_RTX_PAYLOAD_TYPE));
+        if (this.rtxPayloadType < 96 || this.rtxPayloadType > 127) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTX_PAYLOAD_TYPE, rtxPayloadType);
+            System.exit(1);
+        }
+
+        this.rtxCacheSize = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_RTX_CACHE_SIZE));
+        if (this.rtxCacheSize <= 0 || this.rtxCacheSize > 32768) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTX_CACHE_SIZE, rtxCacheSize);
+            System.exit(1);
+        }
+
+        this.rtxTime = Long.parseLong(getIniValue(SECTION_STREAM, FIELD_RTX_TIME));
+        if (this.rtxTime <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTX_TIME, rtxTime);
+            System.exit(1);
+        }
+
+        this.rtxMaxRate = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_RTX_MAX_RATE));
+        if (this.rtxMaxRate <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTX_MAX_RATE, rtxMaxRate);
+            System.exit(1);
+        }
+
+        this.isFecEnabled = Boolean.parseBoolean(getIniValue(SECTION_STREAM, FIELD_FEC_ENABLE));
+
+        // SMPTE 2022-1 : 1 <= L <= 20, 4 <= D <= 20, L x D <= 100 (Row FEC 는 L >= 4)
+        this.fecColumns = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_FEC_COLUMNS));
+        if (this.fecColumns < 1 || this.fecColumns > 20) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FEC_COLUMNS, fecColumns);
+            System.exit(1);
+        }
+
+        this.fecRows = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_FEC_ROWS));
+        if (this.fecRows < 4 || this.fecRows > 20 || this.fecColumns * this.fecRows > 100) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FEC_ROWS, fecRows);
+            System.exit(1);
+        }
+
+        this.fecColumnPayloadType = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_FEC_COLUMN_PAYLOAD_TYPE));
+        if (this.fecColumnPayloadType < 96 || this.fecColumnPayloadType > 127
+                || (isRtxEnabled && this.fecColumnPayloadType == rtxPayloadType)) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FEC_COLUMN_PAYLOAD_TYPE, fecColumnPayloadType);
+            System.exit(1);
+        }
+
+        this.fecRowPayloadType = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_FEC_ROW_PAYLOAD_TYPE));
+        if (this.fecRowPayloadType != 0
+                && (this.fecRowPayloadType < 96 || this.fecRowPayloadType > 127
+                || this.fecRowPayloadType == fecColumnPayloadType
+                || (isRtxEnabled && this.fecRowPayloadType == rtxPayloadType)
+                || this.fecColumns < 4)) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_FEC_ROW_PAYLOAD_TYPE, fecRowPayloadType);
+            System.exit(1);
+        }
+
+        this.isRtcpSrEnabled = Boolean.parseBoolean(getIniValue(SECTION_STREAM, FIELD_RTCP_SR_ENABLE));
+
+        this.rtcpSessionBandwidth = Integer.parseInt(getIniValue(SECTION_STREAM, FIELD_RTCP_SESSION_BANDWIDTH));
+        if (this.rtcpSessionBandwidth <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTCP_SESSION_BANDWIDTH, rtcpSessionBandwidth);
+            System.exit(1);
+        }
+
+        this.rtcpMinInterval = Long.parseLong(getIniValue(SECTION_STREAM, FIELD_RTCP_MIN_INTERVAL));
+        if (this.rtcpMinInterval <= 0) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTCP_MIN_INTERVAL, rtcpMinInterval);
+            System.exit(1);
+        }
+
+        this.rtpEgressType = getIniValue(SECTION_STREAM, FIELD_RTP_EGRESS).toUpperCase();
+        if (!RtpEgressFactory.isValidType(rtpEgressType)) {
+            logger.error("Fail to load [{}-{}]. ({})", SECTION_STREAM, FIELD_RTP_EGRESS, rtpEgressType);
+            System.exit(1);
+        }
+
+        logger.debug("Load [{}] config...(OK)", SECTION_STREAM);
+    }
+
     /**
      * @fn private void loadRegisterConfig()
      * @brief COMMON Section 을 로드하는 함수
@@ -337,6 +511,25 @@ public class ConfigManager {
     }
 
     public Sdp loadLocalSdpConfig(String id, int remotePort) {
+        return loadLocalSdpConfig(id, remotePort, 0, 0, 0, null);
+    }
+
+    /**
+     * @fn public Sdp loadLocalSdpConfig(String id, int remotePort, int ssrc, int rtxSsrc, int fecSsrc, String cname)
+     * @brief 로컬 SDP 를 생성하는 함수
+     * RTX 가 활성화되어 있으면 RTX Payload type (RFC 4588) 을 함께 명시한다.
+     * SSRC 를 지정하면 원본 스트림과 RTX 스트림의 SSRC 를 a=ssrc 로 명시하고, a=ssrc-group:FID 로 묶는다. (RFC 5576)
+     *      > SSRC 다중화 방식의 RTX 는 수신자가 이 정보로 재전송 스트림과 원본 스트림을 연결한다.
+     * FEC 가 활성화되어 있으면 FEC 스트림의 SSRC 도 a=ssrc 로 명시하고, a=ssrc-group:FEC-FR 로 묶는다. (RFC 5956)
+     * @param id RtspUnit ID
+     * @param remotePort Remote RTP port
+     * @param ssrc 원본 스트림 SSRC (0 이면 SSRC 를 명시하지 않는다.)
+     * @param rtxSsrc RTX SSRC (0 이면 명시하지 않는다.)
+     * @param fecSsrc FEC SSRC (0 이면 명시하지 않는다.)
+     * @param cname RTCP SDES 와 같은 CNAME
+     * @return 성공 시 Sdp, 실패 시 null 반환
+     */
+    public Sdp loadLocalSdpConfig(String id, int remotePort, int ssrc, int rtxSsrc, int fecSsrc, String cname) {
         try {
             StringBuilder sdpStr = new StringBuilder();
 
@@ -378,6 +571,15 @@ public class ConfigManager {
             sdpStr.append("m=");
             String media = String.format(this.media, remotePort, MP2T_TYPE);
             sdpStr.append(media);
+            if (isRtxEnabled) {
+                sdpStr.append(" ").append(rtxPayloadType);
+            }
+            if (isFecEnabled) {
+                sdpStr.append(" ").append(fecColumnPayloadType);
+                if (fecRowPayloadType > 0) {
+                    sdpStr.append(" ").append(fecRowPayloadType);
+                }
+            }
             sdpStr.append("\r\n");
 
             // 3-3) Attribute
@@ -385,6 +587,41 @@ public class ConfigManager {
             sdpStr.append(String.format(mp2tAttributeList[0], MP2T_TYPE));
             sdpStr.append("\r\n");
 
+            // 3-4) RTX (RFC 4588)
+            if (isRtxEnabled) {
+                sdpStr.append(String.format("a=rtpmap:%d rtx/90000\r\n", rtxPayloadType));
+                sdpStr.append(String.format("a=fmtp:%d apt=%d;rtx-time=%d\r\n", rtxPayloadType, MP2T_TYPE, rtxTime));
+            }
+
+            // 3-5) FEC (SMPTE 2022-1, RFC 6015 / ToP 0 = Column, 1 = Row)
+            if (isFecEnabled) {
+                sdpStr.append(String.format("a=rtpmap:%d 2dparityfec/90000\r\n", fecColumnPayloadType));
+                sdpStr.append(String.format("a=fmtp:%d L=%d;D=%d;ToP=0\r\n", fecColumnPayloadType, fecColumns, fecRows));
+                if (fecRowPayloadType > 0) {
+                    sdpStr.append(String.format("a=rtpmap:%d 2dparityfec/90000\r\n", fecRowPayloadType));
+                    sdpStr.append(String.format("a=fmtp:%d L=%d;D=%d;ToP=1\r\n", fecRowPayloadType, fecColumns, fecRows));
+                }
+            }
+
+            // 3-6) SSRC (RFC 5576)
+            if (ssrc != 0) {
+                boolean isRtxSsrcSet = isRtxEnabled && rtxSsrc != 0;
+                boolean isFecSsrcSet = isFecEnabled && fecSsrc != 0;
+                if (isRtxSsrcSet) {
+                    sdpStr.append(String.format("a=ssrc-group:FID %d %d\r\n", ssrc & 0xFFFFFFFFL, rtxSsrc & 0xFFFFFFFFL));
+                }
+                if (isFecSsrcSet) {
+                    sdpStr.append(String.format("a=ssrc-group:FEC-FR %d %d\r\n", ssrc & 0xFFFFFFFFL, fecSsrc & 0xFFFFFFFFL));
+                }
+                sdpStr.append(String.format("a=ssrc:%d cname:%s\r\n", ssrc & 0xFFFFFFFFL, cname));
+                if (isRtxSsrcSet) {
+                    sdpStr.append(String.format("a=ssrc:%d cname:%s\r\n", rtxSsrc & 0xFFFFFFFFL, cname));
+                }
+                if (isFecSsrcSet) {
+                    sdpStr.append(String.format("a=ssrc:%d cname:%s\r\n", fecSsrc & 0xFFFFFFFFL, cname));
+                }
+            }
+
             for (String attribute : attributeList) {
                 sdpStr.append("a=");
                 sdpStr.append(attribute);
@@ -493,6 +730,18 @@ public class ConfigManager {
         return localRtcpListenPort;
     }
 
+    public int getLocalMetricsListenPort() {
+        return localMetricsListenPort;
+    }
+
+    public long getRtspIoTimeout() {
+        return rtspIoTimeout;
+    }
+
+    public int getRtspIoMaxPending() {
+        return rtspIoMaxPending;
+    }
+
     public boolean isM3u8DirectConverting() {
         return isM3u8DirectConverting;
     }
@@ -517,6 +766,78 @@ public class ConfigManager {
         return deleteTs;
     }
 
+    public boolean isFastStartEnabled() {
+        return isFastStartEnabled;
+    }
+
+    public String getFastStartMode() {
+        return fastStartMode;
+    }
+
+    public long getFastStartDuration() {
+        return fastStartDuration;
+    }
+
+    public int getFastStartRate() {
+        return fastStartRate;
+    }
+
+    public boolean isRtxEnabled() {
+        return isRtxEnabled;
+    }
+
+    public int getRtxPayloadType() {
+        return rtxPayloadType;
+    }
+
+    public int getRtxCacheSize() {
+        return rtxCacheSize;
+    }
+
+    public long getRtxTime() {
+        return rtxTime;
+    }
+
+    public int getRtxMaxRate() {
+        return rtxMaxRate;
+    }
+
+    public boolean isFecEnabled() {
+        return isFecEnabled;
+    }
+
+    public int getFecColumns() {
+        return fecColumns;
+    }
+
+    public int getFecRows() {
+        return fecRows;
+    }
+
+    public int getFecColumnPayloadType() {
+        return fecColumnPayloadType;
+    }
+
+    public int getFecRowPayloadType() {
+        return fecRowPayloadType;
+    }
+
+    public boolean isRtcpSrEnabled() {
+        return isRtcpSrEnabled;
+    }
+
+    public int getRtcpSessionBandwidth() {
+        return rtcpSessionBandwidth;
+    }
+
+    public long getRtcpMinInterval() {
+        return rtcpMinInterval;
+    }
+
+    public String getRtpEgressType() {
+        return rtpEgressType;
+    }
+
     public String getRealm() {
         return realm;
     }
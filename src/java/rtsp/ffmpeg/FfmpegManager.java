@@ -18,6 +18,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
 import rtsp.service.AppInstance;
+import rtsp.service.jfr.JfrEvents;
+import rtsp.service.metric.ServerMetrics;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -93,6 +95,7 @@ public class FfmpegManager {
 
         ffprobeFrameLineCmd[ffprobeFrameLineCmd.length - 1] = srcFilePath;
 
+        Object jfrEvent = JfrEvents.beginFfmpeg();
         try {
             Process process = new ProcessBuilder(ffprobeFrameLineCmd).start();
             BufferedReader stdOut = new BufferedReader(new InputStreamReader(process.getInputStream()));
@@ -103,64 +106,75 @@ public class FfmpegManager {
             }
         } catch (Exception e) {
             logger.warn("FfmpegManager.getFrameLineList.Exception", e);
+            JfrEvents.commitFfmpeg(jfrEvent, JfrEvents.TOOL_FFPROBE, "frames", srcFilePath, false);
             return Collections.emptyList();
         }
 
+        JfrEvents.commitFfmpeg(jfrEvent, JfrEvents.TOOL_FFPROBE, "frames", srcFilePath, true);
         return frameLineList;
     }
 
     public String getFrameStartTime(String srcFilePath) {
         ffprobeFrameStartTimeCmd[ffprobeFrameStartTimeCmd.length - 1] = srcFilePath;
 
+        String result = null;
+        Object jfrEvent = JfrEvents.beginFfmpeg();
         try {
             Process process = new ProcessBuilder(ffprobeFrameStartTimeCmd).start();
             BufferedReader stdOut = new BufferedReader(new InputStreamReader(process.getInputStream()));
 
             String line;
             if ( (line = stdOut.readLine()) != null ) {
-                return line;
+                result = line;
             }
         } catch (Exception e) {
             logger.warn("FfmpegManager.getFrameStartTime.Exception", e);
         }
 
-        return null;
+        JfrEvents.commitFfmpeg(jfrEvent, JfrEvents.TOOL_FFPROBE, "start_time", srcFilePath, result != null);
+        return result;
     }
 
     public String getFps(String srcFilePath) {
         ffprobeFpsCmd[ffprobeFpsCmd.length - 1] = srcFilePath;
 
+        String result = null;
+        Object jfrEvent = JfrEvents.beginFfmpeg();
         try {
             Process process = new ProcessBuilder(ffprobeFpsCmd).start();
             BufferedReader stdOut = new BufferedReader(new InputStreamReader(process.getInputStream()));
 
             String line;
             if ( (line = stdOut.readLine()) != null ) {
-                return line;
+                result = line;
             }
         } catch (Exception e) {
             logger.warn("FfmpegManager.getFps.Exception", e);
         }
 
-        return null;
+        JfrEvents.commitFfmpeg(jfrEvent, JfrEvents.TOOL_FFPROBE, "fps", srcFilePath, result != null);
+        return result;
     }
 
     public String getTbn(String srcFilePath) {
         ffprobeTbnCmd[ffprobeTbnCmd.length - 1] = srcFilePath;
 
+        String result = null;
+        Object jfrEvent = JfrEvents.beginFfmpeg();
         try {
             Process process = new ProcessBuilder(ffprobeTbnCmd).start();
             BufferedReader stdOut = new BufferedReader(new InputStreamReader(process.getInputStream()));
 
             String line;
             if ( (line = stdOut.readLine()) != null ) {
-                return line;
+                result = line;
             }
         } catch (Exception e) {
             logger.warn("FfmpegManager.getTbn.Exception", e);
         }
 
-        return null;
+        JfrEvents.commitFfmpeg(jfrEvent, JfrEvents.TOOL_FFPROBE, "tbn", srcFilePath, result != null);
+        return result;
     }
 
     public double getFileTime(String srcFilePath) {
@@ -251,7 +265,17 @@ public class FfmpegManager {
             if (executor == null) {
                 executor = new FFmpegExecutor(ffmpeg, ffprobe);
             }
-            executor.createJob(builder).run();
+            ServerMetrics serverMetrics = ServerMetrics.getInstance();
+            long jobStartTime = serverMetrics.onFfmpegJobStarted();
+            Object jfrEvent = JfrEvents.beginFfmpeg();
+            boolean isJobSuccess = false;
+            try {
+                executor.createJob(builder).run();
+                isJobSuccess = true;
+            } finally {
+                serverMetrics.onFfmpegJobFinished(jobStartTime, isJobSuccess);
+                JfrEvents.commitFfmpeg(jfrEvent, JfrEvents.TOOL_FFMPEG, "hls", srcFilePath, isJobSuccess);
+            }
 
             /*FFmpegJob job = executor.createJob(builder, new ProgressListener() {
 
@@ -1,26 +1,36 @@
 package rtsp.fsm;
 
 /**
- * @class public class RtspEvent
- * @brief RtspEvent class
+ * @enum public enum RtspEvent
+ * @brief RTSP 세션 상태 전이 이벤트
  */
-public class RtspEvent {
+public enum RtspEvent {
 
-    public static final String IDLE = "idle";
-    public static final String REGISTER = "register";
-    public static final String OPTIONS = "options";
-    public static final String OPTIONS_FAIL = "options_fail";
-    public static final String DESCRIBE = "describe";
-    public static final String DESCRIBE_FAIL = "describe_fail";
-    public static final String DESCRIBE_OK = "describe_ok";
-    public static final String SETUP = "setup";
-    public static final String SETUP_FAIL = "setup_fail";
-    public static final String PLAY = "play";
-    public static final String PLAY_FAIL = "play_fail";
-    public static final String PAUSE = "pause";
-    public static final String PAUSE_FAIL = "pause_fail";
-    public static final String TEARDOWN = "teardown";
-    public static final String TEARDOWN_FAIL = "teardown_fail";
-    public static final String TEARDOWN_OK = "teardown_ok";
+    IDLE("idle"),
+    REGISTER("register"),
+    OPTIONS("options"),
+    OPTIONS_FAIL("options_fail"),
+    DESCRIBE("describe"),
+    DESCRIBE_FAIL("describe_fail"),
+    DESCRIBE_OK("describe_ok"),
+    SETUP("setup"),
+    SETUP_FAIL("setup_fail"),
+    PLAY("play"),
+    PLAY_FAIL("play_fail"),
+    PAUSE("pause"),
+    PAUSE_FAIL("pause_fail"),
+    TEARDOWN("teardown"),
+    TEARDOWN_FAIL("teardown_fail"),
+    TEARDOWN_OK("teardown_ok");
+
+    private final String name; // 로그, JFR 에 남기는 이름
+
+    RtspEvent(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
 
 }
@@ -1,224 +1,132 @@
 package rtsp.fsm;
 
-import com.fsm.StateManager;
-import com.fsm.module.StateHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import rtsp.module.base.RtspUnit;
+import rtsp.service.jfr.JfrEvents;
 
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * @class public class RtspFsmManager
- * @brief RtspFsmManager class
+ * @brief RtspUnit 하나의 RTSP 상태를 관리하는 클래스
+ *
+ * - 전이 테이블은 모든 RtspUnit 이 공유하는 static 배열이다. ([RtspEvent.ordinal][RtspState.ordinal] > 다음 상태 ordinal)
+ *      > RtspUnit 마다 StateManager, StateHandler, 전이 목록을 만들지 않으므로 RtspUnit 당 상태는 int 하나이다.
+ * - 상태 조회는 volatile 읽기 한 번, 전이는 테이블 조회와 CAS 한 번이다. (문자열 키 조회, 비교 없음)
+ *      > EventLoop, IO 레인, RtpSender 스레드에서 동시에 전이해도 한 쪽만 성공한다.
  */
 public class RtspFsmManager {
 
-    private final StateManager stateManager = new StateManager(10);
+    private static final Logger logger = LoggerFactory.getLogger(RtspFsmManager.class);
 
-    ////////////////////////////////////////////////////////////////////////////////
+    private static final byte NO_TRANSITION = -1;
+    private static final byte[][] TRANSITION_TABLE = new byte[RtspEvent.values().length][RtspState.values().length];
 
-    public RtspFsmManager() {
-        // Nothing
-    }
+    private static final AtomicIntegerFieldUpdater<RtspFsmManager> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(RtspFsmManager.class, "state");
 
-    ////////////////////////////////////////////////////////////////////////////////
+    private volatile int state = RtspState.IDLE.ordinal();
 
-    public StateManager getStateManager() {
-        return stateManager;
-    }
+    ////////////////////////////////////////////////////////////////////////////////
 
-    public void init(RtspUnit rtspUnit) {
-        if (rtspUnit == null) {
-            return;
+    static {
+        for (byte[] nextStates : TRANSITION_TABLE) {
+            Arrays.fill(nextStates, NO_TRANSITION);
         }
 
-        //
-        stateManager.addStateHandler(RtspState.NAME);
-        StateHandler rtspStateHandler = stateManager.getStateHandler(RtspState.NAME);
-        //
-
         // REGISTER
-        rtspStateHandler.addState(
-                RtspEvent.REGISTER,
-                RtspState.IDLE, RtspState.REGISTER,
-                null,
-                null,
-                null, 0, 0
-        );
+        addTransition(RtspEvent.REGISTER, RtspState.REGISTER, RtspState.IDLE);
 
         // OPTIONS
-        HashSet<String> optionPrevStateSet = new HashSet<>(
-                Arrays.asList(
-                        RtspState.REGISTER, RtspState.PLAY, RtspState.PAUSE
-                )
-        );
-        rtspStateHandler.addState(
-                RtspEvent.OPTIONS,
-                optionPrevStateSet, RtspState.OPTIONS,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // OPTIONS_FAIL
-        rtspStateHandler.addState(
-                RtspEvent.OPTIONS_FAIL,
-                RtspState.OPTIONS, RtspState.REGISTER,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.OPTIONS, RtspState.OPTIONS, RtspState.REGISTER, RtspState.PLAY, RtspState.PAUSE);
+        addTransition(RtspEvent.OPTIONS_FAIL, RtspState.REGISTER, RtspState.OPTIONS);
 
         // DESCRIBE
-        rtspStateHandler.addState(
-                RtspEvent.DESCRIBE,
-                RtspState.OPTIONS, RtspState.DESCRIBE,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // DESCRIBE_FAIL
-        HashSet<String> describeFailPrevStateSet = new HashSet<>(
-                Arrays.asList(
-                        RtspState.DESCRIBE, RtspState.SDP_READY
-                )
-        );
-        rtspStateHandler.addState(
-                RtspEvent.DESCRIBE_FAIL,
-                describeFailPrevStateSet, RtspState.REGISTER,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // DESCRIBE_OK
-        rtspStateHandler.addState(
-                RtspEvent.DESCRIBE_OK,
-                RtspState.DESCRIBE, RtspState.SDP_READY,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.DESCRIBE, RtspState.DESCRIBE, RtspState.OPTIONS);
+        addTransition(RtspEvent.DESCRIBE_FAIL, RtspState.REGISTER, RtspState.DESCRIBE, RtspState.SDP_READY);
+        addTransition(RtspEvent.DESCRIBE_OK, RtspState.SDP_READY, RtspState.DESCRIBE);
 
         // SETUP
-        HashSet<String> setupPrevStateSet = new HashSet<>(
-                Arrays.asList(
-                        RtspState.SDP_READY, RtspState.OPTIONS
-                )
-        );
-        rtspStateHandler.addState(
-                RtspEvent.SETUP,
-                setupPrevStateSet, RtspState.SETUP,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // SETUP_FAIL
-        rtspStateHandler.addState(
-                RtspEvent.SETUP_FAIL,
-                RtspState.SETUP, RtspState.REGISTER,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.SETUP, RtspState.SETUP, RtspState.SDP_READY, RtspState.OPTIONS);
+        addTransition(RtspEvent.SETUP_FAIL, RtspState.REGISTER, RtspState.SETUP);
 
         // PLAY
-        HashSet<String> playPrevStateSet = new HashSet<>(
-                Arrays.asList(
-                        RtspState.SETUP, RtspState.PAUSE
-                )
-        );
-        rtspStateHandler.addState(
-                RtspEvent.PLAY,
-                playPrevStateSet, RtspState.PLAY,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // PLAY_FAIL
-        rtspStateHandler.addState(
-                RtspEvent.PLAY_FAIL,
-                RtspState.PLAY, RtspState.REGISTER,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.PLAY, RtspState.PLAY, RtspState.SETUP, RtspState.PAUSE);
+        addTransition(RtspEvent.PLAY_FAIL, RtspState.REGISTER, RtspState.PLAY);
 
         // PAUSE
-        rtspStateHandler.addState(
-                RtspEvent.PAUSE,
-                RtspState.PLAY, RtspState.PAUSE,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // PAUSE_FAIL
-        rtspStateHandler.addState(
-                RtspEvent.PAUSE_FAIL,
-                RtspState.PAUSE, RtspState.PLAY,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.PAUSE, RtspState.PAUSE, RtspState.PLAY);
+        addTransition(RtspEvent.PAUSE_FAIL, RtspState.PLAY, RtspState.PAUSE);
 
         // TEARDOWN
-        HashSet<String> stopPrevStateSet = new HashSet<>(
-                Arrays.asList(
-                        RtspState.SDP_READY, RtspState.PLAY, RtspState.PAUSE
-                )
-        );
-        rtspStateHandler.addState(
-                RtspEvent.TEARDOWN,
-                stopPrevStateSet, RtspState.STOP,
-                null,
-                null,
-                null, 0, 0
-        );
-
-        // TEARDOWN_FAIL
-        rtspStateHandler.addState(
-                RtspEvent.TEARDOWN_FAIL,
-                RtspState.STOP, RtspState.PLAY,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
-
-        // TEARDOWN_OK
-        rtspStateHandler.addState(
-                RtspEvent.TEARDOWN_OK,
-                RtspState.STOP, RtspState.REGISTER,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.TEARDOWN, RtspState.STOP, RtspState.SDP_READY, RtspState.PLAY, RtspState.PAUSE);
+        addTransition(RtspEvent.TEARDOWN_FAIL, RtspState.PLAY, RtspState.STOP);
+        addTransition(RtspEvent.TEARDOWN_OK, RtspState.REGISTER, RtspState.STOP);
 
         // IDLE > REGISTER 상태에서만 동작
-        rtspStateHandler.addState(
-                RtspEvent.IDLE,
-                RtspState.REGISTER, RtspState.IDLE,
-                null,
-                null,
-                null, 0, 0
-        );
-        //
+        addTransition(RtspEvent.IDLE, RtspState.IDLE, RtspState.REGISTER);
+    }
+
+    public RtspFsmManager() {
+        // Nothing
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private static void addTransition(RtspEvent event, RtspState nextState, RtspState... prevStates) {
+        for (RtspState prevState : prevStates) {
+            TRANSITION_TABLE[event.ordinal()][prevState.ordinal()] = (byte) nextState.ordinal();
+        }
+    }
+
+    /**
+     * @fn public static boolean fire(RtspEvent event, RtspUnit rtspUnit)
+     * @brief RtspUnit 의 상태 전이 이벤트를 발생시키는 함수
+     * JFR 녹화 중이면 전이 전후 상태와 처리 시간을 rtsp.FsmTransition 이벤트로 기록한다.
+     * @param event RtspEvent
+     * @param rtspUnit RtspUnit
+     * @return 전이했으면 true, 현재 상태에서 허용되지 않는 이벤트면 false 반환 (상태는 그대로 유지된다.)
+     */
+    public static boolean fire(RtspEvent event, RtspUnit rtspUnit) {
+        RtspFsmManager rtspFsmManager = rtspUnit.getRtspFsmManager();
+        byte[] nextStates = TRANSITION_TABLE[event.ordinal()];
+
+        // 다른 스레드가 먼저 상태를 바꾸면 바뀐 상태로 다시 조회한다.
+        // 전이 전 상태는 CAS 에 성공 (또는 전이 불가로 판단) 한 시점의 상태이다.
+        Object jfrEvent = JfrEvents.beginFsmTransition();
+        int fromState;
+        int toState;
+        while (true) {
+            fromState = rtspFsmManager.state;
+            toState = nextStates[fromState];
+            if (toState == NO_TRANSITION
+                    || STATE_UPDATER.compareAndSet(rtspFsmManager, fromState, toState)) {
+                break;
+            }
+        }
+
+        if (jfrEvent != null) {
+            JfrEvents.commitFsmTransition(jfrEvent, rtspUnit.getRtspUnitId(), event.getName(),
+                    RtspState.fromOrdinal(fromState).name(),
+                    RtspState.fromOrdinal(toState != NO_TRANSITION ? toState : fromState).name()
+            );
+        }
+
+        if (toState == NO_TRANSITION) {
+            logger.warn("({}) Fail to fire the rtsp event. Not allowed in the current state. (event={}, state={})",
+                    rtspUnit.getRtspUnitId(), event.getName(), RtspState.fromOrdinal(fromState)
+            );
+            return false;
+        }
+        return true;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtspState getState() {
+        return RtspState.fromOrdinal(state);
     }
 
 }
@@ -1,21 +1,26 @@
 package rtsp.fsm;
 
 /**
- * @class public class RtspState
- * @brief RtspState class
+ * @enum public enum RtspState
+ * @brief RTSP 세션 상태
+ * RtspFsmManager 의 전이 테이블은 ordinal 로 인덱싱하므로 상태 개수는 byte 범위 (127) 를 넘지 않아야 한다.
  */
-public class RtspState {
+public enum RtspState {
 
-    public static final String NAME = "RtspState";
+    IDLE,
+    REGISTER,
+    OPTIONS,
+    DESCRIBE,
+    SDP_READY,
+    SETUP,
+    PLAY,
+    PAUSE,
+    STOP;
 
-    public static final String IDLE = "IDLE";
-    public static final String REGISTER = "REGISTER";
-    public static final String OPTIONS = "OPTIONS";
-    public static final String DESCRIBE = "DESCRIBE";
-    public static final String SDP_READY = "SDP_READY";
-    public static final String SETUP = "SETUP";
-    public static final String PLAY = "PLAY";
-    public static final String PAUSE = "PAUSE";
-    public static final String STOP = "STOP";
+    private static final RtspState[] STATES = values();
+
+    public static RtspState fromOrdinal(int ordinal) {
+        return STATES[ordinal];
+    }
 
 }
@@ -0,0 +1,257 @@
+package rtsp.module;
+
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.mpegts.content.PATSection;
+import rtsp.module.mpegts.content.PMTSection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @class public class PlaybackCursor
+ * @brief Streamer 의 재생 위치를 저장하는 클래스
+ * PAUSE 후 Range 없이 PLAY 요청이 오면 M3U8 변환, 파일 재오픈, FFPROBE 없이 중단된 TS 패킷부터 바로 이어서 전송한다.
+ */
+public class PlaybackCursor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaybackCursor.class);
+
+    // 27MHz (PCR)
+    private static final double PCR_CLOCK_RATE = 27000000.0;
+
+    private final String sessionId;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // MEDIA
+    private final List<InputStream> inputStreamList; // 열려 있는 TS 파일 스트림 목록 (읽은 위치 유지)
+    private final int fps;
+    private final int tbn;
+    private final double startNpt;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // POSITION
+    private int segmentIndex = 0;
+    private long byteOffset = 0; // 현재 TS 파일에서 전송 완료한 바이트 수
+
+    ///////////////////////////////////////////////////////////////////////////
+    // PSI
+    private PATSection patSection = null;
+    private final TreeMap<Integer, PMTSection> pmtSectionMap = Maps.newTreeMap();
+
+    ///////////////////////////////////////////////////////////////////////////
+    // PCR PACING
+    private long pcrCount = 0;
+    private Long streamFirstPcrValue = null; // npt 계산용
+    private Long firstPcrValue = null;
+    private Long lastPcrValue = null;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // RTP (Sequence number 와 Timestamp 는 Streamer 가 유지한다.)
+    private long frameCount = 0;
+    private long additionalTimestampIncrement = 1;
+
+    private final AtomicBoolean isRunning = new AtomicBoolean(false);
+    private volatile boolean isFinished = false;
+    private volatile boolean isClosed = false;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public PlaybackCursor(String sessionId, List<InputStream> inputStreamList, int fps, int tbn, double startNpt) {
+        this.sessionId = sessionId;
+        this.inputStreamList = inputStreamList;
+        this.fps = fps;
+        this.tbn = tbn;
+        this.startNpt = startNpt;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public boolean acquire()
+     * @brief 커서 사용 권한을 획득하는 함수 (하나의 RtpSender 만 커서를 사용할 수 있다.)
+     * @return 획득 성공 시 true, 다른 RtpSender 가 사용 중이면 false 반환
+     */
+    public boolean acquire() {
+        return isRunning.compareAndSet(false, true);
+    }
+
+    /**
+     * @fn public void release()
+     * @brief 커서 사용 권한을 반환하는 함수
+     */
+    public void release() {
+        isRunning.set(false);
+    }
+
+    public boolean isRunning() {
+        return isRunning.get();
+    }
+
+    /**
+     * @fn public boolean isResumable()
+     * @brief PAUSE 된 위치에서 이어서 재생할 수 있는지 여부를 반환하는 함수
+     * @return 재생 가능하면 true, 전송이 끝났거나 닫힌 커서면 false 반환
+     */
+    public boolean isResumable() {
+        return !isFinished && !isClosed;
+    }
+
+    /**
+     * @fn public void nextSegment()
+     * @brief 다음 TS 파일로 커서를 이동하는 함수 (PCR 기준 시간은 TS 파일마다 새로 잡는다.)
+     */
+    public void nextSegment() {
+        segmentIndex++;
+        byteOffset = 0;
+        resetPacing();
+    }
+
+    public void resetPacing() {
+        pcrCount = 0;
+        firstPcrValue = null;
+        lastPcrValue = null;
+    }
+
+    /**
+     * @fn public double getNpt()
+     * @brief 마지막으로 전송한 PCR 기준의 재생 위치(초)를 반환하는 함수
+     * @return 재생 위치 (npt)
+     */
+    public double getNpt() {
+        if (streamFirstPcrValue == null || lastPcrValue == null || lastPcrValue < streamFirstPcrValue) {
+            return startNpt;
+        }
+
+        return startNpt + ((lastPcrValue - streamFirstPcrValue) / PCR_CLOCK_RATE);
+    }
+
+    /**
+     * @fn public void close()
+     * @brief 열려 있는 모든 TS 파일 스트림을 닫는 함수
+     */
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+
+        for (InputStream inputStream : inputStreamList) {
+            if (inputStream == null) {
+                continue;
+            }
+
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                logger.warn("({}) Fail to close the ts stream.", sessionId, e);
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public List<InputStream> getInputStreamList() {
+        return inputStreamList;
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    public int getTbn() {
+        return tbn;
+    }
+
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public void addByteOffset(long size) {
+        this.byteOffset += size;
+    }
+
+    public PATSection getPatSection() {
+        return patSection;
+    }
+
+    public void setPatSection(PATSection patSection) {
+        this.patSection = patSection;
+    }
+
+    public TreeMap<Integer, PMTSection> getPmtSectionMap() {
+        return pmtSectionMap;
+    }
+
+    public long getPcrCount() {
+        return pcrCount;
+    }
+
+    public void setPcrCount(long pcrCount) {
+        this.pcrCount = pcrCount;
+    }
+
+    public Long getFirstPcrValue() {
+        return firstPcrValue;
+    }
+
+    public void setFirstPcrValue(Long firstPcrValue) {
+        this.firstPcrValue = firstPcrValue;
+        if (streamFirstPcrValue == null) {
+            streamFirstPcrValue = firstPcrValue;
+        }
+    }
+
+    public Long getLastPcrValue() {
+        return lastPcrValue;
+    }
+
+    public void setLastPcrValue(Long lastPcrValue) {
+        this.lastPcrValue = lastPcrValue;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public void setFrameCount(long frameCount) {
+        this.frameCount = frameCount;
+    }
+
+    public long getAdditionalTimestampIncrement() {
+        return additionalTimestampIncrement;
+    }
+
+    public void setAdditionalTimestampIncrement(long additionalTimestampIncrement) {
+        this.additionalTimestampIncrement = additionalTimestampIncrement;
+    }
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    public void setFinished(boolean finished) {
+        isFinished = finished;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaybackCursor{" +
+                "sessionId='" + sessionId + '\'' +
+                ", segmentIndex=" + segmentIndex +
+                ", byteOffset=" + byteOffset +
+                ", pcrCount=" + pcrCount +
+                ", lastPcrValue=" + lastPcrValue +
+                ", npt=" + getNpt() +
+                ", isFinished=" + isFinished +
+                '}';
+    }
+}
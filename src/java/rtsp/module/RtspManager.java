@@ -2,13 +2,13 @@ package rtsp.module;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import rtsp.fsm.RtspState;
 import rtsp.module.base.RtspUnit;
 import rtsp.module.netty.NettyChannelManager;
 import rtsp.service.ResourceManager;
 
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -26,6 +26,11 @@ public class RtspManager {
     private final HashMap<String, RtspUnit> rtspUnitMap = new HashMap<>();
     private final ReentrantLock rtspUnitMapLock = new ReentrantLock();
 
+    // 공유 RTSP 포트로 들어온 연결을 RtspUnit 으로 찾기 위한 색인 (Netty I/O 스레드에서 잠금 없이 조회)
+    private final ConcurrentHashMap<Long, String> sessionIdIndex = new ConcurrentHashMap<>(); // Session 헤더 > RtspUnit ID
+    private final ConcurrentHashMap<String, String> remoteIpIndex = new ConcurrentHashMap<>(); // 등록(REGISTER)한 원격 IP > RtspUnit ID
+    private volatile String defaultRtspUnitId = null; // 외부 클라이언트용 RtspUnit ID
+
     ////////////////////////////////////////////////////////////////////////////////
 
     public RtspManager() {
@@ -45,13 +50,6 @@ public class RtspManager {
             rtspUnitMapLock.lock();
 
             RtspUnit rtspUnit = new RtspUnit(rtspUnitId, ip, port);
-            rtspUnit.getStateManager().addStateUnit(
-                    rtspUnit.getRtspStateUnitId(),
-                    rtspUnit.getStateManager().getStateHandler(RtspState.NAME).getName(),
-                    RtspState.IDLE,
-                    null
-            );
-
             rtspUnitMap.putIfAbsent(rtspUnitId, rtspUnit);
         } catch (Exception e) {
             logger.warn("Fail to open the rtsp unit. (id={}, ip={}, port={})", rtspUnitId, ip, port, e);
@@ -67,7 +65,6 @@ public class RtspManager {
 
             RtspUnit rtspUnit = getRtspUnit(rtspUnitId);
             NettyChannelManager.getInstance().deleteRtspChannel(rtspUnitId);
-            NettyChannelManager.getInstance().deleteRtcpChannel(rtspUnitId);
 
             int port = rtspUnit.getClientRtpListenPort();
             if (port > 0) {
@@ -75,6 +72,7 @@ public class RtspManager {
             }
 
             rtspUnitMap.remove(rtspUnitId);
+            removeIndex(rtspUnitId);
         } catch (Exception e) {
             logger.warn("Fail to close the rtsp unit. (id={})", rtspUnitId, e);
         } finally {
@@ -102,9 +100,11 @@ public class RtspManager {
     public void closeAllRtspUnits() {
         try {
             rtspUnitMapLock.lock();
-            NettyChannelManager.getInstance().deleteAllRtcpChannels();
             NettyChannelManager.getInstance().deleteAllRtspChannels();
             rtspUnitMap.entrySet().removeIf(Objects::nonNull);
+            sessionIdIndex.clear();
+            remoteIpIndex.clear();
+            defaultRtspUnitId = null;
         } catch (Exception e) {
             logger.warn("Fail to close all rtsp units.", e);
         } finally {
@@ -112,6 +112,87 @@ public class RtspManager {
         }
     }
 
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public RtspUnit findRtspUnit(String sessionHeader, String remoteIp)
+     * @brief 공유 RTSP 포트로 들어온 요청의 RtspUnit 을 찾는 함수
+     * 1) Session 헤더 > 2) 등록(REGISTER)한 원격 IP > 3) 외부 클라이언트용 RtspUnit 순서로 찾는다.
+     * @param sessionHeader 요청의 Session 헤더 (없으면 null)
+     * @param remoteIp 요청한 클라이언트 IP
+     * @return 성공 시 RtspUnit, 실패 시 null 반환
+     */
+    public RtspUnit findRtspUnit(String sessionHeader, String remoteIp) {
+        if (sessionHeader != null) {
+            try {
+                // "12345;timeout=60" 형태도 허용
+                int end = sessionHeader.indexOf(';');
+                long sessionId = Long.parseLong((end < 0 ? sessionHeader : sessionHeader.substring(0, end)).trim());
+                RtspUnit rtspUnit = getRtspUnitByIndex(sessionIdIndex.get(sessionId));
+                if (rtspUnit != null) {
+                    return rtspUnit;
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Wrong session header. ({})", sessionHeader);
+            }
+        }
+
+        if (remoteIp != null) {
+            RtspUnit rtspUnit = getRtspUnitByIndex(remoteIpIndex.get(remoteIp));
+            if (rtspUnit != null) {
+                return rtspUnit;
+            }
+        }
+
+        return getRtspUnitByIndex(defaultRtspUnitId);
+    }
+
+    private RtspUnit getRtspUnitByIndex(String rtspUnitId) {
+        return rtspUnitId != null ? rtspUnitMap.get(rtspUnitId) : null;
+    }
+
+    /**
+     * @fn public void updateSessionIndex(String rtspUnitId, long prevSessionId, long sessionId)
+     * @brief RtspUnit 의 Session ID 가 바뀌면 색인을 갱신하는 함수
+     */
+    public void updateSessionIndex(String rtspUnitId, long prevSessionId, long sessionId) {
+        if (prevSessionId != 0) {
+            sessionIdIndex.remove(prevSessionId, rtspUnitId);
+        }
+        if (sessionId != 0) {
+            sessionIdIndex.put(sessionId, rtspUnitId);
+        }
+    }
+
+    /**
+     * @fn public void bindRemoteIp(String rtspUnitId, String remoteIp)
+     * @brief REGISTER 한 클라이언트 IP 로 RtspUnit 을 찾을 수 있도록 색인하는 함수
+     */
+    public void bindRemoteIp(String rtspUnitId, String remoteIp) {
+        if (rtspUnitId == null || remoteIp == null) {
+            return;
+        }
+
+        String prevRtspUnitId = remoteIpIndex.put(remoteIp, rtspUnitId);
+        if (prevRtspUnitId != null && !prevRtspUnitId.equals(rtspUnitId)) {
+            logger.debug("Remote ip is rebound. (ip={}, {} > {})", remoteIp, prevRtspUnitId, rtspUnitId);
+        }
+    }
+
+    public void setDefaultRtspUnitId(String defaultRtspUnitId) {
+        this.defaultRtspUnitId = defaultRtspUnitId;
+    }
+
+    private void removeIndex(String rtspUnitId) {
+        sessionIdIndex.values().removeIf(rtspUnitId::equals);
+        remoteIpIndex.values().removeIf(rtspUnitId::equals);
+        if (rtspUnitId.equals(defaultRtspUnitId)) {
+            defaultRtspUnitId = null;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
     public RtspUnit getRtspUnit(String rtspUnitId) {
         return rtspUnitMap.get(rtspUnitId);
     }
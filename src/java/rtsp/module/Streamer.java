@@ -3,24 +3,33 @@ package rtsp.module;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.lindstrom.m3u8.model.MediaSegment;
-import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
-import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.DatagramPacket;
-import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.ReferenceCountUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
+import rtsp.module.egress.RtpEgress;
+import rtsp.module.egress.RtpEgressFactory;
+import rtsp.module.fec.FecEncoder;
+import rtsp.module.netty.module.RtcpNettyChannel;
+import rtsp.module.rtcp.RtcpFeedbackListener;
+import rtsp.module.rtcp.RtcpReporter;
+import rtsp.module.rtcp.RtcpSessionManager;
 import rtsp.module.netty.handler.StreamerChannelHandler;
+import rtsp.module.rtx.RtpRetransmissionCache;
+import rtsp.module.rtx.RtxRateLimiter;
+import rtsp.module.stat.StreamerStats;
+import rtsp.protocol.rtcp.module.RtpClock;
 import rtsp.service.AppInstance;
+import rtsp.service.metric.ServerMetrics;
 
 import java.io.File;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -31,14 +40,13 @@ public class Streamer {
 
     private static final Logger logger = LoggerFactory.getLogger(Streamer.class);
 
-    private String clientUserAgent = null;
+    private static final int RTP_HEADER_LENGTH = 12;
 
-    private NioEventLoopGroup group = null;
-    private final Bootstrap b = new Bootstrap();
+    private String clientUserAgent = null;
 
     private final String rtspUnitId; /* Rtsp Unit id */
     private final String sessionId; /* Streamer id */
-    private Channel channel; /* 메시지 송신용 채널 */
+    private volatile RtpEgress rtpEgress = null; /* 메시지 송신용 전송 계층 */
 
     private final String listenIp;
     private final int listenPort;
@@ -59,6 +67,30 @@ public class Streamer {
     private String m3u8PathOnly = null;
 
     private final AtomicBoolean isPaused = new AtomicBoolean(false);
+    private transient volatile PlaybackCursor playbackCursor = null; // PAUSE 후 이어서 재생하기 위한 재생 위치
+
+    // RTX (RFC 4588)
+    private int rtxSsrc = 0;
+    private int rtxPayloadType = 0;
+    private int rtxSeqNum;
+    private transient RtpRetransmissionCache rtxCache = null;
+    private transient RtxRateLimiter rtxRateLimiter = null;
+
+    // FEC (SMPTE 2022-1)
+    private transient volatile FecEncoder fecEncoder = null;
+
+    // RTCP SR (RFC 3550)
+    private static final ServerMetrics serverMetrics = ServerMetrics.getInstance(); // 서버 전체 송신 통계
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    // 마지막으로 송신한 RTP 패킷의 timestamp 와 송신 시간 (seqlock, version 이 홀수이면 갱신 중, 0 이면 송신 전)
+    private volatile long lastRtpSentVersion = 0;
+    private volatile long lastRtpTimestamp = 0;
+    private volatile long lastRtpSendTime = 0; // System.nanoTime
+    private transient volatile RtcpReporter rtcpReporter = null;
+    private transient volatile RtcpFeedbackListener rtcpFeedbackListener = null; // 수신 RTCP 이벤트 처리
+
+    // 세션 통계 (송신 패킷/바이트 수는 RTCP SR 에도 사용)
+    private final transient StreamerStats streamerStats = new StreamerStats(this);
 
     /////////////////////////////////////////////////////////////////////
 
@@ -71,6 +103,7 @@ public class Streamer {
 
         ssrc = random.nextInt(Integer.MAX_VALUE);
         curSeqNum = random.nextInt(100);
+        rtxSeqNum = random.nextInt(Short.MAX_VALUE);
 
         logger.debug("({}) Streamer is created. (listenIp={}, listenPort={}, uri={})", sessionId, listenIp, listenPort, uri);
     }
@@ -79,6 +112,7 @@ public class Streamer {
 
     public void resetSeqNumber() {
         curSeqNum = random.nextInt(100);
+        resetFec();
     }
 
     public void resetTimeStamp() {
@@ -92,42 +126,46 @@ public class Streamer {
 
     public Streamer init() {
         ConfigManager configManager = AppInstance.getInstance().getConfigManager();
-        group = new NioEventLoopGroup(configManager.getStreamThreadPoolSize());
-        b.group(group).channel(NioDatagramChannel.class)
-                .option(ChannelOption.SO_BROADCAST, false)
-                .option(ChannelOption.SO_SNDBUF, configManager.getSendBufSize())
-                .option(ChannelOption.SO_RCVBUF, configManager.getRecvBufSize())
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.SO_REUSEADDR, true)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000)
-                .handler(new ChannelInitializer<NioDatagramChannel>() {
-                    @Override
-                    public void initChannel (final NioDatagramChannel ch) {
-                        final ChannelPipeline pipeline = ch.pipeline();
-                        pipeline.addLast(
-                                //new DefaultEventExecutorGroup(1),
-                                new StreamerChannelHandler(
-                                        rtspUnitId, sessionId
-                                )
-                        );
-                    }
-                });
+        return init(
+                RtpEgressFactory.create(
+                        configManager.getRtpEgressType(),
+                        sessionId,
+                        configManager.getStreamThreadPoolSize(),
+                        configManager.getSendBufSize(),
+                        configManager.getRecvBufSize(),
+                        () -> new StreamerChannelHandler(rtspUnitId, sessionId)
+                )
+        );
+    }
+
+    /**
+     * @fn public Streamer init(RtpEgress rtpEgress)
+     * @brief 지정한 RtpEgress 로 송신 계층을 설정하는 함수 (설정 파일의 RTP_EGRESS 를 사용하지 않는다.)
+     * 측정용 Egress 를 끼워 넣어 스트리밍 경로를 시험할 때 사용한다.
+     * @param rtpEgress RtpEgress
+     * @return Streamer
+     */
+    public Streamer init(RtpEgress rtpEgress) {
+        this.rtpEgress = rtpEgress;
+        logger.debug("({}) Streamer egress is set up. ({})", sessionId, rtpEgress.getName());
         return this;
     }
 
-    public void open() {
+    public synchronized void open() {
         try {
             if (m3u8File == null) {
                 String destFilePath = video.getResultM3U8FilePath();
                 m3u8File = new File(destFilePath);
             }
 
+            if (rtpEgress == null) {
+                return;
+            }
+
             InetAddress address = InetAddress.getByName(destIp);
-            ChannelFuture channelFuture = b.connect(address, destPort).sync();
-            /*channelFuture.addListener(
-                    (ChannelFutureListener) future -> logger.trace("({}) Success to connect with remote peer. (ip={}, port={})", sessionId, destIp, destPort)
-            );*/
-            channel = channelFuture.channel();
+            if (!rtpEgress.open(new InetSocketAddress(address, destPort))) {
+                return;
+            }
 
             if (isPaused.get()) {
                 isPaused.set(false);
@@ -155,7 +193,7 @@ public class Streamer {
     }
 
     public void pause () {
-        if (channel == null) {
+        if (!isActive()) {
             return;
         }
 
@@ -164,16 +202,16 @@ public class Streamer {
     }
 
     public void close () {
-        if (channel != null) {
-            channel.closeFuture();
-            channel.close();
-            channel = null;
+        RtpEgress curRtpEgress = rtpEgress;
+        if (curRtpEgress != null) {
+            curRtpEgress.close();
         }
     }
 
     public void stop () {
         close();
         isPaused.set(true);
+        resetPlaybackCursor();
 
         if (AppInstance.getInstance().getConfigManager().isDeleteM3u8()) {
             if (m3u8File != null) {
@@ -208,8 +246,27 @@ public class Streamer {
     public void finish () {
         stop();
 
-        if (group != null) {
-            group.shutdownGracefully();
+        RtcpReporter curRtcpReporter = rtcpReporter;
+        if (curRtcpReporter != null) {
+            curRtcpReporter.stop();
+        }
+        RtcpSessionManager.getInstance().removeStreamer(this);
+
+        if (rtxCache != null) {
+            rtxCache.clear();
+        }
+
+        FecEncoder curFecEncoder = fecEncoder;
+        if (curFecEncoder != null) {
+            synchronized (curFecEncoder) {
+                fecEncoder = null;
+                curFecEncoder.release();
+            }
+        }
+
+        RtpEgress curRtpEgress = rtpEgress;
+        if (curRtpEgress != null) {
+            curRtpEgress.release();
         }
 
         logger.debug("({}) Streamer is finished.", sessionId);
@@ -296,6 +353,12 @@ public class Streamer {
         logger.debug("({}) Streamer ssrc is set up. ({})", sessionId, ssrc);
     }
 
+    // DESCRIBE 의 SDP 로 알린 SSRC 를 사용할 때 호출 (송신을 시작하기 전에 설정해야 한다.)
+    public void setSsrc(int ssrc) {
+        this.ssrc = ssrc;
+        logger.debug("({}) Streamer ssrc is set up. ({})", sessionId, ssrc);
+    }
+
     public int getCurSeqNum() {
         return curSeqNum;
     }
@@ -320,6 +383,30 @@ public class Streamer {
         this.startTime = startTime;
     }
 
+    public PlaybackCursor getPlaybackCursor() {
+        return playbackCursor;
+    }
+
+    public void setPlaybackCursor(PlaybackCursor playbackCursor) {
+        this.playbackCursor = playbackCursor;
+    }
+
+    /**
+     * @fn public void resetPlaybackCursor()
+     * @brief 저장된 재생 위치를 삭제하는 함수 (다음 PLAY 는 처음부터 다시 전송한다.)
+     */
+    public void resetPlaybackCursor() {
+        PlaybackCursor curPlaybackCursor = playbackCursor;
+        if (curPlaybackCursor != null) {
+            curPlaybackCursor.close();
+            playbackCursor = null;
+        }
+    }
+
+    public String getRtspUnitId() {
+        return rtspUnitId;
+    }
+
     public String getSessionId() {
         return sessionId;
     }
@@ -334,11 +421,18 @@ public class Streamer {
      * @return Streamer 활성화 여부를 반환
      */
     public boolean isActive() {
-        if (channel != null) {
-            return channel.isActive() && channel.isOpen();
-        } else {
-            return false;
-        }
+        RtpEgress curRtpEgress = rtpEgress;
+        return curRtpEgress != null && curRtpEgress.isActive();
+    }
+
+    /**
+     * @fn public boolean isWritable()
+     * @brief 송신 버퍼에 여유가 있는지 반환하는 함수 (Fast start 배속 전송 조절용)
+     * @return 여유가 있으면 true, 송신 대기열이 high water mark 를 넘었거나 채널이 없으면 false 반환
+     */
+    public boolean isWritable() {
+        RtpEgress curRtpEgress = rtpEgress;
+        return curRtpEgress != null && curRtpEgress.isWritable();
     }
 
     /**
@@ -349,11 +443,44 @@ public class Streamer {
      * @param port Destination Port
      */
     public void send(ByteBuf buf, String ip, int port) {
-        close();
-        open();
+        send(buf, ip, port, true);
+    }
+
+    /**
+     * @fn public void write(ByteBuf buf, String ip, int port)
+     * @brief 지정한 데이터를 채널 송신 버퍼에 쌓기만 하는 함수 (flush() 또는 다음 send() 호출 시 송신된다.)
+     * Netty epoll 에서는 한 번에 flush 된 데이터그램들이 sendmmsg 시스템 콜 하나로 송신된다.
+     * @param buf ByteBuf
+     * @param ip Destination IP
+     * @param port Destination Port
+     */
+    public void write(ByteBuf buf, String ip, int port) {
+        send(buf, ip, port, false);
+    }
+
+    /**
+     * @fn public void flush()
+     * @brief write() 로 쌓인 데이터를 송신하는 함수
+     */
+    public void flush() {
+        RtpEgress curRtpEgress = rtpEgress;
+        if (curRtpEgress != null) {
+            curRtpEgress.flush();
+            serverMetrics.onRtpSend();
+        }
+    }
+
+    private void send(ByteBuf buf, String ip, int port, boolean isFlush) {
+        // RtpSender 와 RTCP 재전송이 같은 채널을 동시에 사용하므로 패킷마다 다시 연결하지 않는다.
+        if (!isActive()) {
+            open();
+        }
 
         if (!isActive()) {
             logger.warn("({}) Fail to send the message. Channel is inactive. (ip={}, port={})", sessionId, ip, port);
+            serverMetrics.onRtpSendFail();
+            streamerStats.onSendError();
+            ReferenceCountUtil.release(buf);
             close();
             return;
         }
@@ -361,21 +488,304 @@ public class Streamer {
         try {
             if (buf == null || ip == null || port <= 0) {
                 logger.warn("({}) Fail to send the message. (ip={}, port={})", sessionId, ip, port);
+                serverMetrics.onRtpSendFail();
+                streamerStats.onSendError();
+                ReferenceCountUtil.release(buf);
                 return;
             }
 
-            if (channel != null) {
-                InetSocketAddress addr = new InetSocketAddress(ip, port);
-                ChannelFuture channelFuture = channel.writeAndFlush(new DatagramPacket(buf, addr));
-                if (channelFuture == null) {
-                    logger.warn("({}) Fail to send the message. (ip={}, port={})", sessionId, ip, port);
+            RtpEgress curRtpEgress = rtpEgress;
+            if (curRtpEgress != null) {
+                curRtpEgress.write(buf, new InetSocketAddress(ip, port));
+                if (isFlush) {
+                    curRtpEgress.flush();
+                    serverMetrics.onRtpSend();
                 }
+            } else {
+                serverMetrics.onRtpSendFail();
+                streamerStats.onSendError();
+                ReferenceCountUtil.release(buf);
             }
         } catch (Exception e) {
+            serverMetrics.onRtpSendFail();
+            streamerStats.onSendError();
             logger.warn("({}) Streamer.send.Exception", sessionId, e);
         }
     }
 
+    /**
+     * @fn public void initRtx(int rtxSsrc, int rtxPayloadType, int cacheSize, long rtxTime, int maxRate)
+     * @brief RTP 재전송 (RFC 4588) 을 위한 송신 패킷 캐시를 생성하는 함수
+     * @param rtxSsrc RTX SSRC
+     * @param rtxPayloadType RTX Payload type
+     * @param cacheSize 보관할 최대 패킷 개수
+     * @param rtxTime 재전송을 허용하는 최대 시간 (ms)
+     * @param maxRate 초당 최대 재전송 패킷 개수
+     */
+    public void initRtx(int rtxSsrc, int rtxPayloadType, int cacheSize, long rtxTime, int maxRate) {
+        if (rtxCache != null) {
+            return;
+        }
+
+        this.rtxSsrc = rtxSsrc;
+        this.rtxPayloadType = rtxPayloadType;
+        this.rtxRateLimiter = new RtxRateLimiter(maxRate);
+        this.rtxCache = new RtpRetransmissionCache(cacheSize, rtxTime);
+        logger.debug("({}) Streamer rtx is set up. (rtxSsrc={}, rtxPt={}, cacheSize={}, rtxTime={}, maxRate={})",
+                sessionId, rtxSsrc, rtxPayloadType, rtxCache.getCapacity(), rtxTime, maxRate
+        );
+    }
+
+    public boolean isRtxEnabled() {
+        return rtxCache != null;
+    }
+
+    public int getRtxSsrc() {
+        return rtxSsrc;
+    }
+
+    /**
+     * @fn public void cacheRtpPacket(int seqNum, ByteBuf packet)
+     * @brief 송신한 RTP 패킷을 재전송 캐시에 보관하는 함수
+     * @param seqNum RTP Sequence number
+     * @param packet RTP 패킷 (캐시가 소유권을 가진다.)
+     */
+    public void cacheRtpPacket(int seqNum, ByteBuf packet) {
+        RtpRetransmissionCache curRtxCache = rtxCache;
+        if (curRtxCache == null) {
+            ReferenceCountUtil.release(packet);
+            return;
+        }
+
+        curRtxCache.put(seqNum, packet);
+    }
+
+    /**
+     * @fn public int retransmit(List<Integer> seqNumList)
+     * @brief NACK 으로 요청된 RTP 패킷을 RTX 패킷으로 재전송하는 함수
+     *
+     * - RTX Packet (RFC 4588)
+     *      RTP Header (PT=RTX PT, SSRC=RTX SSRC, SEQ=RTX SEQ, TS=원본 TS) + OSN (원본 SEQ, 2 bytes) + 원본 Payload
+     *
+     * @param seqNumList 손실된 RTP Sequence number 목록
+     * @return 재전송한 패킷 개수
+     */
+    public int retransmit(List<Integer> seqNumList) {
+        RtpRetransmissionCache curRtxCache = rtxCache;
+        if (curRtxCache == null || isPaused.get() || destIp == null || destPort <= 0) {
+            return 0;
+        }
+
+        int sendCount = 0;
+        for (Integer seqNum : seqNumList) {
+            // 캐시에 없는 (이미 밀려난) 패킷 요청은 재전송 한도를 사용하지 않는다.
+            ByteBuf packet = curRtxCache.get(seqNum);
+            if (packet == null) {
+                continue;
+            }
+
+            try {
+                int readerIndex = packet.readerIndex();
+                int packetLength = packet.readableBytes();
+                if (packetLength < RTP_HEADER_LENGTH) {
+                    continue;
+                }
+
+                if (!rtxRateLimiter.tryAcquire()) {
+                    logger.debug("({}) Streamer rtx rate is limited. (maxRate={}, seqNum={})", sessionId, rtxRateLimiter.getMaxPacketsPerSec(), seqNum);
+                    break;
+                }
+
+                ByteBuf rtxPacket = PooledByteBufAllocator.DEFAULT.buffer(packetLength + 2);
+                rtxPacket.writeByte(packet.getByte(readerIndex)); // V, P, X, CC
+                rtxPacket.writeByte((packet.getByte(readerIndex + 1) & 0x80) | (rtxPayloadType & 0x7F)); // M, PT
+                rtxPacket.writeShort(nextRtxSeqNum());
+                rtxPacket.writeInt(packet.getInt(readerIndex + 4)); // TIMESTAMP
+                rtxPacket.writeInt(rtxSsrc);
+                rtxPacket.writeShort(seqNum); // OSN
+                rtxPacket.writeBytes(packet, readerIndex + RTP_HEADER_LENGTH, packetLength - RTP_HEADER_LENGTH);
+
+                send(rtxPacket, destIp, destPort);
+                sendCount++;
+            } finally {
+                packet.release();
+            }
+        }
+
+        return sendCount;
+    }
+
+    /**
+     * @fn public void initFec(int fecSsrc, int columns, int rows, int columnPayloadType, int rowPayloadType)
+     * @brief SMPTE 2022-1 FEC 인코더를 생성하는 함수
+     * FEC 패킷은 미디어와 같은 목적지 포트로 별도의 Payload type 과 SSRC 를 사용해서 송신한다.
+     * FEC 패킷은 미디어 패킷과 같은 송신 묶음으로 쌓이고, RtpSender 의 flush 에서 함께 송신된다.
+     * @param fecSsrc FEC SSRC (SDP 의 a=ssrc-group:FEC-FR 로 명시한 값)
+     * @param columns L (행 당 패킷 개수)
+     * @param rows D (열 당 패킷 개수)
+     * @param columnPayloadType Column FEC Payload type
+     * @param rowPayloadType Row FEC Payload type (0 이면 Column FEC 만 송신)
+     */
+    public void initFec(int fecSsrc, int columns, int rows, int columnPayloadType, int rowPayloadType) {
+        if (fecEncoder != null) {
+            return;
+        }
+
+        this.fecEncoder = new FecEncoder(
+                columns, rows, columnPayloadType, rowPayloadType, fecSsrc,
+                fecPacket -> write(fecPacket, destIp, destPort)
+        );
+        logger.debug("({}) Streamer fec is set up. (fecSsrc={}, L={}, D={}, columnPt={}, rowPt={})",
+                sessionId, fecSsrc, columns, rows, columnPayloadType, rowPayloadType
+        );
+    }
+
+    public boolean isFecEnabled() {
+        return fecEncoder != null;
+    }
+
+    /**
+     * @fn public int encodeFec(ByteBuf rtpPacket)
+     * @brief 송신한 RTP 패킷을 FEC 행렬에 추가하고, 완성된 FEC 패킷을 송신 버퍼에 쌓는 함수 (flush() 에서 송신된다.)
+     * @param rtpPacket RTP 패킷 (index 를 변경하지 않으며 소유권도 가져가지 않는다.)
+     * @return 송신 버퍼에 쌓은 FEC 패킷 개수
+     */
+    public int encodeFec(ByteBuf rtpPacket) {
+        FecEncoder curFecEncoder = fecEncoder;
+        if (curFecEncoder == null) {
+            return 0;
+        }
+
+        synchronized (curFecEncoder) {
+            if (fecEncoder != null) {
+                return curFecEncoder.encode(rtpPacket);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @fn public void resetFec()
+     * @brief Sequence number 가 불연속일 때 진행 중인 FEC 행렬을 버리는 함수
+     */
+    public void resetFec() {
+        FecEncoder curFecEncoder = fecEncoder;
+        if (curFecEncoder == null) {
+            return;
+        }
+
+        synchronized (curFecEncoder) {
+            if (fecEncoder != null) {
+                curFecEncoder.reset();
+            }
+        }
+    }
+
+    /**
+     * @fn public void initRtcpReporter(RtcpNettyChannel rtcpChannel, String cname, int sessionBandwidth, long minInterval)
+     * @brief RTCP SR 송신기를 생성하고 송신 타이머를 시작하는 함수
+     * @param rtcpChannel RTCP 송수신 채널
+     * @param cname SDES CNAME (SDP 의 a=ssrc 와 같은 값)
+     * @param sessionBandwidth 세션 대역폭 (kbps)
+     * @param minInterval 최소 송신 주기 (ms)
+     */
+    public synchronized void initRtcpReporter(RtcpNettyChannel rtcpChannel, String cname, int sessionBandwidth, long minInterval) {
+        if (rtcpReporter != null || rtcpChannel == null) {
+            return;
+        }
+
+        rtcpReporter = new RtcpReporter(sessionId, this, rtcpChannel, cname, sessionBandwidth, minInterval);
+        rtcpReporter.start();
+    }
+
+    public RtcpReporter getRtcpReporter() {
+        return rtcpReporter;
+    }
+
+    public RtcpFeedbackListener getRtcpFeedbackListener() {
+        return rtcpFeedbackListener;
+    }
+
+    public void setRtcpFeedbackListener(RtcpFeedbackListener rtcpFeedbackListener) {
+        this.rtcpFeedbackListener = rtcpFeedbackListener;
+    }
+
+    /**
+     * @fn public void onRtpPacketSent(long timestamp, int payloadLength)
+     * @brief RTP 패킷 송신 통계를 갱신하는 함수 (RtpSender 스레드에서만 호출)
+     * @param timestamp 송신한 RTP 패킷의 timestamp
+     * @param payloadLength 송신한 RTP 패킷의 payload 길이
+     */
+    public void onRtpPacketSent(long timestamp, int payloadLength) {
+        long now = System.nanoTime();
+        streamerStats.onPacketSent(now, payloadLength);
+        serverMetrics.onRtpPacketSent(payloadLength);
+        // RTCP 타이머 스레드가 서로 다른 패킷의 timestamp 와 송신 시간을 읽지 않도록 version 으로 감싼다. (쓰는 스레드는 하나)
+        long version = lastRtpSentVersion;
+        lastRtpSentVersion = version + 1;
+        lastRtpTimestamp = timestamp;
+        lastRtpSendTime = now;
+        lastRtpSentVersion = version + 2;
+    }
+
+    /**
+     * @fn public long getRtpTimestampAt(long nanoTime, RtpClock rtpClock)
+     * @brief 지정한 시간에 해당하는 RTP timestamp 를 계산하는 함수 (SR 의 NTP <-> RTP 매핑)
+     * 마지막으로 송신한 RTP 패킷의 timestamp 에 경과 시간만큼 RTP clock 을 더한다.
+     * @param nanoTime 시간 (System.nanoTime)
+     * @param rtpClock RTP clock
+     * @return RTP timestamp (32 bits)
+     */
+    public long getRtpTimestampAt(long nanoTime, RtpClock rtpClock) {
+        long version;
+        long timestamp;
+        long sendTime;
+        do {
+            version = lastRtpSentVersion;
+            timestamp = lastRtpTimestamp;
+            sendTime = lastRtpSendTime;
+        } while ((version & 1) != 0 || version != lastRtpSentVersion);
+
+        if (version == 0) {
+            return curTimeStamp & 0xFFFFFFFFL;
+        }
+
+        // ms 로 자르면 90kHz 에서 최대 90 tick 까지 오차가 생기므로 ns 에서 바로 변환한다. (초 단위로 나눠서 곱셈 overflow 방지)
+        long elapsedNanos = Math.max(nanoTime - sendTime, 0);
+        long clockRate = rtpClock.getClockRate();
+        long elapsedRtpTime = (elapsedNanos / NANOS_PER_SECOND) * clockRate
+                + (elapsedNanos % NANOS_PER_SECOND) * clockRate / NANOS_PER_SECOND;
+        return (timestamp + elapsedRtpTime) & 0xFFFFFFFFL;
+    }
+
+    public long getSentPacketCount() {
+        return streamerStats.getPacketCount();
+    }
+
+    public long getSentOctetCount() {
+        return streamerStats.getOctetCount();
+    }
+
+    public StreamerStats getStreamerStats() {
+        return streamerStats;
+    }
+
+    /**
+     * @fn public long getEgressDroppedPacketCount()
+     * @brief 송신 계층에서 버린 패킷 수를 반환하는 함수 (송신 버퍼 부족 등)
+     * @return 버린 패킷 수
+     */
+    public long getEgressDroppedPacketCount() {
+        RtpEgress curRtpEgress = rtpEgress;
+        return curRtpEgress != null ? curRtpEgress.getDroppedPacketCount() : 0;
+    }
+
+    private synchronized int nextRtxSeqNum() {
+        int seqNum = rtxSeqNum;
+        rtxSeqNum = (rtxSeqNum + 1) & 0xFFFF;
+        return seqNum;
+    }
+
     /////////////////////////////////////////////////////////////////////
 
     @Override
@@ -383,4 +793,5 @@ public class Streamer {
         Gson gson = new GsonBuilder().setPrettyPrinting().create();
         return gson.toJson(this);
     }
+
 }
@@ -1,20 +1,21 @@
 package rtsp.module.base;
 
-import com.fsm.StateManager;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.fsm.RtspFsmManager;
+import rtsp.fsm.RtspState;
+import rtsp.module.RtspManager;
 import rtsp.module.Streamer;
 import rtsp.module.netty.NettyChannelManager;
-import rtsp.module.netty.module.RtcpNettyChannel;
 import rtsp.module.netty.module.RtspNettyChannel;
 import rtsp.module.sdp.base.Sdp;
+import rtsp.protocol.rtcp.module.CnameGenerator;
 import rtsp.service.AppInstance;
 import rtsp.service.ResourceManager;
 
-import java.util.UUID;
+import java.util.Random;
 
 /**
  * @class public class RtspUnit
@@ -29,17 +30,19 @@ public class RtspUnit {
     private final long initiationTime;
 
     private int congestionLevel = 0;
+    private final int ssrc; // RTP SSRC, DESCRIBE 에서 SDP 로 명시하고 SETUP 에서 Streamer 에 설정
+    private final int rtxSsrc; // RTX SSRC (RFC 4588), DESCRIBE 에서 SDP 로 명시
+    private final int fecSsrc; // FEC SSRC (SMPTE 2022-1), DESCRIBE 에서 SDP 로 명시
+    private final String cname; // RTCP SDES CNAME, SDP 의 a=ssrc 와 같은 값
 
     private final RtspNettyChannel rtspChannel;
-    private final RtcpNettyChannel rtcpChannel;
     private int clientRtpListenPort = 0;
 
     // TODO: Must manage the streamers
     private Streamer streamer = null;
     //
 
-    private final RtspFsmManager rtspFsmManager = new RtspFsmManager();
-    private final String rtspStateUnitId;
+    private final RtspFsmManager rtspFsmManager = new RtspFsmManager(); // IDLE 에서 시작
 
     private Sdp sdp = null;
 
@@ -58,16 +61,26 @@ public class RtspUnit {
     public RtspUnit(String rtspUnitId, String listenIp, int listenPort) {
         this.initiationTime = System.currentTimeMillis();
         this.rtspUnitId = rtspUnitId;
-        this.rtspStateUnitId = String.valueOf(UUID.randomUUID());
+
+        Random random = new Random();
+        this.ssrc = random.nextInt(Integer.MAX_VALUE);
+        int curRtxSsrc;
+        do {
+            curRtxSsrc = random.nextInt(Integer.MAX_VALUE);
+        } while (curRtxSsrc == ssrc);
+        this.rtxSsrc = curRtxSsrc;
+        int curFecSsrc;
+        do {
+            curFecSsrc = random.nextInt(Integer.MAX_VALUE);
+        } while (curFecSsrc == 0 || curFecSsrc == ssrc || curFecSsrc == rtxSsrc);
+        this.fecSsrc = curFecSsrc;
+        this.cname = CnameGenerator.generateCname();
 
         int rtcpListenPort = AppInstance.getInstance().getConfigManager().getLocalRtcpListenPort();
         rtspChannel = NettyChannelManager.getInstance().openRtspChannel(rtspUnitId, listenIp, listenPort);
-        rtcpChannel = NettyChannelManager.getInstance().openRtcpChannel(rtspUnitId, listenIp, rtcpListenPort);
         this.rtspListenIp = listenIp;
         this.rtspListenPort = listenPort;
         this.rtcpListenPort = rtcpListenPort;
-
-        rtspFsmManager.init(this);
     }
 
     ////////////////////////////////////////////////////////////////////////////////
@@ -84,6 +97,22 @@ public class RtspUnit {
         return rtcpListenPort;
     }
 
+    public int getSsrc() {
+        return ssrc;
+    }
+
+    public int getRtxSsrc() {
+        return rtxSsrc;
+    }
+
+    public int getFecSsrc() {
+        return fecSsrc;
+    }
+
+    public String getCname() {
+        return cname;
+    }
+
     public long getInitiationTime() {
         return initiationTime;
     }
@@ -125,7 +154,9 @@ public class RtspUnit {
     }
 
     public void setSessionId(long sessionId) {
+        long prevSessionId = this.sessionId;
         this.sessionId = sessionId;
+        RtspManager.getInstance().updateSessionIndex(rtspUnitId, prevSessionId, sessionId);
     }
 
     public Sdp getSdp() {
@@ -136,12 +167,12 @@ public class RtspUnit {
         this.sdp = sdp;
     }
 
-    public StateManager getStateManager() {
-        return rtspFsmManager.getStateManager();
+    public RtspFsmManager getRtspFsmManager() {
+        return rtspFsmManager;
     }
 
-    public String getRtspStateUnitId() {
-        return rtspStateUnitId;
+    public RtspState getRtspState() {
+        return rtspFsmManager.getState();
     }
 
     public Streamer getStreamer() {
@@ -172,10 +203,6 @@ public class RtspUnit {
         return rtspChannel;
     }
 
-    public RtcpNettyChannel getRtcpChannel() {
-        return rtcpChannel;
-    }
-
     public int getClientRtpListenPort() {
         return clientRtpListenPort;
     }
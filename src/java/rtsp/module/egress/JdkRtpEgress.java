@@ -0,0 +1,175 @@
+package rtsp.module.egress;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.service.jfr.JfrEvents;
+import rtsp.service.metric.ServerMetrics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class public class JdkRtpEgress implements RtpEgress
+ * @brief JDK DatagramChannel (non-blocking) 로 RTP 패킷을 송신하는 클래스
+ *
+ * - 별도의 EventLoop 없이 호출한 스레드에서 바로 송신한다. (flush() 는 아무것도 하지 않는다.)
+ * - Direct 버퍼는 복사 없이 송신하고, Heap 버퍼는 Pooled Direct 버퍼로 복사해서 송신한다.
+ * - 소켓 송신 버퍼가 가득 차서 송신하지 못한 패킷은 버리고 개수만 센다.
+ */
+public class JdkRtpEgress implements RtpEgress {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkRtpEgress.class);
+    private static final ServerMetrics serverMetrics = ServerMetrics.getInstance();
+
+    private final String id;
+    private final int sendBufSize;
+
+    private volatile DatagramChannel channel = null; /* 메시지 송신용 채널 */
+    private volatile InetSocketAddress connectedAddress = null;
+
+    private final AtomicLong droppedPacketCount = new AtomicLong(0);
+    private volatile boolean isSendBufferFull = false; // 마지막 송신이 버려진 상태 (JFR 기록용)
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public JdkRtpEgress(String id, int sendBufSize) {
+        this.id = id;
+        this.sendBufSize = sendBufSize;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public synchronized boolean open(InetSocketAddress remoteAddress) {
+        // 이미 같은 목적지로 연결되어 있으면 그대로 사용한다. (PAUSE 후 PLAY)
+        if (isActive() && remoteAddress.equals(connectedAddress)) {
+            return true;
+        }
+        // 목적지가 바뀌었으면 이전 채널을 닫고 새로 연결한다.
+        close();
+
+        DatagramChannel newChannel = null;
+        try {
+            newChannel = DatagramChannel.open();
+            newChannel.configureBlocking(false);
+            if (sendBufSize > 0) {
+                newChannel.setOption(StandardSocketOptions.SO_SNDBUF, sendBufSize);
+            }
+            newChannel.connect(remoteAddress);
+
+            connectedAddress = remoteAddress;
+            channel = newChannel;
+            return true;
+        } catch (IOException e) {
+            logger.trace("({}) Fail to connect with remote peer. (remoteAddress={})", id, remoteAddress, e);
+            closeQuietly(newChannel);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        DatagramChannel curChannel = channel;
+        return curChannel != null && curChannel.isOpen() && curChannel.isConnected();
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public void write(ByteBuf buf, InetSocketAddress remoteAddress) {
+        DatagramChannel curChannel = channel;
+        if (curChannel == null) {
+            serverMetrics.onRtpSendFail();
+            ReferenceCountUtil.release(buf);
+            return;
+        }
+
+        ByteBuf directBuf = buf;
+        try {
+            if (!buf.isDirect() || buf.nioBufferCount() != 1) {
+                directBuf = PooledByteBufAllocator.DEFAULT.directBuffer(buf.readableBytes());
+                directBuf.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+            }
+
+            ByteBuffer nioBuffer = directBuf.nioBuffer(directBuf.readerIndex(), directBuf.readableBytes());
+            int sentBytes;
+            if (remoteAddress.equals(connectedAddress)) {
+                sentBytes = curChannel.write(nioBuffer);
+            } else {
+                sentBytes = curChannel.send(nioBuffer, remoteAddress);
+            }
+
+            if (sentBytes == 0) {
+                droppedPacketCount.incrementAndGet();
+                serverMetrics.onRtpSendFail();
+                if (!isSendBufferFull) {
+                    isSendBufferFull = true;
+                    JfrEvents.sendBufferFull(id, getName(), -1);
+                }
+            } else if (isSendBufferFull) {
+                isSendBufferFull = false;
+            }
+        } catch (IOException e) {
+            serverMetrics.onRtpSendFail();
+            logger.warn("({}) Fail to send the message. (remoteAddress={}, cause={})", id, remoteAddress, e.toString());
+        } finally {
+            if (directBuf != buf) {
+                directBuf.release();
+            }
+            buf.release();
+        }
+    }
+
+    @Override
+    public void flush() {
+        // Nothing
+    }
+
+    @Override
+    public void close() {
+        DatagramChannel curChannel = channel;
+        if (curChannel != null) {
+            channel = null;
+            connectedAddress = null;
+            closeQuietly(curChannel);
+        }
+    }
+
+    @Override
+    public void release() {
+        close();
+    }
+
+    private void closeQuietly(DatagramChannel datagramChannel) {
+        if (datagramChannel == null) {
+            return;
+        }
+
+        try {
+            datagramChannel.close();
+        } catch (IOException e) {
+            logger.warn("({}) Fail to close the channel.", id, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return RtpEgressFactory.TYPE_JDK;
+    }
+
+    @Override
+    public long getDroppedPacketCount() {
+        return droppedPacketCount.get();
+    }
+
+}
@@ -0,0 +1,160 @@
+package rtsp.module.egress;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.service.jfr.JfrEvents;
+import rtsp.service.metric.ServerMetrics;
+import rtsp.module.netty.NettyTransport;
+
+import java.net.InetSocketAddress;
+import java.util.function.Supplier;
+
+/**
+ * @class public class NettyRtpEgress implements RtpEgress
+ * @brief Netty Datagram 채널로 RTP 패킷을 송신하는 클래스
+ *
+ * - NIO 또는 epoll 로 생성할 수 있다. (epoll 을 사용할 수 없으면 NIO 로 생성된다.)
+ * - write() 는 채널 대기열에 쌓기만 하고 flush() 에서 한 번에 송신한다.
+ *      > epoll 에서는 flush 한 번에 쌓인 데이터그램을 sendmmsg 로 송신한다.
+ */
+public class NettyRtpEgress implements RtpEgress {
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyRtpEgress.class);
+    private static final ServerMetrics serverMetrics = ServerMetrics.getInstance();
+
+    private final String id;
+    private final boolean isEpoll;
+    private final EventLoopGroup group;
+    private final Bootstrap b = new Bootstrap();
+
+    private volatile Channel channel = null; /* 메시지 송신용 채널 */
+    private volatile boolean isSendBufferFull = false; // 송신 대기열이 high water mark 를 넘은 상태 (JFR 기록용)
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public NettyRtpEgress(String id, boolean isEpoll, int threadCount, int sendBufSize, int recvBufSize, Supplier<ChannelHandler> handlerSupplier)
+     * @brief NettyRtpEgress 생성자 함수
+     * @param id 로그 식별자 (Session id)
+     * @param isEpoll epoll 사용 여부
+     * @param threadCount EventLoop 개수
+     * @param sendBufSize SO_SNDBUF
+     * @param recvBufSize SO_RCVBUF
+     * @param handlerSupplier 채널마다 추가할 수신 핸들러 생성 함수
+     */
+    public NettyRtpEgress(String id, boolean isEpoll, int threadCount, int sendBufSize, int recvBufSize, Supplier<ChannelHandler> handlerSupplier) {
+        this.id = id;
+        this.isEpoll = isEpoll && NettyTransport.isEpoll();
+        this.group = NettyTransport.newEventLoopGroup(threadCount, this.isEpoll);
+
+        b.group(group).channel(NettyTransport.getDatagramChannelClass(this.isEpoll))
+                .option(ChannelOption.SO_BROADCAST, false)
+                .option(ChannelOption.SO_SNDBUF, sendBufSize)
+                .option(ChannelOption.SO_RCVBUF, recvBufSize)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000)
+                .handler(new ChannelInitializer<DatagramChannel>() {
+                    @Override
+                    public void initChannel (final DatagramChannel ch) {
+                        final ChannelPipeline pipeline = ch.pipeline();
+                        pipeline.addLast(handlerSupplier.get());
+                    }
+                });
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public synchronized boolean open(InetSocketAddress remoteAddress) {
+        // 이미 같은 목적지로 연결되어 있으면 그대로 사용한다. (PAUSE 후 PLAY)
+        Channel curChannel = channel;
+        if (curChannel != null && curChannel.isActive() && remoteAddress.equals(curChannel.remoteAddress())) {
+            return true;
+        }
+        // 목적지가 바뀌었으면 이전 채널을 닫고 새로 연결한다.
+        close();
+
+        try {
+            channel = b.connect(remoteAddress).sync().channel();
+            return true;
+        } catch (Exception e) {
+            logger.trace("({}) Fail to connect with remote peer. (remoteAddress={})", id, remoteAddress, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        Channel curChannel = channel;
+        return curChannel != null && curChannel.isActive() && curChannel.isOpen();
+    }
+
+    @Override
+    public boolean isWritable() {
+        Channel curChannel = channel;
+        return curChannel != null && curChannel.isWritable();
+    }
+
+    @Override
+    public void write(ByteBuf buf, InetSocketAddress remoteAddress) {
+        Channel curChannel = channel;
+        if (curChannel == null) {
+            serverMetrics.onRtpSendFail();
+            ReferenceCountUtil.release(buf);
+            return;
+        }
+
+        checkSendBufferFull(curChannel);
+        curChannel.write(new DatagramPacket(buf, remoteAddress));
+    }
+
+    private void checkSendBufferFull(Channel curChannel) {
+        boolean isFull = !curChannel.isWritable();
+        if (isFull == isSendBufferFull) {
+            return;
+        }
+
+        isSendBufferFull = isFull;
+        if (isFull) {
+            ChannelOutboundBuffer outboundBuffer = curChannel.unsafe().outboundBuffer();
+            JfrEvents.sendBufferFull(id, getName(), outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : -1);
+        }
+    }
+
+    @Override
+    public void flush() {
+        Channel curChannel = channel;
+        if (curChannel != null) {
+            curChannel.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        Channel curChannel = channel;
+        if (curChannel != null) {
+            channel = null;
+            curChannel.close();
+        }
+    }
+
+    @Override
+    public void release() {
+        close();
+        group.shutdownGracefully();
+    }
+
+    @Override
+    public String getName() {
+        return isEpoll ? RtpEgressFactory.TYPE_NETTY_EPOLL : RtpEgressFactory.TYPE_NETTY_NIO;
+    }
+
+}
@@ -0,0 +1,76 @@
+package rtsp.module.egress;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class public class NullRtpEgress implements RtpEgress
+ * @brief 패킷을 송신하지 않고 개수와 크기만 세는 클래스
+ * 송신 계층을 제외한 RTP 생성 비용만 측정하거나, 네트워크 없이 스트리밍 경로를 시험할 때 사용한다.
+ */
+public class NullRtpEgress implements RtpEgress {
+
+    private volatile boolean isOpened = false;
+
+    private final AtomicLong packetCount = new AtomicLong(0);
+    private final AtomicLong byteCount = new AtomicLong(0);
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean open(InetSocketAddress remoteAddress) {
+        isOpened = true;
+        return true;
+    }
+
+    @Override
+    public boolean isActive() {
+        return isOpened;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public void write(ByteBuf buf, InetSocketAddress remoteAddress) {
+        if (buf != null) {
+            packetCount.incrementAndGet();
+            byteCount.addAndGet(buf.readableBytes());
+        }
+        ReferenceCountUtil.release(buf);
+    }
+
+    @Override
+    public void flush() {
+        // Nothing
+    }
+
+    @Override
+    public void close() {
+        isOpened = false;
+    }
+
+    @Override
+    public void release() {
+        close();
+    }
+
+    @Override
+    public String getName() {
+        return RtpEgressFactory.TYPE_NULL;
+    }
+
+    public long getPacketCount() {
+        return packetCount.get();
+    }
+
+    public long getByteCount() {
+        return byteCount.get();
+    }
+
+}
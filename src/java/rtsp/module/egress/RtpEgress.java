@@ -0,0 +1,81 @@
+package rtsp.module.egress;
+
+import io.netty.buffer.ByteBuf;
+
+import java.net.InetSocketAddress;
+
+/**
+ * @interface public interface RtpEgress
+ * @brief RTP 송신 전송 계층 SPI
+ *
+ * - Streamer 는 이 인터페이스로만 RTP/RTX/FEC 패킷을 송신한다.
+ * - 구현체는 RtpEgressFactory 에서 설정(STREAM-RTP_EGRESS)에 따라 생성한다.
+ *      > NETTY_NIO : NettyRtpEgress (NioDatagramChannel)
+ *      > NETTY_EPOLL : NettyRtpEgress (EpollDatagramChannel, flush 한 번에 sendmmsg)
+ *      > JDK : JdkRtpEgress (java.nio.channels.DatagramChannel, non-blocking)
+ *      > NULL : NullRtpEgress (송신하지 않고 개수만 센다.)
+ * - write() 는 RtpSender 스레드와 RTCP 재전송 스레드에서 동시에 호출될 수 있다.
+ */
+public interface RtpEgress {
+
+    /**
+     * @fn boolean open(InetSocketAddress remoteAddress)
+     * @brief 목적지로 송신 소켓을 연결하는 함수
+     * 이미 같은 목적지로 연결되어 있으면 아무것도 하지 않고, 다른 목적지로 연결되어 있으면 이전 소켓을 닫고 다시 연결한다.
+     * @param remoteAddress 목적지 주소
+     * @return 성공 시 true, 실패 시 false 반환
+     */
+    boolean open(InetSocketAddress remoteAddress);
+
+    /**
+     * @fn boolean isActive()
+     * @brief 송신 가능한 상태인지 반환하는 함수
+     * @return 소켓이 열려 있으면 true, 아니면 false 반환
+     */
+    boolean isActive();
+
+    /**
+     * @fn boolean isWritable()
+     * @brief 송신 버퍼에 여유가 있는지 반환하는 함수 (대기열이 없는 구현체는 항상 true)
+     * @return 여유가 있으면 true, 아니면 false 반환
+     */
+    boolean isWritable();
+
+    /**
+     * @fn void write(ByteBuf buf, InetSocketAddress remoteAddress)
+     * @brief 패킷을 송신 대기열에 쌓는 함수 (대기열이 없는 구현체는 바로 송신한다.)
+     * @param buf 패킷 (소유권을 넘겨받는다.)
+     * @param remoteAddress 목적지 주소
+     */
+    void write(ByteBuf buf, InetSocketAddress remoteAddress);
+
+    /**
+     * @fn void flush()
+     * @brief write() 로 쌓인 패킷을 송신하는 함수
+     */
+    void flush();
+
+    /**
+     * @fn void close()
+     * @brief 송신 소켓을 닫는 함수 (open() 으로 다시 열 수 있다.)
+     */
+    void close();
+
+    /**
+     * @fn void release()
+     * @brief 송신 소켓과 스레드 등 모든 자원을 해제하는 함수 (이후 사용할 수 없다.)
+     */
+    void release();
+
+    String getName();
+
+    /**
+     * @fn default long getDroppedPacketCount()
+     * @brief 송신하지 못하고 버린 패킷 수를 반환하는 함수 (세지 않는 구현체는 0)
+     * @return 버린 패킷 수
+     */
+    default long getDroppedPacketCount() {
+        return 0;
+    }
+
+}
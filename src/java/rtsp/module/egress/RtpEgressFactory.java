@@ -0,0 +1,74 @@
+package rtsp.module.egress;
+
+import io.netty.channel.ChannelHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.netty.NettyTransport;
+
+import java.util.function.Supplier;
+
+/**
+ * @class public class RtpEgressFactory
+ * @brief 설정한 종류의 RtpEgress 를 생성하는 클래스
+ */
+public class RtpEgressFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtpEgressFactory.class);
+
+    public static final String TYPE_AUTO = "AUTO"; // epoll 을 사용할 수 있으면 NETTY_EPOLL, 아니면 NETTY_NIO
+    public static final String TYPE_NETTY_NIO = "NETTY_NIO";
+    public static final String TYPE_NETTY_EPOLL = "NETTY_EPOLL";
+    public static final String TYPE_JDK = "JDK";
+    public static final String TYPE_NULL = "NULL";
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private RtpEgressFactory() {
+        // Nothing
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public static boolean isValidType(String type) {
+        return TYPE_AUTO.equals(type)
+                || TYPE_NETTY_NIO.equals(type)
+                || TYPE_NETTY_EPOLL.equals(type)
+                || TYPE_JDK.equals(type)
+                || TYPE_NULL.equals(type);
+    }
+
+    /**
+     * @fn public static RtpEgress create(String type, String id, int threadCount, int sendBufSize, int recvBufSize, Supplier<ChannelHandler> handlerSupplier)
+     * @brief RtpEgress 를 생성하는 함수
+     * @param type RtpEgress 종류 (TYPE_XXX)
+     * @param id 로그 식별자 (Session id)
+     * @param threadCount Netty EventLoop 개수
+     * @param sendBufSize SO_SNDBUF
+     * @param recvBufSize SO_RCVBUF
+     * @param handlerSupplier Netty 채널 수신 핸들러 생성 함수
+     * @return 생성된 RtpEgress (알 수 없는 종류면 AUTO 로 생성)
+     */
+    public static RtpEgress create(String type, String id, int threadCount, int sendBufSize, int recvBufSize, Supplier<ChannelHandler> handlerSupplier) {
+        if (type == null) {
+            type = TYPE_AUTO;
+        }
+
+        switch (type) {
+            case TYPE_NETTY_NIO:
+                return new NettyRtpEgress(id, false, threadCount, sendBufSize, recvBufSize, handlerSupplier);
+            case TYPE_NETTY_EPOLL:
+                if (!NettyTransport.isEpoll()) {
+                    logger.warn("({}) Epoll is not available. Netty nio egress is used instead.", id);
+                }
+                return new NettyRtpEgress(id, true, threadCount, sendBufSize, recvBufSize, handlerSupplier);
+            case TYPE_JDK:
+                return new JdkRtpEgress(id, sendBufSize);
+            case TYPE_NULL:
+                return new NullRtpEgress();
+            case TYPE_AUTO:
+            default:
+                return new NettyRtpEgress(id, NettyTransport.isEpoll(), threadCount, sendBufSize, recvBufSize, handlerSupplier);
+        }
+    }
+
+}
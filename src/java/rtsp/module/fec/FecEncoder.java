@@ -0,0 +1,281 @@
+package rtsp.module.fec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.util.function.Consumer;
+
+/**
+ * @class public class FecEncoder
+ * @brief RTP 패킷에 대해 SMPTE 2022-1 (RFC 2733 기반) XOR 패리티 FEC 패킷을 생성하는 클래스
+ *
+ * - L x D 행렬
+ *      RTP 패킷을 L 개씩 D 행으로 배치해서 행(Row, 연속된 L 개 패킷)과 열(Column, L 간격의 D 개 패킷) 단위로 XOR 한다.
+ *      행이 채워지면 Row FEC, 마지막 행이 채워지면 각 열의 Column FEC 를 송신한다.
+ *
+ * - FEC Header (16 bytes)
+ *     0                   1                   2                   3
+ *     0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *    |      SNBase low bits          |        Length Recovery        |
+ *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *    |E| PT recovery |                    Mask                       |
+ *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *    |                          TS recovery                          |
+ *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *    |X|D|type |index|    Offset     |      NA       |SNBase ext bits|
+ *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *
+ * - 보호하는 RTP 헤더 필드 (RFC 2733 7)
+ *      P, X, CC, M 은 FEC 패킷의 RTP 헤더에, PT 는 FEC 헤더의 PT recovery 에 XOR 값을 쓴다.
+ *
+ * - XOR 는 미리 할당한 Pooled direct buffer 위에서 64 bits 단위로 수행한다.
+ * - FEC 패킷도 미리 할당한 버퍼 (FEC_PACKET_BUFFER_COUNT 개) 를 돌려 쓰고, 송신 계층에는 retainedSlice 로 넘긴다.
+ *      > 송신 계층이 slice 를 해제하지 않은 (송신 대기 중인) 버퍼는 건너뛰고, 모두 사용 중일 때만 새로 할당한다.
+ */
+public class FecEncoder {
+
+    public static final int RTP_HEADER_LENGTH = 12;
+    public static final int FEC_HEADER_LENGTH = 16;
+    public static final int MAX_PAYLOAD_LENGTH = 1472 - RTP_HEADER_LENGTH; // UDP MTU 기준
+    public static final int MAX_FEC_PACKET_LENGTH = RTP_HEADER_LENGTH + FEC_HEADER_LENGTH + MAX_PAYLOAD_LENGTH;
+    // 송신 대기 중일 수 있는 FEC 패킷 버퍼 개수 (RtpSender 의 flush 단위 안에서 생성되는 FEC 패킷 수보다 크게 잡는다.)
+    public static final int FEC_PACKET_BUFFER_COUNT = 16;
+
+    private final int columns; // L
+    private final int rows; // D
+    private final int columnPayloadType;
+    private final int rowPayloadType; // 0 이면 Row FEC 를 생성하지 않는다.
+    private final int fecSsrc;
+    private final Consumer<ByteBuf> fecPacketConsumer;
+
+    private final FecGroup[] columnGroups;
+    private final FecGroup rowGroup;
+    private int matrixIndex = 0;
+    private int fecSeqNum = 0;
+
+    private final ByteBuf[] packetBuffers = new ByteBuf[FEC_PACKET_BUFFER_COUNT];
+    private int packetBufferIndex = 0;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param columns L (행 당 패킷 개수, Column FEC 의 Offset)
+     * @param rows D (열 당 패킷 개수, Column FEC 의 NA)
+     * @param columnPayloadType Column FEC Payload type
+     * @param rowPayloadType Row FEC Payload type (0 이면 비활성화)
+     * @param fecSsrc FEC SSRC
+     * @param fecPacketConsumer 생성된 FEC 패킷을 송신하는 함수 (ByteBuf 소유권을 넘겨받는다.)
+     */
+    public FecEncoder(int columns, int rows, int columnPayloadType, int rowPayloadType, int fecSsrc, Consumer<ByteBuf> fecPacketConsumer) {
+        this.columns = columns;
+        this.rows = rows;
+        this.columnPayloadType = columnPayloadType;
+        this.rowPayloadType = rowPayloadType;
+        this.fecSsrc = fecSsrc;
+        this.fecPacketConsumer = fecPacketConsumer;
+
+        this.columnGroups = new FecGroup[columns];
+        for (int i = 0; i < columns; i++) {
+            columnGroups[i] = new FecGroup();
+        }
+        this.rowGroup = rowPayloadType > 0 ? new FecGroup() : null;
+
+        for (int i = 0; i < packetBuffers.length; i++) {
+            packetBuffers[i] = PooledByteBufAllocator.DEFAULT.directBuffer(MAX_FEC_PACKET_LENGTH);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public int encode(ByteBuf rtpPacket)
+     * @brief 송신할 RTP 패킷을 FEC 행렬에 추가하고, 완성된 행/열의 FEC 패킷을 생성하는 함수
+     * RTP 패킷의 reader/writer index 는 변경하지 않는다.
+     * @param rtpPacket RTP 패킷 (CSRC, Extension 없음)
+     * @return 생성한 FEC 패킷 개수
+     */
+    public int encode(ByteBuf rtpPacket) {
+        int readerIndex = rtpPacket.readerIndex();
+        int payloadLength = rtpPacket.readableBytes() - RTP_HEADER_LENGTH;
+        if (payloadLength <= 0 || payloadLength > MAX_PAYLOAD_LENGTH) {
+            return 0;
+        }
+
+        int column = matrixIndex % columns;
+        int row = matrixIndex / columns;
+        int fecPacketCount = 0;
+
+        columnGroups[column].add(rtpPacket, readerIndex, payloadLength);
+        if (rowGroup != null) {
+            rowGroup.add(rtpPacket, readerIndex, payloadLength);
+            if (column == columns - 1) {
+                fecPacketConsumer.accept(rowGroup.build(rowPayloadType, true, 1, columns));
+                fecPacketCount++;
+            }
+        }
+
+        if (row == rows - 1) {
+            fecPacketConsumer.accept(columnGroups[column].build(columnPayloadType, false, columns, rows));
+            fecPacketCount++;
+        }
+
+        if (++matrixIndex >= columns * rows) {
+            matrixIndex = 0;
+        }
+        return fecPacketCount;
+    }
+
+    /**
+     * @fn public void reset()
+     * @brief 진행 중인 FEC 행렬을 버리는 함수 (PAUSE, Seek 등 Sequence number 가 불연속일 때 호출)
+     */
+    public void reset() {
+        for (FecGroup columnGroup : columnGroups) {
+            columnGroup.clear();
+        }
+        if (rowGroup != null) {
+            rowGroup.clear();
+        }
+        matrixIndex = 0;
+    }
+
+    /**
+     * @fn public void release()
+     * @brief XOR 누적 버퍼와 FEC 패킷 버퍼를 해제하는 함수
+     * 송신 대기 중인 FEC 패킷 버퍼는 송신 계층이 slice 를 해제할 때 반환된다.
+     */
+    public void release() {
+        for (FecGroup columnGroup : columnGroups) {
+            columnGroup.release();
+        }
+        if (rowGroup != null) {
+            rowGroup.release();
+        }
+        for (ByteBuf packetBuffer : packetBuffers) {
+            packetBuffer.release();
+        }
+    }
+
+    /**
+     * @fn private ByteBuf nextPacketBuffer()
+     * @brief FEC 패킷을 쓸 버퍼를 반환하는 함수
+     * 송신 계층이 이전 slice 를 해제한 (참조가 FecEncoder 하나만 남은) 버퍼를 재사용한다.
+     * @return 비어 있는 FEC 패킷 버퍼, 모두 송신 대기 중이면 null 반환
+     */
+    private ByteBuf nextPacketBuffer() {
+        for (int i = 0; i < packetBuffers.length; i++) {
+            ByteBuf packetBuffer = packetBuffers[packetBufferIndex];
+            packetBufferIndex = (packetBufferIndex + 1) % packetBuffers.length;
+            if (packetBuffer.refCnt() == 1) {
+                packetBuffer.clear();
+                return packetBuffer;
+            }
+        }
+
+        return null;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @class private class FecGroup
+     * @brief 하나의 행 또는 열에 대한 XOR 누적 상태
+     */
+    private class FecGroup {
+
+        private final ByteBuf payloadXor = PooledByteBufAllocator.DEFAULT.directBuffer(MAX_PAYLOAD_LENGTH + Long.BYTES);
+        private int count = 0;
+        private int snBase = 0;
+        private int lengthXor = 0;
+        private int flagXor = 0; // P, X, CC (첫 번째 byte)
+        private int markerPtXor = 0; // M, PT (두 번째 byte)
+        private int tsXor = 0;
+        private int maxLength = 0;
+
+        FecGroup() {
+            payloadXor.setZero(0, payloadXor.capacity());
+        }
+
+        void add(ByteBuf rtpPacket, int readerIndex, int payloadLength) {
+            if (count == 0) {
+                snBase = rtpPacket.getUnsignedShort(readerIndex + 2);
+            }
+
+            flagXor ^= rtpPacket.getByte(readerIndex) & 0x3F;
+            markerPtXor ^= rtpPacket.getByte(readerIndex + 1) & 0xFF;
+            tsXor ^= rtpPacket.getInt(readerIndex + 4);
+            lengthXor ^= payloadLength;
+
+            // 64 bits 단위 XOR
+            int payloadIndex = readerIndex + RTP_HEADER_LENGTH;
+            int i = 0;
+            for (; i + Long.BYTES <= payloadLength; i += Long.BYTES) {
+                payloadXor.setLong(i, payloadXor.getLong(i) ^ rtpPacket.getLong(payloadIndex + i));
+            }
+            for (; i < payloadLength; i++) {
+                payloadXor.setByte(i, payloadXor.getByte(i) ^ rtpPacket.getByte(payloadIndex + i));
+            }
+
+            if (payloadLength > maxLength) {
+                maxLength = payloadLength;
+            }
+            count++;
+        }
+
+        ByteBuf build(int payloadType, boolean isRow, int offset, int na) {
+            ByteBuf packetBuffer = nextPacketBuffer();
+            ByteBuf fecPacket = packetBuffer != null ? packetBuffer : PooledByteBufAllocator.DEFAULT.directBuffer(RTP_HEADER_LENGTH + FEC_HEADER_LENGTH + maxLength);
+
+            // RTP HEADER
+            fecPacket.writeByte(0x80 | (flagXor & 0x3F)); // V=2, P, X, CC recovery
+            fecPacket.writeByte((markerPtXor & 0x80) | (payloadType & 0x7F)); // M recovery, PT
+            fecPacket.writeShort(fecSeqNum);
+            fecSeqNum = (fecSeqNum + 1) & 0xFFFF;
+            fecPacket.writeInt(0); // TIMESTAMP (SMPTE 2022-1 : 사용하지 않음)
+            fecPacket.writeInt(fecSsrc);
+
+            // FEC HEADER
+            fecPacket.writeShort(snBase);
+            fecPacket.writeShort(lengthXor);
+            fecPacket.writeByte(0x80 | (markerPtXor & 0x7F)); // E=1, PT recovery
+            fecPacket.writeMedium(0); // Mask
+            fecPacket.writeInt(tsXor);
+            fecPacket.writeByte(isRow ? 0x40 : 0x00); // X=0, D, type=0 (XOR), index=0
+            fecPacket.writeByte(offset);
+            fecPacket.writeByte(na);
+            fecPacket.writeByte(0); // SNBase ext bits
+
+            // PAYLOAD
+            fecPacket.writeBytes(payloadXor, 0, maxLength);
+
+            clear();
+            // 재사용 버퍼는 송신 계층이 해제할 때까지 참조를 유지한다.
+            return packetBuffer != null ? fecPacket.retainedSlice() : fecPacket;
+        }
+
+        void clear() {
+            payloadXor.setZero(0, maxLength);
+            count = 0;
+            snBase = 0;
+            lengthXor = 0;
+            flagXor = 0;
+            markerPtXor = 0;
+            tsXor = 0;
+            maxLength = 0;
+        }
+
+        void release() {
+            payloadXor.release();
+        }
+    }
+
+}
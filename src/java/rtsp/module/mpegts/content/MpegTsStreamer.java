@@ -6,22 +6,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.module.mpegts.content.sinks.MTSSink;
 import rtsp.module.mpegts.content.sources.MTSSource;
+import rtsp.service.base.SpscRingQueue;
 
 import java.nio.ByteBuffer;
 import java.util.TreeMap;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
 
 public class MpegTsStreamer {
 
     static final Logger logger = LoggerFactory.getLogger("streamer");
 
+    private static final long BUFFER_FULL_WAIT_NANOS = 100000; // 버퍼가 가득 찼을 때 버퍼링 스레드 대기 시간 (100 us)
+
     private final MTSSource source;
     private final MTSSink sink;
 
-    private ArrayBlockingQueue<MpegTsPacket> buffer;
+    // 버퍼링 스레드 > 송신 스레드 패킷 전달 (생산자, 소비자 하나씩)
+    private SpscRingQueue<MpegTsPacket> buffer;
     private final int bufferSize;
-    private boolean endOfSourceReached;
-    private boolean streamingShouldStop;
+    private volatile boolean endOfSourceReached;
+    private volatile boolean streamingShouldStop;
 
     private PATSection patSection;
     private TreeMap<Integer, PMTSection> pmtSection;
@@ -40,7 +44,7 @@ public class MpegTsStreamer {
     }
 
     public void stream() {
-        buffer = new ArrayBlockingQueue<>(bufferSize);
+        buffer = new SpscRingQueue<>(bufferSize);
         patSection = null;
         pmtSection = Maps.newTreeMap();
         endOfSourceReached = false;
@@ -62,13 +66,14 @@ public class MpegTsStreamer {
 
     public void stop() {
         streamingShouldStop = true;
-        buffer.clear();
         try {
             bufferingThread.join();
             streamingThread.join();
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        // 두 스레드가 모두 끝난 후에 비운다. (소비자가 하나여야 한다.)
+        buffer.clear();
         buffer = null;
         bufferingThread = streamingThread = null;
     }
@@ -243,7 +248,7 @@ public class MpegTsStreamer {
         MpegTsPacket packet;
         int packetNumber = 0;
         while ((packetNumber < bufferSize) && (packet = source.nextPacket()) != null) {
-            buffer.add(packet);
+            buffer.offer(packet);
             packetNumber++;
         }
     }
@@ -252,14 +257,11 @@ public class MpegTsStreamer {
         try {
             MpegTsPacket packet;
             while (!streamingShouldStop && (packet = source.nextPacket()) != null) {
-                boolean put = false;
-                while (!put) {
-                    try {
-                        buffer.put(packet);
-                        put = true;
-                    } catch (InterruptedException ignored) {
-
+                while (!buffer.offer(packet)) {
+                    if (streamingShouldStop) {
+                        return;
                     }
+                    LockSupport.parkNanos(BUFFER_FULL_WAIT_NANOS);
                 }
             }
         } catch (Exception e) {
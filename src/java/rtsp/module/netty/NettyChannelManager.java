@@ -1,18 +1,22 @@
 package rtsp.module.netty;
 
-import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
 import rtsp.module.Streamer;
+import rtsp.module.netty.module.MetricsNettyChannel;
 import rtsp.module.netty.module.RtcpNettyChannel;
 import rtsp.module.netty.module.RtspNettyChannel;
 import rtsp.module.netty.module.RtspRegisterNettyChannel;
+import rtsp.module.netty.module.RtspServerNettyChannel;
+import rtsp.module.stat.StreamerStats;
 import rtsp.service.AppInstance;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -27,12 +31,14 @@ public class NettyChannelManager {
     private static NettyChannelManager manager = null;
 
     private RtspRegisterNettyChannel rtspRegisterNettyChannel = null;
+    private RtspServerNettyChannel rtspServerNettyChannel = null; // 모든 RtspUnit 이 공유
 
     private final HashMap<String, RtspNettyChannel> rtspChannelMap = new HashMap<>();
     private final ReentrantLock rtspChannelMapLock = new ReentrantLock();
 
-    private final HashMap<String, RtcpNettyChannel> rtcpChannelMap = new HashMap<>();
-    private final ReentrantLock rtcpChannelMapLock = new ReentrantLock();
+    private RtcpNettyChannel rtcpNettyChannel = null; // 모든 세션이 공유
+
+    private MetricsNettyChannel metricsNettyChannel = null;
 
     ////////////////////////////////////////////////////////////////////////////////
 
@@ -58,8 +64,10 @@ public class NettyChannelManager {
     }
 
     public void stop() {
+        closeRtspServerChannel();
         deleteAllRtspChannels();
-        deleteAllRtcpChannels();
+        closeRtcpChannel();
+        closeMetricsChannel();
     }
 
     ////////////////////////////////////////////////////////////////////////////////
@@ -97,6 +105,54 @@ public class NettyChannelManager {
 
     ////////////////////////////////////////////////////////////////////////////////
 
+    // 서비스 시작 시 호출
+    public synchronized boolean openRtspServerChannel() {
+        if (rtspServerNettyChannel != null) {
+            return false;
+        }
+
+        ConfigManager configManager = AppInstance.getInstance().getConfigManager();
+        String ip = configManager.getLocalListenIp();
+        int port = configManager.getLocalRtspListenPort();
+
+        try {
+            RtspServerNettyChannel newRtspServerNettyChannel = new RtspServerNettyChannel(ip, port);
+            newRtspServerNettyChannel.run();
+
+            // 메시지 수신용 채널 open
+            if (!newRtspServerNettyChannel.openChannel()) {
+                newRtspServerNettyChannel.stop();
+                logger.warn("| Fail to open the rtsp server channel. (ip={}, port={})", ip, port);
+                return false;
+            }
+
+            rtspServerNettyChannel = newRtspServerNettyChannel;
+            logger.debug("| Success to open the rtsp server channel. (ip={}, port={})", ip, port);
+            return true;
+        } catch (Exception e) {
+            logger.warn("| Fail to open the rtsp server channel. (ip={}, port={})", ip, port, e);
+            return false;
+        }
+    }
+
+    // 프로그램 종료 시 호출
+    public synchronized void closeRtspServerChannel() {
+        if (rtspServerNettyChannel == null) {
+            return;
+        }
+
+        rtspServerNettyChannel.closeChannel();
+        rtspServerNettyChannel.stop();
+        rtspServerNettyChannel = null;
+        logger.debug("| Success to close the rtsp server channel.");
+    }
+
+    public RtspServerNettyChannel getRtspServerChannel() {
+        return rtspServerNettyChannel;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
     public RtspNettyChannel openRtspChannel(String rtspUnitId, String ip, int port) {
         try {
             rtspChannelMapLock.lock();
@@ -112,22 +168,8 @@ public class NettyChannelManager {
                 return false;
             }*/
 
+            // RTSP 포트는 공유 RtspServerNettyChannel 이 수신하므로 Streamer 목록만 생성한다.
             RtspNettyChannel rtspNettyChannel = new RtspNettyChannel(rtspUnitId, ip, port);
-            rtspNettyChannel.run(ip, port);
-
-            // 메시지 수신용 채널 open
-            Channel channel = rtspNettyChannel.openChannel(
-                    ip,
-                    port
-            );
-
-            if (channel == null) {
-                rtspNettyChannel.closeChannel();
-                rtspNettyChannel.stop();
-                logger.warn("| ({}) Fail to add the channel.", rtspUnitId);
-                return null;
-            }
-
             rtspChannelMap.putIfAbsent(rtspUnitId, rtspNettyChannel);
             logger.debug("| ({}) Success to add channel.", rtspUnitId);
             return rtspNettyChannel;
@@ -149,8 +191,7 @@ public class NettyChannelManager {
                     return;
                 }
 
-                rtspNettyChannel.closeChannel();
-                rtspNettyChannel.stop();
+                rtspNettyChannel.deleteAllStreamers();
                 rtspChannelMap.remove(rtspUnitId);
 
                 logger.debug("| ({}) Success to close the channel.", rtspUnitId);
@@ -173,10 +214,9 @@ public class NettyChannelManager {
                         continue;
                     }
 
-                    rtspNettyChannel.closeChannel();
-                    rtspNettyChannel.stop();
-                    rtspChannelMap.remove(entry.getKey());
+                    rtspNettyChannel.deleteAllStreamers();
                 }
+                rtspChannelMap.clear();
 
                 logger.debug("| Success to close all channel(s).");
             }
@@ -201,96 +241,166 @@ public class NettyChannelManager {
 
     ////////////////////////////////////////////////////////////////////////////////
 
-    public RtcpNettyChannel openRtcpChannel(String rtspUnitId, String ip, int port) {
-        try {
-            rtcpChannelMapLock.lock();
+    /**
+     * @fn public StreamerStats getStreamerStats(String sessionId)
+     * @brief 지정한 세션의 송신 통계를 반환하는 함수
+     * @param sessionId 세션 ID
+     * @return 성공 시 StreamerStats 객체, 세션이 없으면 null 반환
+     */
+    public StreamerStats getStreamerStats(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
 
-            if (rtcpChannelMap.get(rtspUnitId) != null) {
-                logger.trace("| ({}) Fail to add the rtcp channel. Key is duplicated.", rtspUnitId);
-                return null;
+        for (RtspNettyChannel rtspNettyChannel : getCloneRtspChannelList()) {
+            if (rtspNettyChannel == null) {
+                continue;
             }
 
-            /*int port = ResourceManager.getInstance().takePort();
-            if (port == -1) {
-                logger.warn("| Fail to add the channel. Port is full. (key={})", key);
-                return false;
-            }*/
+            Streamer streamer = rtspNettyChannel.getCloneStreamerMap().get(sessionId);
+            if (streamer != null) {
+                return streamer.getStreamerStats();
+            }
+        }
+        return null;
+    }
 
-            RtcpNettyChannel rtcpNettyChannel = new RtcpNettyChannel(rtspUnitId, ip, port);
-            rtcpNettyChannel.run(ip, port);
+    /**
+     * @fn public List<StreamerStats.Snapshot> getStreamerStatsList()
+     * @brief 모든 세션의 송신 통계를 문제가 큰 순서로 반환하는 함수
+     * 손실률, 송신 실패 수, 최대 pacing 지연, PCR 불연속 횟수 순으로 정렬한다.
+     * @return 세션 통계 목록
+     */
+    public List<StreamerStats.Snapshot> getStreamerStatsList() {
+        List<StreamerStats.Snapshot> snapshotList = new ArrayList<>();
+        for (RtspNettyChannel rtspNettyChannel : getCloneRtspChannelList()) {
+            if (rtspNettyChannel == null) {
+                continue;
+            }
 
-            // 메시지 수신용 채널 open
-            Channel channel = rtcpNettyChannel.openChannel(
-                    ip,
-                    port
-            );
-
-            if (channel == null) {
-                rtcpNettyChannel.closeChannel();
-                rtcpNettyChannel.stop();
-                logger.warn("| ({}) Fail to add the rtcp channel.", rtspUnitId);
-                return null;
+            for (Streamer streamer : rtspNettyChannel.getCloneStreamerMap().values()) {
+                if (streamer != null) {
+                    snapshotList.add(streamer.getStreamerStats().getSnapshot());
+                }
             }
+        }
 
-            rtcpChannelMap.putIfAbsent(rtspUnitId, rtcpNettyChannel);
-            logger.debug("| ({}) Success to add rtcp channel.", rtspUnitId);
-            return rtcpNettyChannel;
-        } catch (Exception e) {
-            logger.warn("| ({}) Fail to add rtcp channel (ip={}, port={}).", rtspUnitId, ip, port, e);
-            return null;
+        snapshotList.sort(
+                Comparator.comparingDouble(StreamerStats.Snapshot::getLossPercent)
+                        .thenComparingLong(snapshot -> snapshot.getSendErrorCount() + snapshot.getEgressDropCount())
+                        .thenComparingDouble(StreamerStats.Snapshot::getMaxPacingLagMs)
+                        .thenComparingLong(StreamerStats.Snapshot::getPcrDiscontinuityCount)
+                        .reversed()
+        );
+        return snapshotList;
+    }
+
+    private List<RtspNettyChannel> getCloneRtspChannelList() {
+        try {
+            rtspChannelMapLock.lock();
+
+            return new ArrayList<>(rtspChannelMap.values());
         } finally {
-            rtcpChannelMapLock.unlock();
+            rtspChannelMapLock.unlock();
         }
     }
 
-    public void deleteRtcpChannel(String rtspUnitId) {
-        try {
-            rtcpChannelMapLock.lock();
+    ////////////////////////////////////////////////////////////////////////////////
 
-            if (!rtcpChannelMap.isEmpty()) {
-                RtcpNettyChannel rtcpNettyChannel = rtcpChannelMap.get(rtspUnitId);
-                if (rtcpNettyChannel == null) {
-                    return;
-                }
+    // 서비스 시작 시 호출
+    public synchronized boolean openRtcpChannel() {
+        if (rtcpNettyChannel != null) {
+            return false;
+        }
 
-                rtcpNettyChannel.closeChannel();
-                rtcpNettyChannel.stop();
-                rtcpChannelMap.remove(rtspUnitId);
+        ConfigManager configManager = AppInstance.getInstance().getConfigManager();
+        String ip = configManager.getLocalListenIp();
+        int port = configManager.getLocalRtcpListenPort();
+
+        try {
+            RtcpNettyChannel newRtcpNettyChannel = new RtcpNettyChannel(ip, port);
+            newRtcpNettyChannel.run();
 
-                logger.debug("| ({}) Success to close the rtcp channel.", rtspUnitId);
+            // 메시지 수신용 채널 open
+            if (!newRtcpNettyChannel.openChannel()) {
+                newRtcpNettyChannel.stop();
+                logger.warn("| Fail to open the rtcp channel. (ip={}, port={})", ip, port);
+                return false;
             }
+
+            rtcpNettyChannel = newRtcpNettyChannel;
+            logger.debug("| Success to open the rtcp channel. (ip={}, port={})", ip, port);
+            return true;
         } catch (Exception e) {
-            logger.warn("| ({}) Fail to close the rtcp channel.", rtspUnitId, e);
-        } finally {
-            rtcpChannelMapLock.unlock();
+            logger.warn("| Fail to open the rtcp channel. (ip={}, port={})", ip, port, e);
+            return false;
         }
     }
 
-    public void deleteAllRtcpChannels () {
-        try {
-            rtcpChannelMapLock.lock();
-            rtcpChannelMap.entrySet().removeIf(Objects::nonNull);
-
-            logger.debug("| Success to close all rtcp channel(s).");
-        } catch (Exception e) {
-            logger.warn("| Fail to close all rtcp channel(s).", e);
-        } finally {
-            rtcpChannelMapLock.unlock();
+    // 프로그램 종료 시 호출
+    public synchronized void closeRtcpChannel() {
+        if (rtcpNettyChannel == null) {
+            return;
         }
+
+        rtcpNettyChannel.closeChannel();
+        rtcpNettyChannel.stop();
+        rtcpNettyChannel = null;
+        logger.debug("| Success to close the rtcp channel.");
+    }
+
+    public RtcpNettyChannel getRtcpChannel() {
+        return rtcpNettyChannel;
     }
 
-    public RtcpNettyChannel getRtcpChannel(String rtspUnitId) {
+    ////////////////////////////////////////////////////////////////////////////////
+
+    // 서비스 시작 시 호출 (LOCAL_METRICS_LISTEN_PORT 가 0 이면 호출하지 않는다.)
+    public synchronized boolean openMetricsChannel() {
+        if (metricsNettyChannel != null) {
+            return false;
+        }
+
+        ConfigManager configManager = AppInstance.getInstance().getConfigManager();
+        String ip = configManager.getLocalListenIp();
+        int port = configManager.getLocalMetricsListenPort();
+
         try {
-            rtcpChannelMapLock.lock();
+            MetricsNettyChannel newMetricsNettyChannel = new MetricsNettyChannel(ip, port);
+            newMetricsNettyChannel.run();
+
+            // 메시지 수신용 채널 open
+            if (!newMetricsNettyChannel.openChannel()) {
+                newMetricsNettyChannel.stop();
+                logger.warn("| Fail to open the metrics channel. (ip={}, port={})", ip, port);
+                return false;
+            }
 
-            return rtcpChannelMap.get(rtspUnitId);
+            metricsNettyChannel = newMetricsNettyChannel;
+            logger.debug("| Success to open the metrics channel. (ip={}, port={})", ip, port);
+            return true;
         } catch (Exception e) {
-            return null;
-        } finally {
-            rtcpChannelMapLock.unlock();
+            logger.warn("| Fail to open the metrics channel. (ip={}, port={})", ip, port, e);
+            return false;
         }
     }
 
+    // 프로그램 종료 시 호출
+    public synchronized void closeMetricsChannel() {
+        if (metricsNettyChannel == null) {
+            return;
+        }
+
+        metricsNettyChannel.closeChannel();
+        metricsNettyChannel.stop();
+        metricsNettyChannel = null;
+        logger.debug("| Success to close the metrics channel.");
+    }
+
+    public MetricsNettyChannel getMetricsChannel() {
+        return metricsNettyChannel;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////
 
     public Streamer addStreamer(String rtspUnitId, String sessionId, String listenIp, int listenPort) {
@@ -0,0 +1,147 @@
+package rtsp.module.netty;
+
+import io.netty.bootstrap.AbstractBootstrap;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @class public class NettyTransport
+ * @brief Netty 전송 계층 선택 클래스
+ *
+ * - Linux 에서 Netty native epoll 을 사용할 수 있으면 epoll, 아니면 NIO 를 사용한다.
+ * - epoll 사용 시
+ *      > SO_REUSEPORT 로 EventLoop 개수만큼 같은 포트를 바인딩해서 커널이 수신을 코어별로 분산한다.
+ *      > UDP 수신은 recvmmsg 로 한 번에 여러 데이터그램을 읽는다.
+ *      > UDP 송신은 flush 한 번에 쌓인 패킷을 sendmmsg 로 한 번에 보낸다.
+ */
+public class NettyTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+
+    // recvmmsg 한 번에 읽을 최대 데이터그램 개수
+    public static final int RECV_BATCH_COUNT = 16;
+
+    private static final boolean IS_EPOLL = Epoll.isAvailable();
+
+    static {
+        if (IS_EPOLL) {
+            logger.debug("Netty transport: epoll");
+        } else {
+            logger.debug("Netty transport: nio (cause={})", Epoll.unavailabilityCause() != null ? Epoll.unavailabilityCause().toString() : "");
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private NettyTransport() {
+        // Nothing
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public static EventLoopGroup newEventLoopGroup(int threadCount)
+     * @brief 사용 중인 전송 계층의 EventLoopGroup 을 생성하는 함수
+     * @param threadCount EventLoop 개수 (0 이면 Netty 기본값)
+     * @return EventLoopGroup
+     */
+    public static EventLoopGroup newEventLoopGroup(int threadCount) {
+        return newEventLoopGroup(threadCount, IS_EPOLL);
+    }
+
+    /**
+     * @fn public static EventLoopGroup newEventLoopGroup(int threadCount, boolean isEpoll)
+     * @brief 지정한 전송 계층의 EventLoopGroup 을 생성하는 함수
+     * @param threadCount EventLoop 개수 (0 이면 Netty 기본값)
+     * @param isEpoll epoll 사용 여부 (epoll 을 사용할 수 없으면 NIO 로 생성한다.)
+     * @return EventLoopGroup
+     */
+    public static EventLoopGroup newEventLoopGroup(int threadCount, boolean isEpoll) {
+        if (isEpoll && IS_EPOLL) {
+            return new EpollEventLoopGroup(threadCount);
+        }
+        return new NioEventLoopGroup(threadCount);
+    }
+
+    /**
+     * @fn public static int getListenerCount(int threadCount)
+     * @brief 하나의 포트에 바인딩할 수신 채널 개수를 반환하는 함수
+     * SO_REUSEPORT 는 epoll 에서만 사용할 수 있으므로 NIO 는 항상 1 개만 바인딩한다.
+     * @param threadCount EventLoop 개수
+     * @return 바인딩할 채널 개수
+     */
+    public static int getListenerCount(int threadCount) {
+        return IS_EPOLL ? Math.max(1, threadCount) : 1;
+    }
+
+    /**
+     * @fn public static void applyReusePort(AbstractBootstrap<?, ?> bootstrap)
+     * @brief epoll 이면 SO_REUSEPORT 옵션을 설정하는 함수
+     * @param bootstrap Bootstrap 또는 ServerBootstrap
+     */
+    public static void applyReusePort(AbstractBootstrap<?, ?> bootstrap) {
+        if (IS_EPOLL) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+    }
+
+    /**
+     * @fn public static void applyRecvBatch(Bootstrap bootstrap, int maxDatagramSize)
+     * @brief epoll 이면 recvmmsg 로 여러 데이터그램을 한 번에 읽도록 설정하는 함수
+     * 수신 버퍼 하나를 (maxDatagramSize * RECV_BATCH_COUNT) 크기로 잡고 데이터그램마다 잘라서 전달한다.
+     * @param bootstrap UDP Bootstrap
+     * @param maxDatagramSize 데이터그램 최대 크기
+     */
+    public static void applyRecvBatch(Bootstrap bootstrap, int maxDatagramSize) {
+        if (!IS_EPOLL || maxDatagramSize <= 0) {
+            return;
+        }
+
+        bootstrap.option(EpollChannelOption.MAX_DATAGRAM_PAYLOAD_SIZE, maxDatagramSize)
+                .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(maxDatagramSize * RECV_BATCH_COUNT));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public static boolean isEpoll() {
+        return IS_EPOLL;
+    }
+
+    public static String getName() {
+        return IS_EPOLL ? "epoll" : "nio";
+    }
+
+    public static Class<? extends DatagramChannel> getDatagramChannelClass() {
+        return getDatagramChannelClass(IS_EPOLL);
+    }
+
+    public static Class<? extends DatagramChannel> getDatagramChannelClass(boolean isEpoll) {
+        return isEpoll && IS_EPOLL ? EpollDatagramChannel.class : NioDatagramChannel.class;
+    }
+
+    public static Class<? extends ServerChannel> getServerSocketChannelClass() {
+        return IS_EPOLL ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    public static Class<? extends SocketChannel> getSocketChannelClass() {
+        return IS_EPOLL ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+}
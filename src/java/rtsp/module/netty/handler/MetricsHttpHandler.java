@@ -0,0 +1,113 @@
+package rtsp.module.netty.handler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.netty.NettyChannelManager;
+import rtsp.module.stat.StreamerStats;
+import rtsp.service.metric.MetricsExporter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @class public class MetricsHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
+ * @brief 통계 조회 요청을 처리하는 HTTP 핸들러
+ *
+ * - GET /metrics : 서버 전체 통계 (Prometheus text format)
+ * - GET /sessions : 세션별 송신 통계 (JSON, 문제가 큰 세션부터)
+ * - GET /sessions?id={sessionId} : 지정한 세션의 송신 통계 (JSON)
+ * - 그 외의 경로는 404, GET/HEAD 외의 메서드는 405 로 응답한다.
+ */
+public class MetricsHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpHandler.class);
+
+    public static final String METRICS_PATH = "/metrics";
+    public static final String SESSIONS_PATH = "/sessions";
+
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void channelRead0 (ChannelHandlerContext ctx, FullHttpRequest request) {
+        boolean isHead = HttpMethod.HEAD.equals(request.method());
+        if (!HttpMethod.GET.equals(request.method()) && !isHead) {
+            sendResponse(ctx, request, HttpResponseStatus.METHOD_NOT_ALLOWED, "text/plain; charset=utf-8", "Method Not Allowed\n", false);
+            return;
+        }
+
+        QueryStringDecoder queryStringDecoder = new QueryStringDecoder(request.uri());
+        String path = queryStringDecoder.path();
+        if (!METRICS_PATH.equals(path) && !SESSIONS_PATH.equals(path)) {
+            sendResponse(ctx, request, HttpResponseStatus.NOT_FOUND, "text/plain; charset=utf-8", "Not Found\n", false);
+            return;
+        }
+
+        try {
+            if (METRICS_PATH.equals(path)) {
+                sendResponse(ctx, request, HttpResponseStatus.OK, MetricsExporter.CONTENT_TYPE, MetricsExporter.export(), isHead);
+                return;
+            }
+
+            List<String> idList = queryStringDecoder.parameters().get("id");
+            List<StreamerStats.Snapshot> snapshotList;
+            if (idList == null || idList.isEmpty()) {
+                snapshotList = NettyChannelManager.getInstance().getStreamerStatsList();
+            } else {
+                StreamerStats streamerStats = NettyChannelManager.getInstance().getStreamerStats(idList.get(0));
+                if (streamerStats == null) {
+                    sendResponse(ctx, request, HttpResponseStatus.NOT_FOUND, "text/plain; charset=utf-8", "Not Found\n", false);
+                    return;
+                }
+                snapshotList = Collections.singletonList(streamerStats.getSnapshot());
+            }
+
+            Gson gson = new GsonBuilder().setPrettyPrinting().create();
+            sendResponse(ctx, request, HttpResponseStatus.OK, JSON_CONTENT_TYPE, gson.toJson(snapshotList) + "\n", isHead);
+        } catch (Exception e) {
+            logger.warn("Fail to export the metrics. (path={})", path, e);
+            sendResponse(ctx, request, HttpResponseStatus.INTERNAL_SERVER_ERROR, "text/plain; charset=utf-8", "Internal Server Error\n", false);
+        }
+    }
+
+    @Override
+    public void exceptionCaught (ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("MetricsHttpHandler.Exception (cause={})", cause.toString());
+        ctx.close();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private static void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request, HttpResponseStatus status,
+                                     String contentType, String body, boolean isHead) {
+        ByteBuf content = Unpooled.copiedBuffer(body, CharsetUtil.UTF_8);
+        int contentLength = content.readableBytes();
+        if (isHead) {
+            content.release();
+            content = Unpooled.EMPTY_BUFFER;
+        }
+
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, content);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        HttpUtil.setContentLength(response, contentLength);
+
+        boolean isKeepAlive = HttpUtil.isKeepAlive(request);
+        if (isKeepAlive) {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            ctx.writeAndFlush(response);
+        } else {
+            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+}
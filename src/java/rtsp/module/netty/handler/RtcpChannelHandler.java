@@ -1,39 +1,42 @@
 package rtsp.module.netty.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.DatagramPacket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import rtsp.module.RtspManager;
 import rtsp.module.Streamer;
-import rtsp.module.base.RtspUnit;
-import rtsp.protocol.base.ByteUtil;
+import rtsp.module.rtcp.RtcpFeedbackDispatcher;
+import rtsp.module.rtcp.RtcpFeedbackListener;
+import rtsp.module.rtcp.RtcpSessionManager;
 import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.codec.RtcpPacketView;
 import rtsp.protocol.rtcp.packet.RtcpPacket;
-import rtsp.protocol.rtcp.type.regular.RtcpReceiverReport;
 import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
-import rtsp.protocol.rtcp.type.regular.base.report.RtcpReportBlock;
 
 /**
  * @class public class RtcpChannelHandler extends SimpleChannelInboundHandler<DatagramPacket>
+ * @brief 공유 RTCP 포트의 수신 핸들러
+ * 송신 주소 또는 SSRC 로 세션(Streamer)을 찾아서 세션의 RtcpFeedbackListener 로 전달한다.
  */
 public class RtcpChannelHandler extends SimpleChannelInboundHandler<DatagramPacket> {
 
     private static final Logger logger = LoggerFactory.getLogger(RtcpChannelHandler.class);
 
-    private final String rtspUnitId;
     private final String name;
     private final String listenIp;
     private final int listenPort;
 
+    // 채널마다 핸들러가 따로 생성되고 하나의 EventLoop 에서만 호출되므로 재사용한다.
+    private final RtcpPacketView rtcpPacketView = new RtcpPacketView();
+
     ////////////////////////////////////////////////////////////////////////////////
 
-    public RtcpChannelHandler(String rtspUnitId, String listenIp, int listenPort) {
-        this.name = "RTCP_" + rtspUnitId + "_" + listenIp + ":" + listenPort;
+    public RtcpChannelHandler(String listenIp, int listenPort) {
+        this.name = "RTCP_" + listenIp + ":" + listenPort;
 
-        this.rtspUnitId = rtspUnitId;
         this.listenIp = listenIp;
         this.listenPort = listenPort;
 
@@ -45,60 +48,63 @@ public class RtcpChannelHandler extends SimpleChannelInboundHandler<DatagramPack
     @Override
     protected void channelRead0 (ChannelHandlerContext ctx, DatagramPacket msg) {
         try {
-            RtspUnit rtspUnit = RtspManager.getInstance().getRtspUnit(rtspUnitId);
-            if (rtspUnit == null) {
+            ByteBuf buf = msg.content();
+            if (buf == null || buf.readableBytes() < RtcpHeader.LENGTH) {
                 return;
             }
 
-            ByteBuf buf = msg.content();
-            if (buf == null) {
-                return;
+            if (logger.isDebugEnabled()) {
+                logger.debug("({}) sender: [{}], data: [{}], readBytes: [{}]", name, msg.sender(), ByteBufUtil.hexDump(buf), buf.readableBytes());
             }
 
-            int readBytes = buf.readableBytes();
-            if (readBytes <= 0) {
+            rtcpPacketView.wrap(buf);
+            Streamer streamer = RtcpSessionManager.getInstance().findStreamer(msg.sender(), rtcpPacketView);
+            if (streamer == null) {
+                logger.debug("({}) Unknown rtcp session. (sender={})", name, msg.sender());
                 return;
             }
 
-            byte[] data = new byte[readBytes];
-            buf.getBytes(0, data);
-
-            logger.debug("({}) data: [{}], readBytes: [{}]", name, ByteUtil.byteArrayToHex(data), readBytes);
-
-            if (data.length >= RtcpHeader.LENGTH) {
-                RtcpPacket rtcpPacket = new RtcpPacket(data);
-                logger.debug("({}) {}", name, rtcpPacket);
+            RtcpFeedbackListener rtcpFeedbackListener = streamer.getRtcpFeedbackListener();
+            if (rtcpFeedbackListener == null) {
+                return;
+            }
 
-                int packetType = rtcpPacket.getRtcpHeader().getPacketType();
-                switch (packetType) {
+            // Compound RTCP 패킷의 모든 하위 패킷을 데이터그램 버퍼 위에서 순서대로 처리
+            // (SR/RR, BYE 는 버퍼에서 바로 읽고, RTPFB/PSFB 하위 패킷만 복사해서 객체로 변환한다.)
+            long streamSsrc = streamer.getSsrc() & 0xFFFFFFFFL;
+            while (rtcpPacketView.next()) {
+                switch (rtcpPacketView.getPacketType()) {
+                    case RtcpType.SENDER_REPORT:
                     case RtcpType.RECEIVER_REPORT:
-                        Streamer streamer = rtspUnit.getStreamer();
-                        if (streamer == null) { return; }
-
-                        long ssrc = streamer.getSsrc();
-                        RtcpReceiverReport rtcpReceiverReport = (RtcpReceiverReport) rtcpPacket.getRtcpFormat();
-                        RtcpReportBlock rtcpReportBlock = rtcpReceiverReport.getReportBlockBySsrc(ssrc);
-                        if (rtcpReportBlock != null) {
-                            float fractionLost = (float) (rtcpReportBlock.getFraction() / 100);
-                            if (fractionLost >= 0 && fractionLost <= 0.01) {
-                                rtspUnit.setCongestionLevel(0);
-                            } else if (fractionLost > 0.01 && fractionLost <= 0.25) {
-                                rtspUnit.setCongestionLevel(1);
-                            } else if (fractionLost > 0.25 && fractionLost <= 0.5) {
-                                rtspUnit.setCongestionLevel(2);
-                            } else if (fractionLost > 0.5 && fractionLost <= 0.75) {
-                                rtspUnit.setCongestionLevel(3);
-                            } else {
-                                rtspUnit.setCongestionLevel(4);
-                            }
+                        int index = rtcpPacketView.findReportBlock(streamSsrc);
+                        if (index >= 0) {
+                            rtcpFeedbackListener.onReportBlock(
+                                    rtcpPacketView.getSsrc(),
+                                    rtcpPacketView.getFractionLost(index), rtcpPacketView.getJitter(index),
+                                    rtcpPacketView.getLsr(index), rtcpPacketView.getDlsr(index)
+                            );
                         }
                         break;
+                    case RtcpType.GOOD_BYE:
+                        rtcpFeedbackListener.onBye(rtcpPacketView.getSsrc());
+                        break;
+                    case RtcpType.RTPFB:
+                    case RtcpType.PSFB:
+                        RtcpPacket rtcpPacket = rtcpPacketView.toRtcpPacket();
+                        logger.trace("({}) ({}) {}", name, streamer.getSessionId(), rtcpPacket);
+                        RtcpFeedbackDispatcher.dispatch(rtcpPacket, rtcpFeedbackListener);
+                        break;
                     default:
+                        logger.trace("({}) ({}) Skip the rtcp packet. (type={}, length={})",
+                                name, streamer.getSessionId(), rtcpPacketView.getPacketType(), rtcpPacketView.getPacketLength()
+                        );
                         break;
                 }
             }
         } catch (Exception e) {
             logger.warn("| ({}) Fail to handle the rtcp Packet.", name, e);
+        } finally {
+            rtcpPacketView.wrap(null, 0, 0);
         }
     }
 
@@ -1,17 +1,18 @@
 package rtsp.module.netty.handler;
 
-import com.fsm.module.StateHandler;
-import com.google.common.collect.Maps;
 import io.lindstrom.m3u8.model.MediaPlaylist;
 import io.lindstrom.m3u8.model.MediaSegment;
 import io.lindstrom.m3u8.parser.MediaPlaylistParser;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
 import rtsp.ffmpeg.FfmpegManager;
 import rtsp.fsm.RtspEvent;
+import rtsp.fsm.RtspFsmManager;
+import rtsp.module.PlaybackCursor;
 import rtsp.module.Streamer;
 import rtsp.module.VideoStream;
 import rtsp.module.base.RtspUnit;
@@ -20,7 +21,10 @@ import rtsp.module.mpegts.content.PATSection;
 import rtsp.module.mpegts.content.PMTSection;
 import rtsp.protocol.RtpPacket;
 import rtsp.service.AppInstance;
+import rtsp.service.jfr.JfrEvents;
+import rtsp.service.metric.ServerMetrics;
 import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.job.JobLane;
 
 import java.io.*;
 import java.nio.ByteBuffer;
@@ -39,16 +43,20 @@ public class RtpSender extends Job {
 
     ///////////////////////////////////////////////////////////////////////////
     public static final int TS_PACKET_SIZE = 188;
+    // 한 번에 flush 할 최대 RTP 패킷 개수 (epoll 에서는 sendmmsg 한 번으로 송신된다.)
+    public static final int SEND_BATCH_COUNT = 32;
 
     private final RtpPacket rtpPacket = new RtpPacket();
+    private int pendingPacketCount = 0; // write 후 아직 flush 하지 않은 RTP 패킷 개수 (FEC 패킷 포함)
 
     private final FfmpegManager ffmpegManager;
     private final VideoStream video;
     private final double fileTime;
     private final double npt1;
     private final double npt2;
-    private final StateHandler rtspStateHandler;
     private final RtspUnit rtspUnit;
+    private final String rtspUnitId; // 로그 식별자 (RtspUnit 없이 PlaybackCursor 만 전송하는 경우에도 사용)
+    private final ServerMetrics serverMetrics = ServerMetrics.getInstance();
     private final Streamer streamer;
     private final int destPort;
     ///////////////////////////////////////////////////////////////////////////
@@ -68,7 +76,6 @@ public class RtpSender extends Job {
      * @param fileTime HLS interval time
      * @param npt1 Start time
      * @param npt2 End time
-     * @param rtspStateHandler StateHandler
      * @param rtspUnit RtspUnit
      * @param streamer Streamer
      * @param destPort Destination RTP Port
@@ -78,16 +85,16 @@ public class RtpSender extends Job {
                      int priority, int totalRunCount, boolean isLasted,
                      FfmpegManager ffmpegManager, VideoStream video,
                      double fileTime, double npt1, double npt2,
-                     StateHandler rtspStateHandler, RtspUnit rtspUnit, Streamer streamer, int destPort) {
-        super(name, initialDelay, interval, timeUnit, priority, totalRunCount, isLasted);
+                     RtspUnit rtspUnit, Streamer streamer, int destPort) {
+        super(name, initialDelay, interval, timeUnit, JobLane.MEDIA, priority, totalRunCount, isLasted);
 
         this.ffmpegManager = ffmpegManager;
         this.video = video;
         this.fileTime = fileTime;
         this.npt1 = npt1;
         this.npt2 = npt2;
-        this.rtspStateHandler = rtspStateHandler;
         this.rtspUnit = rtspUnit;
+        this.rtspUnitId = streamer.getRtspUnitId();
         this.streamer = streamer;
         this.destPort = destPort;
     }
@@ -101,370 +108,550 @@ public class RtpSender extends Job {
     /**
      * @fn private void sendData()
      * @brief 미리 생성된 M3U8 파일에 명시된 TS 파일을 로컬에서 읽어서 지정한 Destination 으로 RTP 패킷으로 패킹하여 보내는 함수
+     * PAUSE 로 중단된 PlaybackCursor 가 있으면 M3U8 변환 및 파일 오픈 없이 중단된 위치부터 이어서 전송한다.
      */
     private void sendData() {
         try {
-            ///////////////////////////////////////////////////////////////////////////
-            // DIRECT PARSING IF ENABLED
             ConfigManager configManager = AppInstance.getInstance().getConfigManager();
-            if (configManager.isM3u8DirectConverting()) {
-                ffmpegManager.convertMp4ToM3u8(
-                        video.getMp4FileName(),
-                        video.getResultM3U8FilePath(),
-                        (long) fileTime,
-                        (long) npt1,
-                        (long) npt2
-                );
-            }
-            ///////////////////////////////////////////////////////////////////////////
 
             ///////////////////////////////////////////////////////////////////////////
-            // CHECK M3U8 FILE
-            File m3u8File = new File(video.getResultM3U8FilePath());
-            if (!m3u8File.exists() || !m3u8File.isFile()) {
-                logger.warn("({}) ({}) M3U8 File is wrong.Fail to get the m3u8 data. (m3u8FilePath={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), video.getResultM3U8FilePath());
-                return;
-            }
+            // GET PLAYBACK CURSOR
+            boolean isResumed;
+            PlaybackCursor playbackCursor = streamer.getPlaybackCursor();
+            if (playbackCursor != null && playbackCursor.isResumable()) {
+                if (!playbackCursor.acquire()) {
+                    // PAUSE 직후 PLAY 가 들어와서 이전 RtpSender 가 아직 커서를 사용 중인 경우 > 이전 RtpSender 가 이어서 전송한다.
+                    logger.debug("({}) ({}) Playback cursor is already running. ({})", rtspUnitId, streamer.getSessionId(), playbackCursor);
+                    return;
+                }
 
-            byte[] m3u8ByteData = Files.readAllBytes(
-                    Paths.get(
-                            video.getResultM3U8FilePath()
-                    )
-            );
+                isResumed = true;
+                logger.debug("({}) ({}) Resume the streaming. ({})", rtspUnitId, streamer.getSessionId(), playbackCursor);
+            } else {
+                playbackCursor = prepare(configManager);
+                if (playbackCursor == null) {
+                    return;
+                }
 
-            if (m3u8ByteData.length == 0) {
-                logger.warn("({}) ({}) Fail to process the PLAY request. Fail to get the m3u8 data. (rtspUnit={}, destPort={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), rtspUnit, destPort);
-                rtspStateHandler.fire(
-                        RtspEvent.PLAY_FAIL,
-                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                );
-                return;
+                playbackCursor.acquire();
+                streamer.setPlaybackCursor(playbackCursor);
+                isResumed = false;
             }
             ///////////////////////////////////////////////////////////////////////////
 
             ///////////////////////////////////////////////////////////////////////////
-            // GET MEDIA SEGMENT LIST
-            List<MediaSegment> mediaSegmentList;
-            MediaPlaylistParser parser = new MediaPlaylistParser();
-            MediaPlaylist playlist = parser.readPlaylist(Paths.get(video.getResultM3U8FilePath()));
-            if (playlist != null) {
-                String m3u8PathOnly = video.getResultM3U8FilePath();
-                m3u8PathOnly = m3u8PathOnly.substring(
-                        0,
-                        m3u8PathOnly.lastIndexOf("/")
-                );
-                mediaSegmentList = playlist.mediaSegments();
-                streamer.setM3u8PathOnly(m3u8PathOnly);
-                streamer.setMediaSegmentList(mediaSegmentList);
-
-                logger.debug("({}) ({}) MediaPlaylist: {}", rtspUnit.getRtspUnitId(), streamer.getSessionId(), playlist);
-            } else {
-                logger.warn("({}) ({}) Fail to stream the media. (rtpDestPort={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), destPort);
-                rtspStateHandler.fire(
-                        RtspEvent.PLAY_FAIL,
-                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                );
-                return;
-            }
+            // SEND TS FILES
+            do {
+                try {
+                    stream(configManager, playbackCursor, isResumed);
+                } finally {
+                    playbackCursor.release();
+                }
 
-            if (mediaSegmentList == null || mediaSegmentList.isEmpty()) {
-                logger.warn("({}) ({}) Media segment list is empty.", rtspUnit.getRtspUnitId(), streamer.getSessionId());
-                rtspStateHandler.fire(
-                        RtspEvent.PLAY_FAIL,
-                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                );
-                return;
-            }
+                // PAUSE 로 중단된 직후 PLAY 가 들어왔는데 새로운 RtpSender 가 커서를 획득하지 못했으면 여기서 이어서 전송한다.
+                isResumed = true;
+            } while (!streamer.isPaused() && playbackCursor.isResumable() && playbackCursor.acquire());
             ///////////////////////////////////////////////////////////////////////////
+        } catch (Exception e) {
+            logger.warn("RtspChannelHandler.sendData.Exception", e);
+        }
+    }
 
-            ///////////////////////////////////////////////////////////////////////////
-            // SEND M3U8
-            ByteBuf buf = Unpooled.copiedBuffer(m3u8ByteData);
-            streamer.send(
-                    buf,
-                    streamer.getDestIp(),
-                    streamer.getDestPort()
+    /**
+     * @fn private PlaybackCursor prepare(ConfigManager configManager)
+     * @brief M3U8 파일을 (필요하면 변환 후) 읽어서 전송하고, TS 파일 스트림을 열어서 PlaybackCursor 를 생성하는 함수
+     * @param configManager ConfigManager
+     * @return 성공 시 PlaybackCursor, 실패 시 null 반환
+     */
+    private PlaybackCursor prepare(ConfigManager configManager) throws IOException {
+        ///////////////////////////////////////////////////////////////////////////
+        // DIRECT PARSING IF ENABLED
+        if (configManager.isM3u8DirectConverting()) {
+            ffmpegManager.convertMp4ToM3u8(
+                    video.getMp4FileName(),
+                    video.getResultM3U8FilePath(),
+                    (long) fileTime,
+                    (long) npt1,
+                    (long) npt2
             );
+        }
+        ///////////////////////////////////////////////////////////////////////////
+
+        ///////////////////////////////////////////////////////////////////////////
+        // CHECK M3U8 FILE
+        File m3u8File = new File(video.getResultM3U8FilePath());
+        if (!m3u8File.exists() || !m3u8File.isFile()) {
+            logger.warn("({}) ({}) M3U8 File is wrong.Fail to get the m3u8 data. (m3u8FilePath={})", rtspUnitId, streamer.getSessionId(), video.getResultM3U8FilePath());
+            return null;
+        }
+
+        byte[] m3u8ByteData = Files.readAllBytes(
+                Paths.get(
+                        video.getResultM3U8FilePath()
+                )
+        );
 
-            logger.debug("({}) ({}) << Send M3U8 (destIp={}, destPort={})\n{}(size={})",
-                    rtspUnit.getRtspUnitId(), streamer.getSessionId(), streamer.getDestIp(), streamer.getDestPort(),
-                    new String(m3u8ByteData, StandardCharsets.UTF_8), m3u8ByteData.length
+        if (m3u8ByteData.length == 0) {
+            logger.warn("({}) ({}) Fail to process the PLAY request. Fail to get the m3u8 data. (rtspUnit={}, destPort={})", rtspUnitId, streamer.getSessionId(), rtspUnit, destPort);
+            RtspFsmManager.fire(RtspEvent.PLAY_FAIL, rtspUnit);
+            return null;
+        }
+        ///////////////////////////////////////////////////////////////////////////
+
+        ///////////////////////////////////////////////////////////////////////////
+        // GET MEDIA SEGMENT LIST
+        List<MediaSegment> mediaSegmentList;
+        MediaPlaylistParser parser = new MediaPlaylistParser();
+        MediaPlaylist playlist = parser.readPlaylist(Paths.get(video.getResultM3U8FilePath()));
+        if (playlist != null) {
+            String m3u8PathOnly = video.getResultM3U8FilePath();
+            m3u8PathOnly = m3u8PathOnly.substring(
+                    0,
+                    m3u8PathOnly.lastIndexOf("/")
             );
-            ///////////////////////////////////////////////////////////////////////////
+            mediaSegmentList = playlist.mediaSegments();
+            streamer.setM3u8PathOnly(m3u8PathOnly);
+            streamer.setMediaSegmentList(mediaSegmentList);
+            streamer.getStreamerStats().setRendition(video.getResultM3U8FilePath());
+
+            logger.debug("({}) ({}) MediaPlaylist: {}", rtspUnitId, streamer.getSessionId(), playlist);
+        } else {
+            logger.warn("({}) ({}) Fail to stream the media. (rtpDestPort={})", rtspUnitId, streamer.getSessionId(), destPort);
+            RtspFsmManager.fire(RtspEvent.PLAY_FAIL, rtspUnit);
+            return null;
+        }
 
-            ///////////////////////////////////////////////////////////////////////////
-            // SEND TS FILES
-            mediaSegmentList = streamer.getMediaSegmentList();
-            String m3u8PathOnly = streamer.getM3u8PathOnly();
+        if (mediaSegmentList == null || mediaSegmentList.isEmpty()) {
+            logger.warn("({}) ({}) Media segment list is empty.", rtspUnitId, streamer.getSessionId());
+            RtspFsmManager.fire(RtspEvent.PLAY_FAIL, rtspUnit);
+            return null;
+        }
+        ///////////////////////////////////////////////////////////////////////////
+
+        ///////////////////////////////////////////////////////////////////////////
+        // SEND M3U8
+        ByteBuf buf = Unpooled.copiedBuffer(m3u8ByteData);
+        streamer.send(
+                buf,
+                streamer.getDestIp(),
+                streamer.getDestPort()
+        );
 
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        logger.debug("({}) ({}) << Send M3U8 (destIp={}, destPort={})\n{}(size={})",
+                rtspUnitId, streamer.getSessionId(), streamer.getDestIp(), streamer.getDestPort(),
+                new String(m3u8ByteData, StandardCharsets.UTF_8), m3u8ByteData.length
+        );
+        ///////////////////////////////////////////////////////////////////////////
 
-            // TS Packet Total byte : 188 (4(header) + 184(body))
-            // > 이 하나의 패킷 안에 하나의 이미지(프레임)에 대한 모든 정보가 들어있는게 아니다.
-            byte[] buffer = new byte[TS_PACKET_SIZE];
+        ///////////////////////////////////////////////////////////////////////////
+        // GET TS FILE NAME & STREAM LIST
+        mediaSegmentList = streamer.getMediaSegmentList();
+        String m3u8PathOnly = streamer.getM3u8PathOnly();
 
-            int tbn = 0;
-            int fps = 0;
-            int gop;
+        int tbn = 0;
+        int fps = 0;
+        int gop;
 
-            long additionalTimestampIncrement = 1;
-            long frameCount = 0;
-            long packetCount = 0;
-            long totalSleepTime = 0; // ms
-            int totalSendByteSize = 0;
-            boolean isEndOfFrame;
+        List<InputStream> inputStreamList = new ArrayList<>();
+        try {
+            for (MediaSegment mediaSegment : mediaSegmentList) {
+                if (mediaSegment == null) {
+                    continue;
+                }
 
-            List<InputStream> inputStreamList = new ArrayList<>();
+                ///////////////////////////////////////////////////////////////////////////
+                // GET TS FILE NAME & STREAM
+                String tsFileName = mediaSegment.uri();
+                tsFileName = m3u8PathOnly + File.separator + tsFileName;
+                Object jfrEvent = JfrEvents.beginSegmentOpen();
+                InputStream inputStream = new FileInputStream(tsFileName);
+                int fileSize = inputStream.available();
+                JfrEvents.commitSegmentOpen(jfrEvent, rtspUnitId, streamer.getSessionId(), tsFileName, fileSize);
+
+                if (fps == 0) {
+                    fps = Integer.parseInt(Objects.requireNonNull(getFps(tsFileName))); // fps
+                    gop = getGop(tsFileName); // gop
+                    tbn = Integer.parseInt(Objects.requireNonNull(getTbn(tsFileName)));
+                    logger.debug("({}) ({}) FPS=[{}], GOP=[{}], TBN=[{}]",
+                            rtspUnitId, streamer.getSessionId(),
+                            fps, gop, tbn
+                    );
+                }
+                ///////////////////////////////////////////////////////////////////////////
 
-            try {
                 ///////////////////////////////////////////////////////////////////////////
-                // GET TS FILE NAME & STREAM LIST
-                for (MediaSegment mediaSegment : mediaSegmentList) {
-                    if (mediaSegment == null) {
-                        continue;
+                // CHECK FILE SIZE
+                if (fileSize <= 0) {
+                    logger.warn("({}) ({}) Fail to read the ts file. FileSize=[{}]",
+                            rtspUnitId, streamer.getSessionId(), fileSize
+                    );
+                    inputStream.close();
+                    continue;
+                } else {
+                    logger.debug("({}) ({}) MPEG TS({}) FileSize=[{}]",
+                            rtspUnitId, streamer.getSessionId(),
+                            tsFileName, fileSize
+                    );
+                }
+
+                inputStreamList.add(inputStream);
+            }
+        } catch (Exception e) {
+            for (InputStream inputStream : inputStreamList) {
+                try { inputStream.close(); } catch (IOException e2) { logger.warn("", e2); }
+            }
+            throw e;
+        }
+        ///////////////////////////////////////////////////////////////////////////
+
+        return new PlaybackCursor(streamer.getSessionId(), inputStreamList, fps, tbn, npt1);
+    }
+
+    /**
+     * @fn private void stream(ConfigManager configManager, PlaybackCursor playbackCursor, boolean isResumed)
+     * @brief PlaybackCursor 가 가리키는 위치부터 TS 패킷을 PCR 기준으로 전송하는 함수
+     * PAUSE 되면 현재 위치(TS 파일, 바이트 오프셋, PSI, PCR 기준 시간)를 커서에 저장하고 TS 파일 스트림은 닫지 않는다.
+     * @param configManager ConfigManager
+     * @param playbackCursor PlaybackCursor
+     * @param isResumed PAUSE 후 이어서 재생하는지 여부
+     */
+    private void stream(ConfigManager configManager, PlaybackCursor playbackCursor, boolean isResumed) throws IOException {
+        List<InputStream> inputStreamList = playbackCursor.getInputStreamList();
+
+        // TS Packet Total byte : 188 (4(header) + 184(body))
+        // > 이 하나의 패킷 안에 하나의 이미지(프레임)에 대한 모든 정보가 들어있는게 아니다.
+        byte[] buffer = new byte[TS_PACKET_SIZE];
+
+        int tbn = playbackCursor.getTbn();
+        int fps = playbackCursor.getFps();
+
+        long additionalTimestampIncrement = playbackCursor.getAdditionalTimestampIncrement();
+        long frameCount = playbackCursor.getFrameCount();
+        long packetCount = 0;
+        long totalSleepTime = 0; // ms
+        int totalSendByteSize = 0;
+        boolean isEndOfFrame;
+
+        ///////////////////////////////////////////////////////////////////////////
+        // FAST START
+        // PLAY 직후 첫 GOP (또는 지정한 시간 만큼의 미디어) 를 실시간보다 빠르게 전송해서
+        // 클라이언트가 첫 I-FRAME 을 기다리지 않고 바로 렌더링할 수 있도록 한다.
+        // > PAUSE 후 이어서 재생하는 경우에는 적용하지 않는다.
+        boolean isFastStart = !isResumed && configManager.isFastStartEnabled();
+        boolean isFastStartGopMode = ConfigManager.FAST_START_MODE_GOP.equals(configManager.getFastStartMode());
+        long fastStartDuration = configManager.getFastStartDuration() * 27000; // ms > 27MHz (PCR)
+        int fastStartRate = configManager.getFastStartRate();
+        int fastStartRaiCount = 0;
+        Long fastStartFirstPcrValue = null;
+        long fastStartPacketCount = 0;
+        if (isFastStart) {
+            logger.debug("({}) ({}) Fast start is enabled. (mode={}, duration={}ms, rate=x{})",
+                    rtspUnitId, streamer.getSessionId(),
+                    configManager.getFastStartMode(), configManager.getFastStartDuration(), fastStartRate
+            );
+        }
+        ///////////////////////////////////////////////////////////////////////////
+
+        try {
+            ///////////////////////////////////////////////////////////////////////////
+            // START TO STREAM
+            while (playbackCursor.getSegmentIndex() < inputStreamList.size()) {
+                InputStream inputStream = inputStreamList.get(playbackCursor.getSegmentIndex());
+                if (inputStream == null) {
+                    playbackCursor.nextSegment();
+                    continue;
+                }
+
+                int fileSize = inputStream.available();
+                int read;
+                int curTsTotalByteSize = 0;
+                boolean isPausedBySession = false;
+
+                boolean resetState = false;
+                long pcrCount = playbackCursor.getPcrCount();
+                Long firstPcrValue = playbackCursor.getFirstPcrValue();
+                //Long firstPcrTime = null;
+                Long lastPcrValue = playbackCursor.getLastPcrValue();
+                // PAUSE 후 이어서 재생하는 경우 PCR 기준 시간을 현재 시간으로 다시 잡는다.
+                Long lastPcrTime = lastPcrValue != null ? System.nanoTime() : null;
+
+                ///////////////////////////////////////////////////////////////////////////
+                // [RTP]
+                while (true) {
+                    if (streamer.isPaused()) {
+                        isPausedBySession = true;
+                        break;
                     }
 
-                    ///////////////////////////////////////////////////////////////////////////
-                    // GET TS FILE NAME & STREAM
-                    String tsFileName = mediaSegment.uri();
-                    tsFileName = m3u8PathOnly + File.separator + tsFileName;
-                    InputStream inputStream = new FileInputStream(tsFileName);
-
-                    if (fps == 0) {
-                        fps = Integer.parseInt(Objects.requireNonNull(getFps(tsFileName))); // fps
-                        gop = getGop(tsFileName); // gop
-                        tbn = Integer.parseInt(Objects.requireNonNull(getTbn(tsFileName)));
-                        logger.debug("({}) ({}) FPS=[{}], GOP=[{}], TBN=[{}]",
-                                rtspUnit.getRtspUnitId(), streamer.getSessionId(),
-                                fps, gop, tbn
-                        );
+                    Object jfrReadEvent = JfrEvents.beginSegmentRead();
+                    read = inputStream.read(buffer);
+                    JfrEvents.commitSegmentRead(jfrReadEvent, rtspUnitId, streamer.getSessionId(), playbackCursor.getSegmentIndex(), read);
+                    if (read == -1) {
+                        break;
                     }
-                    ///////////////////////////////////////////////////////////////////////////
 
                     ///////////////////////////////////////////////////////////////////////////
-                    // CHECK FILE SIZE
-                    int fileSize = inputStream.available();
-                    if (fileSize <= 0) {
-                        logger.warn("({}) ({}) Fail to read the ts file. FileSize=[{}]",
-                                rtspUnit.getRtspUnitId(), streamer.getSessionId(), fileSize
-                        );
-                        continue;
-                    } else {
-                        logger.debug("({}) ({}) MPEG TS({}) FileSize=[{}]",
-                                rtspUnit.getRtspUnitId(), streamer.getSessionId(),
-                                tsFileName, fileSize
-                        );
-                    }
+                    // [RTCP]
+                    //curTimeInterval = timeInterval * (rtspUnit.getCongestionLevel() + 1);
+                    ///////////////////////////////////////////////////////////////////////////
 
-                    inputStreamList.add(inputStream);
-                }
-                ///////////////////////////////////////////////////////////////////////////
+                    ///////////////////////////////////////////////////////////////////////////
+                    // GET DATA (188 bytes, static)
+                    byte[] curData = new byte[read];
+                    System.arraycopy(buffer, 0, curData, 0, read);
+                    ///////////////////////////////////////////////////////////////////////////
 
-                ///////////////////////////////////////////////////////////////////////////
-                // START TO STREAM
-                for (InputStream inputStream : inputStreamList) {
-                    if (inputStream == null) { continue; }
+                    ///////////////////////////////////////////////////////////////////////////
+                    // TS PACKET DECODING (PAT, PMT, PSI)
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(curData);
+                    MpegTsPacket mpegTsPacket = new MpegTsPacket(byteBuffer);
+                    //logger.debug("({}) ({}) MpegTsPacket: \n[{}]", rtspUnitId, streamer.getSessionId(), mpegTsPacket);
+                    ///////////////////////////////////////////////////////////////////////////
 
-                    int fileSize = inputStream.available();
-                    int read;
-                    int curTsTotalByteSize = 0;
+                    ///////////////////////////////////////////////////////////////////////////
+                    if (resetState) {
+                        pcrCount = 0;
+                        firstPcrValue = null;
+                        //firstPcrTime = null;
+                        lastPcrValue = null;
+                        lastPcrTime = null;
+                        resetState = false;
+                    }
 
-                    boolean resetState = false;
-                    long pcrCount = 0;
-                    Long firstPcrValue = null;
-                    //Long firstPcrTime = null;
-                    Long lastPcrValue = null;
-                    Long lastPcrTime = null;
+                    long sleepNanos = 0; // 실제로 대기할 시간
+                    long pacingNanos = 0; // PCR 기준 실시간 대기 시간 (Timestamp 계산용)
+                    int pid = mpegTsPacket.getPid();
+                    TreeMap<Integer, PMTSection> pmtSection = playbackCursor.getPmtSectionMap();
 
                     ///////////////////////////////////////////////////////////////////////////
-                    // [RTP]
-                    while ((read = inputStream.read(buffer)) != -1) {
-                        if (streamer.isPaused()) { break; }
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // [RTCP]
-                        //curTimeInterval = timeInterval * (rtspUnit.getCongestionLevel() + 1);
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // GET DATA (188 bytes, static)
-                        byteArrayOutputStream.reset();
-                        byteArrayOutputStream.write(buffer, 0, read);
-                        byte[] curData = byteArrayOutputStream.toByteArray();
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // TS PACKET DECODING (PAT, PMT, PSI)
-                        ByteBuffer byteBuffer = ByteBuffer.wrap(curData);
-                        MpegTsPacket mpegTsPacket = new MpegTsPacket(byteBuffer);
-                        //logger.debug("({}) ({}) MpegTsPacket: \n[{}]", rtspUnit.getRtspUnitId(), streamer.getSessionId(), mpegTsPacket);
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        if (resetState) {
-                            pcrCount = 0;
-                            firstPcrValue = null;
-                            //firstPcrTime = null;
-                            lastPcrValue = null;
-                            lastPcrTime = null;
-                            resetState = false;
+                    // CHECK PMT
+                    if (pid == 0 && mpegTsPacket.isPayloadUnitStartIndicator()) {
+                        ByteBuffer payload = mpegTsPacket.getPayload();
+                        payload.rewind();
+                        int pointer = payload.get() & 0xff;
+                        payload.position(payload.position() + pointer);
+                        PATSection patSection = PATSection.parse(payload);
+                        if (patSection != null) {
+                            pmtSection.keySet().removeIf(
+                                    pmtPid -> !patSection.getPrograms().containsValue(pmtPid)
+                            );
+                            playbackCursor.setPatSection(patSection);
                         }
+                    }
+                    ///////////////////////////////////////////////////////////////////////////
 
-                        long sleepNanos = 0;
-                        int pid = mpegTsPacket.getPid();
-                        PATSection patSection = null;
-                        TreeMap<Integer, PMTSection> pmtSection = Maps.newTreeMap();
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // CHECK PMT
-                        if (pid == 0 && mpegTsPacket.isPayloadUnitStartIndicator()) {
-                            ByteBuffer payload = mpegTsPacket.getPayload();
-                            payload.rewind();
-                            int pointer = payload.get() & 0xff;
-                            payload.position(payload.position() + pointer);
-                            patSection = PATSection.parse(payload);
-                            if (patSection != null) {
-                                for (Integer pmtPid : pmtSection.keySet()) {
-                                    if (!patSection.getPrograms().containsValue(pmtPid)) {
-                                        pmtSection.remove(pmtPid);
-                                    }
-                                }
+                    ///////////////////////////////////////////////////////////////////////////
+                    // CHECK PAT
+                    PATSection patSection = playbackCursor.getPatSection();
+                    if (pid != 0 && patSection != null) {
+                        if (patSection.getPrograms().containsValue(pid)) {
+                            if (mpegTsPacket.isPayloadUnitStartIndicator()) {
+                                ByteBuffer payload = mpegTsPacket.getPayload();
+                                payload.rewind();
+                                int pointer = payload.get() & 0xff;
+                                payload.position(payload.position() + pointer);
+                                pmtSection.put(pid, PMTSection.parse(payload));
                             }
                         }
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // CHECK PAT
-                        if (pid != 0 && patSection != null) {
-                            if (patSection.getPrograms().containsValue(pid)) {
-                                if (mpegTsPacket.isPayloadUnitStartIndicator()) {
-                                    ByteBuffer payload = mpegTsPacket.getPayload();
-                                    payload.rewind();
-                                    int pointer = payload.get() & 0xff;
-                                    payload.position(payload.position() + pointer);
-                                    pmtSection.put(pid, PMTSection.parse(payload));
-                                }
-                            }
+                    }
+                    ///////////////////////////////////////////////////////////////////////////
+
+                    ///////////////////////////////////////////////////////////////////////////
+                    // CHECK FAST START (GOP)
+                    // > 두 번째 RAI (다음 GOP 의 시작) 부터는 PCR 기준으로 전송한다.
+                    MpegTsPacket.AdaptationField adaptationField = mpegTsPacket.getAdaptationField();
+                    if (isFastStart && isFastStartGopMode
+                            && adaptationField != null && adaptationField.isRandomAccessIndicator()) {
+                        if (++fastStartRaiCount >= 2) {
+                            isFastStart = false;
+                            logger.debug("({}) ({}) Fast start is finished by the next GOP. (packets={})",
+                                    rtspUnitId, streamer.getSessionId(), fastStartPacketCount
+                            );
                         }
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // CHECK PCR
-                        MpegTsPacket.AdaptationField adaptationField = mpegTsPacket.getAdaptationField();
-                        if (adaptationField != null) {
-                            if (adaptationField.getPcr() != null) {
-                                if (!adaptationField.isDiscontinuityIndicator()) {
-                                    // Get PCR and current nano time
-                                    long pcrValue = adaptationField.getPcr().getValue();
-                                    long pcrTime = System.nanoTime();
-                                    pcrCount++;
-
-                                    // Compute sleepNanosOrig
-                                    //Long sleepNanosOrig = null;
-                                    if (firstPcrValue == null) {
-                                        firstPcrValue = pcrValue;
-                                        //firstPcrTime = pcrTime;
-                                    } /*else if (pcrValue > firstPcrValue) {
+                    }
+                    ///////////////////////////////////////////////////////////////////////////
+
+                    ///////////////////////////////////////////////////////////////////////////
+                    // CHECK PCR
+                    if (adaptationField != null) {
+                        if (adaptationField.getPcr() != null) {
+                            if (!adaptationField.isDiscontinuityIndicator()) {
+                                // Get PCR and current nano time
+                                long pcrValue = adaptationField.getPcr().getValue();
+                                long pcrTime = System.nanoTime();
+                                pcrCount++;
+
+                                // Compute sleepNanosOrig
+                                //Long sleepNanosOrig = null;
+                                if (firstPcrValue == null) {
+                                    firstPcrValue = pcrValue;
+                                    playbackCursor.setFirstPcrValue(firstPcrValue);
+                                    //firstPcrTime = pcrTime;
+                                } /*else if (pcrValue > firstPcrValue) {
+                                    // ts-container has fixed time-scale (90kHZ for PTS/DTS and 27MHz for PCR)
+                                    sleepNanosOrig = ((pcrValue - firstPcrValue) / 27 * 1000) - (pcrTime - firstPcrTime);
+                                }*/
+
+                                // Compute sleepNanosPrevious
+                                Long sleepNanosPrevious = null;
+                                if (lastPcrValue != null && lastPcrTime != null) {
+                                    if (pcrValue <= lastPcrValue) {
+                                        logger.warn("({}) ({}) PCR discontinuity ! (pid={}, pcrValue={}, lastPcrValue={})", rtspUnitId, streamer.getSessionId(), mpegTsPacket.getPid(), pcrValue, lastPcrValue);
+                                        streamer.getStreamerStats().onPcrDiscontinuity();
+                                        resetState = true;
+                                    } else {
                                         // ts-container has fixed time-scale (90kHZ for PTS/DTS and 27MHz for PCR)
-                                        sleepNanosOrig = ((pcrValue - firstPcrValue) / 27 * 1000) - (pcrTime - firstPcrTime);
-                                    }*/
-
-                                    // Compute sleepNanosPrevious
-                                    Long sleepNanosPrevious = null;
-                                    if (lastPcrValue != null && lastPcrTime != null) {
-                                        if (pcrValue <= lastPcrValue) {
-                                            logger.warn("({}) ({}) PCR discontinuity ! (pid={}, pcrValue={}, lastPcrValue={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), mpegTsPacket.getPid(), pcrValue, lastPcrValue);
-                                            resetState = true;
-                                        } else {
-                                            // ts-container has fixed time-scale (90kHZ for PTS/DTS and 27MHz for PCR)
-                                            sleepNanosPrevious = ((pcrValue - lastPcrValue) / 27 * 1000) - (pcrTime - lastPcrTime);
-                                        }
+                                        sleepNanosPrevious = ((pcrValue - lastPcrValue) / 27 * 1000) - (pcrTime - lastPcrTime);
+                                    }
+                                }
+
+                                // Set sleep time based on PCR if possible
+                                if (sleepNanosPrevious != null) {
+                                    // Safety : We should never have to wait more than 100ms
+                                    if (sleepNanosPrevious > 100000000) {
+                                        logger.warn("({}) ({}) PCR sleep ignored, too high! (pid={}, sleepNanosPrevious={})", rtspUnitId, streamer.getSessionId(), mpegTsPacket.getPid(), sleepNanosPrevious);
+                                        resetState = true;
+                                    } else {
+                                        pacingNanos = sleepNanosPrevious;
+                                        sleepNanos = sleepNanosPrevious;
+                                        // 음수이면 PCR 예정 시간보다 늦게 보내고 있다.
+                                        long pacingLag = Math.max(0, -sleepNanosPrevious);
+                                        serverMetrics.recordPacingLag(pacingLag);
+                                        streamer.getStreamerStats().recordPacingLag(pacingLag);
+                                    }
+                                }
+
+                                // Fast start : 실시간 대비 fastStartRate 배속으로 전송
+                                // > lastPcrTime 이 실제 전송 시간을 기준으로 갱신되므로 Fast start 종료 후 밀린 시간을 몰아서 보내지 않는다.
+                                // > 송신 버퍼가 가득 찬 동안에는 배속하지 않고 실시간 속도로 보낸다. (송신 대기열이 계속 쌓이지 않도록)
+                                if (isFastStart) {
+                                    if (fastStartFirstPcrValue == null) {
+                                        fastStartFirstPcrValue = pcrValue;
                                     }
 
-                                    // Set sleep time based on PCR if possible
-                                    if (sleepNanosPrevious != null) {
-                                        // Safety : We should never have to wait more than 100ms
-                                        if (sleepNanosPrevious > 100000000) {
-                                            logger.warn("({}) ({}) PCR sleep ignored, too high! (pid={}, sleepNanosPrevious={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), mpegTsPacket.getPid(), sleepNanosPrevious);
-                                            resetState = true;
+                                    if (pcrValue - fastStartFirstPcrValue >= fastStartDuration) {
+                                        isFastStart = false;
+                                        logger.debug("({}) ({}) Fast start is finished by the duration. (packets={})",
+                                                rtspUnitId, streamer.getSessionId(), fastStartPacketCount
+                                        );
+                                    } else if (sleepNanos > 0) {
+                                        if (streamer.isWritable()) {
+                                            sleepNanos /= fastStartRate;
                                         } else {
-                                            sleepNanos = sleepNanosPrevious;
+                                            logger.trace("({}) ({}) Fast start is paced in real time. Egress is not writable.", rtspUnitId, streamer.getSessionId());
                                         }
                                     }
-
-                                    // Set lastPcrValue/lastPcrTime
-                                    lastPcrValue = pcrValue;
-                                    lastPcrTime = pcrTime + sleepNanos;
-                                } else {
-                                    logger.warn("({}) ({}) Skipped PCR - Discontinuity indicator", rtspUnit.getRtspUnitId(), streamer.getSessionId());
                                 }
+
+                                // Set lastPcrValue/lastPcrTime
+                                lastPcrValue = pcrValue;
+                                lastPcrTime = pcrTime + sleepNanos;
+                            } else {
+                                logger.warn("({}) ({}) Skipped PCR - Discontinuity indicator", rtspUnitId, streamer.getSessionId());
+                                streamer.getStreamerStats().onPcrDiscontinuity();
                             }
                         }
-                        ///////////////////////////////////////////////////////////////////////////
+                    }
+                    ///////////////////////////////////////////////////////////////////////////
 
-                        ///////////////////////////////////////////////////////////////////////////
-                        // Sleep if needed
+                    ///////////////////////////////////////////////////////////////////////////
+                    // Sleep if needed
+                    if (pacingNanos > 0) {
                         if (sleepNanos > 0) {
+                            // 대기 전에 쌓인 패킷을 먼저 내보낸다.
+                            flushRtpPackets(streamer);
+                            Object jfrSleepEvent = JfrEvents.beginPacingSleep();
+                            long sleepStartTime = jfrSleepEvent != null ? System.nanoTime() : 0;
                             try {
                                 Thread.sleep(sleepNanos / 1000000, (int) (sleepNanos % 1000000));
+                                totalSleepTime += sleepNanos / 1000000;
+                                if (jfrSleepEvent != null) {
+                                    JfrEvents.commitPacingSleep(jfrSleepEvent, rtspUnitId, streamer.getSessionId(), sleepNanos, System.nanoTime() - sleepStartTime);
+                                }
                             } catch (InterruptedException e) {
-                                logger.warn("({}) ({}) Streaming sleep interrupted!", rtspUnit.getRtspUnitId(), streamer.getSessionId());
-                            }
-
-                            if (adaptationField.isRandomAccessIndicator()) { // KEY FRAME
-                                additionalTimestampIncrement = (frameCount + 1); // I-FRAME INTERVAL FOR TIMESTAMP
-                                frameCount = 0;
-                            } else {
-                                additionalTimestampIncrement = 1;
-                                frameCount++;
+                                logger.warn("({}) ({}) Streaming sleep interrupted!", rtspUnitId, streamer.getSessionId());
                             }
-                            logger.debug("frameCount: {}, additionalTimestampIncrement: {}", frameCount, additionalTimestampIncrement);
+                        }
 
-                            isEndOfFrame = true;
+                        // Fast start 여부와 상관없이 RTP Timestamp 는 PCR 기준으로 증가시킨다.
+                        if (adaptationField.isRandomAccessIndicator()) { // KEY FRAME
+                            additionalTimestampIncrement = (frameCount + 1); // I-FRAME INTERVAL FOR TIMESTAMP
+                            frameCount = 0;
                         } else {
-                            isEndOfFrame = false;
+                            additionalTimestampIncrement = 1;
+                            frameCount++;
                         }
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // SEND RTP PACKET
-                        sendRtpPacket(streamer, curData, fps, tbn, isEndOfFrame, additionalTimestampIncrement);
-                        curTsTotalByteSize += curData.length; // TS 파일 누적 크기 계산 (Ts 파일 구분)
-                        packetCount++;
-                        ///////////////////////////////////////////////////////////////////////////
+                        logger.debug("frameCount: {}, additionalTimestampIncrement: {}", frameCount, additionalTimestampIncrement);
+
+                        isEndOfFrame = true;
+                    } else {
+                        isEndOfFrame = false;
                     }
                     ///////////////////////////////////////////////////////////////////////////
 
                     ///////////////////////////////////////////////////////////////////////////
-                    // FINISH
-                    totalSendByteSize += curTsTotalByteSize;
-                    logger.debug("({}) ({}) [SEND TS BYTES: {}({}), [PCR: {},  PACKET: {}]",
-                            rtspUnit.getRtspUnitId(), streamer.getSessionId(),
-                            curTsTotalByteSize, fileSize, pcrCount, packetCount
-                    );
-                    inputStream.close();
-                    if (streamer.isPaused()) {
-                        logger.warn("({}) ({}) [FINISHED BY PAUSE]", rtspUnit.getRtspUnitId(), streamer.getSessionId());
-                        break;
+                    // SEND RTP PACKET
+                    sendRtpPacket(streamer, curData, fps, tbn, isEndOfFrame, additionalTimestampIncrement);
+                    curTsTotalByteSize += curData.length; // TS 파일 누적 크기 계산 (Ts 파일 구분)
+                    playbackCursor.addByteOffset(curData.length);
+                    packetCount++;
+                    if (isFastStart) {
+                        fastStartPacketCount++;
                     }
                     ///////////////////////////////////////////////////////////////////////////
                 }
-            } finally {
-                logger.debug("({}) ({}) [SEND TOTAL BYTES: {}, PACKET COUNT: {}, SLEEP TIME: {}]", rtspUnit.getRtspUnitId(), streamer.getSessionId(), totalSendByteSize, packetCount, totalSleepTime);
+                ///////////////////////////////////////////////////////////////////////////
 
-                try { byteArrayOutputStream.close(); } catch (IOException e) { logger.warn("", e); }
-                try {
-                    for (InputStream inputStream : inputStreamList) {
-                        if (inputStream != null) {
-                            inputStream.close();
-                        }
-                    }
-                } catch (IOException e) { logger.warn("", e); }
+                ///////////////////////////////////////////////////////////////////////////
+                // SAVE CURSOR
+                playbackCursor.setPcrCount(pcrCount);
+                playbackCursor.setLastPcrValue(lastPcrValue);
+                playbackCursor.setFrameCount(frameCount);
+                playbackCursor.setAdditionalTimestampIncrement(additionalTimestampIncrement);
+                ///////////////////////////////////////////////////////////////////////////
+
+                ///////////////////////////////////////////////////////////////////////////
+                // FINISH
+                totalSendByteSize += curTsTotalByteSize;
+                logger.debug("({}) ({}) [SEND TS BYTES: {}({}), [PCR: {},  PACKET: {}]",
+                        rtspUnitId, streamer.getSessionId(),
+                        curTsTotalByteSize, fileSize, pcrCount, packetCount
+                );
+                if (isPausedBySession) {
+                    logger.warn("({}) ({}) [FINISHED BY PAUSE] ({})", rtspUnitId, streamer.getSessionId(), playbackCursor);
+                    return;
+                }
+
+                inputStream.close();
+                playbackCursor.nextSegment();
+                ///////////////////////////////////////////////////////////////////////////
             }
-            ///////////////////////////////////////////////////////////////////////////
-        } catch (Exception e) {
-            logger.warn("RtspChannelHandler.sendData.Exception", e);
+
+            playbackCursor.setFinished(true);
+            playbackCursor.close();
+        } catch (IOException e) {
+            // 커서를 더 이상 사용할 수 없으므로 다음 PLAY 는 처음부터 다시 전송한다.
+            playbackCursor.close();
+            throw e;
+        } finally {
+            flushRtpPackets(streamer);
+            logger.debug("({}) ({}) [SEND TOTAL BYTES: {}, PACKET COUNT: {}, SLEEP TIME: {}]", rtspUnitId, streamer.getSessionId(), totalSendByteSize, packetCount, totalSleepTime);
+        }
+        ///////////////////////////////////////////////////////////////////////////
+    }
+
+    /**
+     * @fn private void flushRtpPackets(Streamer streamer)
+     * @brief write 로 쌓인 RTP 패킷을 한 번에 송신하는 함수
+     * @param streamer Streamer
+     */
+    private void flushRtpPackets(Streamer streamer) {
+        if (pendingPacketCount == 0) {
+            return;
         }
+
+        streamer.flush();
+        pendingPacketCount = 0;
     }
 
     private void sendRtpPacket(Streamer streamer, byte[] data, int fps, int tbn, boolean isEndOfFrame, long additionalTimestampIncrement) {
@@ -477,12 +664,33 @@ public class RtpSender extends Job {
         );
 
         byte[] totalRtpData = rtpPacket.getData();
-        ByteBuf buf = Unpooled.copiedBuffer(totalRtpData);
-        streamer.send(
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(totalRtpData.length);
+        buf.writeBytes(totalRtpData);
+        if (streamer.isRtxEnabled()) {
+            // NACK 재전송용으로 송신 버퍼의 참조만 보관한다. (복사 없음)
+            streamer.cacheRtpPacket(curSeqNum, buf.retainedDuplicate());
+        }
+        // FEC 는 미디어 패킷 뒤에 같은 송신 묶음으로 쌓는다.
+        // 송신 스레드가 버퍼의 index 를 바꾸거나 해제해도 XOR 할 수 있도록 독립된 index 의 참조를 잡는다. (복사 없음)
+        ByteBuf fecSource = streamer.isFecEnabled() ? buf.retainedDuplicate() : null;
+        streamer.write(
                 buf,
                 streamer.getDestIp(),
                 streamer.getDestPort()
         );
+        pendingPacketCount++;
+        if (fecSource != null) {
+            try {
+                pendingPacketCount += streamer.encodeFec(fecSource);
+            } finally {
+                fecSource.release();
+            }
+        }
+        if (pendingPacketCount >= SEND_BATCH_COUNT) {
+            flushRtpPackets(streamer);
+        }
+
+        streamer.onRtpPacketSent(curTimeStamp, data.length);
 
         if (curSeqNum == 65535) {
             streamer.resetSeqNumber();
@@ -1,6 +1,5 @@
 package rtsp.module.netty.handler;
 
-import com.fsm.module.StateHandler;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
@@ -13,24 +12,36 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.rtsp.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rtsp.config.ConfigManager;
 import rtsp.ffmpeg.FfmpegManager;
 import rtsp.fsm.RtspEvent;
+import rtsp.fsm.RtspFsmManager;
 import rtsp.fsm.RtspState;
+import rtsp.module.PlaybackCursor;
 import rtsp.module.RtspManager;
 import rtsp.module.Streamer;
 import rtsp.module.VideoStream;
 import rtsp.module.base.RtspUnit;
 import rtsp.module.netty.NettyChannelManager;
+import rtsp.module.rtcp.RtcpSessionManager;
+import rtsp.module.rtcp.StreamerRtcpFeedbackHandler;
 import rtsp.module.sdp.base.Sdp;
 import rtsp.service.AppInstance;
 import rtsp.service.ResourceManager;
 import rtsp.service.ServiceManager;
+import rtsp.service.jfr.JfrEvents;
+import rtsp.service.metric.RtspRequestMetrics;
 import rtsp.service.scheduler.schedule.ScheduleManager;
 
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Random;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 /**
  * @class public class RtspChannelHandler extends ChannelInboundHandlerAdapter
@@ -41,8 +52,8 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(RtspChannelHandler.class);
 
-    private final String name;
-    private final String rtspUnitId;
+    private String name;
+    private String rtspUnitId = null; // 연결의 첫 요청에서 결정된다.
 
     private final String listenIp; // local ip
     private final int listenRtspPort; // local(listen) rtsp port
@@ -50,12 +61,18 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
 
     private final Random random = new Random();
 
+    // 블로킹 작업 (RtspIoJob) 을 기다리는 동안 받은 메시지는 순서대로 쌓아 두었다가 응답 후 처리한다. (EventLoop 에서만 사용)
+    private boolean isRequestPending = false;
+    private final Deque<Object> pendingMessageQueue = new ArrayDeque<>();
+    private DefaultHttpRequest curRequest = null;
+    private Object curJfrEvent = null;
+    private RtspRequestMetrics.Trace curTrace = null;
+
     ////////////////////////////////////////////////////////////////////////////////
 
-    public RtspChannelHandler(String rtspUnitId, String listenIp, int listenRtspPort, int listenRtcpPort) {
-        this.name = "RTSP_" + rtspUnitId + "_" + listenIp + ":" + listenRtspPort;
+    public RtspChannelHandler(String listenIp, int listenRtspPort, int listenRtcpPort) {
+        this.name = "RTSP_" + listenIp + ":" + listenRtspPort;
 
-        this.rtspUnitId = rtspUnitId;
         this.listenIp = listenIp;
         this.listenRtspPort = listenRtspPort;
         this.listenRtcpPort = listenRtcpPort;
@@ -72,6 +89,147 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead (ChannelHandlerContext ctx, Object msg) {
+        if (isRequestPending) {
+            pendingMessageQueue.offer(msg);
+            return;
+        }
+
+        processMessage(ctx, msg);
+    }
+
+    private void processMessage (ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof DefaultHttpRequest)) {
+            return;
+        }
+
+        curRequest = (DefaultHttpRequest) msg;
+        curJfrEvent = JfrEvents.beginRtspMethod();
+        curTrace = RtspRequestMetrics.getInstance().begin(curRequest.method().name());
+        handleRequest(ctx, msg);
+        if (!isRequestPending) {
+            finishRequest();
+        }
+    }
+
+    /**
+     * @fn private void finishRequest()
+     * @brief 현재 요청의 처리를 마치는 함수 (응답을 보낸 후 호출)
+     */
+    private void finishRequest() {
+        DefaultHttpRequest req = curRequest;
+        if (req != null && curJfrEvent != null) {
+            JfrEvents.commitRtspMethod(
+                    curJfrEvent,
+                    req.method().name(),
+                    rtspUnitId,
+                    req.headers().get(RtspHeaderNames.SESSION),
+                    req.headers().get(RtspHeaderNames.CSEQ)
+            );
+        }
+
+        RtspRequestMetrics.getInstance().finish(curTrace);
+
+        curRequest = null;
+        curJfrEvent = null;
+        curTrace = null;
+    }
+
+    /**
+     * @fn private <T> boolean dispatchBlocking(ChannelHandlerContext ctx, String step, Callable<T> task, BiConsumer<T, Throwable> completion, Runnable onDropped)
+     * @brief 블로킹 작업을 IO 레인에서 실행하고, 완료 함수를 이 채널의 EventLoop 에서 실행하는 함수
+     * 완료 함수가 끝나면 응답을 flush 하고, 기다리는 동안 받은 요청을 이어서 처리한다.
+     * @param ctx ChannelHandlerContext
+     * @param step 작업 이름 (로그, Job 이름)
+     * @param task 블로킹 작업
+     * @param completion 완료 함수 (결과, 예외)
+     * @param onDropped 제한 시간이 지난 후에 작업이 끝났을 때 작업이 남긴 자원을 정리하는 함수 (EventLoop 에서 호출), 없으면 null
+     * @return 작업을 넣었으면 true, 실패하면 false 반환 (호출한 쪽에서 실패 응답을 보내야 한다.)
+     */
+    private <T> boolean dispatchBlocking(ChannelHandlerContext ctx, String step, Callable<T> task, BiConsumer<T, Throwable> completion, Runnable onDropped) {
+        isRequestPending = true;
+        RtspRequestMetrics.Trace trace = curTrace;
+        long submitTime = System.nanoTime();
+        Callable<T> tracedTask = () -> {
+            if (trace != null) {
+                trace.addSpan(RtspRequestMetrics.Span.IO_WAIT, System.nanoTime() - submitTime);
+            }
+            return task.call();
+        };
+
+        boolean isSubmitted = RtspIoJob.submit(name + "_" + step, ctx.executor(), tracedTask, (result, error) -> {
+            try {
+                completion.accept(result, error);
+            } catch (Exception e) {
+                logger.warn("({}) ({}) Fail to complete the {} request.", name, rtspUnitId, step, e);
+            } finally {
+                isRequestPending = false;
+                ctx.flush();
+                finishRequest();
+                processPendingMessages(ctx);
+            }
+        }, onDropped);
+
+        if (!isSubmitted) {
+            isRequestPending = false;
+        }
+        return isSubmitted;
+    }
+
+    private void processPendingMessages(ChannelHandlerContext ctx) {
+        Object msg;
+        while (!isRequestPending && (msg = pendingMessageQueue.poll()) != null) {
+            processMessage(ctx, msg);
+        }
+        ctx.flush();
+    }
+
+    private void stopStreaming(RtspUnit rtspUnit, Streamer streamer) {
+        logger.debug("({}) ({}) ({}) Stop the streaming. PLAY is failed.", name, rtspUnit.getRtspUnitId(), streamer.getSessionId());
+        NettyChannelManager.getInstance().stopStreaming(
+                rtspUnitId,
+                streamer.getSessionId(),
+                listenIp,
+                listenRtspPort
+        );
+    }
+
+    private static HttpResponseStatus getBlockingFailStatus(Throwable error) {
+        return error instanceof TimeoutException ? RtspResponseStatuses.SERVICE_UNAVAILABLE : RtspResponseStatuses.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * @fn private boolean fireEvent(RtspEvent event, RtspUnit rtspUnit)
+     * @brief 상태 전이 이벤트를 발생시키고 FSM 구간 시간을 기록하는 함수
+     * 요청을 받을 때 확인한 상태를 다른 스레드 (RtpSender 등) 가 먼저 바꾸면 전이에 실패한다.
+     * @param event RtspEvent
+     * @param rtspUnit RtspUnit
+     * @return 전이했으면 true, 실패하면 false 반환
+     */
+    private boolean fireEvent(RtspEvent event, RtspUnit rtspUnit) {
+        long startTime = System.nanoTime();
+        boolean isFired = RtspFsmManager.fire(event, rtspUnit);
+        addSpan(RtspRequestMetrics.Span.FSM, startTime);
+        return isFired;
+    }
+
+    /**
+     * @fn private void sendStateChangedResponse(RtspUnit rtspUnit, Streamer streamer, ChannelHandlerContext ctx, DefaultHttpRequest req, FullHttpResponse res, String curSessionId)
+     * @brief 요청 처리 중에 상태가 바뀌어서 전이에 실패한 경우 455 (Method Not Valid In This State) 로 응답하는 함수
+     */
+    private void sendStateChangedResponse(RtspUnit rtspUnit, Streamer streamer, ChannelHandlerContext ctx, DefaultHttpRequest req, FullHttpResponse res, String curSessionId) {
+        logger.warn("({}) ({}) () Fail to process the {} request. State is changed while processing. (state={})",
+                name, rtspUnit.getRtspUnitId(), req.method(), rtspUnit.getRtspState()
+        );
+        sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.METHOD_NOT_VALID);
+    }
+
+    private void addSpan(RtspRequestMetrics.Span span, long startTime) {
+        if (curTrace != null) {
+            curTrace.addSpan(span, System.nanoTime() - startTime);
+        }
+    }
+
+    private void handleRequest (ChannelHandlerContext ctx, Object msg) {
         try {
             if (msg instanceof DefaultHttpRequest) {
                 ///////////////////////////////////////////////////////////////////////////
@@ -87,14 +245,16 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
 
                 ///////////////////////////////////////////////////////////////////////////
                 // CHECK RTSP UNIT
-                RtspUnit rtspUnit = RtspManager.getInstance().getRtspUnit(rtspUnitId);
+                RtspUnit rtspUnit = getRtspUnit(ctx, req);
                 if (rtspUnit == null) {
                     logger.warn("({}) Fail to get the rtsp unit. RtspUnit is null.", name);
                     sendFailResponse(name, null, null, ctx, req, res, null, RtspResponseStatuses.INTERNAL_SERVER_ERROR);
                     return;
                 }
-                StateHandler rtspStateHandler = rtspUnit.getStateManager().getStateHandler(RtspState.NAME);
-                String curState = rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId()).getCurState();
+                RtspState curState = rtspUnit.getRtspState();
+                if (curTrace != null) {
+                    curTrace.setArrivalState(curState.name());
+                }
                 logger.debug("({}) ({}) () Request: {}", name, rtspUnit.getRtspUnitId(), req);
                 ///////////////////////////////////////////////////////////////////////////
 
@@ -103,17 +263,17 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                 if (req.method() == RtspMethods.OPTIONS) {
                     logger.debug("({}) ({}) () < OPTIONS (curState={})", name, rtspUnit.getRtspUnitId(), curState);
 
-                    if (curState.equals(RtspState.REGISTER) || curState.equals(RtspState.PLAY) || curState.equals(RtspState.PAUSE)) {
+                    if (curState == RtspState.REGISTER || curState == RtspState.PLAY || curState == RtspState.PAUSE) {
                         String sessionId = req.headers().get(RtspHeaderNames.SESSION);
                         if (sessionId != null) {
                             long prevSessionId = rtspUnit.getSessionId();
                             rtspUnit.setSessionId(Long.parseLong(sessionId));
                             logger.debug("({}) ({}) () Previous SessionId is [{}]. SessionId is updated. ({})", name, rtspUnit.getRtspUnitId(), prevSessionId, sessionId);
                         } else {
-                            rtspStateHandler.fire(
-                                    RtspEvent.OPTIONS,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            if (!fireEvent(RtspEvent.OPTIONS, rtspUnit)) {
+                                sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                                return;
+                            }
 
                             long newSessionId = random.nextInt(1000000);
                             logger.warn("({}) ({}) () SessionId is null. New sessionId is created. ({})", name, rtspUnit.getRtspUnitId(), newSessionId);
@@ -140,11 +300,11 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                 else if (req.method() == RtspMethods.DESCRIBE) {
                     logger.debug("({}) ({}) () < DESCRIBE", name, rtspUnit.getRtspUnitId());
 
-                    if (curState.equals(RtspState.OPTIONS)) {
-                        rtspStateHandler.fire(
-                                RtspEvent.DESCRIBE,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                    if (curState == RtspState.OPTIONS) {
+                        if (!fireEvent(RtspEvent.DESCRIBE, rtspUnit)) {
+                            sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                            return;
+                        }
 
                         // Set port to client
                         int clientRtpListenPort = rtspUnit.getClientRtpListenPort();
@@ -152,38 +312,65 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                             clientRtpListenPort = ResourceManager.getInstance().takePort();
                             if (clientRtpListenPort == -1) {
                                 logger.warn("({}) ({}) () Fail to process describe method. Port is full.", name, rtspUnit.getRtspUnitId());
-                                rtspStateHandler.fire(
-                                        RtspEvent.DESCRIBE_FAIL,
-                                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                                );
+                                fireEvent(RtspEvent.DESCRIBE_FAIL, rtspUnit);
                                 sendFailResponse(name, rtspUnit, null, ctx, req, res, null, RtspResponseStatuses.INTERNAL_SERVER_ERROR);
                                 return;
                             }
                         }
                         rtspUnit.setClientRtpListenPort(clientRtpListenPort);
 
-                        Sdp localSdp = AppInstance.getInstance().getConfigManager().loadLocalSdpConfig(rtspUnitId, clientRtpListenPort);
-                        rtspUnit.setSdp(localSdp);
+                        // SDP 생성 (SDP 파싱) 은 IO 레인에서 처리한다.
+                        final int sdpMediaPort = clientRtpListenPort;
+                        final RtspRequestMetrics.Trace trace = curTrace;
+                        boolean isDispatched = dispatchBlocking(ctx, "DESCRIBE",
+                                () -> {
+                                    long sdpStartTime = System.nanoTime();
+                                    Sdp localSdp = AppInstance.getInstance().getConfigManager().loadLocalSdpConfig(
+                                            rtspUnit.getRtspUnitId(), sdpMediaPort,
+                                            rtspUnit.getSsrc(), rtspUnit.getRtxSsrc(), rtspUnit.getFecSsrc(), rtspUnit.getCname()
+                                    );
+                                    if (trace != null) {
+                                        trace.addSpan(RtspRequestMetrics.Span.SDP, System.nanoTime() - sdpStartTime);
+                                    }
+                                    return localSdp;
+                                },
+                                (localSdp, error) -> {
+                                    if (error != null || localSdp == null) {
+                                        logger.warn("({}) ({}) () Fail to process describe method. Fail to load the local sdp. (cause={})", name, rtspUnit.getRtspUnitId(), error != null ? error.toString() : null);
+                                        fireEvent(RtspEvent.DESCRIBE_FAIL, rtspUnit);
+                                        sendFailResponse(name, rtspUnit, null, ctx, req, res, null, getBlockingFailStatus(error));
+                                        return;
+                                    }
+                                    if (!fireEvent(RtspEvent.DESCRIBE_OK, rtspUnit)) {
+                                        sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                                        return;
+                                    }
+                                    rtspUnit.setSdp(localSdp);
+
+                                    res.setStatus(RtspResponseStatuses.OK);
+                                    res.headers().add(
+                                            RtspHeaderNames.CONTENT_TYPE,
+                                            "application/sdp"
+                                    );
 
-                        res.setStatus(RtspResponseStatuses.OK);
-                        res.headers().add(
-                                RtspHeaderNames.CONTENT_TYPE,
-                                "application/sdp"
-                        );
+                                    ByteBuf buf = Unpooled.copiedBuffer(localSdp.getData(true), StandardCharsets.UTF_8);
+                                    res.headers().add(
+                                            RtspHeaderNames.CONTENT_LENGTH,
+                                            buf.writerIndex()
+                                    );
 
-                        ByteBuf buf = Unpooled.copiedBuffer(localSdp.getData(true), StandardCharsets.UTF_8);
-                        res.headers().add(
-                                RtspHeaderNames.CONTENT_LENGTH,
-                                buf.writerIndex()
-                        );
+                                    res.content().writeBytes(buf);
+                                    buf.release();
 
-                        res.content().writeBytes(buf);
-                        rtspStateHandler.fire(
-                                RtspEvent.DESCRIBE_OK,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
+                                    sendResponse(name, rtspUnit, null, ctx, req, res);
+                                },
+                                null
                         );
-
-                        sendResponse(name, rtspUnit, null, ctx, req, res);
+                        if (!isDispatched) {
+                            logger.warn("({}) ({}) () Fail to process describe method. IO lane is busy.", name, rtspUnit.getRtspUnitId());
+                            fireEvent(RtspEvent.DESCRIBE_FAIL, rtspUnit);
+                            sendFailResponse(name, rtspUnit, null, ctx, req, res, null, RtspResponseStatuses.SERVICE_UNAVAILABLE);
+                        }
                     }
                 }
                 ///////////////////////////////////////////////////////////////////////////
@@ -193,11 +380,11 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                 else if (req.method() == RtspMethods.SETUP) {
                     logger.debug("({}) ({}) () < SETUP", name, rtspUnit.getRtspUnitId());
 
-                    if (curState.equals(RtspState.SDP_READY) || curState.equals(RtspState.OPTIONS)) {
-                        rtspStateHandler.fire(
-                                RtspEvent.SETUP,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                    if (curState == RtspState.SDP_READY || curState == RtspState.OPTIONS) {
+                        if (!fireEvent(RtspEvent.SETUP, rtspUnit)) {
+                            sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                            return;
+                        }
 
                         String transportHeaderContent = req.headers().get(RtspHeaderNames.TRANSPORT);
                         String clientPortString = transportHeaderContent.substring(
@@ -210,6 +397,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                         //
 
                         //
+                        long streamerStartTime = System.nanoTime();
                         Streamer streamer = NettyChannelManager.getInstance().getStreamer(rtspUnitId, curSessionId, listenIp, listenRtspPort);
                         if (streamer == null) {
                             streamer = rtspUnit.getStreamer();
@@ -223,10 +411,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
 
                                 if (streamer == null) {
                                     logger.warn("({}) ({}) ({}) Streamer is not defined. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), curSessionId, listenIp, listenRtspPort);
-                                    rtspStateHandler.fire(
-                                            RtspEvent.SETUP_FAIL,
-                                            rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                                    );
+                                    fireEvent(RtspEvent.SETUP_FAIL, rtspUnit);
                                     sendFailResponse(name, rtspUnit, null, ctx, req, res, curSessionId, RtspResponseStatuses.NOT_ACCEPTABLE);
                                     return;
                                 }
@@ -234,6 +419,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                                 rtspUnit.setStreamer(streamer);
                             }
                         }
+                        addSpan(RtspRequestMetrics.Span.STREAMER, streamerStartTime);
                         //
 
                         //
@@ -279,10 +465,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                                 rtcpDestPort = Integer.parseInt(rtcpDesPortString);
                                 if (rtcpDestPort <= 0) {
                                     logger.warn("({}) ({}) () Fail to parse rtcp destination port. (transportHeaderContent={})", name, rtspUnit.getRtspUnitId(), transportHeaderContent);
-                                    rtspStateHandler.fire(
-                                            RtspEvent.SETUP_FAIL,
-                                            rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                                    );
+                                    fireEvent(RtspEvent.SETUP_FAIL, rtspUnit);
                                     sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.NOT_ACCEPTABLE);
                                     return;
                                 }
@@ -296,10 +479,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                             int rtpDestPort = Integer.parseInt(rtpDesPortString);
                             if (rtpDestPort <= 0) {
                                 logger.warn("({}) ({}) () Fail to parse rtp destination port. (transportHeaderContent={})", name, rtspUnit.getRtspUnitId(), transportHeaderContent);
-                                rtspStateHandler.fire(
-                                        RtspEvent.SETUP_FAIL,
-                                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                                );
+                                fireEvent(RtspEvent.SETUP_FAIL, rtspUnit);
                                 sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.NOT_ACCEPTABLE);
                                 return;
                             }
@@ -310,6 +490,41 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                             if (rtcpDestPort > 0) {
                                 streamer.setRtcpDestPort(rtcpDestPort);
                             }
+
+                            long streamerInitStartTime = System.nanoTime();
+                            // DESCRIBE 의 SDP 로 알린 SSRC 를 사용한다. (RTX, FEC 와 ssrc-group 으로 묶여 있다.)
+                            streamer.setSsrc(rtspUnit.getSsrc());
+                            streamer.setRtcpFeedbackListener(new StreamerRtcpFeedbackHandler(rtspUnit, streamer));
+                            RtcpSessionManager.getInstance().addStreamer(streamer);
+
+                            ConfigManager configManager = AppInstance.getInstance().getConfigManager();
+                            if (configManager.isRtxEnabled()) {
+                                streamer.initRtx(
+                                        rtspUnit.getRtxSsrc(),
+                                        configManager.getRtxPayloadType(),
+                                        configManager.getRtxCacheSize(),
+                                        configManager.getRtxTime(),
+                                        configManager.getRtxMaxRate()
+                                );
+                            }
+                            if (configManager.isRtcpSrEnabled() && streamer.getRtcpDestPort() > 0) {
+                                streamer.initRtcpReporter(
+                                        NettyChannelManager.getInstance().getRtcpChannel(),
+                                        rtspUnit.getCname(),
+                                        configManager.getRtcpSessionBandwidth(),
+                                        configManager.getRtcpMinInterval()
+                                );
+                            }
+                            if (configManager.isFecEnabled()) {
+                                streamer.initFec(
+                                        rtspUnit.getFecSsrc(),
+                                        configManager.getFecColumns(),
+                                        configManager.getFecRows(),
+                                        configManager.getFecColumnPayloadType(),
+                                        configManager.getFecRowPayloadType()
+                                );
+                            }
+                            addSpan(RtspRequestMetrics.Span.STREAMER, streamerInitStartTime);
                             //
 
                             int destPort = streamer.getDestPort();
@@ -338,17 +553,11 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                                 );
                             } else {
                                 logger.warn("({}) ({}) ({}) Fail to send the response for SETUP. (rtpDestPort={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), streamer.getDestPort());
-                                rtspStateHandler.fire(
-                                        RtspEvent.SETUP_FAIL,
-                                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                                );
+                                fireEvent(RtspEvent.SETUP_FAIL, rtspUnit);
                             }
                         } else {
                             logger.warn("({}) ({}) () Unknown transport header content. ({})", name, rtspUnit.getRtspUnitId(), clientPortString);
-                            rtspStateHandler.fire(
-                                    RtspEvent.SETUP_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.SETUP_FAIL, rtspUnit);
                         }
                     }
                 }
@@ -359,21 +568,18 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                 else if (req.method() == RtspMethods.PLAY) {
                     logger.debug("({}) ({}) () < PLAY", name, rtspUnit.getRtspUnitId());
 
-                    if (curState.equals(RtspState.SETUP) || curState.equals(RtspState.PAUSE)) {
-                        rtspStateHandler.fire(
-                                RtspEvent.PLAY,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                    if (curState == RtspState.SETUP || curState == RtspState.PAUSE) {
+                        if (!fireEvent(RtspEvent.PLAY, rtspUnit)) {
+                            sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                            return;
+                        }
 
                         ///////////////////////////////////////////////////////////////////////////
                         // CHECK REQUEST
                         String curSessionId = req.headers().get(RtspHeaderNames.SESSION);
                         if (curSessionId == null) {
                             logger.warn("({}) ({}) () SessionId is null. Fail to process PLAY method. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), listenIp, listenRtspPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PLAY_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
                             sendFailResponse(name, rtspUnit, null, ctx, req, res, null, RtspResponseStatuses.NOT_ACCEPTABLE);
                             return;
                         }
@@ -385,20 +591,14 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                         Streamer streamer = NettyChannelManager.getInstance().getStreamer(rtspUnitId, curSessionId, listenIp, listenRtspPort);
                         if (streamer == null) {
                             logger.warn("({}) ({}) ({}) Streamer is not defined. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), curSessionId, listenIp, listenRtspPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PLAY_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
                             sendFailResponse(name, rtspUnit, null, ctx, req, res, curSessionId, RtspResponseStatuses.INTERNAL_SERVER_ERROR);
                             return;
                         }
 
                         if (!curSessionId.equals(streamer.getSessionId())) {
                             logger.warn("({}) ({}) ({}) SessionId is unmatched. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), curSessionId, listenIp, listenRtspPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PLAY_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
                             sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.NOT_ACCEPTABLE);
                             return;
                         }
@@ -426,7 +626,20 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                             }
                             //
                         }
-                        logger.debug("[< PLAY REQ] RANGE: [{} ~ {}]", npt1, npt2);
+
+                        // PAUSE 후 Range 없이 PLAY 요청이 오면 저장된 재생 위치부터 이어서 전송한다.
+                        PlaybackCursor playbackCursor = streamer.getPlaybackCursor();
+                        boolean isResumed = curState == RtspState.PAUSE
+                                && req.headers().get(RtspHeaderNames.RANGE) == null
+                                && playbackCursor != null && playbackCursor.isResumable();
+                        if (isResumed) {
+                            npt1 = playbackCursor.getNpt();
+                            npt2 = rtspUnit.getEndTime();
+                        } else {
+                            streamer.resetPlaybackCursor();
+                        }
+
+                        logger.debug("[< PLAY REQ] RANGE: [{} ~ {}] (resumed={})", npt1, npt2, isResumed);
                         logger.debug("[< PLAY REQ] URI: {}", streamer.getUri());
                         ///////////////////////////////////////////////////////////////////////////
 
@@ -435,89 +648,135 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                         int destPort = streamer.getDestPort();
                         if (destPort <= 0) {
                             logger.warn("({}) ({}) ({}) Fail to process the PLAY request. Destination port is wrong. (rtspUnit={}, destPort={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), rtspUnit, destPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PLAY_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
                             sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.INTERNAL_SERVER_ERROR);
                             return;
                         }
                         ///////////////////////////////////////////////////////////////////////////
 
                         ///////////////////////////////////////////////////////////////////////////
-                        // CHECK RTSP DESTINATION IP
+                        // CHECK RTSP DESTINATION IP & FILE TIME
+                        // 송신 채널 연결 (DNS 조회, connect) 과 MP4 파일 분석은 IO 레인에서 처리한다.
                         logger.debug("({}) ({}) ({}) Start to stream the media. (rtpDestPort={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), destPort);
-                        NettyChannelManager.getInstance().startStreaming(
-                                rtspUnitId,
-                                streamer.getSessionId(),
-                                listenIp,
-                                listenRtspPort
-                        );
-
                         VideoStream video = streamer.getVideo();
                         logger.debug("({}) ({}) ({}) resultM3U8FilePath: {}", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), video.getResultM3U8FilePath());
 
                         FfmpegManager ffmpegManager = new FfmpegManager();
+                        final double playStartNpt = npt1;
+                        final double playEndNpt = npt2;
+                        final RtspRequestMetrics.Trace trace = curTrace;
+                        BiConsumer<Double, Throwable> onPlayPrepared = (fileTime, error) -> {
+                            if (error != null || fileTime == null) {
+                                logger.warn("({}) ({}) ({}) Fail to process the PLAY request. Fail to prepare the streaming. (cause={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), error != null ? error.toString() : null);
+                                if (!(error instanceof TimeoutException)) {
+                                    // 제한 시간이 지난 경우는 작업이 끝난 후 onDropped 에서 정리한다.
+                                    stopStreaming(rtspUnit, streamer);
+                                }
+                                fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
+                                sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, getBlockingFailStatus(error));
+                                return;
+                            }
+                            if (!isResumed) {
+                                rtspUnit.setFileTime(fileTime);
+                            }
+                            String fileTimeString = String.format("%.3f", fileTime);
 
-                        double fileTime = ffmpegManager.getFileTime(video.getMp4FileName());
-                        rtspUnit.setFileTime(fileTime);
-                        String fileTimeString = String.format("%.3f", fileTime);
+                            if (playEndNpt > fileTime || playEndNpt < 0) {
+                                logger.warn("({}) ({}) ({}) Wrong end time is detected. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), listenIp, listenRtspPort);
+                                stopStreaming(rtspUnit, streamer);
+                                fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
+                                sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.NOT_ACCEPTABLE);
+                                return;
+                            }
+                            ///////////////////////////////////////////////////////////////////////////
+
+                            ///////////////////////////////////////////////////////////////////////////
+                            // SUCCESS RESPONSE
+                            res.setStatus(RtspResponseStatuses.OK);
+                            String npt1TempString = String.format("%.3f", playStartNpt);
+                            if (playEndNpt == 0) {
+                                res.headers().add(
+                                        RtspHeaderNames.RANGE,
+                                        "npt=" + npt1TempString + "-" + fileTimeString
+                                );
+                            } else {
+                                String npt2TempString = String.format("%.3f", playEndNpt);
+                                res.headers().add(
+                                        RtspHeaderNames.RANGE,
+                                        "npt=" + npt1TempString + "-" + npt2TempString
+                                );
+                            }
 
-                        if (npt2 > fileTime || npt2 < 0) {
-                            logger.warn("({}) ({}) ({}) Wrong end time is detected. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), listenIp, listenRtspPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PLAY_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
+                            res.headers().add(
+                                    RtspHeaderNames.SERVER,
+                                    "URTSP Server"
                             );
-                            sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.NOT_ACCEPTABLE);
-                            return;
-                        }
-                        ///////////////////////////////////////////////////////////////////////////
-
-                        ///////////////////////////////////////////////////////////////////////////
-                        // SUCCESS RESPONSE
-                        res.setStatus(RtspResponseStatuses.OK);
-                        String npt1TempString = String.format("%.3f", npt1);
-                        if (npt2 == 0) {
                             res.headers().add(
-                                    RtspHeaderNames.RANGE,
-                                    "npt=" + npt1TempString + "-" + fileTimeString
+                                    RtspManager.RTSP_RES_SESSION,
+                                    curSessionId
                             );
-                        } else {
-                            String npt2TempString = String.format("%.3f", npt2);
                             res.headers().add(
-                                    RtspHeaderNames.RANGE,
-                                    "npt=" + npt1TempString + "-" + npt2TempString
+                                    RtspHeaderNames.RTP_INFO,
+                                    "url=" + streamer.getUri() + ";seq=" + streamer.getCurSeqNum() + ";rtptime=" + streamer.getCurTimeStamp()
                             );
-                        }
+                            sendResponse(name, rtspUnit, streamer, ctx, req, res);
+                            ///////////////////////////////////////////////////////////////////////////
 
-                        res.headers().add(
-                                RtspHeaderNames.SERVER,
-                                "URTSP Server"
-                        );
-                        res.headers().add(
-                                RtspManager.RTSP_RES_SESSION,
-                                curSessionId
-                        );
-                        res.headers().add(
-                                RtspHeaderNames.RTP_INFO,
-                                "url=" + streamer.getUri() + ";seq=" + streamer.getCurSeqNum() + ";rtptime=" + streamer.getCurTimeStamp()
-                        );
-                        RtspChannelHandler.sendResponse(name, rtspUnit, streamer, ctx, req, res);
-                        ///////////////////////////////////////////////////////////////////////////
+                            ///////////////////////////////////////////////////////////////////////////
+                            // RTP SENDER THREAD
+                            streamer.setPaused(false);
+                            RtpSender rtpSender = new RtpSender(
+                                    rtspUnitId,
+                                    0, 0, TimeUnit.MILLISECONDS,
+                                    1, 1, false,
+                                    ffmpegManager, video,
+                                    fileTime, playStartNpt, playEndNpt,
+                                    rtspUnit, streamer, destPort
+                            );
+                            ServiceManager.getInstance().getScheduleManager().startJob(ServiceManager.MAIN_SCHEDULE_JOB, rtpSender);
+                            ///////////////////////////////////////////////////////////////////////////
+                        };
+
+                        // PAUSE 후 재개할 때 송신 채널이 열려 있으면 DNS 조회, connect, 파일 분석 없이 저장된 재생 위치부터 바로 송신한다.
+                        if (isResumed && streamer.isActive()) {
+                            logger.debug("({}) ({}) ({}) Resume the streaming. (npt={})", name, rtspUnit.getRtspUnitId(), streamer.getSessionId(), playStartNpt);
+                            onPlayPrepared.accept(rtspUnit.getFileTime(), null);
+                            return;
+                        }
 
-                        ///////////////////////////////////////////////////////////////////////////
-                        // RTP SENDER THREAD
-                        streamer.setPaused(false);
-                        RtpSender rtpSender = new RtpSender(
-                                rtspUnitId,
-                                0, 0, TimeUnit.MILLISECONDS,
-                                1, 1, false,
-                                ffmpegManager, video,
-                                fileTime, npt1, npt2,
-                                rtspStateHandler, rtspUnit, streamer, destPort
+                        boolean isDispatched = dispatchBlocking(ctx, "PLAY",
+                                () -> {
+                                    long streamerStartTime = System.nanoTime();
+                                    NettyChannelManager.getInstance().startStreaming(
+                                            rtspUnit.getRtspUnitId(),
+                                            streamer.getSessionId(),
+                                            listenIp,
+                                            listenRtspPort
+                                    );
+                                    long probeStartTime = System.nanoTime();
+                                    double fileTime = isResumed ? rtspUnit.getFileTime() : ffmpegManager.getFileTime(video.getMp4FileName());
+                                    if (trace != null) {
+                                        trace.addSpan(RtspRequestMetrics.Span.STREAMER, probeStartTime - streamerStartTime);
+                                        if (!isResumed) {
+                                            trace.addSpan(RtspRequestMetrics.Span.PROBE, System.nanoTime() - probeStartTime);
+                                        }
+                                    }
+                                    return fileTime;
+                                },
+                                onPlayPrepared,
+                                // 제한 시간이 지나서 실패로 응답한 후에 송신 채널이 열리면 닫는다.
+                                // (그 사이에 클라이언트가 다시 PLAY 를 요청했으면 새 요청이 채널을 사용하므로 닫지 않는다.)
+                                () -> {
+                                    if (rtspUnit.getRtspState() != RtspState.PLAY) {
+                                        stopStreaming(rtspUnit, streamer);
+                                    }
+                                }
                         );
-                        ServiceManager.getInstance().getScheduleManager().startJob(ServiceManager.MAIN_SCHEDULE_JOB, rtpSender);
+                        if (!isDispatched) {
+                            logger.warn("({}) ({}) ({}) Fail to process the PLAY request. IO lane is busy.", name, rtspUnit.getRtspUnitId(), streamer.getSessionId());
+                            fireEvent(RtspEvent.PLAY_FAIL, rtspUnit);
+                            sendFailResponse(name, rtspUnit, streamer, ctx, req, res, curSessionId, RtspResponseStatuses.SERVICE_UNAVAILABLE);
+                        }
                         ///////////////////////////////////////////////////////////////////////////
                     }
                 }
@@ -528,11 +787,11 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                 else if (req.method() == RtspMethods.TEARDOWN) {
                     logger.debug("({}) ({}) () < TEARDOWN", name, rtspUnit.getRtspUnitId());
 
-                    if (curState.equals(RtspState.SDP_READY) || curState.equals(RtspState.PLAY) || curState.equals(RtspState.PAUSE)) {
-                        rtspStateHandler.fire(
-                                RtspEvent.TEARDOWN,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                    if (curState == RtspState.SDP_READY || curState == RtspState.PLAY || curState == RtspState.PAUSE) {
+                        if (!fireEvent(RtspEvent.TEARDOWN, rtspUnit)) {
+                            sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                            return;
+                        }
 
                         ///////////////////////////////////////////////////////////////////////////
                         String curSessionId = req.headers().get(RtspHeaderNames.SESSION);
@@ -559,10 +818,10 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                         }
                         ///////////////////////////////////////////////////////////////////////////
 
-                        rtspStateHandler.fire(
-                                RtspEvent.TEARDOWN_OK,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                        if (!fireEvent(RtspEvent.TEARDOWN_OK, rtspUnit)) {
+                            sendStateChangedResponse(rtspUnit, streamer, ctx, req, res, curSessionId);
+                            return;
+                        }
 
                         res.setStatus(RtspResponseStatuses.OK);
                         res.headers().add(
@@ -580,20 +839,17 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                 else if (req.method() == RtspMethods.PAUSE) {
                     logger.debug("({}) ({}) () < PAUSE", name, rtspUnit.getRtspUnitId());
 
-                    if (curState.equals(RtspState.PLAY)) {
-                        rtspStateHandler.fire(
-                                RtspEvent.PAUSE,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                    if (curState == RtspState.PLAY) {
+                        if (!fireEvent(RtspEvent.PAUSE, rtspUnit)) {
+                            sendStateChangedResponse(rtspUnit, null, ctx, req, res, null);
+                            return;
+                        }
 
                         ///////////////////////////////////////////////////////////////////////////
                         String curSessionId = req.headers().get(RtspHeaderNames.SESSION);
                         if (curSessionId == null) {
                             logger.warn("({}) ({}) () SessionId is null. Fail to process PAUSE method. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), listenIp, listenRtspPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PAUSE_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.PAUSE_FAIL, rtspUnit);
                             sendFailResponse(name, rtspUnit, null, ctx, req, res, null, RtspResponseStatuses.NOT_ACCEPTABLE);
                             return;
                         }
@@ -602,10 +858,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                         Streamer streamer = NettyChannelManager.getInstance().getStreamer(rtspUnitId, curSessionId, listenIp, listenRtspPort);
                         if (streamer == null) {
                             logger.warn("({}) ({}) () Streamer is not defined. (listenIp={}, listenPort={})", name, rtspUnit.getRtspUnitId(), listenIp, listenRtspPort);
-                            rtspStateHandler.fire(
-                                    RtspEvent.PAUSE_FAIL,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            fireEvent(RtspEvent.PAUSE_FAIL, rtspUnit);
                             sendFailResponse(name, rtspUnit, null, ctx, req, res, curSessionId, RtspResponseStatuses.INTERNAL_SERVER_ERROR);
                             return;
                         }
@@ -620,7 +873,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
                             );
                         }
 
-                        streamer.resetSeqAndTime();
+                        // RTP Sequence number 와 Timestamp 는 PlaybackCursor 와 함께 유지해서 다음 PLAY 에서 이어서 사용한다.
                         ///////////////////////////////////////////////////////////////////////////
 
                         res.setStatus(RtspResponseStatuses.OK);
@@ -647,7 +900,41 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
-    public static void sendResponse(String name, RtspUnit rtspUnit, Streamer streamer, ChannelHandlerContext ctx, DefaultHttpRequest req, FullHttpResponse res) {
+    /**
+     * @fn private RtspUnit getRtspUnit(ChannelHandlerContext ctx, DefaultHttpRequest req)
+     * @brief 이 연결의 RtspUnit 을 반환하는 함수
+     * 첫 요청에서 Session 헤더 또는 원격 IP 로 RtspUnit 을 찾고, 이후 요청은 같은 RtspUnit 으로 처리한다.
+     * @param ctx ChannelHandlerContext
+     * @param req 요청
+     * @return 성공 시 RtspUnit, 실패 시 null 반환
+     */
+    private RtspUnit getRtspUnit(ChannelHandlerContext ctx, DefaultHttpRequest req) {
+        if (rtspUnitId != null) {
+            return RtspManager.getInstance().getRtspUnit(rtspUnitId);
+        }
+
+        String remoteIp = null;
+        if (ctx.channel().remoteAddress() instanceof InetSocketAddress) {
+            remoteIp = ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress().getHostAddress();
+        }
+
+        RtspUnit rtspUnit = RtspManager.getInstance().findRtspUnit(req.headers().get(RtspHeaderNames.SESSION), remoteIp);
+        if (rtspUnit == null) {
+            logger.warn("({}) Not found the rtsp unit. (remoteIp={})", name, remoteIp);
+            return null;
+        }
+
+        rtspUnitId = rtspUnit.getRtspUnitId();
+        name = "RTSP_" + rtspUnitId + "_" + listenIp + ":" + listenRtspPort;
+        logger.debug("({}) Connection is bound to the rtsp unit. (remoteIp={})", name, remoteIp);
+        return rtspUnit;
+    }
+
+    public void sendResponse(String name, RtspUnit rtspUnit, Streamer streamer, ChannelHandlerContext ctx, DefaultHttpRequest req, FullHttpResponse res) {
+        if (curTrace != null) {
+            curTrace.setStatusCode(res.status().code());
+        }
+
         final String cSeq = req.headers().get(RtspHeaderNames.CSEQ);
         if (cSeq != null) {
             res.headers().add(RtspHeaderNames.CSEQ, cSeq);
@@ -684,6 +971,7 @@ public class RtspChannelHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         logger.warn("({}) RtspChannelHandler is inactive.", name);
+        pendingMessageQueue.clear();
     }
 
     @Override
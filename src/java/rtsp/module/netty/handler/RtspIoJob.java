@@ -0,0 +1,178 @@
+package rtsp.module.netty.handler;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.config.ConfigManager;
+import rtsp.service.AppInstance;
+import rtsp.service.ServiceManager;
+import rtsp.service.metric.ServerMetrics;
+import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.job.JobLane;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * @class public class RtspIoJob<T> extends Job
+ * @brief RTSP 요청 처리 중 블로킹 작업을 IO 레인에서 실행하고, 결과를 요청을 받은 채널의 EventLoop 에서 처리하는 클래스
+ *
+ * - RTSP EventLoop 하나는 여러 연결을 처리하므로 디스크 읽기, 파싱, DNS 조회 같은 작업이 길어지면 다른 클라이언트의 요청까지 멈춘다.
+ * - 완료 함수는 작업 결과 또는 예외로 정확히 한 번 호출된다.
+ *      > 제한 시간 (RTSP_IO_TIMEOUT) 이 지나면 TimeoutException 으로 먼저 호출되고, 늦게 끝난 작업의 결과는 버린다.
+ *      > 대기 중에 제한 시간이 지난 작업은 실행하지 않는다.
+ *      > 이미 시작된 블로킹 작업은 중단하지 않는다. (IO 레인 스레드는 작업이 끝날 때까지 점유된다.)
+ *      > 작업이 남긴 자원 (송신 채널 등) 은 취소 함수 (onDropped) 로 정리한다. 제한 시간이 지난 후 작업이 끝나면 EventLoop 에서 호출된다.
+ * - 대기/실행 중인 작업이 RTSP_IO_MAX_PENDING 개 이상이면 submit() 이 실패하고, 호출한 쪽은 503 으로 응답한다.
+ */
+public class RtspIoJob<T> extends Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtspIoJob.class);
+
+    private static final AtomicInteger pendingJobCount = new AtomicInteger(0); // IO 레인에서 대기/실행 중인 작업 수
+
+    private final Callable<T> task;
+    private final EventExecutor eventLoop;
+    private final BiConsumer<T, Throwable> completion;
+    private final Runnable onDropped;
+
+    private final AtomicBoolean isCompleted = new AtomicBoolean(false);
+    private volatile ScheduledFuture<?> timeoutFuture = null;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private RtspIoJob(String name, EventExecutor eventLoop, Callable<T> task, BiConsumer<T, Throwable> completion, Runnable onDropped) {
+        super(name, 0, 0, TimeUnit.MILLISECONDS, JobLane.IO, 1, 1, false);
+
+        this.task = task;
+        this.eventLoop = eventLoop;
+        this.completion = completion;
+        this.onDropped = onDropped;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public static <T> boolean submit(String name, EventExecutor eventLoop, Callable<T> task, BiConsumer<T, Throwable> completion)
+     * @brief 블로킹 작업을 IO 레인에 넣는 함수
+     * @param name Job 이름
+     * @param eventLoop 완료 함수를 실행할 EventLoop (ChannelHandlerContext.executor())
+     * @param task 블로킹 작업
+     * @param completion 완료 함수 (결과, 예외), 성공하면 예외는 null
+     * @return 작업을 넣었으면 true, 대기 작업이 가득 찼거나 스케줄러에 넣지 못하면 false 반환 (완료 함수는 호출되지 않는다.)
+     */
+    public static <T> boolean submit(String name, EventExecutor eventLoop, Callable<T> task, BiConsumer<T, Throwable> completion) {
+        return submit(name, eventLoop, task, completion, null);
+    }
+
+    /**
+     * @fn public static <T> boolean submit(String name, EventExecutor eventLoop, Callable<T> task, BiConsumer<T, Throwable> completion, Runnable onDropped)
+     * @brief 블로킹 작업을 IO 레인에 넣는 함수
+     * @param name Job 이름
+     * @param eventLoop 완료 함수를 실행할 EventLoop (ChannelHandlerContext.executor())
+     * @param task 블로킹 작업
+     * @param completion 완료 함수 (결과, 예외), 성공하면 예외는 null
+     * @param onDropped 제한 시간이 지난 후에 작업이 끝났을 때 (결과를 버릴 때) 작업이 남긴 자원을 정리하는 함수, 없으면 null
+     * @return 작업을 넣었으면 true, 대기 작업이 가득 찼거나 스케줄러에 넣지 못하면 false 반환 (완료 함수는 호출되지 않는다.)
+     */
+    public static <T> boolean submit(String name, EventExecutor eventLoop, Callable<T> task, BiConsumer<T, Throwable> completion, Runnable onDropped) {
+        ConfigManager configManager = AppInstance.getInstance().getConfigManager();
+        if (pendingJobCount.incrementAndGet() > configManager.getRtspIoMaxPending()) {
+            pendingJobCount.decrementAndGet();
+            ServerMetrics.getInstance().onRtspIoRejected();
+            logger.warn("({}) Fail to submit the rtsp io job. Too many pending jobs. (max={})", name, configManager.getRtspIoMaxPending());
+            return false;
+        }
+
+        RtspIoJob<T> rtspIoJob = new RtspIoJob<>(name, eventLoop, task, completion, onDropped);
+        long timeout = configManager.getRtspIoTimeout();
+        rtspIoJob.timeoutFuture = eventLoop.schedule(rtspIoJob::onTimeout, timeout, TimeUnit.MILLISECONDS);
+
+        if (!ServiceManager.getInstance().getScheduleManager().startJob(ServiceManager.MAIN_SCHEDULE_JOB, rtspIoJob)) {
+            pendingJobCount.decrementAndGet();
+            ServerMetrics.getInstance().onRtspIoRejected();
+            rtspIoJob.isCompleted.set(true);
+            rtspIoJob.timeoutFuture.cancel(false);
+            return false;
+        }
+
+        return true;
+    }
+
+    public static int getPendingJobCount() {
+        return pendingJobCount.get();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void run() {
+        try {
+            if (isCompleted.get()) {
+                // 대기 중에 제한 시간이 지난 경우
+                return;
+            }
+
+            T result;
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                complete(null, e);
+                return;
+            }
+            complete(result, null);
+        } finally {
+            pendingJobCount.decrementAndGet();
+        }
+    }
+
+    private void onTimeout() {
+        // 작업이 먼저 끝났으면 아무것도 하지 않는다. (작업 결과로 완료 함수가 호출된다.)
+        if (!isCompleted.compareAndSet(false, true)) {
+            return;
+        }
+
+        ServerMetrics.getInstance().onRtspIoTimeout();
+        logger.warn("({}) RTSP io job is timed out. (timeout={}ms)", getName(), AppInstance.getInstance().getConfigManager().getRtspIoTimeout());
+        completion.accept(null, new TimeoutException("RTSP io job is timed out."));
+    }
+
+    /**
+     * @fn private void complete(T result, Throwable error)
+     * @brief 작업이 끝났을 때 완료 함수를 EventLoop 에서 호출하는 함수 (IO 레인 스레드에서 호출)
+     * 제한 시간이 먼저 지났으면 결과를 버리고 취소 함수를 호출한다.
+     * @param result 작업 결과
+     * @param error 작업 예외, 성공하면 null
+     */
+    private void complete(T result, Throwable error) {
+        if (!isCompleted.compareAndSet(false, true)) {
+            // 작업이 예외로 끝나도 일부 자원은 남아 있을 수 있다.
+            logger.warn("({}) Result of the rtsp io job is dropped. Job is already timed out. (error={})", getName(), error != null ? error.toString() : null);
+            if (onDropped != null) {
+                eventLoop.execute(this::drop);
+            }
+            return;
+        }
+
+        ScheduledFuture<?> curTimeoutFuture = timeoutFuture;
+        if (curTimeoutFuture != null) {
+            curTimeoutFuture.cancel(false);
+        }
+
+        eventLoop.execute(() -> completion.accept(result, error));
+    }
+
+    private void drop() {
+        try {
+            onDropped.run();
+        } catch (Exception e) {
+            logger.warn("({}) Fail to clean up the dropped rtsp io job.", getName(), e);
+        }
+    }
+
+}
@@ -1,6 +1,5 @@
 package rtsp.module.netty.handler;
 
-import com.fsm.module.StateHandler;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -9,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
 import rtsp.fsm.RtspEvent;
+import rtsp.fsm.RtspFsmManager;
 import rtsp.fsm.RtspState;
 import rtsp.module.RtspManager;
 import rtsp.module.base.RtspUnit;
@@ -97,9 +97,7 @@ public class RtspRegisterChannelHandler extends SimpleChannelInboundHandler<Data
                     rtspRegisterNettyChannel.sendResponse(datagramPacket.sender().getAddress().getHostAddress(), registerRtspUnitReq.getListenPort(), registerRtspUnitRes);
                 } else {
                     RegisterRtspUnitRes registerRtspUnitRes;
-                    StateHandler rtspStateHandler = rtspUnit.getStateManager().getStateHandler(RtspState.NAME);
-                    String curState = rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId()).getCurState();
-                    if (!curState.equals(RtspState.IDLE)) {
+                    if (rtspUnit.getRtspState() != RtspState.IDLE) {
                         registerRtspUnitRes = new RegisterRtspUnitRes(
                                 configManager.getMagicCookie(),
                                 registerRtspUnitReq.getURtspHeader().getMessageType(),
@@ -133,11 +131,9 @@ public class RtspRegisterChannelHandler extends SimpleChannelInboundHandler<Data
                                         RegisterRtspUnitRes.SUCCESS
                                 );
                                 rtspUnit.setRegistered(true);
+                                RtspManager.getInstance().bindRemoteIp(rtspUnitId, datagramPacket.sender().getAddress().getHostAddress());
 
-                                rtspStateHandler.fire(
-                                        RtspEvent.REGISTER,
-                                        rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                                );
+                                RtspFsmManager.fire(RtspEvent.REGISTER, rtspUnit);
                             } else {
                                 registerRtspUnitRes = new RegisterRtspUnitRes(
                                         configManager.getMagicCookie(),
@@ -162,11 +158,9 @@ public class RtspRegisterChannelHandler extends SimpleChannelInboundHandler<Data
                                     configManager.getRealm(),
                                     RegisterRtspUnitRes.SUCCESS
                             );
+                            RtspManager.getInstance().bindRemoteIp(rtspUnitId, datagramPacket.sender().getAddress().getHostAddress());
 
-                            rtspStateHandler.fire(
-                                    RtspEvent.REGISTER,
-                                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                            );
+                            RtspFsmManager.fire(RtspEvent.REGISTER, rtspUnit);
                         }
                     }
 
@@ -192,8 +186,7 @@ public class RtspRegisterChannelHandler extends SimpleChannelInboundHandler<Data
                             UnRegisterRtspUnitRes.NOT_ACCEPTED
                     );
                 } else {
-                    String curState = rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId()).getCurState();
-                    if (!curState.equals(RtspState.REGISTER)) {
+                    if (rtspUnit.getRtspState() != RtspState.REGISTER) {
                         unRegisterRtspUnitRes = new UnRegisterRtspUnitRes(
                                 configManager.getMagicCookie(),
                                 unRegisterRtspUnitReq.getURtspHeader().getMessageType(),
@@ -214,11 +207,7 @@ public class RtspRegisterChannelHandler extends SimpleChannelInboundHandler<Data
                         RtspManager.getInstance().closeRtspUnit(rtspUnitId);
                         rtspUnit.setRegistered(false);
 
-                        StateHandler rtspStateHandler = rtspUnit.getStateManager().getStateHandler(RtspState.NAME);
-                        rtspStateHandler.fire(
-                                RtspEvent.IDLE,
-                                rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-                        );
+                        RtspFsmManager.fire(RtspEvent.IDLE, rtspUnit);
                     }
                 }
 
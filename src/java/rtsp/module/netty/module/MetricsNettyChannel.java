@@ -0,0 +1,132 @@
+package rtsp.module.netty.module;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.netty.NettyTransport;
+import rtsp.module.netty.handler.MetricsHttpHandler;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * @class public class MetricsNettyChannel
+ * @brief 통계 조회 (Prometheus scrape) 용 HTTP 채널 클래스
+ *
+ * - 스레드 하나 (Boss, Worker 공용) 로 동작한다.
+ *      > RTSP, RTCP EventLoop 와 분리해서 조회가 미디어 처리에 끼어들지 않도록 한다.
+ * - 요청 본문은 필요 없으므로 작은 크기로 모은다.
+ */
+public class MetricsNettyChannel { // > TCP
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsNettyChannel.class);
+
+    private static final int MAX_CONTENT_LENGTH = 8192;
+
+    private final String listenIp;
+    private final int listenPort;
+
+    private EventLoopGroup group = null;
+    private ServerBootstrap b;
+
+    /*메시지 수신용 채널 */
+    private Channel serverChannel = null;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public MetricsNettyChannel(String ip, int port) {
+        this.listenIp = ip;
+        this.listenPort = port;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public void run () {
+        group = NettyTransport.newEventLoopGroup(1);
+        b = new ServerBootstrap();
+        b.group(group);
+        b.channel(NettyTransport.getServerSocketChannelClass());
+
+        b.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel socketChannel) {
+                        final ChannelPipeline pipeline = socketChannel.pipeline();
+                        pipeline.addLast(new HttpServerCodec(), new HttpObjectAggregator(MAX_CONTENT_LENGTH));
+                        pipeline.addLast(new MetricsHttpHandler());
+                    }
+                });
+    }
+
+    /**
+     * @fn public void stop()
+     * @brief Netty Channel 을 종료하는 함수
+     */
+    public void stop () {
+        if (group != null) {
+            group.shutdownGracefully();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public boolean openChannel()
+     * @brief 통계 조회 포트를 바인딩하는 함수
+     * @return 성공 시 true, 실패 시 false 반환
+     */
+    public boolean openChannel () {
+        if (serverChannel != null) {
+            logger.warn("Metrics channel is already opened.");
+            return false;
+        }
+
+        InetAddress address;
+        try {
+            address = InetAddress.getByName(listenIp);
+        } catch (UnknownHostException e) {
+            logger.warn("UnknownHostException is occurred. (ip={})", listenIp, e);
+            return false;
+        }
+
+        try {
+            serverChannel = b.bind(address, listenPort).sync().channel();
+        } catch (Exception e) {
+            logger.warn("Fail to bind the metrics channel. (address={}:{})", listenIp, listenPort, e);
+            return false;
+        }
+
+        logger.debug("Metrics channel is opened. (ip={}, port={}, transport={})", address, listenPort, NettyTransport.getName());
+        return true;
+    }
+
+    /**
+     * @fn public void closeChannel()
+     * @brief Netty Server Channel 을 닫는 함수
+     */
+    public void closeChannel ( ) {
+        if (serverChannel == null) {
+            logger.warn("Metrics channel is already closed.");
+            return;
+        }
+
+        serverChannel.close();
+        serverChannel = null;
+        logger.debug("Metrics channel is closed.");
+    }
+
+    public String getListenIp() {
+        return listenIp;
+    }
+
+    public int getListenPort() {
+        return listenPort;
+    }
+
+}
@@ -1,70 +1,87 @@
 package rtsp.module.netty.module;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
+import rtsp.module.netty.NettyTransport;
 import rtsp.module.netty.handler.RtcpChannelHandler;
 import rtsp.service.AppInstance;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * @class public class NettyChannel
- * @brief NettyChannel class
+ * @class public class RtcpNettyChannel
+ * @brief 모든 세션이 공유하는 RTCP 송수신 채널 클래스
+ *
+ * - 설정된 RTCP 포트 하나만 바인딩한다.
+ * - Linux (epoll) 에서는 SO_REUSEPORT 로 EventLoop 개수만큼 같은 포트를 바인딩해서 커널이 수신을 코어별로 분산한다.
+ *      > 수신은 recvmmsg 로 한 번에 여러 RTCP 데이터그램을 읽는다.
+ * - epoll 을 사용할 수 없으면 NIO 채널 하나로 동작한다.
+ * - 수신한 패킷은 RtcpChannelHandler 가 RtcpSessionManager 로 세션을 찾아서 처리한다.
  */
 public class RtcpNettyChannel { // > UDP
 
     private static final Logger logger = LoggerFactory.getLogger(RtcpNettyChannel.class);
 
-    private final String rtspUnitId;
+    // RTCP Compound 패킷의 최대 크기 (MTU)
+    private static final int MAX_DATAGRAM_SIZE = 1500;
+
     private final String listenIp;
     private final int listenPort;
 
     private Bootstrap b;
-    private NioEventLoopGroup group;
-    /*메시지 수신용 채널 */
-    private Channel serverChannel;
+    private EventLoopGroup group;
+    private int threadCount = 1;
+    /*메시지 수신용 채널 (SO_REUSEPORT 사용 시 EventLoop 마다 하나) */
+    private volatile List<Channel> serverChannelList = null;
 
     ////////////////////////////////////////////////////////////////////////////////
 
-    public RtcpNettyChannel(String rtspUnitId, String ip, int port) {
-        this.rtspUnitId = rtspUnitId;
+    public RtcpNettyChannel(String ip, int port) {
         this.listenIp = ip;
         this.listenPort = port;
     }
 
     ////////////////////////////////////////////////////////////////////////////////
 
-    public void run (String ip, int port) {
+    public void run () {
         ConfigManager configManager = AppInstance.getInstance().getConfigManager();
-        int nioThreadCount = configManager.getStreamThreadPoolSize();
         int sendBufSize = configManager.getSendBufSize();
         int recvBufSize = configManager.getRecvBufSize();
 
-        group = new NioEventLoopGroup(nioThreadCount);
+        threadCount = NettyTransport.getListenerCount(configManager.getStreamThreadPoolSize());
+        group = NettyTransport.newEventLoopGroup(threadCount);
+
         b = new Bootstrap();
-        b.group(group).channel(NioDatagramChannel.class)
-                .option(ChannelOption.SO_BROADCAST, false)
+        b.group(group).channel(NettyTransport.getDatagramChannelClass());
+        NettyTransport.applyReusePort(b);
+        NettyTransport.applyRecvBatch(b, MAX_DATAGRAM_SIZE);
+
+        b.option(ChannelOption.SO_BROADCAST, false)
                 .option(ChannelOption.SO_SNDBUF, sendBufSize)
                 .option(ChannelOption.SO_RCVBUF, recvBufSize)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000)
-                .handler(new ChannelInitializer<NioDatagramChannel>() {
+                .handler(new ChannelInitializer<DatagramChannel>() {
                     @Override
-                    protected void initChannel(NioDatagramChannel socketChannel) {
-                        final ChannelPipeline pipeline = socketChannel.pipeline();
+                    protected void initChannel(DatagramChannel datagramChannel) {
+                        final ChannelPipeline pipeline = datagramChannel.pipeline();
                         pipeline.addLast(
                                 new RtcpChannelHandler(
-                                        rtspUnitId,
-                                        ip,
-                                        port
+                                        listenIp,
+                                        listenPort
                                 )
                         );
                     }
@@ -84,38 +101,43 @@ public class RtcpNettyChannel { // > UDP
     ////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * @param ip   바인딩할 ip
-     * @param port 바인당할 port
-     * @return 성공 시 생성된 Channel, 실패 시 null 반환
-     * @fn public Channel openChannel(String ip, int port)
-     * @brief Netty Server Channel 을 생성하는 함수
+     * @fn public boolean openChannel()
+     * @brief RTCP 포트를 바인딩하는 함수 (epoll 이면 EventLoop 개수만큼 SO_REUSEPORT 로 바인딩)
+     * @return 하나 이상 바인딩되면 true, 실패 시 false 반환
      */
-    public Channel openChannel (String ip, int port) {
-        if (serverChannel != null) {
-            logger.warn("Channel is already opened.");
-            return null;
+    public boolean openChannel () {
+        if (serverChannelList != null) {
+            logger.warn("Rtcp channel is already opened.");
+            return false;
         }
 
         InetAddress address;
-        ChannelFuture channelFuture;
-
         try {
-            address = InetAddress.getByName(ip);
+            address = InetAddress.getByName(listenIp);
         } catch (UnknownHostException e) {
-            logger.warn("UnknownHostException is occurred. (ip={})", ip, e);
-            return null;
+            logger.warn("UnknownHostException is occurred. (ip={})", listenIp, e);
+            return false;
         }
 
-        try {
-            channelFuture = b.bind(address, port).sync();
-            serverChannel = channelFuture.channel();
-            logger.debug("Channel is opened. (ip={}, port={})", address, port);
+        List<Channel> channelList = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            try {
+                channelList.add(b.bind(address, listenPort).sync().channel());
+            } catch (Exception e) {
+                logger.warn("Fail to bind the rtcp channel. (address={}:{}, index={})", listenIp, listenPort, i, e);
+                break;
+            }
+        }
 
-            return channelFuture.channel();
-        } catch (Exception e) {
-            logger.warn("Channel is interrupted. (address={}:{})", ip, port, e);
-            return null;
+        if (channelList.isEmpty()) {
+            return false;
         }
+
+        serverChannelList = channelList;
+        logger.debug("Rtcp channel is opened. (address={}:{}, transport={}, channels={})",
+                listenIp, listenPort, NettyTransport.getName(), channelList.size()
+        );
+        return true;
     }
 
     /**
@@ -123,14 +145,71 @@ public class RtcpNettyChannel { // > UDP
      * @brief Netty Server Channel 을 닫는 함수
      */
     public void closeChannel ( ) {
-        if (serverChannel == null) {
-            logger.warn("Channel is already closed.");
+        List<Channel> channelList = serverChannelList;
+        if (channelList == null) {
+            logger.warn("Rtcp channel is already closed.");
             return;
         }
 
-        serverChannel.close();
-        serverChannel = null;
-        logger.debug("Channel is closed.");
+        serverChannelList = null;
+        for (Channel channel : channelList) {
+            channel.close();
+        }
+        logger.debug("Rtcp channel is closed.");
+    }
+
+    /**
+     * @fn public boolean send(ByteBuf buf, String ip, int port)
+     * @brief RTCP 수신 채널(로컬 RTCP 포트)로 RTCP 패킷을 송신하는 함수
+     * @param buf RTCP 패킷 (소유권을 넘겨받는다.)
+     * @param ip 목적지 ip
+     * @param port 목적지 port
+     * @return 성공 시 true, 실패 시 false 반환
+     */
+    public boolean send(ByteBuf buf, String ip, int port) {
+        Channel curChannel = selectChannel(port);
+        if (curChannel == null || ip == null || port <= 0) {
+            ReferenceCountUtil.release(buf);
+            return false;
+        }
+
+        curChannel.writeAndFlush(new DatagramPacket(buf, new InetSocketAddress(ip, port)));
+        return true;
+    }
+
+    /**
+     * @fn private Channel selectChannel(int port)
+     * @brief 송신에 사용할 채널을 선택하는 함수 (모든 채널이 같은 로컬 포트를 사용하므로 어느 채널이든 상관없다.)
+     * @param port 목적지 port (분산용)
+     * @return 활성 채널, 없으면 null 반환
+     */
+    private Channel selectChannel(int port) {
+        List<Channel> channelList = serverChannelList;
+        if (channelList == null || channelList.isEmpty()) {
+            return null;
+        }
+
+        int size = channelList.size();
+        int startIndex = Math.floorMod(port, size);
+        for (int i = 0; i < size; i++) {
+            Channel channel = channelList.get((startIndex + i) % size);
+            if (channel.isActive()) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @fn public EventLoop getEventLoop()
+     * @brief 세션의 RTCP 송신 타이머를 실행할 EventLoop 를 반환하는 함수 (세션마다 순서대로 분산)
+     * @return 채널이 열려 있으면 EventLoop, 아니면 null 반환
+     */
+    public EventLoop getEventLoop() {
+        if (serverChannelList == null || group == null || group.isShuttingDown()) {
+            return null;
+        }
+        return group.next();
     }
 
     public String getListenIp() {
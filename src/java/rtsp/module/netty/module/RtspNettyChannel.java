@@ -1,43 +1,24 @@
 package rtsp.module.netty.module;
 
-import io.netty.bootstrap.ServerBootstrap;
-import io.netty.buffer.PooledByteBufAllocator;
-import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.rtsp.RtspDecoder;
-import io.netty.handler.codec.rtsp.RtspEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import rtsp.config.ConfigManager;
 import rtsp.module.Streamer;
-import rtsp.module.netty.handler.RtspChannelHandler;
-import rtsp.service.AppInstance;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * @class public class NettyChannel
- * @brief NettyChannel class
+ * @class public class RtspNettyChannel
+ * @brief RtspUnit 별 Streamer 목록을 관리하는 클래스
+ * RTSP 포트는 RtspServerNettyChannel 하나가 모든 RtspUnit 대신 바인딩하므로 이 클래스는 소켓을 가지지 않는다.
  */
-public class RtspNettyChannel { // > TCP
+public class RtspNettyChannel {
 
     private static final Logger logger = LoggerFactory.getLogger(RtspNettyChannel.class);
 
     private final String rtspUnitId;
 
-    private EventLoopGroup bossGroup = new NioEventLoopGroup();
-    private final EventLoopGroup workerGroup = new NioEventLoopGroup();
-    private ServerBootstrap b;
-
-    /*메시지 수신용 채널 */
-    private Channel serverChannel;
-
     private final String listenIp;
     private final int listenPort;
 
@@ -56,97 +37,6 @@ public class RtspNettyChannel { // > TCP
 
     ////////////////////////////////////////////////////////////////////////////////
 
-    public void run (String ip, int port) {
-        ConfigManager configManager = AppInstance.getInstance().getConfigManager();
-        int listenRtcpPort = configManager.getLocalRtcpListenPort();
-        int recvBufSize = configManager.getRecvBufSize();
-
-        bossGroup = new NioEventLoopGroup();
-        b = new ServerBootstrap();
-        b.group(bossGroup, workerGroup);
-        b.channel(NioServerSocketChannel.class)
-                .option(ChannelOption.SO_RCVBUF, recvBufSize)
-                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                .option(ChannelOption.SO_REUSEADDR, true)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000)
-                .childHandler(new ChannelInitializer<SocketChannel>() {
-                    @Override
-                    protected void initChannel(SocketChannel socketChannel) {
-                        final ChannelPipeline pipeline = socketChannel.pipeline();
-                        pipeline.addLast(new RtspDecoder(), new RtspEncoder());
-                        pipeline.addLast(
-                                new RtspChannelHandler(
-                                        rtspUnitId,
-                                        ip,
-                                        port,
-                                        listenRtcpPort
-                                )
-                        );
-                    }
-                });
-    }
-
-    /**
-     * @fn public void stop()
-     * @brief Netty Channel 을 종료하는 함수
-     */
-    public void stop () {
-        bossGroup.shutdownGracefully();
-        workerGroup.shutdownGracefully();
-    }
-
-    ////////////////////////////////////////////////////////////////////////////////
-
-    /**
-     * @param ip   바인딩할 ip
-     * @param port 바인당할 port
-     * @return 성공 시 생성된 Channel, 실패 시 null 반환
-     * @fn public Channel openChannel(String ip, int port)
-     * @brief Netty Server Channel 을 생성하는 함수
-     */
-    public Channel openChannel (String ip, int port) {
-        if (serverChannel != null) {
-            logger.warn("Channel is already opened.");
-            return null;
-        }
-
-        InetAddress address;
-        ChannelFuture channelFuture;
-
-        try {
-            address = InetAddress.getByName(ip);
-        } catch (UnknownHostException e) {
-            logger.warn("UnknownHostException is occurred. (ip={})", ip, e);
-            return null;
-        }
-
-        try {
-            channelFuture = b.bind(address, port).sync();
-            serverChannel = channelFuture.channel();
-            logger.debug("Channel is opened. (ip={}, port={})", address, port);
-
-            return channelFuture.channel();
-        } catch (Exception e) {
-            logger.warn("Channel is interrupted. (address={}:{})", ip, port, e);
-            return serverChannel;
-        }
-    }
-
-    /**
-     * @fn public void closeChannel()
-     * @brief Netty Server Channel 을 닫는 함수
-     */
-    public void closeChannel ( ) {
-        if (serverChannel == null) {
-            logger.warn("Channel is already closed.");
-            return;
-        }
-
-        serverChannel.close();
-        serverChannel = null;
-        logger.debug("Channel is closed.");
-    }
-
     public String getListenIp() {
         return listenIp;
     }
@@ -4,12 +4,12 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.DatagramPacket;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
+import rtsp.module.netty.NettyTransport;
 import rtsp.module.netty.handler.RtspRegisterChannelHandler;
 import rtsp.protocol.register.base.URtspMessage;
 import rtsp.service.AppInstance;
@@ -17,6 +17,8 @@ import rtsp.service.AppInstance;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RtspRegisterNettyChannel {
 
@@ -25,8 +27,10 @@ public class RtspRegisterNettyChannel {
     private final String ip;
     private final int port;
 
-    private Channel channel = null;
+    /* 메시지 수신용 채널 (SO_REUSEPORT 사용 시 EventLoop 마다 하나) */
+    private volatile List<Channel> channelList = null;
     private Bootstrap bootstrap;
+    private int threadCount = 1;
 
     ////////////////////////////////////////////////////////////////////////////////
 
@@ -40,19 +44,22 @@ public class RtspRegisterNettyChannel {
     public void run () {
         bootstrap = new Bootstrap();
         ConfigManager configManager = AppInstance.getInstance().getConfigManager();
-        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(configManager.getStreamThreadPoolSize());
+        threadCount = NettyTransport.getListenerCount(configManager.getStreamThreadPoolSize());
+        EventLoopGroup eventLoopGroup = NettyTransport.newEventLoopGroup(configManager.getStreamThreadPoolSize());
 
         bootstrap.group(eventLoopGroup)
-                .channel(NioDatagramChannel.class)
-                .option(ChannelOption.SO_BROADCAST, false)
+                .channel(NettyTransport.getDatagramChannelClass());
+        NettyTransport.applyReusePort(bootstrap);
+
+        bootstrap.option(ChannelOption.SO_BROADCAST, false)
                 .option(ChannelOption.SO_SNDBUF, configManager.getSendBufSize())
                 .option(ChannelOption.SO_RCVBUF, configManager.getRecvBufSize())
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000)
-                .handler(new ChannelInitializer<NioDatagramChannel>() {
+                .handler(new ChannelInitializer<DatagramChannel>() {
                     @Override
-                    public void initChannel (final NioDatagramChannel ch) {
+                    public void initChannel (final DatagramChannel ch) {
                         final ChannelPipeline pipeline = ch.pipeline();
                         pipeline.addLast(new RtspRegisterChannelHandler(ip, port));
                     }
@@ -60,7 +67,7 @@ public class RtspRegisterNettyChannel {
     }
 
     public void start() {
-        if (channel != null) {
+        if (channelList != null) {
             return;
         }
 
@@ -72,28 +79,37 @@ public class RtspRegisterNettyChannel {
             return;
         }
 
-        try {
-            ChannelFuture channelFuture = bootstrap.bind(address, port).sync();
-            if (channelFuture == null) {
-                logger.warn("Fail to start the rtsp register channel. (ip={}, port={})", ip, port);
-                return;
+        List<Channel> newChannelList = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            try {
+                newChannelList.add(bootstrap.bind(address, port).sync().channel());
+            } catch (Exception e) {
+                logger.warn("Fail to start the rtsp register channel. (ip={}, port={}, index={})", ip, port, i);
+                break;
             }
+        }
 
-            channel = channelFuture.channel();
-            logger.debug("Success to start the rtsp register channel. (ip={}, port={})", ip, port);
-        } catch (Exception e) {
-            logger.warn("Fail to start the rtsp register channel. (ip={}, port={})", ip, port);
+        if (newChannelList.isEmpty()) {
+            return;
         }
+
+        channelList = newChannelList;
+        logger.debug("Success to start the rtsp register channel. (ip={}, port={}, transport={}, channels={})",
+                ip, port, NettyTransport.getName(), newChannelList.size()
+        );
     }
 
     public void stop() {
-        if (channel == null) {
+        List<Channel> curChannelList = channelList;
+        if (curChannelList == null) {
             logger.warn("Fail to stop the rtsp register channel. (ip={}, port={})", ip, port);
             return;
         }
 
-        channel.close();
-        channel = null;
+        channelList = null;
+        for (Channel channel : curChannelList) {
+            channel.close();
+        }
         logger.debug("Success to stop the rtsp register channel. (ip={}, port={})", ip, port);
     }
 
@@ -102,6 +118,12 @@ public class RtspRegisterNettyChannel {
             return;
         }
 
+        Channel channel = getChannel();
+        if (channel == null) {
+            logger.warn("Fail to send the response. Channel is closed. (ip={}, port={})", ip, port);
+            return;
+        }
+
         InetSocketAddress remoteAddress = new InetSocketAddress(targetIp, targetPort);
         channel.writeAndFlush(
                 new DatagramPacket(
@@ -121,7 +143,22 @@ public class RtspRegisterNettyChannel {
         return port;
     }
 
+    /**
+     * @fn public Channel getChannel()
+     * @brief 송신에 사용할 채널을 반환하는 함수 (모든 채널이 같은 로컬 포트를 사용하므로 활성 채널 중 첫 번째를 사용한다.)
+     * @return 활성 채널, 없으면 null 반환
+     */
     public Channel getChannel() {
-        return channel;
+        List<Channel> curChannelList = channelList;
+        if (curChannelList == null) {
+            return null;
+        }
+
+        for (Channel channel : curChannelList) {
+            if (channel.isActive()) {
+                return channel;
+            }
+        }
+        return null;
     }
 }
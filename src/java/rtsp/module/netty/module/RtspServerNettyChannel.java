@@ -0,0 +1,168 @@
+package rtsp.module.netty.module;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.rtsp.RtspDecoder;
+import io.netty.handler.codec.rtsp.RtspEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.config.ConfigManager;
+import rtsp.module.netty.NettyTransport;
+import rtsp.module.netty.handler.RtspChannelHandler;
+import rtsp.service.AppInstance;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @class public class RtspServerNettyChannel
+ * @brief 모든 RtspUnit 이 공유하는 RTSP 수신(Acceptor) 채널 클래스
+ *
+ * - RTSP 포트는 한 번만 바인딩하고, Boss/Worker EventLoopGroup 도 하나씩만 사용한다.
+ *      > RtspUnit 이 늘어나도 스레드 수와 바인딩 수는 변하지 않는다.
+ *      > epoll 에서는 SO_REUSEPORT 로 Boss EventLoop 개수만큼 같은 포트를 바인딩해서 커널이 연결 수락을 분산한다.
+ * - 연결마다 RtspChannelHandler 가 생성되고, 첫 요청에서 Session 헤더 또는 등록한 원격 IP 로 RtspUnit 을 찾아서 고정한다.
+ */
+public class RtspServerNettyChannel { // > TCP
+
+    private static final Logger logger = LoggerFactory.getLogger(RtspServerNettyChannel.class);
+
+    private final String listenIp;
+    private final int listenPort;
+
+    private EventLoopGroup bossGroup = null;
+    private EventLoopGroup workerGroup = null;
+    private ServerBootstrap b;
+
+    private int bossThreadCount = 1;
+
+    /*메시지 수신용 채널 (SO_REUSEPORT 사용 시 Boss EventLoop 마다 하나) */
+    private List<Channel> serverChannelList = null;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtspServerNettyChannel(String ip, int port) {
+        this.listenIp = ip;
+        this.listenPort = port;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public void run () {
+        ConfigManager configManager = AppInstance.getInstance().getConfigManager();
+        int listenRtcpPort = configManager.getLocalRtcpListenPort();
+        int recvBufSize = configManager.getRecvBufSize();
+
+        bossThreadCount = NettyTransport.getListenerCount(configManager.getStreamThreadPoolSize());
+        bossGroup = NettyTransport.newEventLoopGroup(bossThreadCount);
+        workerGroup = NettyTransport.newEventLoopGroup(0);
+        b = new ServerBootstrap();
+        b.group(bossGroup, workerGroup);
+        b.channel(NettyTransport.getServerSocketChannelClass());
+        NettyTransport.applyReusePort(b);
+
+        b.option(ChannelOption.SO_RCVBUF, recvBufSize)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel socketChannel) {
+                        final ChannelPipeline pipeline = socketChannel.pipeline();
+                        pipeline.addLast(new RtspDecoder(), new RtspEncoder());
+                        pipeline.addLast(
+                                new RtspChannelHandler(
+                                        listenIp,
+                                        listenPort,
+                                        listenRtcpPort
+                                )
+                        );
+                    }
+                });
+    }
+
+    /**
+     * @fn public void stop()
+     * @brief Netty Channel 을 종료하는 함수
+     */
+    public void stop () {
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public boolean openChannel()
+     * @brief RTSP 포트를 바인딩하는 함수 (epoll 이면 Boss EventLoop 개수만큼 SO_REUSEPORT 로 바인딩)
+     * @return 하나 이상 바인딩되면 true, 실패 시 false 반환
+     */
+    public boolean openChannel () {
+        if (serverChannelList != null) {
+            logger.warn("Rtsp server channel is already opened.");
+            return false;
+        }
+
+        InetAddress address;
+        try {
+            address = InetAddress.getByName(listenIp);
+        } catch (UnknownHostException e) {
+            logger.warn("UnknownHostException is occurred. (ip={})", listenIp, e);
+            return false;
+        }
+
+        List<Channel> channelList = new ArrayList<>(bossThreadCount);
+        for (int i = 0; i < bossThreadCount; i++) {
+            try {
+                channelList.add(b.bind(address, listenPort).sync().channel());
+            } catch (Exception e) {
+                logger.warn("Fail to bind the rtsp server channel. (address={}:{}, index={})", listenIp, listenPort, i, e);
+                break;
+            }
+        }
+
+        if (channelList.isEmpty()) {
+            return false;
+        }
+
+        serverChannelList = channelList;
+        logger.debug("Rtsp server channel is opened. (ip={}, port={}, transport={}, channels={})",
+                address, listenPort, NettyTransport.getName(), channelList.size()
+        );
+        return true;
+    }
+
+    /**
+     * @fn public void closeChannel()
+     * @brief Netty Server Channel 을 닫는 함수
+     */
+    public void closeChannel ( ) {
+        if (serverChannelList == null) {
+            logger.warn("Rtsp server channel is already closed.");
+            return;
+        }
+
+        for (Channel serverChannel : serverChannelList) {
+            serverChannel.close();
+        }
+        serverChannelList = null;
+        logger.debug("Rtsp server channel is closed.");
+    }
+
+    public String getListenIp() {
+        return listenIp;
+    }
+
+    public int getListenPort() {
+        return listenPort;
+    }
+
+}
@@ -0,0 +1,80 @@
+package rtsp.module.rtcp;
+
+import rtsp.protocol.rtcp.base.RtcpFormat;
+import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.packet.RtcpPacket;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.RtcpFullIntraRequest;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.RtcpPictureLossIndication;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpNegativeAck;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateNotification;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateRequest;
+import rtsp.protocol.rtcp.type.regular.RtcpBye;
+import rtsp.protocol.rtcp.type.regular.RtcpReceiverReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSourceDescription;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+
+/**
+ * @class public class RtcpFeedbackDispatcher
+ * @brief 파싱된 RTCP 패킷을 Packet type (와 FMT) 에 맞는 RtcpFeedbackListener 이벤트로 전달하는 클래스
+ */
+public class RtcpFeedbackDispatcher {
+
+    private RtcpFeedbackDispatcher() {}
+
+    /**
+     * @fn public static void dispatch(RtcpPacket rtcpPacket, RtcpFeedbackListener listener)
+     * @brief RTCP 패킷 하나를 리스너로 전달하는 함수
+     * @param rtcpPacket RTCP 패킷 (Compound 의 하위 패킷)
+     * @param listener 세션 리스너
+     */
+    public static void dispatch(RtcpPacket rtcpPacket, RtcpFeedbackListener listener) {
+        if (rtcpPacket == null || listener == null) { return; }
+
+        RtcpHeader rtcpHeader = rtcpPacket.getRtcpHeader();
+        RtcpFormat rtcpFormat = rtcpPacket.getRtcpFormat();
+        if (rtcpHeader == null || rtcpFormat == null) {
+            listener.onOtherPacket(rtcpPacket);
+            return;
+        }
+
+        switch (rtcpHeader.getPacketType()) {
+            case RtcpType.SENDER_REPORT:
+                listener.onSenderReport(rtcpHeader, (RtcpSenderReport) rtcpFormat);
+                break;
+            case RtcpType.RECEIVER_REPORT:
+                listener.onReceiverReport(rtcpHeader, (RtcpReceiverReport) rtcpFormat);
+                break;
+            case RtcpType.SOURCE_DESCRIPTION:
+                listener.onSourceDescription((RtcpSourceDescription) rtcpFormat);
+                break;
+            case RtcpType.GOOD_BYE:
+                listener.onBye(rtcpHeader, (RtcpBye) rtcpFormat);
+                break;
+            case RtcpType.RTPFB:
+            case RtcpType.PSFB:
+                dispatchFeedback(rtcpPacket, rtcpFormat, listener);
+                break;
+            default:
+                listener.onOtherPacket(rtcpPacket);
+                break;
+        }
+    }
+
+    private static void dispatchFeedback(RtcpPacket rtcpPacket, RtcpFormat rtcpFormat, RtcpFeedbackListener listener) {
+        if (rtcpFormat instanceof RtcpNegativeAck) {
+            listener.onNegativeAck((RtcpNegativeAck) rtcpFormat);
+        } else if (rtcpFormat instanceof RtcpTemporaryMaximumMediaStreamBitRateRequest) {
+            listener.onTemporaryMaximumBitRateRequest((RtcpTemporaryMaximumMediaStreamBitRateRequest) rtcpFormat);
+        } else if (rtcpFormat instanceof RtcpTemporaryMaximumMediaStreamBitRateNotification) {
+            listener.onTemporaryMaximumBitRateNotification((RtcpTemporaryMaximumMediaStreamBitRateNotification) rtcpFormat);
+        } else if (rtcpFormat instanceof RtcpPictureLossIndication) {
+            listener.onPictureLossIndication((RtcpPictureLossIndication) rtcpFormat);
+        } else if (rtcpFormat instanceof RtcpFullIntraRequest) {
+            listener.onFullIntraRequest((RtcpFullIntraRequest) rtcpFormat);
+        } else {
+            listener.onOtherPacket(rtcpPacket);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package rtsp.module.rtcp;
+
+import rtsp.protocol.rtcp.packet.RtcpPacket;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.RtcpFullIntraRequest;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.RtcpPictureLossIndication;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpNegativeAck;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateNotification;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateRequest;
+import rtsp.protocol.rtcp.type.regular.RtcpBye;
+import rtsp.protocol.rtcp.type.regular.RtcpReceiverReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSourceDescription;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+
+/**
+ * @interface public interface RtcpFeedbackListener
+ * @brief 세션 별로 수신한 RTCP 패킷을 타입 별 이벤트로 전달받는 인터페이스
+ * 필요한 이벤트만 구현한다.
+ *
+ * - RtcpChannelHandler 는 Compound RTCP 의 하위 패킷을 데이터그램 버퍼 위에서 순서대로 처리한다.
+ *      > SR/RR : 이 스트림 SSRC 에 대한 Report block 만 onReportBlock() 으로 전달한다. (객체 생성 없음)
+ *      > BYE : onBye(ssrc) 로 전달한다. (객체 생성 없음)
+ *      > RTPFB/PSFB : 하위 패킷만 복사해서 RtcpPacket 으로 변환한 후 RtcpFeedbackDispatcher 로 전달한다.
+ *      > SDES, APP 등은 전달하지 않는다.
+ * - RtcpFeedbackDispatcher 로 RtcpPacket 을 직접 전달하면 객체 기반 이벤트 (onSenderReport, onReceiverReport ...) 가 호출된다.
+ */
+public interface RtcpFeedbackListener {
+
+    /**
+     * @fn default void onReportBlock(long reporterSsrc, short fractionLost, long jitter, long lsr, long dlsr)
+     * @brief 수신한 SR/RR 에서 이 스트림 SSRC 에 대한 Report block 을 전달받는 함수
+     * @param reporterSsrc Report 를 보낸 수신자의 SSRC
+     * @param fractionLost 손실률 (8 bits 고정 소수점, x / 256)
+     * @param jitter 도착 간격 지터 (RTP timestamp 단위)
+     * @param lsr Last SR timestamp
+     * @param dlsr Delay since last SR
+     */
+    default void onReportBlock(long reporterSsrc, short fractionLost, long jitter, long lsr, long dlsr) {}
+
+    default void onBye(long ssrc) {}
+
+    default void onSenderReport(RtcpHeader rtcpHeader, RtcpSenderReport rtcpSenderReport) {}
+
+    default void onReceiverReport(RtcpHeader rtcpHeader, RtcpReceiverReport rtcpReceiverReport) {}
+
+    default void onSourceDescription(RtcpSourceDescription rtcpSourceDescription) {}
+
+    default void onBye(RtcpHeader rtcpHeader, RtcpBye rtcpBye) {}
+
+    // RTPFB (205)
+    default void onNegativeAck(RtcpNegativeAck rtcpNegativeAck) {}
+
+    default void onTemporaryMaximumBitRateRequest(RtcpTemporaryMaximumMediaStreamBitRateRequest request) {}
+
+    default void onTemporaryMaximumBitRateNotification(RtcpTemporaryMaximumMediaStreamBitRateNotification notification) {}
+
+    // PSFB (206)
+    default void onPictureLossIndication(RtcpPictureLossIndication rtcpPictureLossIndication) {}
+
+    default void onFullIntraRequest(RtcpFullIntraRequest rtcpFullIntraRequest) {}
+
+    // 그 외 (APP, SLI, RPSI, TSTR, TSTN, VBCM, 알 수 없는 FMT)
+    default void onOtherPacket(RtcpPacket rtcpPacket) {}
+
+}
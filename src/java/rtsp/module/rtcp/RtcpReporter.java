@@ -0,0 +1,257 @@
+package rtsp.module.rtcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.apache.commons.net.ntp.TimeStamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.Streamer;
+import rtsp.module.netty.module.RtcpNettyChannel;
+import rtsp.protocol.rtcp.codec.RtcpEncoder;
+import rtsp.protocol.rtcp.module.CnameGenerator;
+import rtsp.protocol.rtcp.module.RtcpIntervalCalculator;
+import rtsp.protocol.rtcp.module.RtpClock;
+import rtsp.protocol.rtcp.module.WallClock;
+import rtsp.protocol.rtcp.unit.RtcpUnit;
+import rtsp.service.metric.ServerMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class RtcpReporter
+ * @brief 세션 별로 RTCP SR + SDES(CNAME) Compound 패킷을 주기적으로 송신하는 클래스
+ *
+ * - 송신 주기는 RFC 3550 방식으로 세션 대역폭의 5% 이내가 되도록 무작위 계산한다.
+ * - SR 의 RTP timestamp 는 마지막으로 송신한 RTP 패킷의 timestamp 를 송신 시점의 NTP 시간으로 보정한 값이다.
+ * - 수신한 RR 의 LSR/DLSR 로 RTT 를 계산한다.
+ * - 타이머는 RTCP 채널의 EventLoop 에서 동작한다.
+ */
+public class RtcpReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtcpReporter.class);
+
+    // MP2T RTP Clock rate (RFC 2250)
+    public static final int RTP_CLOCK_RATE = 90000;
+
+    private static final int MEMBERS = 2; // unicast : server + client
+
+    private final String sessionId;
+    private final Streamer streamer;
+    private final RtcpNettyChannel rtcpChannel;
+
+    private final String cname;
+    private final byte[] cnameData;
+    private final RtpClock rtpClock = new RtpClock(new WallClock());
+    private final RtcpUnit rtcpUnit; // 원격 수신자 통계 (RTT)
+
+    private final double rtcpBandwidth; // bytes/sec
+    private final double minInterval; // sec
+
+    private double avgRtcpSize = 0; // bytes
+    private boolean isInitial = true;
+    private long lastReportPacketCount = 0;
+    private long sentReportCount = 0;
+
+    private EventLoop eventLoop = null;
+    private ScheduledFuture<?> timerFuture = null;
+    private volatile boolean isStarted = false;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param sessionId Session ID
+     * @param streamer RTP 를 송신하는 Streamer
+     * @param rtcpChannel RTCP 송수신 채널
+     * @param cname SDES CNAME, null 이면 새로 생성한다.
+     * @param sessionBandwidth 세션 대역폭 (kbps)
+     * @param minInterval 최소 송신 주기 (ms)
+     */
+    public RtcpReporter(String sessionId, Streamer streamer, RtcpNettyChannel rtcpChannel, String cname, int sessionBandwidth, long minInterval) {
+        this.sessionId = sessionId;
+        this.streamer = streamer;
+        this.rtcpChannel = rtcpChannel;
+        this.cname = cname != null ? cname : CnameGenerator.generateCname();
+        this.cnameData = this.cname.getBytes(StandardCharsets.UTF_8);
+        this.rtcpBandwidth = (sessionBandwidth * 1000 / 8.0) * RtcpIntervalCalculator.RTCP_BANDWIDTH_FRACTION;
+        this.minInterval = minInterval / 1000.0;
+
+        rtpClock.setClockRate(RTP_CLOCK_RATE);
+        rtcpUnit = new RtcpUnit(rtpClock, 0);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public synchronized void start()
+     * @brief 첫 번째 RTCP 송신 타이머를 시작하는 함수
+     */
+    public synchronized void start() {
+        if (isStarted) {
+            return;
+        }
+
+        isStarted = true;
+        scheduleNext();
+        logger.debug("({}) RtcpReporter is started. (cname={}, rtcpBandwidth={}bytes/s)", sessionId, cname, rtcpBandwidth);
+    }
+
+    /**
+     * @fn public synchronized void stop()
+     * @brief RTCP 송신 타이머를 종료하는 함수
+     */
+    public synchronized void stop() {
+        if (!isStarted) {
+            return;
+        }
+
+        isStarted = false;
+        if (timerFuture != null) {
+            timerFuture.cancel(false);
+            timerFuture = null;
+        }
+        logger.debug("({}) RtcpReporter is stopped. (sentReports={})", sessionId, sentReportCount);
+    }
+
+    private synchronized void scheduleNext() {
+        if (!isStarted) {
+            return;
+        }
+
+        // 세션의 타이머는 처음 할당받은 EventLoop 하나에서만 동작한다.
+        if (eventLoop == null) {
+            eventLoop = rtcpChannel.getEventLoop();
+        }
+        if (eventLoop == null) {
+            logger.warn("({}) Fail to schedule the rtcp report. RTCP channel is closed.", sessionId);
+            isStarted = false;
+            return;
+        }
+
+        long packetCount = streamer.getSentPacketCount();
+        boolean weSent = packetCount != lastReportPacketCount;
+        double interval = RtcpIntervalCalculator.calculateInterval(
+                MEMBERS, weSent ? 1 : 0, rtcpBandwidth, weSent,
+                avgRtcpSize > 0 ? avgRtcpSize : RtcpIntervalCalculator.UDP_IP_OVERHEAD + RtcpEncoder.SENDER_REPORT_LENGTH,
+                isInitial, minInterval
+        );
+
+        try {
+            timerFuture = eventLoop.schedule(this::onTimer, (long) (interval * 1000), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("({}) Fail to schedule the rtcp report.", sessionId, e);
+            isStarted = false;
+        }
+    }
+
+    private void onTimer() {
+        if (!isStarted) {
+            return;
+        }
+
+        try {
+            // 아직 RTP 를 송신하지 않았으면 SR 을 보내지 않는다.
+            if (streamer.getSentPacketCount() > 0) {
+                sendReport();
+            }
+        } catch (Exception e) {
+            logger.warn("({}) Fail to send the rtcp report.", sessionId, e);
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    /**
+     * @fn private void sendReport()
+     * @brief SR + SDES Compound 패킷을 송신하는 함수
+     */
+    private void sendReport() {
+        String destIp = streamer.getDestIp();
+        int rtcpDestPort = streamer.getRtcpDestPort();
+        if (destIp == null || rtcpDestPort <= 0) {
+            return;
+        }
+
+        int length = RtcpEncoder.SENDER_REPORT_LENGTH + RtcpEncoder.getSourceDescriptionLength(cnameData.length);
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(length);
+        try {
+            writeReport(buf);
+        } catch (Exception e) {
+            buf.release();
+            throw e;
+        }
+
+        if (rtcpChannel.send(buf, destIp, rtcpDestPort)) {
+            avgRtcpSize = RtcpIntervalCalculator.updateAvgRtcpSize(avgRtcpSize, length);
+            isInitial = false;
+            sentReportCount++;
+        }
+    }
+
+    /**
+     * @fn private void writeReport(ByteBuf buf)
+     * @brief 현재 송신 통계로 SR + SDES Compound 패킷을 ByteBuf 에 바로 쓰는 함수
+     * @param buf 송신 버퍼
+     */
+    private void writeReport(ByteBuf buf) {
+        long ssrc = streamer.getSsrc() & 0xFFFFFFFFL;
+
+        // NTP <-> RTP
+        long nowNanos = System.nanoTime();
+        TimeStamp ntpTime = TimeStamp.getCurrentTime();
+        long rtpTimestamp = streamer.getRtpTimestampAt(nowNanos, rtpClock);
+
+        long packetCount = streamer.getSentPacketCount();
+        long octetCount = streamer.getSentOctetCount();
+        lastReportPacketCount = packetCount;
+
+        // 1) SR
+        RtcpEncoder.writeSenderReport(buf, ssrc, ntpTime.getSeconds(), ntpTime.getFraction(), rtpTimestamp, packetCount, octetCount);
+        // 2) SDES (CNAME)
+        RtcpEncoder.writeSourceDescription(buf, ssrc, cnameData);
+    }
+
+    /**
+     * @fn public void onReportBlock(long reporterSsrc, long lsr, long dlsr)
+     * @brief 수신한 RR (또는 SR) 의 Report block 으로 RTT 를 계산하는 함수
+     * @param reporterSsrc Report 를 보낸 수신자의 SSRC
+     * @param lsr 이 Streamer 의 SSRC 에 대한 Report block 의 Last SR timestamp
+     * @param dlsr 이 Streamer 의 SSRC 에 대한 Report block 의 Delay since last SR
+     */
+    public void onReportBlock(long reporterSsrc, long lsr, long dlsr) {
+        if (rtcpUnit.getSsrc() != reporterSsrc) {
+            rtcpUnit.setSsrc(reporterSsrc);
+        }
+
+        // 아직 SR 을 받지 못한 수신자는 LSR 을 0 으로 보낸다.
+        if (lsr == 0) {
+            return;
+        }
+
+        rtcpUnit.estimateRtt(System.currentTimeMillis(), lsr, dlsr);
+        int rtt = rtcpUnit.getRTT();
+        ServerMetrics.getInstance().recordRtt(rtt);
+        streamer.getStreamerStats().setRtt(rtt);
+        logger.debug("({}) RTT is updated. (reporterSsrc={}, rtt={}ms)", sessionId, reporterSsrc, rtt);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public String getCname() {
+        return cname;
+    }
+
+    public int getRtt() {
+        return rtcpUnit.getRTT();
+    }
+
+    public long getSentReportCount() {
+        return sentReportCount;
+    }
+
+    public boolean isStarted() {
+        return isStarted;
+    }
+}
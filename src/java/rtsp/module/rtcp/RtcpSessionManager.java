@@ -0,0 +1,160 @@
+package rtsp.module.rtcp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.Streamer;
+import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.codec.RtcpPacketView;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @class public class RtcpSessionManager
+ * @brief 하나의 공유 RTCP 포트로 들어온 패킷을 세션(Streamer)으로 분배하기 위한 색인 클래스
+ *
+ * - 원격 주소 색인 : SETUP 의 client_port (RTCP) 와 RTSP 원격 IP
+ * - SSRC 색인 : 서버 미디어 SSRC (Report block, Feedback 의 media source SSRC)
+ *              + 한 번 매칭된 원격(수신자) SSRC (SDES, BYE 만 있는 패킷용)
+ * - 수신 스레드(RTCP EventLoop 들)에서 잠금 없이 조회하도록 ConcurrentHashMap 을 사용한다.
+ */
+public class RtcpSessionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtcpSessionManager.class);
+
+    // RTCP EventLoop 들과 RTSP 핸들러에서 동시에 처음 호출될 수 있으므로 미리 생성한다.
+    private static final RtcpSessionManager rtcpSessionManager = new RtcpSessionManager();
+
+    private final ConcurrentHashMap<InetSocketAddress, Streamer> addressMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Streamer> ssrcMap = new ConcurrentHashMap<>();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private RtcpSessionManager() {
+        // Nothing
+    }
+
+    public static RtcpSessionManager getInstance() {
+        return rtcpSessionManager;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public void addStreamer(Streamer streamer)
+     * @brief Streamer 를 SSRC 와 원격 RTCP 주소로 색인하는 함수 (SETUP 에서 목적지가 정해진 후 호출)
+     * @param streamer Streamer
+     */
+    public void addStreamer(Streamer streamer) {
+        if (streamer == null) {
+            return;
+        }
+
+        ssrcMap.put(streamer.getSsrc() & 0xFFFFFFFFL, streamer);
+
+        InetSocketAddress remoteAddress = getRemoteAddress(streamer);
+        if (remoteAddress != null) {
+            Streamer oldStreamer = addressMap.put(remoteAddress, streamer);
+            if (oldStreamer != null && oldStreamer != streamer) {
+                logger.warn("({}) RTCP remote address is taken over from ({}). ({})", streamer.getSessionId(), oldStreamer.getSessionId(), remoteAddress);
+            }
+        }
+
+        logger.debug("({}) Streamer is added to the rtcp index. (ssrc={}, remote={})", streamer.getSessionId(), streamer.getSsrc(), remoteAddress);
+    }
+
+    /**
+     * @fn public void removeStreamer(Streamer streamer)
+     * @brief Streamer 의 모든 색인을 삭제하는 함수 (Streamer 종료 시 호출)
+     * @param streamer Streamer
+     */
+    public void removeStreamer(Streamer streamer) {
+        if (streamer == null) {
+            return;
+        }
+
+        // 학습한 원격 SSRC 까지 지우기 위해 값으로 삭제한다. (세션 종료 시에만 호출되므로 순회 비용은 문제되지 않는다.)
+        ssrcMap.values().removeIf(value -> value == streamer);
+        addressMap.values().removeIf(value -> value == streamer);
+    }
+
+    /**
+     * @fn public Streamer findStreamer(InetSocketAddress sender, RtcpPacketView rtcpPacketView)
+     * @brief 수신한 Compound RTCP 패킷의 Streamer 를 찾는 함수
+     * 1) 송신 주소 > 2) 패킷 안의 서버 SSRC > 3) 학습한 원격 SSRC 순서로 찾는다.
+     * @param sender 송신자 주소
+     * @param rtcpPacketView wrap() 된 Compound 패킷 (순회 위치는 처음으로 되돌려진다.)
+     * @return 성공 시 Streamer, 실패 시 null 반환
+     */
+    public Streamer findStreamer(InetSocketAddress sender, RtcpPacketView rtcpPacketView) {
+        Streamer streamer = sender != null ? addressMap.get(sender) : null;
+        if (streamer != null) {
+            return streamer;
+        }
+
+        int startIndex = rtcpPacketView.getNextIndex();
+        try {
+            long remoteSsrc = -1;
+            while (rtcpPacketView.next()) {
+                if (remoteSsrc < 0) {
+                    remoteSsrc = rtcpPacketView.getSsrc();
+                }
+
+                streamer = findStreamerByMediaSsrc(rtcpPacketView);
+                if (streamer != null) {
+                    // NAT 등으로 주소가 달라도 이후 SDES/BYE 만 있는 패킷을 찾을 수 있도록 원격 SSRC 를 학습한다.
+                    if (remoteSsrc >= 0) {
+                        ssrcMap.putIfAbsent(remoteSsrc, streamer);
+                    }
+                    return streamer;
+                }
+            }
+
+            return remoteSsrc >= 0 ? ssrcMap.get(remoteSsrc) : null;
+        } finally {
+            rtcpPacketView.rewind(startIndex);
+        }
+    }
+
+    private Streamer findStreamerByMediaSsrc(RtcpPacketView rtcpPacketView) {
+        switch (rtcpPacketView.getPacketType()) {
+            case RtcpType.SENDER_REPORT:
+            case RtcpType.RECEIVER_REPORT:
+                int count = rtcpPacketView.getReportBlockCount();
+                for (int i = 0; i < count; i++) {
+                    Streamer streamer = ssrcMap.get(rtcpPacketView.getReportBlockSsrc(i));
+                    if (streamer != null) {
+                        return streamer;
+                    }
+                }
+                return null;
+            case RtcpType.RTPFB:
+            case RtcpType.PSFB:
+                long mediaSourceSsrc = rtcpPacketView.getMediaSourceSsrc();
+                return mediaSourceSsrc >= 0 ? ssrcMap.get(mediaSourceSsrc) : null;
+            default:
+                return null;
+        }
+    }
+
+    private InetSocketAddress getRemoteAddress(Streamer streamer) {
+        String destIp = streamer.getDestIp();
+        int rtcpDestPort = streamer.getRtcpDestPort();
+        if (destIp == null || rtcpDestPort <= 0) {
+            return null;
+        }
+
+        return new InetSocketAddress(destIp, rtcpDestPort);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public int getAddressIndexSize() {
+        return addressMap.size();
+    }
+
+    public int getSsrcIndexSize() {
+        return ssrcMap.size();
+    }
+
+}
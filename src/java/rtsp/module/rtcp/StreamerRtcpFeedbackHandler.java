@@ -0,0 +1,149 @@
+package rtsp.module.rtcp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.module.Streamer;
+import rtsp.module.base.RtspUnit;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.RtcpFullIntraRequest;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.RtcpPictureLossIndication;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpNegativeAck;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateRequest;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.base.RtcpTmmbrEntry;
+import rtsp.protocol.rtcp.type.regular.RtcpBye;
+import rtsp.protocol.rtcp.type.regular.RtcpReceiverReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+import rtsp.protocol.rtcp.type.regular.base.report.RtcpReportBlock;
+import rtsp.service.metric.ServerMetrics;
+
+import java.util.List;
+
+/**
+ * @class public class StreamerRtcpFeedbackHandler implements RtcpFeedbackListener
+ * @brief Streamer 의 기본 RTCP 이벤트 처리 클래스
+ *
+ * - RR/SR : 혼잡도 레벨 갱신, RTT 계산
+ * - NACK : RTX 재전송
+ * - PLI/FIR/TMMBR : 파일 기반 MP2T 스트림은 인코더를 제어할 수 없으므로 기록만 한다.
+ */
+public class StreamerRtcpFeedbackHandler implements RtcpFeedbackListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamerRtcpFeedbackHandler.class);
+    private static final ServerMetrics serverMetrics = ServerMetrics.getInstance();
+
+    private final RtspUnit rtspUnit;
+    private final Streamer streamer;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public StreamerRtcpFeedbackHandler(RtspUnit rtspUnit, Streamer streamer) {
+        this.rtspUnit = rtspUnit;
+        this.streamer = streamer;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void onSenderReport(RtcpHeader rtcpHeader, RtcpSenderReport rtcpSenderReport) {
+        handleReportBlockList(rtcpHeader, rtcpSenderReport.getReportBlockList());
+    }
+
+    @Override
+    public void onReceiverReport(RtcpHeader rtcpHeader, RtcpReceiverReport rtcpReceiverReport) {
+        handleReportBlockList(rtcpHeader, rtcpReceiverReport.getReportBlockList());
+    }
+
+    private void handleReportBlockList(RtcpHeader rtcpHeader, List<RtcpReportBlock> rtcpReportBlockList) {
+        if (rtcpReportBlockList == null) { return; }
+
+        long ssrc = streamer.getSsrc() & 0xFFFFFFFFL;
+        for (RtcpReportBlock rtcpReportBlock : rtcpReportBlockList) {
+            if (rtcpReportBlock == null || rtcpReportBlock.getSsrc() != ssrc) { continue; }
+
+            onReportBlock(rtcpHeader.getSsrc(),
+                    rtcpReportBlock.getFraction(), rtcpReportBlock.getIaj(),
+                    rtcpReportBlock.getLsr(), rtcpReportBlock.getDlsr()
+            );
+        }
+    }
+
+    @Override
+    public void onReportBlock(long reporterSsrc, short fraction, long jitter, long lsr, long dlsr) {
+        serverMetrics.onReportBlock(fraction, jitter, RtcpReporter.RTP_CLOCK_RATE);
+        streamer.getStreamerStats().onReportBlock(fraction, jitter);
+
+        // fraction lost : 8 bits 고정 소수점 (x / 256)
+        float fractionLost = fraction / 256f;
+        if (fractionLost <= 0.01) {
+            rtspUnit.setCongestionLevel(0);
+        } else if (fractionLost <= 0.25) {
+            rtspUnit.setCongestionLevel(1);
+        } else if (fractionLost <= 0.5) {
+            rtspUnit.setCongestionLevel(2);
+        } else if (fractionLost <= 0.75) {
+            rtspUnit.setCongestionLevel(3);
+        } else {
+            rtspUnit.setCongestionLevel(4);
+        }
+
+        RtcpReporter rtcpReporter = streamer.getRtcpReporter();
+        if (rtcpReporter != null) {
+            rtcpReporter.onReportBlock(reporterSsrc, lsr, dlsr);
+        }
+    }
+
+    @Override
+    public void onBye(RtcpHeader rtcpHeader, RtcpBye rtcpBye) {
+        onBye(rtcpHeader.getSsrc());
+    }
+
+    @Override
+    public void onBye(long ssrc) {
+        logger.debug("({}) ({}) RTCP BYE is received. (ssrc={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), ssrc);
+    }
+
+    @Override
+    public void onNegativeAck(RtcpNegativeAck rtcpNegativeAck) {
+        // 길이가 짧은 NACK 은 Feedback 헤더가 없다.
+        if (!streamer.isRtxEnabled()
+                || rtcpNegativeAck.getRtcpFeedbackMessageHeader() == null
+                || !isForThisStream(rtcpNegativeAck.getRtcpFeedbackMessageHeader().getMediaSourceSsrc())) {
+            return;
+        }
+
+        List<Integer> lostSeqNumList = rtcpNegativeAck.getLostSequenceNumberList();
+        int sendCount = streamer.retransmit(lostSeqNumList);
+        logger.debug("({}) ({}) NACK is received. (lost={}, retransmitted={})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), lostSeqNumList, sendCount);
+    }
+
+    @Override
+    public void onTemporaryMaximumBitRateRequest(RtcpTemporaryMaximumMediaStreamBitRateRequest request) {
+        for (RtcpTmmbrEntry entry : request.getEntryList()) {
+            if (isForThisStream(entry.getSsrc())) {
+                logger.debug("({}) ({}) TMMBR is received. (maxBitrate={}bps, overhead={})",
+                        rtspUnit.getRtspUnitId(), streamer.getSessionId(), entry.getMaxBitrate(), entry.getMeasuredOverhead()
+                );
+            }
+        }
+    }
+
+    @Override
+    public void onPictureLossIndication(RtcpPictureLossIndication rtcpPictureLossIndication) {
+        if (rtcpPictureLossIndication.getRtcpFeedbackMessageHeader() == null
+                || !isForThisStream(rtcpPictureLossIndication.getRtcpFeedbackMessageHeader().getMediaSourceSsrc())) {
+            return;
+        }
+
+        logger.debug("({}) ({}) PLI is received.", rtspUnit.getRtspUnitId(), streamer.getSessionId());
+    }
+
+    @Override
+    public void onFullIntraRequest(RtcpFullIntraRequest rtcpFullIntraRequest) {
+        logger.debug("({}) ({}) FIR is received. ({})", rtspUnit.getRtspUnitId(), streamer.getSessionId(), rtcpFullIntraRequest.getEntryList());
+    }
+
+    private boolean isForThisStream(long mediaSourceSsrc) {
+        return mediaSourceSsrc == (streamer.getSsrc() & 0xFFFFFFFFL);
+    }
+
+}
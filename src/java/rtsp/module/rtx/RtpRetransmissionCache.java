@@ -0,0 +1,117 @@
+package rtsp.module.rtx;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @class public class RtpRetransmissionCache
+ * @brief 최근에 송신한 RTP 패킷을 Sequence number 로 인덱싱해서 보관하는 고정 크기 링 버퍼 클래스
+ * 패킷 데이터는 복사하지 않고 송신에 사용한 Pooled ByteBuf 의 참조(retainedDuplicate)만 보관한다.
+ */
+public class RtpRetransmissionCache {
+
+    private final int mask;
+    private final ByteBuf[] packets;
+    private final int[] seqNums;
+    private final long[] sendTimes; // ms
+
+    private final long maxAge; // ms (rtx-time)
+
+    private final ReentrantLock cacheLock = new ReentrantLock();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param capacity 보관할 최대 패킷 개수 (2 의 거듭제곱으로 올림)
+     * @param maxAge 재전송을 허용하는 최대 시간 (ms)
+     */
+    public RtpRetransmissionCache(int capacity, long maxAge) {
+        int size = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        this.mask = size - 1;
+        this.packets = new ByteBuf[size];
+        this.seqNums = new int[size];
+        this.sendTimes = new long[size];
+        this.maxAge = maxAge;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public void put(int seqNum, ByteBuf packet)
+     * @brief 송신한 RTP 패킷을 보관하는 함수 (같은 슬롯의 오래된 패킷은 해제한다.)
+     * @param seqNum RTP Sequence number
+     * @param packet RTP 패킷 (소유권을 넘겨받는다.)
+     */
+    public void put(int seqNum, ByteBuf packet) {
+        int index = seqNum & mask;
+
+        ByteBuf oldPacket;
+        cacheLock.lock();
+        try {
+            oldPacket = packets[index];
+            packets[index] = packet;
+            seqNums[index] = seqNum;
+            sendTimes[index] = System.currentTimeMillis();
+        } finally {
+            cacheLock.unlock();
+        }
+
+        if (oldPacket != null) {
+            oldPacket.release();
+        }
+    }
+
+    /**
+     * @fn public ByteBuf get(int seqNum)
+     * @brief 보관 중인 RTP 패킷을 반환하는 함수
+     * @param seqNum RTP Sequence number
+     * @return 성공 시 RTP 패킷 (호출자가 release 해야 한다.), 없거나 rtx-time 이 지났으면 null 반환
+     */
+    public ByteBuf get(int seqNum) {
+        int index = seqNum & mask;
+
+        cacheLock.lock();
+        try {
+            ByteBuf packet = packets[index];
+            if (packet == null || seqNums[index] != seqNum) {
+                return null;
+            }
+
+            if (System.currentTimeMillis() - sendTimes[index] > maxAge) {
+                return null;
+            }
+
+            return packet.retainedDuplicate();
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * @fn public void clear()
+     * @brief 보관 중인 모든 RTP 패킷을 해제하는 함수
+     */
+    public void clear() {
+        cacheLock.lock();
+        try {
+            for (int i = 0; i < packets.length; i++) {
+                if (packets[i] != null) {
+                    packets[i].release();
+                    packets[i] = null;
+                }
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return packets.length;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+}
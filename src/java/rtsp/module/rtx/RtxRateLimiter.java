@@ -0,0 +1,46 @@
+package rtsp.module.rtx;
+
+/**
+ * @class public class RtxRateLimiter
+ * @brief 초당 재전송 패킷 수를 제한하는 Token bucket 클래스
+ * NACK 폭주로 재전송이 원본 스트림의 대역폭을 잠식하지 않도록 한다.
+ */
+public class RtxRateLimiter {
+
+    private final int maxPacketsPerSec;
+    private double tokens;
+    private long lastRefillTime; // ns
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtxRateLimiter(int maxPacketsPerSec) {
+        this.maxPacketsPerSec = maxPacketsPerSec;
+        this.tokens = maxPacketsPerSec;
+        this.lastRefillTime = System.nanoTime();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public synchronized boolean tryAcquire()
+     * @brief 재전송 패킷 하나를 보낼 수 있는지 확인하는 함수
+     * @return 보낼 수 있으면 true, 제한을 초과했으면 false 반환
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxPacketsPerSec, tokens + ((now - lastRefillTime) / 1000000000.0) * maxPacketsPerSec);
+        lastRefillTime = now;
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    public int getMaxPacketsPerSec() {
+        return maxPacketsPerSec;
+    }
+
+}
@@ -0,0 +1,331 @@
+package rtsp.module.stat;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import rtsp.module.Streamer;
+import rtsp.module.rtcp.RtcpReporter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class public class StreamerStats
+ * @brief 세션 (Streamer) 별 송신 통계 클래스
+ *
+ * - 송신 패킷/바이트 수, 송신 실패 수, 비트레이트 (EWMA), PCR pacing 지연, PCR 불연속 횟수,
+ *      마지막 RR 의 손실률/지터와 RTT, 송신 중인 미디어 플레이리스트를 기록한다.
+ * - 패킷 송신, pacing, PCR 관련 값은 RtpSender 스레드에서만 기록한다.
+ *      > 비트레이트 구간 계산 변수는 동기화하지 않는다.
+ * - 송신 실패는 RTCP 재전송 스레드에서도, RR 과 RTT 는 RTCP EventLoop 에서 기록한다.
+ * - 조회는 getSnapshot() 으로 한 시점의 값을 복사해서 사용한다.
+ */
+public class StreamerStats {
+
+    // 비트레이트 EWMA (1 초 구간마다 갱신)
+    private static final long BITRATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double BITRATE_EWMA_ALPHA = 0.3;
+
+    private final transient Streamer streamer;
+
+    // SEND
+    private final AtomicLong packetCount = new AtomicLong(0);
+    private final AtomicLong octetCount = new AtomicLong(0); // payload
+    private final AtomicLong sendErrorCount = new AtomicLong(0);
+    private volatile long lastPacketTime = 0; // System.nanoTime
+
+    // BITRATE
+    private transient long bitrateWindowStartTime = 0;
+    private transient long bitrateWindowOctets = 0;
+    private volatile double bitrate = 0; // bps
+
+    // PACING
+    private volatile long lastPacingLag = 0; // ns
+    private volatile long maxPacingLag = 0; // ns
+    private final AtomicLong pcrDiscontinuityCount = new AtomicLong(0);
+
+    // RTCP
+    private volatile int lastFractionLost = 0; // x / 256
+    private volatile long lastJitter = 0; // RTP timestamp 단위
+    private volatile int rtt = 0; // ms
+    private volatile long lastReportTime = 0; // System.nanoTime
+
+    // MEDIA
+    private volatile String rendition = null; // 송신 중인 미디어 플레이리스트 (M3U8)
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public StreamerStats(Streamer streamer) {
+        this.streamer = streamer;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public void onPacketSent(long nanoTime, int payloadLength)
+     * @brief RTP 패킷 송신을 기록하는 함수 (RtpSender 스레드에서만 호출)
+     * @param nanoTime 송신 시간 (System.nanoTime)
+     * @param payloadLength payload 길이
+     */
+    public void onPacketSent(long nanoTime, int payloadLength) {
+        packetCount.incrementAndGet();
+        octetCount.addAndGet(payloadLength);
+
+        // PAUSE 후 다시 보내는 경우 멈춘 시간은 구간에 넣지 않는다.
+        if (bitrateWindowStartTime == 0 || nanoTime - lastPacketTime > BITRATE_WINDOW_NANOS) {
+            bitrateWindowStartTime = nanoTime;
+            bitrateWindowOctets = 0;
+        }
+        lastPacketTime = nanoTime;
+
+        bitrateWindowOctets += payloadLength;
+        long elapsed = nanoTime - bitrateWindowStartTime;
+        if (elapsed >= BITRATE_WINDOW_NANOS) {
+            double windowBitrate = bitrateWindowOctets * 8.0 * TimeUnit.SECONDS.toNanos(1) / elapsed;
+            double curBitrate = bitrate;
+            bitrate = curBitrate == 0 ? windowBitrate
+                    : BITRATE_EWMA_ALPHA * windowBitrate + (1 - BITRATE_EWMA_ALPHA) * curBitrate;
+            bitrateWindowStartTime = nanoTime;
+            bitrateWindowOctets = 0;
+        }
+    }
+
+    public void onSendError() {
+        sendErrorCount.incrementAndGet();
+    }
+
+    /**
+     * @fn public void recordPacingLag(long nanos)
+     * @brief PCR 예정 시간보다 늦게 송신한 시간을 기록하는 함수 (RtpSender 스레드에서만 호출)
+     * @param nanos 지연 시간 (ns, 늦지 않았으면 0)
+     */
+    public void recordPacingLag(long nanos) {
+        lastPacingLag = nanos;
+        if (nanos > maxPacingLag) {
+            maxPacingLag = nanos;
+        }
+    }
+
+    public void onPcrDiscontinuity() {
+        pcrDiscontinuityCount.incrementAndGet();
+    }
+
+    /**
+     * @fn public void onReportBlock(int fractionLost, long jitter)
+     * @brief 수신자가 보낸 Report block 의 손실률과 지터를 기록하는 함수
+     * @param fractionLost 손실률 (8 bits 고정 소수점, x / 256)
+     * @param jitter 도착 간격 지터 (RTP timestamp 단위)
+     */
+    public void onReportBlock(int fractionLost, long jitter) {
+        lastFractionLost = fractionLost;
+        lastJitter = jitter;
+        lastReportTime = System.nanoTime();
+    }
+
+    public void setRtt(int rtt) {
+        this.rtt = rtt;
+    }
+
+    public void setRendition(String rendition) {
+        this.rendition = rendition;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public Snapshot getSnapshot()
+     * @brief 현재 통계를 복사해서 반환하는 함수
+     * 마지막 송신 후 비트레이트 구간 (1 초) 보다 오래 지났으면 비트레이트는 0 으로 반환한다. (PAUSE, 종료)
+     * @return Snapshot
+     */
+    public Snapshot getSnapshot() {
+        long now = System.nanoTime();
+        Snapshot snapshot = new Snapshot();
+        snapshot.rtspUnitId = streamer.getRtspUnitId();
+        snapshot.sessionId = streamer.getSessionId();
+        snapshot.destIp = streamer.getDestIp();
+        snapshot.destPort = streamer.getDestPort();
+        snapshot.rendition = rendition;
+
+        snapshot.packetCount = packetCount.get();
+        snapshot.octetCount = octetCount.get();
+        snapshot.sendErrorCount = sendErrorCount.get();
+        snapshot.egressDropCount = streamer.getEgressDroppedPacketCount();
+
+        long curLastPacketTime = lastPacketTime;
+        boolean isSending = curLastPacketTime != 0 && now - curLastPacketTime <= BITRATE_WINDOW_NANOS;
+        snapshot.bitrateKbps = isSending ? bitrate / 1000 : 0;
+        snapshot.lastPacketAgeMs = curLastPacketTime != 0 ? TimeUnit.NANOSECONDS.toMillis(now - curLastPacketTime) : -1;
+
+        snapshot.lastPacingLagMs = lastPacingLag / 1e6;
+        snapshot.maxPacingLagMs = maxPacingLag / 1e6;
+        snapshot.pcrDiscontinuityCount = pcrDiscontinuityCount.get();
+
+        long curLastReportTime = lastReportTime;
+        snapshot.lossPercent = lastFractionLost * 100.0 / 256;
+        snapshot.jitterMs = lastJitter * 1000.0 / RtcpReporter.RTP_CLOCK_RATE;
+        snapshot.rttMs = rtt;
+        snapshot.lastReportAgeMs = curLastReportTime != 0 ? TimeUnit.NANOSECONDS.toMillis(now - curLastReportTime) : -1;
+        return snapshot;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public long getPacketCount() {
+        return packetCount.get();
+    }
+
+    public long getOctetCount() {
+        return octetCount.get();
+    }
+
+    public long getSendErrorCount() {
+        return sendErrorCount.get();
+    }
+
+    public long getLastPacketTime() {
+        return lastPacketTime;
+    }
+
+    public double getBitrate() {
+        return bitrate;
+    }
+
+    public long getLastPacingLag() {
+        return lastPacingLag;
+    }
+
+    public long getMaxPacingLag() {
+        return maxPacingLag;
+    }
+
+    public long getPcrDiscontinuityCount() {
+        return pcrDiscontinuityCount.get();
+    }
+
+    public int getLastFractionLost() {
+        return lastFractionLost;
+    }
+
+    public long getLastJitter() {
+        return lastJitter;
+    }
+
+    public int getRtt() {
+        return rtt;
+    }
+
+    public String getRendition() {
+        return rendition;
+    }
+
+    @Override
+    public String toString() {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        return gson.toJson(getSnapshot());
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @class public static class Snapshot
+     * @brief 조회 시점의 세션 통계 (JSON 으로 출력한다.)
+     */
+    public static class Snapshot {
+
+        private String rtspUnitId;
+        private String sessionId;
+        private String destIp;
+        private int destPort;
+        private String rendition;
+
+        private long packetCount;
+        private long octetCount;
+        private long sendErrorCount;
+        private long egressDropCount; // 송신 버퍼가 가득 차서 송신 계층이 버린 패킷 수
+        private double bitrateKbps;
+        private long lastPacketAgeMs; // 송신한 적이 없으면 -1
+
+        private double lastPacingLagMs;
+        private double maxPacingLagMs;
+        private long pcrDiscontinuityCount;
+
+        private double lossPercent;
+        private double jitterMs;
+        private int rttMs;
+        private long lastReportAgeMs; // RR 을 받은 적이 없으면 -1
+
+        public String getRtspUnitId() {
+            return rtspUnitId;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public String getDestIp() {
+            return destIp;
+        }
+
+        public int getDestPort() {
+            return destPort;
+        }
+
+        public String getRendition() {
+            return rendition;
+        }
+
+        public long getPacketCount() {
+            return packetCount;
+        }
+
+        public long getOctetCount() {
+            return octetCount;
+        }
+
+        public long getSendErrorCount() {
+            return sendErrorCount;
+        }
+
+        public long getEgressDropCount() {
+            return egressDropCount;
+        }
+
+        public double getBitrateKbps() {
+            return bitrateKbps;
+        }
+
+        public long getLastPacketAgeMs() {
+            return lastPacketAgeMs;
+        }
+
+        public double getLastPacingLagMs() {
+            return lastPacingLagMs;
+        }
+
+        public double getMaxPacingLagMs() {
+            return maxPacingLagMs;
+        }
+
+        public long getPcrDiscontinuityCount() {
+            return pcrDiscontinuityCount;
+        }
+
+        public double getLossPercent() {
+            return lossPercent;
+        }
+
+        public double getJitterMs() {
+            return jitterMs;
+        }
+
+        public int getRttMs() {
+            return rttMs;
+        }
+
+        public long getLastReportAgeMs() {
+            return lastReportAgeMs;
+        }
+
+    }
+
+}
@@ -9,7 +9,7 @@ public class RtcpType {
     public static final short GOOD_BYE = 203;
     public static final short APPLICATION_DEFINED = 204;
     public static final short RTPFB = 205; // Transport layer FB message
-    public static final short PSFB = 205; // Payload-specific FB message
+    public static final short PSFB = 206; // Payload-specific FB message
     public static final short AVB = 208;
     public static final short PORT_MAPPING = 210;
 
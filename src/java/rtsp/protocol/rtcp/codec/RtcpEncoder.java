@@ -0,0 +1,116 @@
+package rtsp.protocol.rtcp.codec;
+
+import io.netty.buffer.ByteBuf;
+import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.packet.RtcpCompoundIterator;
+import rtsp.protocol.rtcp.packet.RtcpPacket;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+import rtsp.protocol.rtcp.type.regular.base.report.RtcpReportBlock;
+import rtsp.protocol.rtcp.type.regular.base.sdes.SdesType;
+
+/**
+ * @class public class RtcpEncoder
+ * @brief RTCP 패킷을 중간 byte[] 없이 ByteBuf 에 바로 쓰는 클래스
+ *
+ * - Compound 패킷은 필요한 크기를 먼저 계산해서 Pooled ByteBuf 하나에 순서대로 쓴다.
+ * - 모든 함수는 writerIndex 를 쓴 만큼 증가시키고, 쓴 바이트 수를 반환한다.
+ */
+public class RtcpEncoder {
+
+    public static final int SENDER_REPORT_LENGTH = RtcpHeader.LENGTH + RtcpSenderReport.MIN_LENGTH; // 28 bytes (RC=0)
+    public static final int RECEIVER_REPORT_LENGTH = RtcpHeader.LENGTH + RtcpReportBlock.LENGTH; // 32 bytes (RC=1)
+
+    private static final int SDES_CHUNK_SSRC_LENGTH = 4;
+    private static final int SDES_ITEM_HEADER_LENGTH = 2; // type (8) + length (8)
+    private static final int SDES_MAX_ITEM_LENGTH = 255;
+
+    private RtcpEncoder() {}
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+
+    /**
+     * @fn public static int writeSenderReport(ByteBuf buf, long ssrc, long ntpMsw, long ntpLsw, long rtpTimestamp, long packetCount, long octetCount)
+     * @brief Report block 이 없는 SR (RC=0) 을 쓰는 함수
+     * @return 쓴 바이트 수
+     */
+    public static int writeSenderReport(ByteBuf buf, long ssrc, long ntpMsw, long ntpLsw, long rtpTimestamp, long packetCount, long octetCount) {
+        writeHeader(buf, 0, RtcpType.SENDER_REPORT, SENDER_REPORT_LENGTH);
+        buf.writeInt((int) ssrc);
+        buf.writeInt((int) ntpMsw);
+        buf.writeInt((int) ntpLsw);
+        buf.writeInt((int) rtpTimestamp);
+        buf.writeInt((int) packetCount);
+        buf.writeInt((int) octetCount);
+        return SENDER_REPORT_LENGTH;
+    }
+
+    /**
+     * @fn public static int writeReceiverReport(ByteBuf buf, long ssrc, long sourceSsrc, int fractionLost, int cumulativeLost, long extHighSequence, long jitter, long lsr, long dlsr)
+     * @brief Report block 이 하나인 RR (RC=1) 을 쓰는 함수
+     * cumulativeLost 는 24 bits 부호 있는 값으로 잘라서 쓴다. (RFC 3550, 6.4.1)
+     * @return 쓴 바이트 수
+     */
+    public static int writeReceiverReport(ByteBuf buf, long ssrc, long sourceSsrc, int fractionLost, int cumulativeLost,
+                                          long extHighSequence, long jitter, long lsr, long dlsr) {
+        writeHeader(buf, 1, RtcpType.RECEIVER_REPORT, RECEIVER_REPORT_LENGTH);
+        buf.writeInt((int) ssrc);
+        buf.writeInt((int) sourceSsrc);
+        buf.writeByte(fractionLost);
+        buf.writeMedium(Math.max(-0x800000, Math.min(0x7FFFFF, cumulativeLost)));
+        buf.writeInt((int) extHighSequence);
+        buf.writeInt((int) jitter);
+        buf.writeInt((int) lsr);
+        buf.writeInt((int) dlsr);
+        return RECEIVER_REPORT_LENGTH;
+    }
+
+    /**
+     * @fn public static int writeSourceDescription(ByteBuf buf, long ssrc, byte[] cname)
+     * @brief CNAME 하나만 가진 SDES (SC=1) 를 쓰는 함수
+     * Item 목록은 END (0) 로 끝나고, chunk 는 32 bits 경계까지 0 으로 채운다. (RFC 3550, 6.5)
+     * @return 쓴 바이트 수
+     */
+    public static int writeSourceDescription(ByteBuf buf, long ssrc, byte[] cname) {
+        int cnameLength = Math.min(cname.length, SDES_MAX_ITEM_LENGTH);
+        int length = getSourceDescriptionLength(cnameLength);
+
+        writeHeader(buf, 1, RtcpType.SOURCE_DESCRIPTION, length);
+        buf.writeInt((int) ssrc);
+        buf.writeByte(SdesType.CNAME.ordinal());
+        buf.writeByte(cnameLength);
+        buf.writeBytes(cname, 0, cnameLength);
+        // END + PADDING
+        buf.writeZero(length - (RtcpHeader.LENGTH_SDES + SDES_CHUNK_SSRC_LENGTH + SDES_ITEM_HEADER_LENGTH + cnameLength));
+        return length;
+    }
+
+    /**
+     * @fn public static int getSourceDescriptionLength(int cnameLength)
+     * @brief CNAME 길이로 SDES 패킷 전체 크기를 계산하는 함수 (END 1 byte 이상 포함)
+     * @return SDES 패킷 크기 (bytes)
+     */
+    public static int getSourceDescriptionLength(int cnameLength) {
+        int length = RtcpHeader.LENGTH_SDES + SDES_CHUNK_SSRC_LENGTH
+                + SDES_ITEM_HEADER_LENGTH + Math.min(cnameLength, SDES_MAX_ITEM_LENGTH) + 1;
+        int remainder = length % RtcpPacket.PACKET_MULTIPLE;
+        if (remainder != 0) {
+            length += RtcpPacket.PACKET_MULTIPLE - remainder;
+        }
+        return length;
+    }
+
+    /**
+     * @fn private static void writeHeader(ByteBuf buf, int count, short packetType, int packetLength)
+     * @brief 공통 헤더 4 bytes (V=2, P=0, RC/SC, PT, length) 를 쓰는 함수
+     * @param packetLength 헤더를 포함한 패킷 전체 크기 (bytes, 4 의 배수)
+     */
+    private static void writeHeader(ByteBuf buf, int count, short packetType, int packetLength) {
+        buf.writeByte((RtcpCompoundIterator.RTCP_VERSION << 6) | (count & 0x1F));
+        buf.writeByte(packetType);
+        buf.writeShort(packetLength / RtcpPacket.PACKET_MULTIPLE - 1);
+    }
+    ////////////////////////////////////////////////////////////
+
+}
@@ -0,0 +1,321 @@
+package rtsp.protocol.rtcp.codec;
+
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.packet.RtcpCompoundIterator;
+import rtsp.protocol.rtcp.packet.RtcpPacket;
+import rtsp.protocol.rtcp.type.extended.feedback.base.RtcpFeedbackMessageHeader;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+import rtsp.protocol.rtcp.type.regular.base.report.RtcpReportBlock;
+
+/**
+ * @class public class RtcpPacketView
+ * @brief ByteBuf 위의 Compound RTCP 패킷을 복사 없이 순회하면서 필드를 제자리에서 읽는 클래스
+ *
+ * - 하나의 객체를 재사용한다. (wrap() > next() 반복)
+ * - 읽기 함수는 모두 현재 하위 패킷의 시작 위치 기준의 절대 인덱스로 ByteBuf 를 읽으므로 readerIndex 를 바꾸지 않는다.
+ * - ByteBuf 의 참조 카운트는 관리하지 않는다. (호출자가 wrap 한 버퍼의 수명을 보장해야 한다.)
+ *
+ * 사용 예)
+ *      view.wrap(buf);
+ *      while (view.next()) {
+ *          if (view.getPacketType() == RtcpType.RECEIVER_REPORT) { ... view.getFractionLost(i) ... }
+ *      }
+ */
+public class RtcpPacketView {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtcpPacketView.class);
+
+    private static final int SENDER_INFO_LENGTH = RtcpSenderReport.MIN_LENGTH; // 20 bytes
+    private static final int GENERIC_NACK_LENGTH = 4; // PID (16) + BLP (16)
+
+    private ByteBuf buf = null;
+    private int endIndex = 0;
+    private int nextIndex = 0;
+
+    // 현재 하위 패킷
+    private int offset = -1;
+    private int packetLength = 0; // bytes
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+
+    /**
+     * @fn public RtcpPacketView wrap(ByteBuf buf)
+     * @brief ByteBuf 의 readable 영역 전체를 Compound 패킷으로 설정하는 함수
+     * @param buf RTCP 데이터
+     * @return this
+     */
+    public RtcpPacketView wrap(ByteBuf buf) {
+        return wrap(buf, buf.readerIndex(), buf.readableBytes());
+    }
+
+    public RtcpPacketView wrap(ByteBuf buf, int index, int length) {
+        this.buf = buf;
+        this.nextIndex = index;
+        this.endIndex = index + length;
+        this.offset = -1;
+        this.packetLength = 0;
+        return this;
+    }
+
+    /**
+     * @fn public boolean next()
+     * @brief 다음 하위 패킷으로 이동하는 함수
+     * 버전이 2 가 아니거나, 길이가 남은 데이터를 넘어가는 패킷을 만나면 순회를 종료한다.
+     * @return 다음 패킷이 있으면 true, 없으면 false 반환
+     */
+    public boolean next() {
+        if (buf == null) {
+            return false;
+        }
+
+        int remainLength = endIndex - nextIndex;
+        if (remainLength < RtcpHeader.LENGTH_SDES) {
+            return end();
+        }
+
+        int version = (buf.getUnsignedByte(nextIndex) >>> 6) & 0x03;
+        if (version != RtcpCompoundIterator.RTCP_VERSION) {
+            logger.warn("Wrong rtcp version. (index={}, version={})", nextIndex, version);
+            return end();
+        }
+
+        int curPacketLength = (buf.getUnsignedShort(nextIndex + 2) + 1) * RtcpPacket.PACKET_MULTIPLE;
+        if (curPacketLength > remainLength) {
+            logger.warn("Wrong rtcp packet length. (index={}, packetLength={}, remainLength={})", nextIndex, curPacketLength, remainLength);
+            return end();
+        }
+
+        offset = nextIndex;
+        packetLength = curPacketLength;
+        nextIndex += curPacketLength;
+        return true;
+    }
+
+    /**
+     * @fn public void rewind(int index)
+     * @brief 순회 위치를 지정한 하위 패킷 시작 위치로 되돌리는 함수
+     * @param index getNextIndex() 로 얻은 위치
+     */
+    public void rewind(int index) {
+        nextIndex = index;
+        offset = -1;
+        packetLength = 0;
+    }
+
+    private boolean end() {
+        offset = -1;
+        packetLength = 0;
+        nextIndex = endIndex;
+        return false;
+    }
+
+    /**
+     * @fn public RtcpPacket toRtcpPacket()
+     * @brief 현재 하위 패킷만 복사해서 기존 RtcpPacket 객체로 변환하는 함수 (Listener 전달용)
+     * @return RtcpPacket
+     */
+    public RtcpPacket toRtcpPacket() {
+        byte[] data = new byte[packetLength];
+        buf.getBytes(offset, data);
+        return new RtcpPacket(data);
+    }
+
+    ////////////////////////////////////////////////////////////
+    // HEADER
+    public int getVersion() {
+        return (buf.getUnsignedByte(offset) >>> 6) & 0x03;
+    }
+
+    public boolean hasPadding() {
+        return ((buf.getUnsignedByte(offset) >>> 5) & 0x01) == 1;
+    }
+
+    /**
+     * @fn public int getCount()
+     * @brief RC (SR/RR), SC (SDES/BYE) 또는 FMT (RTPFB/PSFB) 를 반환하는 함수
+     */
+    public int getCount() {
+        return buf.getUnsignedByte(offset) & 0x1F;
+    }
+
+    public short getPacketType() {
+        return buf.getUnsignedByte(offset + 1);
+    }
+
+    public int getPacketLength() {
+        return packetLength;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * @fn public long getSsrc()
+     * @brief 송신자 SSRC 를 반환하는 함수 (SDES/BYE 는 첫 번째 chunk 또는 source 의 SSRC)
+     * @return 송신자 SSRC, 없으면 -1 반환
+     */
+    public long getSsrc() {
+        if (packetLength < RtcpHeader.LENGTH) {
+            return -1;
+        }
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH_SDES);
+    }
+
+    ////////////////////////////////////////////////////////////
+    // SR
+    public long getNtpMsw() {
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH);
+    }
+
+    public long getNtpLsw() {
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH + 4);
+    }
+
+    public long getRtpTimestamp() {
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH + 8);
+    }
+
+    public long getSenderPacketCount() {
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH + 12);
+    }
+
+    public long getSenderOctetCount() {
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH + 16);
+    }
+
+    ////////////////////////////////////////////////////////////
+    // REPORT BLOCK (SR/RR)
+
+    /**
+     * @fn public int getReportBlockCount()
+     * @brief 현재 패킷 길이 안에 실제로 들어있는 Report block 개수를 반환하는 함수
+     * @return SR/RR 가 아니면 0 반환
+     */
+    public int getReportBlockCount() {
+        int blockStart = getReportBlockStart();
+        if (blockStart < 0) {
+            return 0;
+        }
+        return Math.min(getCount(), (offset + packetLength - blockStart) / RtcpReportBlock.LENGTH);
+    }
+
+    /**
+     * @fn public int findReportBlock(long ssrc)
+     * @brief 지정한 SSRC 에 대한 Report block 의 인덱스를 찾는 함수
+     * @param ssrc 미디어 송신자 SSRC
+     * @return 인덱스, 없으면 -1 반환
+     */
+    public int findReportBlock(long ssrc) {
+        int count = getReportBlockCount();
+        for (int i = 0; i < count; i++) {
+            if (getReportBlockSsrc(i) == ssrc) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long getReportBlockSsrc(int index) {
+        return buf.getUnsignedInt(getReportBlockOffset(index));
+    }
+
+    /**
+     * @fn public short getFractionLost(int index)
+     * @brief Fraction lost (8 bits 고정 소수점, x / 256) 를 반환하는 함수
+     */
+    public short getFractionLost(int index) {
+        return buf.getUnsignedByte(getReportBlockOffset(index) + 4);
+    }
+
+    public int getCumulativeLost(int index) {
+        return buf.getUnsignedMedium(getReportBlockOffset(index) + 5);
+    }
+
+    public long getExtendedHighestSequenceNumber(int index) {
+        return buf.getUnsignedInt(getReportBlockOffset(index) + 8);
+    }
+
+    public long getJitter(int index) {
+        return buf.getUnsignedInt(getReportBlockOffset(index) + 12);
+    }
+
+    public long getLsr(int index) {
+        return buf.getUnsignedInt(getReportBlockOffset(index) + 16);
+    }
+
+    public long getDlsr(int index) {
+        return buf.getUnsignedInt(getReportBlockOffset(index) + 20);
+    }
+
+    private int getReportBlockStart() {
+        switch (getPacketType()) {
+            case RtcpType.SENDER_REPORT:
+                return offset + RtcpHeader.LENGTH + SENDER_INFO_LENGTH;
+            case RtcpType.RECEIVER_REPORT:
+                return offset + RtcpHeader.LENGTH;
+            default:
+                return -1;
+        }
+    }
+
+    private int getReportBlockOffset(int index) {
+        if (index < 0 || index >= getReportBlockCount()) {
+            throw new IndexOutOfBoundsException("report block index: " + index);
+        }
+        return getReportBlockStart() + index * RtcpReportBlock.LENGTH;
+    }
+
+    ////////////////////////////////////////////////////////////
+    // FEEDBACK (RTPFB/PSFB)
+    public boolean isFeedback() {
+        return RtcpPacket.isFeedback(getPacketType());
+    }
+
+    public long getMediaSourceSsrc() {
+        if (packetLength < RtcpFeedbackMessageHeader.LENGTH) {
+            return -1;
+        }
+        return buf.getUnsignedInt(offset + RtcpHeader.LENGTH);
+    }
+
+    public int getFciOffset() {
+        return offset + RtcpFeedbackMessageHeader.LENGTH;
+    }
+
+    public int getFciLength() {
+        return Math.max(0, packetLength - RtcpFeedbackMessageHeader.LENGTH);
+    }
+
+    /**
+     * @fn public int getGenericNackCount()
+     * @brief Generic NACK (RTPFB, FMT=1) 의 FCI 개수를 반환하는 함수
+     */
+    public int getGenericNackCount() {
+        return getFciLength() / GENERIC_NACK_LENGTH;
+    }
+
+    public int getGenericNackPid(int index) {
+        return buf.getUnsignedShort(getFciOffset() + index * GENERIC_NACK_LENGTH);
+    }
+
+    public int getGenericNackBlp(int index) {
+        return buf.getUnsignedShort(getFciOffset() + index * GENERIC_NACK_LENGTH + 2);
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    public ByteBuf getBuf() {
+        return buf;
+    }
+
+}
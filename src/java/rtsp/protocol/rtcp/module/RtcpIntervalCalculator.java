@@ -0,0 +1,83 @@
+package rtsp.protocol.rtcp.module;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @class public class RtcpIntervalCalculator
+ * @brief RTCP 송신 주기 계산 클래스 (RFC 3550, 6.3.1 & A.7)
+ *
+ * - RTCP 대역폭은 세션 대역폭의 5% 로 제한하고, 그 중 25% 를 Sender 에게 할당한다.
+ * - 계산된 주기는 [0.5, 1.5] 배 범위에서 무작위로 조정해서 여러 세션의 RTCP 가 동시에 송신되지 않도록 한다.
+ */
+public class RtcpIntervalCalculator {
+
+    ////////////////////////////////////////////////////////////
+    // VARIABLES
+    public static final double RTCP_BANDWIDTH_FRACTION = 0.05;
+    public static final double RTCP_SENDER_BANDWIDTH_FRACTION = 0.25;
+    public static final double RTCP_RECEIVER_BANDWIDTH_FRACTION = 1 - RTCP_SENDER_BANDWIDTH_FRACTION;
+
+    // 무작위 조정으로 평균 주기가 짧아지는 것을 보정 (e - 3/2)
+    public static final double COMPENSATION = Math.E - 1.5;
+
+    // IP (20) + UDP (8)
+    public static final int UDP_IP_OVERHEAD = 28;
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+    /**
+     * @fn public static double calculateInterval(int members, int senders, double rtcpBandwidth, boolean weSent, double avgRtcpSize, boolean initial, double minInterval)
+     * @brief 다음 RTCP 패킷을 송신할 때까지의 주기를 계산하는 함수
+     * @param members 세션 참여자 수
+     * @param senders 세션 송신자 수
+     * @param rtcpBandwidth RTCP 대역폭 (bytes/sec, 세션 대역폭의 5%)
+     * @param weSent 마지막 보고 이후 RTP 패킷을 송신했는지 여부
+     * @param avgRtcpSize 평균 RTCP 패킷 크기 (bytes, UDP/IP 헤더 포함)
+     * @param initial 첫 번째 RTCP 패킷인지 여부 (최소 주기를 절반으로 줄인다.)
+     * @param minInterval 최소 주기 (sec)
+     * @return 주기 (sec)
+     */
+    public static double calculateInterval(int members, int senders, double rtcpBandwidth, boolean weSent,
+                                           double avgRtcpSize, boolean initial, double minInterval) {
+        double rtcpMinTime = initial ? minInterval / 2 : minInterval;
+
+        // 송신자가 참여자의 25% 이하이면 송신자와 수신자의 대역폭을 분리해서 계산한다.
+        int n = members;
+        if (senders <= members * RTCP_SENDER_BANDWIDTH_FRACTION) {
+            if (weSent) {
+                rtcpBandwidth *= RTCP_SENDER_BANDWIDTH_FRACTION;
+                n = senders;
+            } else {
+                rtcpBandwidth *= RTCP_RECEIVER_BANDWIDTH_FRACTION;
+                n -= senders;
+            }
+        }
+
+        double interval = rtcpBandwidth > 0 ? (avgRtcpSize * n) / rtcpBandwidth : rtcpMinTime;
+        if (interval < rtcpMinTime) {
+            interval = rtcpMinTime;
+        }
+
+        interval = interval * (ThreadLocalRandom.current().nextDouble() + 0.5);
+        return interval / COMPENSATION;
+    }
+
+    /**
+     * @fn public static double updateAvgRtcpSize(double avgRtcpSize, int packetSize)
+     * @brief 송신한 RTCP 패킷 크기로 평균 RTCP 패킷 크기를 갱신하는 함수
+     * @param avgRtcpSize 이전 평균 크기 (0 이하면 첫 번째 패킷)
+     * @param packetSize RTCP 패킷 크기 (UDP/IP 헤더 제외)
+     * @return 갱신된 평균 크기
+     */
+    public static double updateAvgRtcpSize(double avgRtcpSize, int packetSize) {
+        int size = packetSize + UDP_IP_OVERHEAD;
+        if (avgRtcpSize <= 0) {
+            return size;
+        }
+
+        return (size / 16.0) + ((15.0 / 16.0) * avgRtcpSize);
+    }
+    ////////////////////////////////////////////////////////////
+
+}
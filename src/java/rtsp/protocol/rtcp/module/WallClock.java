@@ -0,0 +1,29 @@
+package rtsp.protocol.rtcp.module;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class WallClock implements Clock
+ * @brief 시스템 시간을 사용하는 Clock (MockWallClock 과 달리 실제 시간이 흐른다.)
+ */
+public class WallClock implements Clock {
+
+    private final TimeUnit unit = TimeUnit.NANOSECONDS;
+
+    public long getTime() {
+        return System.nanoTime();
+    }
+
+    public long getTime(TimeUnit timeUnit) {
+        return timeUnit.convert(System.nanoTime(), unit);
+    }
+
+    public TimeUnit getTimeUnit() {
+        return unit;
+    }
+
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+}
@@ -0,0 +1,92 @@
+package rtsp.protocol.rtcp.packet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * @class public class RtcpCompoundIterator implements Iterator<RtcpPacket>
+ * @brief 하나의 UDP 데이터그램에 담긴 Compound RTCP 패킷을 Length 필드로 순회하는 클래스 (RFC 3550, 6.1)
+ *
+ * - 각 하위 패킷의 크기는 (length + 1) * 4 bytes 이다.
+ * - 버전이 2 가 아니거나, 길이가 남은 데이터를 넘어가는 패킷을 만나면 순회를 종료한다.
+ */
+public class RtcpCompoundIterator implements Iterator<RtcpPacket> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtcpCompoundIterator.class);
+
+    public static final int RTCP_VERSION = 2;
+
+    private final byte[] data;
+    private final int endIndex;
+    private int index;
+    private int nextPacketLength = -1; // -1 : 아직 확인하지 않음, 0 : 더 이상 없음
+
+    ////////////////////////////////////////////////////////////
+    // CONSTRUCTOR
+    public RtcpCompoundIterator(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public RtcpCompoundIterator(byte[] data, int offset, int length) {
+        this.data = data;
+        this.index = offset;
+        this.endIndex = offset + length;
+    }
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+    @Override
+    public boolean hasNext() {
+        if (nextPacketLength < 0) {
+            nextPacketLength = checkNextPacketLength();
+        }
+        return nextPacketLength > 0;
+    }
+
+    @Override
+    public RtcpPacket next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        byte[] packetData = new byte[nextPacketLength];
+        System.arraycopy(data, index, packetData, 0, nextPacketLength);
+        index += nextPacketLength;
+        nextPacketLength = -1;
+
+        return new RtcpPacket(packetData);
+    }
+
+    /**
+     * @fn private int checkNextPacketLength()
+     * @brief 다음 하위 패킷의 헤더를 검사하고 패킷 크기를 반환하는 함수
+     * @return 다음 패킷 크기 (bytes), 없거나 잘못된 패킷이면 0 반환
+     */
+    private int checkNextPacketLength() {
+        int remainLength = endIndex - index;
+        if (remainLength < RtcpHeader.LENGTH_SDES) {
+            return 0;
+        }
+
+        int version = (data[index] >>> 6) & 0x03;
+        if (version != RTCP_VERSION) {
+            logger.warn("Wrong rtcp version. (index={}, version={})", index, version);
+            return 0;
+        }
+
+        int packetLength = ((((data[index + 2] & 0xFF) << 8) | (data[index + 3] & 0xFF)) + 1) * RtcpPacket.PACKET_MULTIPLE;
+        if (packetLength > remainLength) {
+            logger.warn("Wrong rtcp packet length. (index={}, packetLength={}, remainLength={})", index, packetLength, remainLength);
+            return 0;
+        }
+
+        return packetLength;
+    }
+    ////////////////////////////////////////////////////////////
+
+}
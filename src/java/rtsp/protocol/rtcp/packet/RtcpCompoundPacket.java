@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,12 +25,36 @@ public class RtcpCompoundPacket {
     }
 
     public RtcpCompoundPacket() {}
+
+    public RtcpCompoundPacket(byte[] data) {
+        rtcpPacketList = new ArrayList<>();
+
+        RtcpCompoundIterator rtcpCompoundIterator = new RtcpCompoundIterator(data);
+        while (rtcpCompoundIterator.hasNext()) {
+            rtcpPacketList.add(rtcpCompoundIterator.next());
+        }
+    }
     ////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
     // FUNCTIONS
     public byte[] getData() {
-        int totalLength = getTotalRtcpPacketSize();
+        if (rtcpPacketList == null || rtcpPacketList.isEmpty()) {
+            return null;
+        }
+
+        // 하위 패킷마다 한 번만 직렬화한다.
+        byte[][] packetDataList = new byte[rtcpPacketList.size()][];
+        int totalLength = 0;
+        for (int i = 0; i < packetDataList.length; i++) {
+            RtcpPacket rtcpPacket = rtcpPacketList.get(i);
+            if (rtcpPacket == null) { continue; }
+
+            packetDataList[i] = rtcpPacket.getData();
+            if (packetDataList[i] != null) {
+                totalLength += packetDataList[i].length;
+            }
+        }
         if (totalLength <= 0) {
             return null;
         }
@@ -37,10 +62,7 @@ public class RtcpCompoundPacket {
         byte[] data = new byte[totalLength];
         int index = 0;
 
-        for (RtcpPacket rtcpPacket : rtcpPacketList) {
-            if (rtcpPacket == null) { continue; }
-
-            byte[] curPacketData = rtcpPacket.getData();
+        for (byte[] curPacketData : packetDataList) {
             if (curPacketData == null) { continue; }
 
             System.arraycopy(curPacketData, 0, data, index, curPacketData.length);
@@ -98,7 +120,15 @@ public class RtcpCompoundPacket {
         int totalSize = 0;
         for (RtcpPacket rtcpPacket : rtcpPacketList) {
             if (rtcpPacket == null) { continue; }
-            totalSize += rtcpPacket.getData().length;
+
+            // 헤더의 length 가 설정되어 있으면 직렬화하지 않고 크기를 계산한다.
+            RtcpHeader rtcpHeader = rtcpPacket.getRtcpHeader();
+            if (rtcpHeader != null && rtcpHeader.getLength() > 0) {
+                totalSize += (rtcpHeader.getLength() + 1) * RtcpPacket.PACKET_MULTIPLE;
+            } else {
+                byte[] data = rtcpPacket.getData();
+                totalSize += data != null ? data.length : 0;
+            }
         }
 
         return totalSize;
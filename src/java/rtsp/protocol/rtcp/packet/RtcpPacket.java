@@ -6,6 +6,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.protocol.rtcp.base.RtcpFormat;
 import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.*;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.base.RtcpPayloadSpecificFeedbackType;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpNegativeAck;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateNotification;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.RtcpTemporaryMaximumMediaStreamBitRateRequest;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.base.RtcpTransportLayerFeedbackType;
 import rtsp.protocol.rtcp.type.regular.*;
 import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
 
@@ -89,10 +95,16 @@ public class RtcpPacket {
         if (data.length >= RtcpHeader.LENGTH_SDES) {
             int headerLength;
             byte[] headerData = new byte[RtcpHeader.LENGTH];
-            System.arraycopy(data, 0, headerData, 0, RtcpHeader.LENGTH);
+            System.arraycopy(data, 0, headerData, 0, Math.min(data.length, RtcpHeader.LENGTH));
             rtcpHeader = new RtcpHeader(headerData);
             headerLength = headerData.length;
 
+            // Feedback 메시지는 Feedback message header (12 bytes) 부터 파싱하므로 패킷 전체를 넘긴다.
+            if (isFeedback(rtcpHeader.getPacketType())) {
+                rtcpFormat = getRtcpFeedbackFormatByByteData(rtcpHeader.getPacketType(), rtcpHeader.getResourceCount(), data);
+                return;
+            }
+
             if (rtcpHeader.getPacketType() == RtcpType.SOURCE_DESCRIPTION) {
                 byte[] sdesHeaderData = new byte[RtcpHeader.LENGTH_SDES];
                 System.arraycopy(data, 0, sdesHeaderData, 0, RtcpHeader.LENGTH_SDES);
@@ -137,11 +149,84 @@ public class RtcpPacket {
         return rtcpFormat;
     }
 
+    /**
+     * @fn public static boolean isFeedback(int packetType)
+     * @brief RTPFB (205) 또는 PSFB (206) 인지 확인하는 함수 (RFC 4585)
+     * @param packetType RTCP Packet type
+     * @return Feedback 메시지이면 true, 아니면 false 반환
+     */
+    public static boolean isFeedback(int packetType) {
+        return packetType == RtcpType.RTPFB || packetType == RtcpType.PSFB;
+    }
+
+    /**
+     * @fn public static RtcpFormat getRtcpFeedbackFormatByByteData(int packetType, int feedbackMessageType, byte[] data)
+     * @brief RTPFB/PSFB 패킷을 FMT 에 따라 Feedback 클래스로 변환하는 함수
+     * @param packetType RTCP Packet type (RTPFB or PSFB)
+     * @param feedbackMessageType FMT (헤더의 RC 자리)
+     * @param data RTCP 헤더를 포함한 패킷 전체 데이터
+     * @return 성공 시 RtcpFormat, 지원하지 않는 FMT 이면 null 반환
+     */
+    public static RtcpFormat getRtcpFeedbackFormatByByteData(int packetType, int feedbackMessageType, byte[] data) {
+        RtcpFormat rtcpFormat = null;
+
+        if (packetType == RtcpType.RTPFB) {
+            switch (feedbackMessageType) {
+                case RtcpTransportLayerFeedbackType.NACK:
+                    rtcpFormat = new RtcpNegativeAck(data);
+                    break;
+                case RtcpTransportLayerFeedbackType.TMMBR:
+                    rtcpFormat = new RtcpTemporaryMaximumMediaStreamBitRateRequest(data);
+                    break;
+                case RtcpTransportLayerFeedbackType.TMMBN:
+                    rtcpFormat = new RtcpTemporaryMaximumMediaStreamBitRateNotification(data);
+                    break;
+                default:
+                    logger.debug("UNKNOWN RTPFB FMT ({})", feedbackMessageType);
+                    break;
+            }
+        } else if (packetType == RtcpType.PSFB) {
+            switch (feedbackMessageType) {
+                case RtcpPayloadSpecificFeedbackType.PLI:
+                    rtcpFormat = new RtcpPictureLossIndication(data);
+                    break;
+                case RtcpPayloadSpecificFeedbackType.SLI:
+                    rtcpFormat = new RtcpSliceLossIndication(data);
+                    break;
+                case RtcpPayloadSpecificFeedbackType.RPSI:
+                    rtcpFormat = new RtcpReferencePictureSelectionIndication(data);
+                    break;
+                case RtcpPayloadSpecificFeedbackType.FIR:
+                    rtcpFormat = new RtcpFullIntraRequest(data);
+                    break;
+                case RtcpPayloadSpecificFeedbackType.TSTR:
+                    rtcpFormat = new RtcpTemporalSpatialTradeoffRequest(data);
+                    break;
+                case RtcpPayloadSpecificFeedbackType.TSTN:
+                    rtcpFormat = new RtcpTemporalSpatialTradeoffNotification(data);
+                    break;
+                case RtcpPayloadSpecificFeedbackType.VBCM:
+                    rtcpFormat = new RtcpVideoBackChannelMessage(data);
+                    break;
+                default:
+                    logger.debug("UNKNOWN PSFB FMT ({})", feedbackMessageType);
+                    break;
+            }
+        }
+
+        return rtcpFormat;
+    }
+
     public byte[] getData() {
         if (rtcpHeader == null || rtcpFormat == null) {
             return null;
         }
 
+        // Feedback 메시지는 Feedback message header 에 RTCP 헤더가 포함되어 있다.
+        if (isFeedback(rtcpHeader.getPacketType())) {
+            return rtcpFormat.getData();
+        }
+
         byte[] data;
         if (rtcpHeader.getPacketType() == RtcpType.SOURCE_DESCRIPTION) {
             data = new byte[RtcpHeader.LENGTH_SDES];
@@ -120,7 +120,7 @@ public class RtcpFeedbackMessageHeader {
             System.arraycopy(data, index, vprcData, 0, ByteUtil.NUM_BYTES_IN_BYTE);
             version = (vprcData[0] >>> 0x06) & 0x03;
             padding = (vprcData[0] >>> 0x05) & 0x01;
-            feedbackMessageType = vprcData[0] & 0x05;
+            feedbackMessageType = vprcData[0] & 0x1F;
             index += ByteUtil.NUM_BYTES_IN_BYTE;
 
             // PT
@@ -2,6 +2,10 @@ package rtsp.protocol.rtcp.type.extended.feedback.payloadspecific;
 
 import rtsp.protocol.rtcp.type.extended.feedback.RtcpFeedback;
 import rtsp.protocol.rtcp.type.extended.feedback.base.RtcpFeedbackMessageHeader;
+import rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.base.RtcpFirEntry;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class RtcpFullIntraRequest extends RtcpFeedback { // Full INTRA-frame Request
 
@@ -91,6 +95,8 @@ public class RtcpFullIntraRequest extends RtcpFeedback { // Full INTRA-frame Req
     // VARIABLES
     public static final int MIN_LENGTH = RtcpFeedbackMessageHeader.LENGTH; // bytes
 
+    private final List<RtcpFirEntry> entryList = new ArrayList<>();
+
 
     ////////////////////////////////////////////////////////////
 
@@ -105,11 +111,54 @@ public class RtcpFullIntraRequest extends RtcpFeedback { // Full INTRA-frame Req
 
     public RtcpFullIntraRequest(byte[] data) {
         super(data);
+
+        if (data.length >= MIN_LENGTH) {
+            int index = 0;
+
+            byte[] headerData = new byte[RtcpFeedbackMessageHeader.LENGTH];
+            System.arraycopy(data, index, headerData, 0, RtcpFeedbackMessageHeader.LENGTH);
+            RtcpFeedbackMessageHeader rtcpFeedbackMessageHeader = new RtcpFeedbackMessageHeader(headerData);
+            setRtcpFeedbackMessageHeader(rtcpFeedbackMessageHeader);
+            index += RtcpFeedbackMessageHeader.LENGTH;
+
+            // FCI
+            while (index + RtcpFirEntry.LENGTH <= data.length) {
+                entryList.add(new RtcpFirEntry(data, index));
+                index += RtcpFirEntry.LENGTH;
+            }
+        }
     }
     ////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
     // FUNCTIONS
+    @Override
+    public byte[] getData() {
+        if (getRtcpFeedbackMessageHeader() == null) { return null; }
+
+        int index = 0;
+        byte[] data = new byte[MIN_LENGTH + (entryList.size() * RtcpFirEntry.LENGTH)];
+
+        byte[] headerData = getRtcpFeedbackMessageHeader().getData();
+        System.arraycopy(headerData, 0, data, index, headerData.length);
+        index += headerData.length;
+
+        for (RtcpFirEntry entry : entryList) {
+            byte[] fciData = entry.getData();
+            System.arraycopy(fciData, 0, data, index, fciData.length);
+            index += fciData.length;
+        }
+
+        return data;
+    }
+
+    public void addEntry(RtcpFirEntry entry) {
+        entryList.add(entry);
+    }
+
+    public List<RtcpFirEntry> getEntryList() {
+        return entryList;
+    }
 
 
     ////////////////////////////////////////////////////////////
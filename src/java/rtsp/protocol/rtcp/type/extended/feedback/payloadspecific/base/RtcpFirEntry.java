@@ -0,0 +1,85 @@
+package rtsp.protocol.rtcp.type.extended.feedback.payloadspecific.base;
+
+public class RtcpFirEntry {
+
+    /**
+     * @Reference https://datatracker.ietf.org/doc/html/rfc5104#section-4.3.1.1
+     *
+     *     0                   1                   2                   3
+     *     0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *    |                              SSRC                             |
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *    | Seq nr.       |    Reserved                                   |
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *
+     *    SSRC (32 bits): The SSRC value of the media sender that is
+     *       requested to send a decoder refresh point.
+     *
+     *    Seq nr. (8 bits): Command sequence number.
+     */
+
+    ////////////////////////////////////////////////////////////
+    // VARIABLES
+    public static final int LENGTH = 8; // bytes
+
+    private long ssrc = 0; // (32 bits)
+    private int seqNum = 0; // (8 bits)
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // CONSTRUCTOR
+    public RtcpFirEntry(long ssrc, int seqNum) {
+        this.ssrc = ssrc & 0xFFFFFFFFL;
+        this.seqNum = seqNum & 0xFF;
+    }
+
+    public RtcpFirEntry() {}
+
+    public RtcpFirEntry(byte[] data, int offset) {
+        if (data.length - offset >= LENGTH) {
+            ssrc = ((data[offset] & 0xFFL) << 24) | ((data[offset + 1] & 0xFFL) << 16)
+                    | ((data[offset + 2] & 0xFFL) << 8) | (data[offset + 3] & 0xFFL);
+            seqNum = data[offset + 4] & 0xFF;
+        }
+    }
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+    public byte[] getData() {
+        byte[] data = new byte[LENGTH];
+        data[0] = (byte) (ssrc >>> 24);
+        data[1] = (byte) (ssrc >>> 16);
+        data[2] = (byte) (ssrc >>> 8);
+        data[3] = (byte) ssrc;
+        data[4] = (byte) seqNum;
+        return data;
+    }
+
+    public long getSsrc() {
+        return ssrc;
+    }
+
+    public void setSsrc(long ssrc) {
+        this.ssrc = ssrc & 0xFFFFFFFFL;
+    }
+
+    public int getSeqNum() {
+        return seqNum;
+    }
+
+    public void setSeqNum(int seqNum) {
+        this.seqNum = seqNum & 0xFF;
+    }
+
+    @Override
+    public String toString() {
+        return "RtcpFirEntry{" +
+                "ssrc=" + ssrc +
+                ", seqNum=" + seqNum +
+                '}';
+    }
+    ////////////////////////////////////////////////////////////
+
+}
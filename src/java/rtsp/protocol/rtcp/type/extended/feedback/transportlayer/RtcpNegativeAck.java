@@ -2,6 +2,10 @@ package rtsp.protocol.rtcp.type.extended.feedback.transportlayer;
 
 import rtsp.protocol.rtcp.type.extended.feedback.RtcpFeedback;
 import rtsp.protocol.rtcp.type.extended.feedback.base.RtcpFeedbackMessageHeader;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.base.RtcpGenericNack;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class RtcpNegativeAck extends RtcpFeedback { // Negative Acknowledgement
 
@@ -33,12 +37,17 @@ public class RtcpNegativeAck extends RtcpFeedback { // Negative Acknowledgement
      *      lost. BLP is set to 0x00001 if the packet corresponding to
      *      the FSN and the following packet have been lost, etc.
      *
+     * - Generic NACK (RFC 4585, PT=RTPFB, FMT=1)
+     *      Feedback message header (12 bytes) 뒤에 FCI (PID + BLP, 4 bytes) 가 하나 이상 붙는다.
+     *      > length 필드로 FCI 개수를 계산한다. (length - 2)
+     *
      */
 
     ////////////////////////////////////////////////////////////
     // VARIABLES
     public static final int MIN_LENGTH = RtcpFeedbackMessageHeader.LENGTH; // bytes
-    
+
+    private final List<RtcpGenericNack> genericNackList = new ArrayList<>();
     ////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
@@ -52,11 +61,68 @@ public class RtcpNegativeAck extends RtcpFeedback { // Negative Acknowledgement
 
     public RtcpNegativeAck(byte[] data) {
         super(data);
+
+        if (data.length >= MIN_LENGTH) {
+            int index = 0;
+
+            byte[] headerData = new byte[RtcpFeedbackMessageHeader.LENGTH];
+            System.arraycopy(data, index, headerData, 0, RtcpFeedbackMessageHeader.LENGTH);
+            RtcpFeedbackMessageHeader rtcpFeedbackMessageHeader = new RtcpFeedbackMessageHeader(headerData);
+            setRtcpFeedbackMessageHeader(rtcpFeedbackMessageHeader);
+            index += RtcpFeedbackMessageHeader.LENGTH;
+
+            // FCI
+            int fciCount = rtcpFeedbackMessageHeader.getLength() - 2;
+            for (int i = 0; i < fciCount && index + RtcpGenericNack.LENGTH <= data.length; i++) {
+                genericNackList.add(new RtcpGenericNack(data, index));
+                index += RtcpGenericNack.LENGTH;
+            }
+        }
     }
     ////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
     // FUNCTIONS
+    @Override
+    public byte[] getData() {
+        if (getRtcpFeedbackMessageHeader() == null) { return null; }
+
+        int index = 0;
+        byte[] data = new byte[MIN_LENGTH + (genericNackList.size() * RtcpGenericNack.LENGTH)];
+
+        byte[] headerData = getRtcpFeedbackMessageHeader().getData();
+        System.arraycopy(headerData, 0, data, index, headerData.length);
+        index += headerData.length;
+
+        for (RtcpGenericNack rtcpGenericNack : genericNackList) {
+            byte[] fciData = rtcpGenericNack.getData();
+            System.arraycopy(fciData, 0, data, index, fciData.length);
+            index += fciData.length;
+        }
+
+        return data;
+    }
+
+    public void addGenericNack(RtcpGenericNack rtcpGenericNack) {
+        genericNackList.add(rtcpGenericNack);
+    }
+
+    public List<RtcpGenericNack> getGenericNackList() {
+        return genericNackList;
+    }
+
+    /**
+     * @fn public List<Integer> getLostSequenceNumberList()
+     * @brief 모든 FCI 가 가리키는 손실된 RTP Sequence number 목록을 반환하는 함수
+     * @return 손실된 RTP Sequence number 목록
+     */
+    public List<Integer> getLostSequenceNumberList() {
+        List<Integer> seqList = new ArrayList<>();
+        for (RtcpGenericNack rtcpGenericNack : genericNackList) {
+            rtcpGenericNack.addLostSequenceNumbers(seqList);
+        }
+        return seqList;
+    }
 
 
     ////////////////////////////////////////////////////////////
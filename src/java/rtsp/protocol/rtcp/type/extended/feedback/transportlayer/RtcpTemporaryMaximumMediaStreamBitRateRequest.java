@@ -2,6 +2,10 @@ package rtsp.protocol.rtcp.type.extended.feedback.transportlayer;
 
 import rtsp.protocol.rtcp.type.extended.feedback.RtcpFeedback;
 import rtsp.protocol.rtcp.type.extended.feedback.base.RtcpFeedbackMessageHeader;
+import rtsp.protocol.rtcp.type.extended.feedback.transportlayer.base.RtcpTmmbrEntry;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class RtcpTemporaryMaximumMediaStreamBitRateRequest extends RtcpFeedback {
 
@@ -317,6 +321,8 @@ public class RtcpTemporaryMaximumMediaStreamBitRateRequest extends RtcpFeedback
     // VARIABLES
     public static final int MIN_LENGTH = RtcpFeedbackMessageHeader.LENGTH; // bytes
 
+    private final List<RtcpTmmbrEntry> entryList = new ArrayList<>();
+
 
     ////////////////////////////////////////////////////////////
 
@@ -331,11 +337,54 @@ public class RtcpTemporaryMaximumMediaStreamBitRateRequest extends RtcpFeedback
 
     public RtcpTemporaryMaximumMediaStreamBitRateRequest(byte[] data) {
         super(data);
+
+        if (data.length >= MIN_LENGTH) {
+            int index = 0;
+
+            byte[] headerData = new byte[RtcpFeedbackMessageHeader.LENGTH];
+            System.arraycopy(data, index, headerData, 0, RtcpFeedbackMessageHeader.LENGTH);
+            RtcpFeedbackMessageHeader rtcpFeedbackMessageHeader = new RtcpFeedbackMessageHeader(headerData);
+            setRtcpFeedbackMessageHeader(rtcpFeedbackMessageHeader);
+            index += RtcpFeedbackMessageHeader.LENGTH;
+
+            // FCI
+            while (index + RtcpTmmbrEntry.LENGTH <= data.length) {
+                entryList.add(new RtcpTmmbrEntry(data, index));
+                index += RtcpTmmbrEntry.LENGTH;
+            }
+        }
     }
     ////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
     // FUNCTIONS
+    @Override
+    public byte[] getData() {
+        if (getRtcpFeedbackMessageHeader() == null) { return null; }
+
+        int index = 0;
+        byte[] data = new byte[MIN_LENGTH + (entryList.size() * RtcpTmmbrEntry.LENGTH)];
+
+        byte[] headerData = getRtcpFeedbackMessageHeader().getData();
+        System.arraycopy(headerData, 0, data, index, headerData.length);
+        index += headerData.length;
+
+        for (RtcpTmmbrEntry entry : entryList) {
+            byte[] fciData = entry.getData();
+            System.arraycopy(fciData, 0, data, index, fciData.length);
+            index += fciData.length;
+        }
+
+        return data;
+    }
+
+    public void addEntry(RtcpTmmbrEntry entry) {
+        entryList.add(entry);
+    }
+
+    public List<RtcpTmmbrEntry> getEntryList() {
+        return entryList;
+    }
 
 
     ////////////////////////////////////////////////////////////
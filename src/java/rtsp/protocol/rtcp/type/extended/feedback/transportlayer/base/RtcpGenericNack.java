@@ -0,0 +1,104 @@
+package rtsp.protocol.rtcp.type.extended.feedback.transportlayer.base;
+
+import rtsp.protocol.base.ByteUtil;
+
+import java.util.List;
+
+public class RtcpGenericNack {
+
+    /**
+     * @Reference https://datatracker.ietf.org/doc/html/rfc4585#section-6.2.1
+     *
+     *     0                   1                   2                   3
+     *     0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *    |            PID                |             BLP               |
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *
+     *    Packet ID (PID): 16 bits
+     *       The PID field is used to specify a lost packet.
+     *
+     *    bitmask of following lost packets (BLP): 16 bits
+     *       The BLP allows for reporting losses of any of the 16 RTP packets
+     *       immediately following the RTP packet indicated by the PID.
+     */
+
+    ////////////////////////////////////////////////////////////
+    // VARIABLES
+    public static final int LENGTH = 4; // bytes
+
+    private int pid = 0; // (16 bits)
+    private int blp = 0; // (16 bits)
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // CONSTRUCTOR
+    public RtcpGenericNack(int pid, int blp) {
+        this.pid = pid & 0xFFFF;
+        this.blp = blp & 0xFFFF;
+    }
+
+    public RtcpGenericNack() {}
+
+    public RtcpGenericNack(byte[] data, int offset) {
+        if (data.length - offset >= LENGTH) {
+            pid = ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+            blp = ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+        }
+    }
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+    public byte[] getData() {
+        byte[] data = new byte[LENGTH];
+
+        byte[] pidData = ByteUtil.shortToBytes((short) pid, true);
+        System.arraycopy(pidData, 0, data, 0, ByteUtil.NUM_BYTES_IN_SHORT);
+
+        byte[] blpData = ByteUtil.shortToBytes((short) blp, true);
+        System.arraycopy(blpData, 0, data, ByteUtil.NUM_BYTES_IN_SHORT, ByteUtil.NUM_BYTES_IN_SHORT);
+
+        return data;
+    }
+
+    /**
+     * @fn public void addLostSequenceNumbers(List<Integer> seqList)
+     * @brief PID 와 BLP 가 가리키는 손실된 RTP Sequence number 를 목록에 추가하는 함수
+     * @param seqList 손실된 RTP Sequence number 목록
+     */
+    public void addLostSequenceNumbers(List<Integer> seqList) {
+        seqList.add(pid);
+        for (int i = 0; i < 16; i++) {
+            if ((blp & (1 << i)) != 0) {
+                seqList.add((pid + i + 1) & 0xFFFF);
+            }
+        }
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public void setPid(int pid) {
+        this.pid = pid & 0xFFFF;
+    }
+
+    public int getBlp() {
+        return blp;
+    }
+
+    public void setBlp(int blp) {
+        this.blp = blp & 0xFFFF;
+    }
+
+    @Override
+    public String toString() {
+        return "RtcpGenericNack{" +
+                "pid=" + pid +
+                ", blp=" + blp +
+                '}';
+    }
+    ////////////////////////////////////////////////////////////
+
+}
@@ -0,0 +1,107 @@
+package rtsp.protocol.rtcp.type.extended.feedback.transportlayer.base;
+
+public class RtcpTmmbrEntry {
+
+    /**
+     * @Reference https://datatracker.ietf.org/doc/html/rfc5104#section-4.2.1.1
+     *
+     *     0                   1                   2                   3
+     *     0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *    |                              SSRC                             |
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *    | MxTBR Exp |  MxTBR Mantissa                 |Measured Overhead|
+     *    +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     *
+     *    MxTBR (bps) = Mantissa * 2^Exp
+     *
+     *    Measured Overhead (9 bits): per-packet overhead in bytes.
+     */
+
+    ////////////////////////////////////////////////////////////
+    // VARIABLES
+    public static final int LENGTH = 8; // bytes
+
+    private long ssrc = 0; // (32 bits)
+    private int exp = 0; // (6 bits)
+    private int mantissa = 0; // (17 bits)
+    private int measuredOverhead = 0; // (9 bits)
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // CONSTRUCTOR
+    public RtcpTmmbrEntry(long ssrc, int exp, int mantissa, int measuredOverhead) {
+        this.ssrc = ssrc & 0xFFFFFFFFL;
+        this.exp = exp & 0x3F;
+        this.mantissa = mantissa & 0x1FFFF;
+        this.measuredOverhead = measuredOverhead & 0x1FF;
+    }
+
+    public RtcpTmmbrEntry() {}
+
+    public RtcpTmmbrEntry(byte[] data, int offset) {
+        if (data.length - offset >= LENGTH) {
+            ssrc = ((data[offset] & 0xFFL) << 24) | ((data[offset + 1] & 0xFFL) << 16)
+                    | ((data[offset + 2] & 0xFFL) << 8) | (data[offset + 3] & 0xFFL);
+            int value = ((data[offset + 4] & 0xFF) << 24) | ((data[offset + 5] & 0xFF) << 16)
+                    | ((data[offset + 6] & 0xFF) << 8) | (data[offset + 7] & 0xFF);
+            exp = (value >>> 26) & 0x3F;
+            mantissa = (value >>> 9) & 0x1FFFF;
+            measuredOverhead = value & 0x1FF;
+        }
+    }
+    ////////////////////////////////////////////////////////////
+
+    ////////////////////////////////////////////////////////////
+    // FUNCTIONS
+    public byte[] getData() {
+        byte[] data = new byte[LENGTH];
+        data[0] = (byte) (ssrc >>> 24);
+        data[1] = (byte) (ssrc >>> 16);
+        data[2] = (byte) (ssrc >>> 8);
+        data[3] = (byte) ssrc;
+
+        int value = (exp << 26) | (mantissa << 9) | measuredOverhead;
+        data[4] = (byte) (value >>> 24);
+        data[5] = (byte) (value >>> 16);
+        data[6] = (byte) (value >>> 8);
+        data[7] = (byte) value;
+        return data;
+    }
+
+    /**
+     * @fn public long getMaxBitrate()
+     * @brief 요청된 최대 전송 비트레이트를 반환하는 함수
+     * @return MxTBR (bps)
+     */
+    public long getMaxBitrate() {
+        return ((long) mantissa) << exp;
+    }
+
+    public long getSsrc() {
+        return ssrc;
+    }
+
+    public int getExp() {
+        return exp;
+    }
+
+    public int getMantissa() {
+        return mantissa;
+    }
+
+    public int getMeasuredOverhead() {
+        return measuredOverhead;
+    }
+
+    @Override
+    public String toString() {
+        return "RtcpTmmbrEntry{" +
+                "ssrc=" + ssrc +
+                ", maxBitrate=" + getMaxBitrate() +
+                ", measuredOverhead=" + measuredOverhead +
+                '}';
+    }
+    ////////////////////////////////////////////////////////////
+
+}
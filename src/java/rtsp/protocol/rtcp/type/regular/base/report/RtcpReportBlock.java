@@ -157,10 +157,7 @@ public class RtcpReportBlock {
         index += ssrcData.length;
 
         // F & C
-        int fc = 0;
-        fc |= fraction;
-        fc <<= 0x24;
-        fc |= cnpl;
+        int fc = ((fraction & 0xFF) << 24) | (cnpl & 0xFFFFFF);
         byte[] fcData = ByteUtil.intToBytes(fc, true);
         System.arraycopy(fcData, 0, data, index, fcData.length);
         index += fcData.length;
@@ -342,7 +342,8 @@ public class RtcpUnit {
     }
 
     private boolean updateSequence(int sequence) {
-        int delta = Math.abs(sequence - this.highestSequence);
+        // 16 bits 순서 번호의 차이 (RFC 3550, A.1 udelta), 순서 번호가 0 으로 돌아가도 연속으로 계산된다.
+        int delta = (sequence - this.highestSequence) & (RTP_SEQ_MOD - 1);
 
         /*
          * Source is not valid until MIN_SEQUENTIAL packets with
@@ -350,7 +351,7 @@ public class RtcpUnit {
          */
         if (this.probation > 0) {
             // packet is in sequence
-            if (sequence == this.highestSequence + 1) {
+            if (sequence == ((this.highestSequence + 1) & (RTP_SEQ_MOD - 1))) {
                 this.probation--;
                 this.highestSequence = sequence;
 
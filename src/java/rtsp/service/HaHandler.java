@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import rtsp.module.RtspManager;
 import rtsp.module.netty.NettyChannelManager;
 import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.schedule.ScheduleManager;
 import rtsp.system.SystemManager;
 
 import java.util.concurrent.TimeUnit;
@@ -18,8 +19,12 @@ public class HaHandler extends Job {
 
     private static final Logger logger = LoggerFactory.getLogger(HaHandler.class);
 
+    private static final int METRICS_SUMMARY_RUN_COUNT = 60; // 스케줄러 통계 요약 출력 주기 (실행 횟수)
+
     private final NettyChannelManager nettyChannelManager = NettyChannelManager.getInstance();
 
+    private int runCount = 0;
+
     ////////////////////////////////////////////////////////////////////////////////
 
     public HaHandler(String name, int initialDelay, int interval, TimeUnit timeUnit, int priority, int totalRunCount, boolean isLasted) {
@@ -39,6 +44,26 @@ public class HaHandler extends Job {
                 cpuUsageStr, memoryUsageStr, Thread.activeCount(),
                 RtspManager.getInstance().getRtspUnitMapSize()
         );
+
+        if (++runCount >= METRICS_SUMMARY_RUN_COUNT) {
+            runCount = 0;
+            printScheduleMetrics();
+        }
+    }
+
+    /**
+     * @fn private void printScheduleMetrics()
+     * @brief ScheduleUnit 별 큐 길이와 Job 대기/실행 시간 통계를 출력하는 함수
+     */
+    private void printScheduleMetrics() {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+
+        ScheduleManager scheduleManager = ServiceManager.getInstance().getScheduleManager();
+        for (String summary : scheduleManager.getMetricsSummary()) {
+            logger.debug("| SCHEDULE | {}", summary);
+        }
     }
 
 }
@@ -20,6 +20,7 @@ public class ResourceManager {
     private int targetRtpPortMin = 0;
     private int targetRtpPortMax = 0;
     private final int portGap = 2;
+    private int portCount = 0;
 
     ////////////////////////////////////////////////////////////////////////////////
 
@@ -45,6 +46,7 @@ public class ResourceManager {
         for (int idx = targetRtpPortMin; idx <= targetRtpPortMax; idx += portGap) {
             try {
                 channelQueues.add(idx);
+                portCount++;
             } catch (Exception e) {
                 logger.error("Exception to RTP port resource in Queue", e);
                 return;
@@ -58,6 +60,7 @@ public class ResourceManager {
 
     public void releaseResource () {
         channelQueues.clear();
+        portCount = 0;
         logger.info("Release RTP port resource in Queue. (port range: {} - {}, gap={})",
                 targetRtpPortMin, targetRtpPortMax, portGap
         );
@@ -101,4 +104,15 @@ public class ResourceManager {
         }
     }
 
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public int getPortCount() {
+        return portCount;
+    }
+
+    // ConcurrentLinkedQueue.size() 는 O(n) 이므로 송신 경로에서는 호출하지 않는다.
+    public int getFreePortCount() {
+        return channelQueues.size();
+    }
+
 }
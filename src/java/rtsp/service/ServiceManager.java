@@ -1,11 +1,10 @@
 package rtsp.service;
 
-import com.fsm.module.StateHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.config.ConfigManager;
 import rtsp.fsm.RtspEvent;
-import rtsp.fsm.RtspState;
+import rtsp.fsm.RtspFsmManager;
 import rtsp.module.RtspManager;
 import rtsp.module.base.RtspUnit;
 import rtsp.module.netty.NettyChannelManager;
@@ -83,6 +82,18 @@ public class ServiceManager {
             );
         }
 
+        if (!NettyChannelManager.getInstance().openRtspServerChannel()) {
+            logger.warn("Fail to open the shared rtsp server channel.");
+            return false;
+        }
+        if (!NettyChannelManager.getInstance().openRtcpChannel()) {
+            logger.warn("Fail to open the shared rtcp channel. RTCP is disabled.");
+        }
+        if (configManager.getLocalMetricsListenPort() > 0
+                && !NettyChannelManager.getInstance().openMetricsChannel()) {
+            logger.warn("Fail to open the metrics channel. Metrics endpoint is disabled.");
+        }
+
         if (configManager.isExternalClientAccess()) {
             externalClientRtspUnitId = UUID.randomUUID().toString();
             RtspManager.getInstance().openRtspUnit(
@@ -96,12 +107,9 @@ public class ServiceManager {
                 logger.warn("Fail to create the external client's rtsp unit.");
                 return false;
             }
+            RtspManager.getInstance().setDefaultRtspUnitId(externalClientRtspUnitId);
 
-            StateHandler rtspStateHandler = rtspUnit.getStateManager().getStateHandler(RtspState.NAME);
-            rtspStateHandler.fire(
-                    RtspEvent.REGISTER,
-                    rtspUnit.getStateManager().getStateUnit(rtspUnit.getRtspStateUnitId())
-            );
+            RtspFsmManager.fire(RtspEvent.REGISTER, rtspUnit);
         }
 
         ResourceManager.getInstance().initResource();
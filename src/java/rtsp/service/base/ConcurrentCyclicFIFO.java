@@ -7,7 +7,9 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * @class public class ConcurrentCyclicFIFO<E>
  * @brief Concurrent Cyclic FIFO queue class
+ * @deprecated offer 마다 노드를 만들고 잠금을 잡는다. 스레드 간 전달에는 SpscRingQueue / MpscRingQueue 를 사용한다.
  */
+@Deprecated
 public class ConcurrentCyclicFIFO<E> {
 
     static class Node<E> {
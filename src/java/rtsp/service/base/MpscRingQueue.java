@@ -0,0 +1,92 @@
+package rtsp.service.base;
+
+import java.util.function.Consumer;
+
+/**
+ * @class public class MpscRingQueue<E> extends RingQueue<E>
+ * @brief 생산자 여러 개, 소비자 하나용 Lock-free 고정 크기 큐 클래스
+ *
+ * - 생산자는 CAS 로 위치를 먼저 차지한 후 원소를 쓴다.
+ *      > 소비자는 위치는 차지되었지만 아직 원소가 쓰이지 않은 칸을 만나면 쓰일 때까지 잠깐 기다린다.
+ * - 소비자는 칸을 비운 후 위치를 올리므로, 생산자는 소비자 위치만 보고 칸이 비었는지 알 수 있다.
+ * ex) 여러 EventLoop/JobExecutor 스레드 > 송신 스레드 하나로 모으는 경우
+ */
+public class MpscRingQueue<E> extends RingQueue<E> {
+
+    public MpscRingQueue(int capacity) {
+        super(capacity);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        long tail;
+        do {
+            tail = producerIndex.get();
+            long wrapPoint = tail - capacity;
+            if (wrapPoint >= producerIndex.cachedIndex) {
+                long head = consumerIndex.get();
+                if (wrapPoint >= head) {
+                    return false;
+                }
+                producerIndex.cachedIndex = head;
+            }
+        } while (!producerIndex.compareAndSet(tail, tail + 1));
+
+        buffer.lazySet(indexOf(tail), e);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long head = consumerIndex.get();
+        int index = indexOf(head);
+        E e = buffer.get(index);
+        if (e == null) {
+            if (head == producerIndex.get()) {
+                return null;
+            }
+
+            // 생산자가 위치를 차지했지만 아직 원소를 쓰지 않았다.
+            do {
+                e = buffer.get(index);
+            } while (e == null);
+        }
+
+        buffer.lazySet(index, null);
+        consumerIndex.lazySet(head + 1);
+        return e;
+    }
+
+    @Override
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long head = consumerIndex.get();
+        int count = 0;
+        try {
+            while (count < limit) {
+                int index = indexOf(head + count);
+                E e = buffer.get(index);
+                if (e == null) {
+                    // 비었거나 아직 쓰는 중인 칸에서 멈춘다. (다음 drain 에서 이어서 꺼낸다.)
+                    break;
+                }
+
+                buffer.lazySet(index, null);
+                count++;
+                consumer.accept(e);
+            }
+        } finally {
+            if (count > 0) {
+                // 위치는 마지막에 한 번만 올린다.
+                consumerIndex.lazySet(head + count);
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,26 @@
+package rtsp.service.base;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class class RingIndex extends AtomicLong
+ * @brief RingQueue 의 생산자/소비자 위치 클래스 (Cache line padding)
+ *
+ * - 생산자 위치와 소비자 위치가 같은 cache line 에 있으면 서로 쓸 때마다 상대 코어의 cache 가 무효화된다. (False sharing)
+ *      > 값 뒤에 64 bytes 이상을 채워서 다음 객체와 cache line 을 나누지 않도록 한다.
+ * - cachedIndex : 이 위치를 쓰는 쪽이 마지막으로 읽은 반대쪽 위치 (반대쪽 volatile 읽기를 줄인다.)
+ */
+class RingIndex extends AtomicLong {
+
+    private static final long serialVersionUID = 1L;
+
+    volatile long cachedIndex = 0;
+
+    // Padding (사용하지 않는다.)
+    long p1, p2, p3, p4, p5, p6, p7;
+
+    RingIndex() {
+        super(0);
+    }
+
+}
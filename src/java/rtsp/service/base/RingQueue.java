@@ -0,0 +1,114 @@
+package rtsp.service.base;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * @class public abstract class RingQueue<E>
+ * @brief 배열 기반 Lock-free 고정 크기 큐 클래스
+ *
+ * - 크기는 2 의 거듭제곱으로 올려서 잡고, 위치는 계속 증가하는 long 값을 mask 로 잘라서 사용한다.
+ * - offer() 는 노드를 만들지 않고 잠금도 잡지 않는다. 큐가 가득 차면 기다리지 않고 false 를 반환한다.
+ * - drain() 으로 쌓인 원소를 한 번에 꺼낼 수 있다.
+ * - 소비자는 하나여야 한다. (poll, drain, clear 는 같은 스레드에서 호출)
+ */
+public abstract class RingQueue<E> {
+
+    protected final int capacity;
+    protected final int mask;
+    protected final AtomicReferenceArray<E> buffer;
+
+    protected final RingIndex producerIndex = new RingIndex(); // 다음에 넣을 위치
+    protected final RingIndex consumerIndex = new RingIndex(); // 다음에 꺼낼 위치
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    protected RingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive. (" + capacity + ")");
+        }
+
+        this.capacity = roundToPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public abstract boolean offer(E e)
+     * @brief 원소를 넣는 함수
+     * @param e 원소 (null 불가)
+     * @return 큐가 가득 찼으면 false 반환
+     */
+    public abstract boolean offer(E e);
+
+    /**
+     * @fn public abstract E poll()
+     * @brief 원소를 꺼내는 함수 (소비자 스레드 전용)
+     * @return 원소, 큐가 비었으면 null 반환
+     */
+    public abstract E poll();
+
+    /**
+     * @fn public abstract int drain(Consumer<? super E> consumer, int limit)
+     * @brief 쌓인 원소를 최대 limit 개까지 한 번에 꺼내는 함수 (소비자 스레드 전용)
+     * @param consumer 꺼낸 원소를 처리할 함수
+     * @param limit 최대 개수
+     * @return 꺼낸 개수
+     */
+    public abstract int drain(Consumer<? super E> consumer, int limit);
+
+    public int drain(Consumer<? super E> consumer) {
+        return drain(consumer, capacity);
+    }
+
+    /**
+     * @fn public void clear()
+     * @brief 쌓인 원소를 모두 버리는 함수 (소비자 스레드 전용)
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Nothing
+        }
+    }
+
+    public int size() {
+        // 소비자 위치를 먼저 읽어야 생산자 위치보다 커지지 않는다.
+        long head = consumerIndex.get();
+        long tail = producerIndex.get();
+        long size = tail - head;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    public boolean isEmpty() {
+        return consumerIndex.get() >= producerIndex.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    protected final int indexOf(long position) {
+        return (int) position & mask;
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("capacity is too large. (" + value + ")");
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+
+}
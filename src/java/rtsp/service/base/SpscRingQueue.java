@@ -0,0 +1,82 @@
+package rtsp.service.base;
+
+import java.util.function.Consumer;
+
+/**
+ * @class public class SpscRingQueue<E> extends RingQueue<E>
+ * @brief 생산자 하나, 소비자 하나용 Lock-free 고정 크기 큐 클래스
+ *
+ * - 생산자는 원소를 먼저 쓰고 위치를 나중에 올린다. (lazySet, store-store 순서만 보장하면 된다.)
+ * - 생산자와 소비자는 반대쪽 위치를 마지막으로 읽은 값(cachedIndex)으로 먼저 판단하고, 부족할 때만 다시 읽는다.
+ * ex) 파일을 읽는 스레드 > 송신 스레드 사이의 패킷 전달
+ */
+public class SpscRingQueue<E> extends RingQueue<E> {
+
+    public SpscRingQueue(int capacity) {
+        super(capacity);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        long tail = producerIndex.get();
+        if (tail - producerIndex.cachedIndex >= capacity) {
+            producerIndex.cachedIndex = consumerIndex.get();
+            if (tail - producerIndex.cachedIndex >= capacity) {
+                return false;
+            }
+        }
+
+        buffer.lazySet(indexOf(tail), e);
+        producerIndex.lazySet(tail + 1);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long head = consumerIndex.get();
+        if (head >= consumerIndex.cachedIndex) {
+            consumerIndex.cachedIndex = producerIndex.get();
+            if (head >= consumerIndex.cachedIndex) {
+                return null;
+            }
+        }
+
+        int index = indexOf(head);
+        E e = buffer.get(index);
+        buffer.lazySet(index, null);
+        consumerIndex.lazySet(head + 1);
+        return e;
+    }
+
+    @Override
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long head = consumerIndex.get();
+        long available = producerIndex.get() - head;
+        int count = (int) Math.min(available, limit);
+        if (count <= 0) {
+            return 0;
+        }
+
+        int drained = 0;
+        try {
+            while (drained < count) {
+                int index = indexOf(head + drained);
+                E e = buffer.get(index);
+                buffer.lazySet(index, null);
+                drained++;
+                consumer.accept(e);
+            }
+        } finally {
+            // 위치는 마지막에 한 번만 올린다.
+            consumerIndex.lazySet(head + drained);
+        }
+        return drained;
+    }
+
+}
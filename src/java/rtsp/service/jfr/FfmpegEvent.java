@@ -0,0 +1,28 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class FfmpegEvent extends Event
+ * @brief ffmpeg, ffprobe 실행 시간 JFR 이벤트
+ */
+@Name("rtsp.Ffmpeg")
+@Label("FFmpeg Invocation")
+@Category({"JRTSP", "Media"})
+@Description("ffmpeg or ffprobe process run by FfmpegManager")
+public class FfmpegEvent extends Event {
+
+    @Label("Tool")
+    @Description("ffmpeg or ffprobe")
+    public String tool;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Success")
+    public boolean success;
+
+}
@@ -0,0 +1,28 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class FsmTransitionEvent extends Event
+ * @brief RtspUnit 의 FSM 상태 천이 JFR 이벤트
+ */
+@Name("rtsp.FsmTransition")
+@Label("FSM Transition")
+@Category({"JRTSP", "RTSP"})
+@Description("RTSP state machine event fired on an RtspUnit")
+@StackTrace(false)
+public class FsmTransitionEvent extends Event {
+
+    @Label("RTSP Unit Id")
+    public String rtspUnitId;
+
+    @Label("Event")
+    public String event;
+
+    @Label("From State")
+    public String fromState;
+
+    @Label("To State")
+    public String toState;
+
+}
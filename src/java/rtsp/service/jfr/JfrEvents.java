@@ -0,0 +1,149 @@
+package rtsp.service.jfr;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class JfrEvents
+ * @brief 미디어 파이프라인의 JFR (Java Flight Recorder) 이벤트를 기록하는 클래스
+ *
+ * - jdk.jfr 가 없는 JVM (JDK 8u262 이전) 에서도 동작하도록 이벤트 클래스는 JfrRecorder 에서만 참조한다.
+ *      > 호출하는 쪽은 begin 함수가 반환한 객체 (Object) 를 commit 함수에 그대로 넘긴다.
+ *      > JFR 을 사용할 수 없거나 녹화 중이 아니면 begin 함수는 null 을 반환하고, commit 함수는 아무것도 하지 않는다.
+ * - 녹화 예시
+ *      > java -XX:StartFlightRecording=filename=rtsp.jfr,settings=profile ...
+ *      > jcmd <pid> JFR.start name=rtsp duration=60s filename=rtsp.jfr
+ *      > 이벤트 이름은 rtsp.* (jfr print --events rtsp.SegmentRead rtsp.jfr)
+ */
+public class JfrEvents {
+
+    // 이 시간 이상 늦게 깨어난 PCR pacing 대기만 기록한다.
+    public static final long OVERSLEEP_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    public static final String TOOL_FFMPEG = "ffmpeg";
+    public static final String TOOL_FFPROBE = "ffprobe";
+
+    private static final boolean IS_AVAILABLE = checkAvailable();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private JfrEvents() {
+        // Nothing
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return IS_AVAILABLE;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public static Object beginRtspMethod() {
+        return IS_AVAILABLE ? JfrRecorder.beginRtspMethod() : null;
+    }
+
+    /**
+     * @fn public static void commitRtspMethod(Object event, String method, String rtspUnitId, String sessionId, String cSeq)
+     * @brief RTSP 요청 처리 이벤트를 기록하는 함수
+     * @param event beginRtspMethod() 반환 값
+     * @param method RTSP Method
+     * @param rtspUnitId RtspUnit ID (모르면 null)
+     * @param sessionId Session ID (모르면 null)
+     * @param cSeq CSeq
+     */
+    public static void commitRtspMethod(Object event, String method, String rtspUnitId, String sessionId, String cSeq) {
+        if (event != null) {
+            JfrRecorder.commitRtspMethod(event, method, rtspUnitId, sessionId, cSeq);
+        }
+    }
+
+    public static Object beginFfmpeg() {
+        return IS_AVAILABLE ? JfrRecorder.beginFfmpeg() : null;
+    }
+
+    /**
+     * @fn public static void commitFfmpeg(Object event, String tool, String operation, String path, boolean isSuccess)
+     * @brief ffmpeg, ffprobe 실행 이벤트를 기록하는 함수
+     * @param event beginFfmpeg() 반환 값
+     * @param tool TOOL_FFMPEG 또는 TOOL_FFPROBE
+     * @param operation 작업 이름 (ex. hls, fps, tbn)
+     * @param path 입력 파일 경로
+     * @param isSuccess 성공 여부
+     */
+    public static void commitFfmpeg(Object event, String tool, String operation, String path, boolean isSuccess) {
+        if (event != null) {
+            JfrRecorder.commitFfmpeg(event, tool, operation, path, isSuccess);
+        }
+    }
+
+    public static Object beginSegmentOpen() {
+        return IS_AVAILABLE ? JfrRecorder.beginSegmentOpen() : null;
+    }
+
+    public static void commitSegmentOpen(Object event, String rtspUnitId, String sessionId, String path, long fileSize) {
+        if (event != null) {
+            JfrRecorder.commitSegmentOpen(event, rtspUnitId, sessionId, path, fileSize);
+        }
+    }
+
+    public static Object beginSegmentRead() {
+        return IS_AVAILABLE ? JfrRecorder.beginSegmentRead() : null;
+    }
+
+    public static void commitSegmentRead(Object event, String rtspUnitId, String sessionId, int segmentIndex, int bytesRead) {
+        if (event != null) {
+            JfrRecorder.commitSegmentRead(event, rtspUnitId, sessionId, segmentIndex, bytesRead);
+        }
+    }
+
+    public static Object beginPacingSleep() {
+        return IS_AVAILABLE ? JfrRecorder.beginPacingSleep() : null;
+    }
+
+    /**
+     * @fn public static void commitPacingSleep(Object event, String rtspUnitId, String sessionId, long plannedSleep, long actualSleep)
+     * @brief PCR pacing 대기가 OVERSLEEP_THRESHOLD_NANOS 이상 늦게 끝났으면 이벤트를 기록하는 함수
+     * @param event beginPacingSleep() 반환 값
+     * @param rtspUnitId RtspUnit ID
+     * @param sessionId Session ID
+     * @param plannedSleep 예정 대기 시간 (ns)
+     * @param actualSleep 실제 대기 시간 (ns)
+     */
+    public static void commitPacingSleep(Object event, String rtspUnitId, String sessionId, long plannedSleep, long actualSleep) {
+        long oversleep = actualSleep - plannedSleep;
+        if (event != null && oversleep >= OVERSLEEP_THRESHOLD_NANOS) {
+            JfrRecorder.commitPacingSleep(event, rtspUnitId, sessionId, plannedSleep, oversleep);
+        }
+    }
+
+    /**
+     * @fn public static void sendBufferFull(String sessionId, String egress, long pendingBytes)
+     * @brief RTP 송신 버퍼가 가득 찬 이벤트를 기록하는 함수 (가득 찬 상태로 바뀔 때 한 번 호출)
+     * @param sessionId Session ID
+     * @param egress RtpEgress 이름
+     * @param pendingBytes 송신 대기 중인 바이트 수 (모르면 -1)
+     */
+    public static void sendBufferFull(String sessionId, String egress, long pendingBytes) {
+        if (IS_AVAILABLE) {
+            JfrRecorder.sendBufferFull(sessionId, egress, pendingBytes);
+        }
+    }
+
+    public static Object beginFsmTransition() {
+        return IS_AVAILABLE ? JfrRecorder.beginFsmTransition() : null;
+    }
+
+    public static void commitFsmTransition(Object event, String rtspUnitId, String fsmEvent, String fromState, String toState) {
+        if (event != null) {
+            JfrRecorder.commitFsmTransition(event, rtspUnitId, fsmEvent, fromState, toState);
+        }
+    }
+
+}
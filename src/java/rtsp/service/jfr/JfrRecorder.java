@@ -0,0 +1,174 @@
+package rtsp.service.jfr;
+
+/**
+ * @class class JfrRecorder
+ * @brief jdk.jfr 이벤트를 직접 생성하는 클래스 (JfrEvents 에서 JFR 을 사용할 수 있을 때만 로딩된다.)
+ *
+ * - 이벤트 종류마다 Probe 객체 하나로 isEnabled() 를 확인한다. (이벤트 활성화 여부는 객체가 아닌 클래스 단위)
+ *      > JFR 녹화가 없거나 이벤트가 꺼져 있으면 이벤트 객체를 만들지 않는다.
+ */
+final class JfrRecorder {
+
+    private static final RtspMethodEvent RTSP_METHOD_PROBE = new RtspMethodEvent();
+    private static final FfmpegEvent FFMPEG_PROBE = new FfmpegEvent();
+    private static final SegmentOpenEvent SEGMENT_OPEN_PROBE = new SegmentOpenEvent();
+    private static final SegmentReadEvent SEGMENT_READ_PROBE = new SegmentReadEvent();
+    private static final PacingOversleepEvent PACING_OVERSLEEP_PROBE = new PacingOversleepEvent();
+    private static final SendBufferFullEvent SEND_BUFFER_FULL_PROBE = new SendBufferFullEvent();
+    private static final FsmTransitionEvent FSM_TRANSITION_PROBE = new FsmTransitionEvent();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private JfrRecorder() {
+        // Nothing
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    static Object beginRtspMethod() {
+        if (!RTSP_METHOD_PROBE.isEnabled()) {
+            return null;
+        }
+
+        RtspMethodEvent event = new RtspMethodEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitRtspMethod(Object handle, String method, String rtspUnitId, String sessionId, String cSeq) {
+        RtspMethodEvent event = (RtspMethodEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.rtspUnitId = rtspUnitId;
+            event.sessionId = sessionId;
+            event.cSeq = cSeq;
+            event.commit();
+        }
+    }
+
+    static Object beginFfmpeg() {
+        if (!FFMPEG_PROBE.isEnabled()) {
+            return null;
+        }
+
+        FfmpegEvent event = new FfmpegEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitFfmpeg(Object handle, String tool, String operation, String path, boolean isSuccess) {
+        FfmpegEvent event = (FfmpegEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.tool = tool;
+            event.operation = operation;
+            event.path = path;
+            event.success = isSuccess;
+            event.commit();
+        }
+    }
+
+    static Object beginSegmentOpen() {
+        if (!SEGMENT_OPEN_PROBE.isEnabled()) {
+            return null;
+        }
+
+        SegmentOpenEvent event = new SegmentOpenEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSegmentOpen(Object handle, String rtspUnitId, String sessionId, String path, long fileSize) {
+        SegmentOpenEvent event = (SegmentOpenEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.rtspUnitId = rtspUnitId;
+            event.sessionId = sessionId;
+            event.path = path;
+            event.fileSize = fileSize;
+            event.commit();
+        }
+    }
+
+    static Object beginSegmentRead() {
+        if (!SEGMENT_READ_PROBE.isEnabled()) {
+            return null;
+        }
+
+        SegmentReadEvent event = new SegmentReadEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSegmentRead(Object handle, String rtspUnitId, String sessionId, int segmentIndex, int bytesRead) {
+        SegmentReadEvent event = (SegmentReadEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.rtspUnitId = rtspUnitId;
+            event.sessionId = sessionId;
+            event.segmentIndex = segmentIndex;
+            event.bytesRead = bytesRead;
+            event.commit();
+        }
+    }
+
+    static Object beginPacingSleep() {
+        if (!PACING_OVERSLEEP_PROBE.isEnabled()) {
+            return null;
+        }
+
+        PacingOversleepEvent event = new PacingOversleepEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitPacingSleep(Object handle, String rtspUnitId, String sessionId, long plannedSleep, long oversleep) {
+        PacingOversleepEvent event = (PacingOversleepEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.rtspUnitId = rtspUnitId;
+            event.sessionId = sessionId;
+            event.plannedSleep = plannedSleep;
+            event.oversleep = oversleep;
+            event.commit();
+        }
+    }
+
+    static void sendBufferFull(String sessionId, String egress, long pendingBytes) {
+        if (!SEND_BUFFER_FULL_PROBE.isEnabled()) {
+            return;
+        }
+
+        SendBufferFullEvent event = new SendBufferFullEvent();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.egress = egress;
+            event.pendingBytes = pendingBytes;
+            event.commit();
+        }
+    }
+
+    static Object beginFsmTransition() {
+        if (!FSM_TRANSITION_PROBE.isEnabled()) {
+            return null;
+        }
+
+        FsmTransitionEvent event = new FsmTransitionEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitFsmTransition(Object handle, String rtspUnitId, String fsmEvent, String fromState, String toState) {
+        FsmTransitionEvent event = (FsmTransitionEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.rtspUnitId = rtspUnitId;
+            event.event = fsmEvent;
+            event.fromState = fromState;
+            event.toState = toState;
+            event.commit();
+        }
+    }
+
+}
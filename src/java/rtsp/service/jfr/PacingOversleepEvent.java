@@ -0,0 +1,31 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class PacingOversleepEvent extends Event
+ * @brief PCR pacing 대기가 예정 시간보다 길어진 경우의 JFR 이벤트
+ * 이벤트 구간은 실제 대기 시간이고, 초과 시간이 JfrEvents.OVERSLEEP_THRESHOLD_NANOS 이상이면 기록한다.
+ */
+@Name("rtsp.PacingOversleep")
+@Label("Pacing Oversleep")
+@Category({"JRTSP", "RTP"})
+@Description("PCR pacing sleep that woke up later than planned")
+@StackTrace(false)
+public class PacingOversleepEvent extends Event {
+
+    @Label("RTSP Unit Id")
+    public String rtspUnitId;
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("Planned Sleep")
+    @Timespan(Timespan.NANOSECONDS)
+    public long plannedSleep;
+
+    @Label("Oversleep")
+    @Timespan(Timespan.NANOSECONDS)
+    public long oversleep;
+
+}
@@ -0,0 +1,28 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class RtspMethodEvent extends Event
+ * @brief RTSP 요청 (OPTIONS, DESCRIBE, SETUP, PLAY, PAUSE, TEARDOWN ...) 처리 시간 JFR 이벤트
+ */
+@Name("rtsp.RtspMethod")
+@Label("RTSP Method")
+@Category({"JRTSP", "RTSP"})
+@Description("Handling of one RTSP request in RtspChannelHandler")
+@StackTrace(false)
+public class RtspMethodEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("RTSP Unit Id")
+    public String rtspUnitId;
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("CSeq")
+    public String cSeq;
+
+}
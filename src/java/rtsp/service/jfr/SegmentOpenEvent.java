@@ -0,0 +1,29 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class SegmentOpenEvent extends Event
+ * @brief RtpSender 가 TS 세그먼트 파일을 여는 시간 JFR 이벤트 (ffprobe 로 FPS, GOP, TBN 을 구하는 시간 포함)
+ */
+@Name("rtsp.SegmentOpen")
+@Label("Segment Open")
+@Category({"JRTSP", "Media"})
+@Description("Opening of one TS segment file before streaming")
+@StackTrace(false)
+public class SegmentOpenEvent extends Event {
+
+    @Label("RTSP Unit Id")
+    public String rtspUnitId;
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("Path")
+    public String path;
+
+    @Label("File Size")
+    @DataAmount
+    public long fileSize;
+
+}
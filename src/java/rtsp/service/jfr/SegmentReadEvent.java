@@ -0,0 +1,31 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class SegmentReadEvent extends Event
+ * @brief RtpSender 가 TS 세그먼트에서 패킷을 읽는 시간 JFR 이벤트
+ * 패킷마다 읽으므로 기본 Threshold 보다 오래 걸린 읽기만 기록한다.
+ */
+@Name("rtsp.SegmentRead")
+@Label("Segment Read")
+@Category({"JRTSP", "Media"})
+@Description("Slow read of TS packets from a segment file while streaming")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SegmentReadEvent extends Event {
+
+    @Label("RTSP Unit Id")
+    public String rtspUnitId;
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("Segment Index")
+    public int segmentIndex;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public int bytesRead;
+
+}
@@ -0,0 +1,28 @@
+package rtsp.service.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * @class public class SendBufferFullEvent extends Event
+ * @brief RTP 송신 버퍼가 가득 찬 시점의 JFR 이벤트
+ * 패킷마다 기록하지 않고, 송신 가능 상태에서 가득 찬 상태로 바뀔 때 한 번 기록한다.
+ */
+@Name("rtsp.SendBufferFull")
+@Label("Send Buffer Full")
+@Category({"JRTSP", "RTP"})
+@Description("RTP egress send buffer became full (Netty channel not writable or datagram dropped)")
+@StackTrace(false)
+public class SendBufferFullEvent extends Event {
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("Egress")
+    public String egress;
+
+    @Label("Pending Bytes")
+    @Description("Bytes queued in the egress when it became full (-1 if unknown)")
+    @DataAmount
+    public long pendingBytes;
+
+}
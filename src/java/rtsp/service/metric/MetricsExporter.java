@@ -0,0 +1,294 @@
+package rtsp.service.metric;
+
+import rtsp.fsm.RtspState;
+import rtsp.module.RtspManager;
+import rtsp.module.base.RtspUnit;
+import rtsp.module.netty.NettyChannelManager;
+import rtsp.module.netty.handler.RtspIoJob;
+import rtsp.module.netty.module.RtspNettyChannel;
+import rtsp.service.ResourceManager;
+import rtsp.service.ServiceManager;
+import rtsp.service.scheduler.job.JobLane;
+import rtsp.service.scheduler.metric.JobMetrics;
+import rtsp.service.scheduler.metric.LatencyHistogram;
+import rtsp.service.scheduler.schedule.handler.JobLaneGroup;
+import rtsp.service.scheduler.schedule.handler.JobScheduler;
+import rtsp.service.scheduler.schedule.unit.ScheduleUnit;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @class public class MetricsExporter
+ * @brief 서버 통계를 Prometheus text format (0.0.4) 으로 만드는 클래스
+ *
+ * - 누적 값 (counter, histogram) 은 ServerMetrics 와 스케줄러 통계에서 읽는다.
+ * - 현재 상태 값 (gauge) 은 조회할 때마다 RtspUnit, Streamer, 포트 풀, 스케줄러 큐를 훑어서 계산한다.
+ * - 시간 값은 초 단위로 출력한다. (ns / 1e9)
+ */
+public class MetricsExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String UNKNOWN_STATE = "UNKNOWN";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double FRACTION_SCALE = 256;
+
+    // Histogram 구간 (le)
+    private static final double[] PACING_LAG_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1};
+    private static final double[] FRACTION_LOST_BUCKETS = {0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 1};
+    private static final double[] JITTER_BUCKETS = {0.001, 0.005, 0.01, 0.02, 0.05, 0.1, 0.25};
+    private static final double[] RTT_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1};
+    private static final double[] FFMPEG_BUCKETS = {0.1, 0.5, 1, 2.5, 5, 10, 30, 60, 120};
+    private static final double[] JOB_BUCKETS = {0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1};
+    private static final double[] REQUEST_BUCKETS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5};
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private MetricsExporter() {
+        // Nothing
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public static String export()
+     * @brief 모든 통계를 Prometheus text format 으로 반환하는 함수
+     * @return 통계 문자열
+     */
+    public static String export() {
+        StringBuilder sb = new StringBuilder(8192);
+        ServerMetrics serverMetrics = ServerMetrics.getInstance();
+
+        appendSessions(sb);
+        appendRtspRequests(sb);
+
+        // RTP
+        appendCounter(sb, "rtsp_rtp_packets_total", "RTP packets sent.", serverMetrics.getRtpPacketCount());
+        appendCounter(sb, "rtsp_rtp_payload_bytes_total", "RTP payload bytes sent.", serverMetrics.getRtpByteCount());
+        appendCounter(sb, "rtsp_rtp_sends_total", "RTP send calls to the egress (one call may carry a batch of packets).", serverMetrics.getRtpSendCount());
+        appendCounter(sb, "rtsp_rtp_send_failures_total", "RTP packets dropped by send failures.", serverMetrics.getRtpSendFailCount());
+        appendHeader(sb, "rtsp_rtp_pacing_lag_seconds", "Lateness of PCR paced sends behind the PCR schedule.", "histogram");
+        appendHistogram(sb, "rtsp_rtp_pacing_lag_seconds", null, serverMetrics.getPacingLagHistogram(), PACING_LAG_BUCKETS, NANOS_PER_SECOND);
+
+        // RTCP
+        appendCounter(sb, "rtsp_rtcp_report_blocks_total", "RTCP report blocks received for our streams.", serverMetrics.getRtcpReportBlockCount());
+        appendHeader(sb, "rtsp_rtcp_rr_fraction_lost", "Fraction lost reported by receivers.", "histogram");
+        appendHistogram(sb, "rtsp_rtcp_rr_fraction_lost", null, serverMetrics.getRrFractionLostHistogram(), FRACTION_LOST_BUCKETS, FRACTION_SCALE);
+        appendHeader(sb, "rtsp_rtcp_rr_jitter_seconds", "Interarrival jitter reported by receivers.", "histogram");
+        appendHistogram(sb, "rtsp_rtcp_rr_jitter_seconds", null, serverMetrics.getRrJitterHistogram(), JITTER_BUCKETS, NANOS_PER_SECOND);
+        appendHeader(sb, "rtsp_rtcp_rtt_seconds", "Round trip time estimated from RR LSR/DLSR.", "histogram");
+        appendHistogram(sb, "rtsp_rtcp_rtt_seconds", null, serverMetrics.getRttHistogram(), RTT_BUCKETS, NANOS_PER_SECOND);
+
+        // RTSP IO
+        appendGauge(sb, "rtsp_io_jobs_pending", "RTSP blocking steps queued or running in the IO lane.", RtspIoJob.getPendingJobCount());
+        appendCounter(sb, "rtsp_io_job_rejects_total", "RTSP blocking steps rejected because the IO lane was full.", serverMetrics.getRtspIoRejectCount());
+        appendCounter(sb, "rtsp_io_job_timeouts_total", "RTSP blocking steps that timed out.", serverMetrics.getRtspIoTimeoutCount());
+
+        // FFMPEG
+        appendCounter(sb, "rtsp_ffmpeg_jobs_total", "ffmpeg conversion jobs started.", serverMetrics.getFfmpegJobCount());
+        appendCounter(sb, "rtsp_ffmpeg_job_failures_total", "ffmpeg conversion jobs failed.", serverMetrics.getFfmpegFailCount());
+        appendGauge(sb, "rtsp_ffmpeg_jobs_running", "ffmpeg conversion jobs running now.", serverMetrics.getFfmpegRunningCount());
+        appendHeader(sb, "rtsp_ffmpeg_job_duration_seconds", "ffmpeg conversion job duration.", "histogram");
+        appendHistogram(sb, "rtsp_ffmpeg_job_duration_seconds", null, serverMetrics.getFfmpegRunTimeHistogram(), FFMPEG_BUCKETS, NANOS_PER_SECOND);
+
+        // PORT POOL
+        ResourceManager resourceManager = ResourceManager.getInstance();
+        appendGauge(sb, "rtsp_rtp_port_pool_size", "RTP ports in the pool.", resourceManager.getPortCount());
+        appendGauge(sb, "rtsp_rtp_port_pool_free", "RTP ports not in use.", resourceManager.getFreePortCount());
+
+        appendScheduler(sb);
+        return sb.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn private static void appendSessions(StringBuilder sb)
+     * @brief RtspUnit 과 세션 (Streamer) 수를 RtspUnit 의 FSM 상태별로 추가하는 함수
+     */
+    private static void appendSessions(StringBuilder sb) {
+        Map<String, Integer> unitCountMap = new TreeMap<>();
+        Map<String, Integer> sessionCountMap = new TreeMap<>();
+
+        NettyChannelManager nettyChannelManager = NettyChannelManager.getInstance();
+        for (RtspUnit rtspUnit : RtspManager.getInstance().getCloneRtspMap().values()) {
+            if (rtspUnit == null) {
+                continue;
+            }
+
+            String state = getState(rtspUnit);
+            unitCountMap.merge(state, 1, Integer::sum);
+
+            RtspNettyChannel rtspNettyChannel = nettyChannelManager.getRtspChannel(rtspUnit.getRtspUnitId());
+            int sessionCount = rtspNettyChannel != null ? rtspNettyChannel.getCloneStreamerMap().size() : 0;
+            sessionCountMap.merge(state, sessionCount, Integer::sum);
+        }
+
+        appendHeader(sb, "rtsp_units", "RTSP units by FSM state.", "gauge");
+        for (Map.Entry<String, Integer> entry : unitCountMap.entrySet()) {
+            appendSample(sb, "rtsp_units", "state", entry.getKey(), null, entry.getValue());
+        }
+
+        appendHeader(sb, "rtsp_sessions", "RTP sessions (streamers) by FSM state of the owner unit.", "gauge");
+        for (Map.Entry<String, Integer> entry : sessionCountMap.entrySet()) {
+            appendSample(sb, "rtsp_sessions", "state", entry.getKey(), null, entry.getValue());
+        }
+    }
+
+    /**
+     * @fn private static void appendRtspRequests(StringBuilder sb)
+     * @brief RTSP 요청 처리 시간 (Method 별, 구간별) 과 거절 횟수를 추가하는 함수
+     * 구간 기록이 한 번도 없는 (Method, 구간) 조합은 출력하지 않는다.
+     */
+    private static void appendRtspRequests(StringBuilder sb) {
+        RtspRequestMetrics rtspRequestMetrics = RtspRequestMetrics.getInstance();
+        String[] methods = RtspRequestMetrics.METHODS;
+
+        appendHeader(sb, "rtsp_request_duration_seconds", "RTSP request time from receipt to response by method.", "histogram");
+        for (int i = 0; i < methods.length; i++) {
+            appendHistogram(sb, "rtsp_request_duration_seconds", "method=\"" + methods[i] + "\"",
+                    rtspRequestMetrics.getLatencyHistogram(i), REQUEST_BUCKETS, NANOS_PER_SECOND);
+        }
+
+        appendHeader(sb, "rtsp_request_span_duration_seconds", "Time spent in each step of an RTSP request (fsm, sdp, streamer, probe, io_wait).", "histogram");
+        for (int i = 0; i < methods.length; i++) {
+            for (RtspRequestMetrics.Span span : RtspRequestMetrics.Span.values()) {
+                LatencyHistogram spanHistogram = rtspRequestMetrics.getSpanHistogram(i, span);
+                if (spanHistogram.getCount() == 0) {
+                    continue;
+                }
+                appendHistogram(sb, "rtsp_request_span_duration_seconds", "method=\"" + methods[i] + "\",span=\"" + span.getLabel() + "\"",
+                        spanHistogram, REQUEST_BUCKETS, NANOS_PER_SECOND);
+            }
+        }
+
+        appendHeader(sb, "rtsp_request_rejects_total", "RTSP requests answered with a non-2xx status (or ignored) by method, status code and FSM state at arrival.", "counter");
+        Map<String, RtspRequestMetrics.RejectCounter> rejectCounterMap = new TreeMap<>(rtspRequestMetrics.getRejectCounterMap());
+        for (RtspRequestMetrics.RejectCounter rejectCounter : rejectCounterMap.values()) {
+            appendSample(sb, "rtsp_request_rejects_total", "method", rejectCounter.getMethod(),
+                    "code=\"" + escape(rejectCounter.getCode()) + "\",state=\"" + escape(rejectCounter.getState()) + "\"", rejectCounter.getCount());
+        }
+    }
+
+    private static String getState(RtspUnit rtspUnit) {
+        RtspState state = rtspUnit.getRtspState();
+        return state != null ? state.name() : UNKNOWN_STATE;
+    }
+
+    /**
+     * @fn private static void appendScheduler(StringBuilder sb)
+     * @brief ScheduleUnit 별 레인 스레드 수, 큐 길이, Job 대기/실행 시간을 추가하는 함수
+     */
+    private static void appendScheduler(StringBuilder sb) {
+        Map<String, ScheduleUnit> scheduleUnitMap = new TreeMap<>(
+                ServiceManager.getInstance().getScheduleManager().getCloneCallMap()
+        );
+
+        appendHeader(sb, "rtsp_scheduler_lane_threads", "Job executors per lane.", "gauge");
+        for (ScheduleUnit scheduleUnit : scheduleUnitMap.values()) {
+            JobScheduler jobScheduler = scheduleUnit.getJobScheduler();
+            for (JobLane lane : JobLane.values()) {
+                JobLaneGroup jobLaneGroup = jobScheduler.getJobLaneGroup(lane);
+                if (jobLaneGroup != null) {
+                    appendSample(sb, "rtsp_scheduler_lane_threads", "unit", scheduleUnit.getScheduleUnitKey(), "lane=\"" + lane + "\"", jobLaneGroup.getExecutorCount());
+                }
+            }
+        }
+
+        appendHeader(sb, "rtsp_scheduler_lane_queued_jobs", "Jobs waiting in the lane queues.", "gauge");
+        for (ScheduleUnit scheduleUnit : scheduleUnitMap.values()) {
+            JobScheduler jobScheduler = scheduleUnit.getJobScheduler();
+            for (JobLane lane : JobLane.values()) {
+                JobLaneGroup jobLaneGroup = jobScheduler.getJobLaneGroup(lane);
+                if (jobLaneGroup != null) {
+                    appendSample(sb, "rtsp_scheduler_lane_queued_jobs", "unit", scheduleUnit.getScheduleUnitKey(), "lane=\"" + lane + "\"", jobLaneGroup.getQueuedJobCount());
+                }
+            }
+        }
+
+        appendHeader(sb, "rtsp_scheduler_job_overruns_total", "Periodic job runs skipped because the previous run was not finished.", "counter");
+        for (ScheduleUnit scheduleUnit : scheduleUnitMap.values()) {
+            JobMetrics totalMetrics = scheduleUnit.getScheduleUnitMetrics().getTotalMetrics();
+            appendSample(sb, "rtsp_scheduler_job_overruns_total", "unit", scheduleUnit.getScheduleUnitKey(), null, totalMetrics.getOverrunCount());
+        }
+
+        appendHeader(sb, "rtsp_scheduler_job_rejected_total", "Jobs rejected by the scheduler.", "counter");
+        for (ScheduleUnit scheduleUnit : scheduleUnitMap.values()) {
+            JobMetrics totalMetrics = scheduleUnit.getScheduleUnitMetrics().getTotalMetrics();
+            appendSample(sb, "rtsp_scheduler_job_rejected_total", "unit", scheduleUnit.getScheduleUnitKey(), null, totalMetrics.getRejectedCount());
+        }
+
+        appendHeader(sb, "rtsp_scheduler_job_wait_seconds", "Time from enqueue to job start.", "histogram");
+        for (ScheduleUnit scheduleUnit : scheduleUnitMap.values()) {
+            JobMetrics totalMetrics = scheduleUnit.getScheduleUnitMetrics().getTotalMetrics();
+            appendHistogram(sb, "rtsp_scheduler_job_wait_seconds", "unit=\"" + escape(scheduleUnit.getScheduleUnitKey()) + "\"",
+                    totalMetrics.getWaitTimeHistogram(), JOB_BUCKETS, NANOS_PER_SECOND);
+        }
+
+        appendHeader(sb, "rtsp_scheduler_job_run_seconds", "Job run time.", "histogram");
+        for (ScheduleUnit scheduleUnit : scheduleUnitMap.values()) {
+            JobMetrics totalMetrics = scheduleUnit.getScheduleUnitMetrics().getTotalMetrics();
+            appendHistogram(sb, "rtsp_scheduler_job_run_seconds", "unit=\"" + escape(scheduleUnit.getScheduleUnitKey()) + "\"",
+                    totalMetrics.getRunTimeHistogram(), JOB_BUCKETS, NANOS_PER_SECOND);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private static void appendHeader(StringBuilder sb, String name, String help, String type) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendCounter(StringBuilder sb, String name, String help, long value) {
+        appendHeader(sb, name, help, "counter");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void appendGauge(StringBuilder sb, String name, String help, long value) {
+        appendHeader(sb, name, help, "gauge");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void appendSample(StringBuilder sb, String name, String labelName, String labelValue, String extraLabels, long value) {
+        sb.append(name).append('{').append(labelName).append("=\"").append(escape(labelValue)).append('"');
+        if (extraLabels != null) {
+            sb.append(',').append(extraLabels);
+        }
+        sb.append("} ").append(value).append('\n');
+    }
+
+    /**
+     * @fn private static void appendHistogram(StringBuilder sb, String name, String labels, LatencyHistogram histogram, double[] buckets, double scale)
+     * @brief LatencyHistogram 을 Prometheus histogram (_bucket, _sum, _count) 으로 추가하는 함수
+     * @param sb 출력 대상
+     * @param name 이름
+     * @param labels 추가할 label (없으면 null)
+     * @param histogram LatencyHistogram
+     * @param buckets 구간 상한 (출력 단위)
+     * @param scale 기록 단위 / 출력 단위 (ex. ns > sec 이면 1e9)
+     */
+    private static void appendHistogram(StringBuilder sb, String name, String labels, LatencyHistogram histogram, double[] buckets, double scale) {
+        String labelPrefix = labels != null ? labels + "," : "";
+        for (double bucket : buckets) {
+            sb.append(name).append("_bucket{").append(labelPrefix).append("le=\"").append(bucket).append("\"} ")
+                    .append(histogram.getCumulativeCount((long) (bucket * scale))).append('\n');
+        }
+
+        long count = histogram.getCount();
+        sb.append(name).append("_bucket{").append(labelPrefix).append("le=\"+Inf\"} ").append(count).append('\n');
+
+        String labelSuffix = labels != null ? "{" + labels + "}" : "";
+        sb.append(name).append("_sum").append(labelSuffix).append(' ').append(histogram.getSum() / scale).append('\n');
+        sb.append(name).append("_count").append(labelSuffix).append(' ').append(count).append('\n');
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
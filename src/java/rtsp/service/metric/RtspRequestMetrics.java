@@ -0,0 +1,212 @@
+package rtsp.service.metric;
+
+import rtsp.service.scheduler.metric.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class public class RtspRequestMetrics
+ * @brief RTSP 요청 (제어 평면) 처리 시간과 거절 횟수를 Method 별로 모으는 클래스
+ *
+ * - 처리 시간은 요청을 받은 시점부터 응답을 보낸 시점까지 기록한다. (IO 레인 대기 포함)
+ * - 처리 시간 중 구간 (Span) 별 시간을 따로 기록해서 어디서 시간이 걸렸는지 볼 수 있다.
+ *      > 한 요청에서 같은 구간이 여러 번 나오면 합쳐서 기록한다. (ex. FSM 이벤트 2 ~ 3 번)
+ * - 2xx 가 아닌 응답과 응답 없이 무시된 요청은 (Method, 응답 코드, 요청을 받았을 때의 FSM 상태) 별로 센다.
+ * - 요청마다 Trace 를 만들어서 RtspChannelHandler 에서 기록하고, 응답 후 finish() 로 반영한다.
+ */
+public class RtspRequestMetrics {
+
+    public static final String[] METHODS = {"OPTIONS", "DESCRIBE", "SETUP", "PLAY", "PAUSE", "TEARDOWN", "OTHER"};
+    private static final int OTHER_METHOD_INDEX = METHODS.length - 1;
+
+    public static final String NO_RESPONSE_CODE = "none"; // 상태가 맞지 않아 응답 없이 무시한 요청
+    public static final String UNKNOWN_STATE = "UNKNOWN";
+
+    private static final RtspRequestMetrics rtspRequestMetrics = new RtspRequestMetrics(); // 상수 초기화 후에 생성
+
+    /**
+     * @enum public enum Span
+     * @brief 요청 처리 구간
+     */
+    public enum Span {
+
+        FSM, // 상태 전이 (RtspFsmManager.fire)
+        SDP, // 로컬 SDP 생성
+        STREAMER, // Streamer 생성/설정, 송신 채널 연결
+        PROBE, // 미디어 파일 분석 (재생 시간)
+        IO_WAIT; // IO 레인 대기 (블로킹 작업이 시작될 때까지)
+
+        public String getLabel() {
+            return name().toLowerCase();
+        }
+
+    }
+
+    private final LatencyHistogram[] latencyHistograms = new LatencyHistogram[METHODS.length];
+    private final LatencyHistogram[][] spanHistograms = new LatencyHistogram[METHODS.length][Span.values().length];
+    private final Map<String, RejectCounter> rejectCounterMap = new ConcurrentHashMap<>();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private RtspRequestMetrics() {
+        for (int i = 0; i < METHODS.length; i++) {
+            latencyHistograms[i] = new LatencyHistogram();
+            for (int j = 0; j < Span.values().length; j++) {
+                spanHistograms[i][j] = new LatencyHistogram();
+            }
+        }
+    }
+
+    public static RtspRequestMetrics getInstance() {
+        return rtspRequestMetrics;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public Trace begin(String method)
+     * @brief 요청 처리 시간 기록을 시작하는 함수 (요청을 받았을 때 호출)
+     * @param method RTSP Method 이름
+     * @return Trace
+     */
+    public Trace begin(String method) {
+        return new Trace(getMethodIndex(method), System.nanoTime());
+    }
+
+    /**
+     * @fn public void finish(Trace trace)
+     * @brief 요청 처리 시간과 구간별 시간, 거절 여부를 기록하는 함수 (응답을 보낸 후 호출)
+     * @param trace Trace
+     */
+    public void finish(Trace trace) {
+        if (trace == null) {
+            return;
+        }
+
+        int methodIndex = trace.methodIndex;
+        latencyHistograms[methodIndex].record(System.nanoTime() - trace.startTime);
+
+        Span[] spans = Span.values();
+        for (int i = 0; i < spans.length; i++) {
+            if (trace.spanCounts[i] > 0) {
+                spanHistograms[methodIndex][i].record(trace.spanNanos[i]);
+            }
+        }
+
+        int statusCode = trace.statusCode;
+        if (statusCode < 200 || statusCode >= 300) {
+            String code = statusCode == 0 ? NO_RESPONSE_CODE : String.valueOf(statusCode);
+            String state = trace.arrivalState != null ? trace.arrivalState : UNKNOWN_STATE;
+            rejectCounterMap.computeIfAbsent(
+                    METHODS[methodIndex] + " " + code + " " + state,
+                    key -> new RejectCounter(METHODS[methodIndex], code, state)
+            ).count.increment();
+        }
+    }
+
+    private static int getMethodIndex(String method) {
+        for (int i = 0; i < OTHER_METHOD_INDEX; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return OTHER_METHOD_INDEX;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public LatencyHistogram getLatencyHistogram(int methodIndex) {
+        return latencyHistograms[methodIndex];
+    }
+
+    public LatencyHistogram getSpanHistogram(int methodIndex, Span span) {
+        return spanHistograms[methodIndex][span.ordinal()];
+    }
+
+    public Map<String, RejectCounter> getRejectCounterMap() {
+        return rejectCounterMap;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @class public static class Trace
+     * @brief 요청 하나의 처리 기록
+     * 요청을 받은 EventLoop 와 IO 레인 스레드에서 차례로 기록한다. (동시에 기록하지 않는다.)
+     * 블로킹 작업이 제한 시간을 넘긴 경우 finish() 이후의 기록은 반영되지 않는다.
+     */
+    public static class Trace {
+
+        private final int methodIndex;
+        private final long startTime; // System.nanoTime
+        private final long[] spanNanos = new long[Span.values().length];
+        private final int[] spanCounts = new int[Span.values().length];
+        private String arrivalState = null;
+        private int statusCode = 0; // 0 이면 응답하지 않음
+
+        private Trace(int methodIndex, long startTime) {
+            this.methodIndex = methodIndex;
+            this.startTime = startTime;
+        }
+
+        public void addSpan(Span span, long nanos) {
+            spanNanos[span.ordinal()] += Math.max(0, nanos);
+            spanCounts[span.ordinal()]++;
+        }
+
+        public void setArrivalState(String arrivalState) {
+            this.arrivalState = arrivalState;
+        }
+
+        public void setStatusCode(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        public String getMethod() {
+            return METHODS[methodIndex];
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+    }
+
+    /**
+     * @class public static class RejectCounter
+     * @brief (Method, 응답 코드, FSM 상태) 별 거절 횟수
+     */
+    public static class RejectCounter {
+
+        private final String method;
+        private final String code;
+        private final String state;
+        private final LongAdder count = new LongAdder();
+
+        private RejectCounter(String method, String code, String state) {
+            this.method = method;
+            this.code = code;
+            this.state = state;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+    }
+
+}
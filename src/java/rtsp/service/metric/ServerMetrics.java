@@ -0,0 +1,182 @@
+package rtsp.service.metric;
+
+import rtsp.service.scheduler.metric.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class public class ServerMetrics
+ * @brief 서버 전체의 RTP 송신, RTCP 품질, ffmpeg 작업 통계를 모으는 클래스
+ *
+ * - 송신 스레드마다 호출되는 값은 LongAdder (스레드별로 나뉜 Cell) 와 LatencyHistogram (배열 칸 하나 증가) 으로 기록한다.
+ *      > 기록할 때 Lock 과 메모리 할당이 없다.
+ * - 세션 수, 포트 풀, 스케줄러 큐 같은 현재 상태 값은 기록하지 않고 MetricsExporter 가 조회할 때 계산한다.
+ * - 송신 경로에서 매번 null 검사를 하지 않도록 클래스 로딩 시 생성한다.
+ */
+public class ServerMetrics {
+
+    private static final ServerMetrics serverMetrics = new ServerMetrics();
+
+    // RTP
+    private final LongAdder rtpPacketCount = new LongAdder();
+    private final LongAdder rtpByteCount = new LongAdder(); // payload
+    private final LongAdder rtpSendCount = new LongAdder(); // 송신 계층 flush 횟수 (한 번에 여러 패킷)
+    private final LongAdder rtpSendFailCount = new LongAdder();
+    private final LatencyHistogram pacingLagHistogram = new LatencyHistogram(); // PCR 예정 시간보다 늦은 시간 (ns)
+
+    // RTCP
+    private final LongAdder rtcpReportBlockCount = new LongAdder();
+    private final LatencyHistogram rrFractionLostHistogram = new LatencyHistogram(); // 1/256 단위
+    private final LatencyHistogram rrJitterHistogram = new LatencyHistogram(); // ns
+    private final LatencyHistogram rttHistogram = new LatencyHistogram(); // ns
+
+    // RTSP IO (RtspChannelHandler 의 블로킹 작업)
+    private final LongAdder rtspIoRejectCount = new LongAdder(); // 대기 작업이 가득 차서 거절
+    private final LongAdder rtspIoTimeoutCount = new LongAdder();
+
+    // FFMPEG
+    private final LongAdder ffmpegJobCount = new LongAdder();
+    private final LongAdder ffmpegFailCount = new LongAdder();
+    private final AtomicInteger ffmpegRunningCount = new AtomicInteger(0);
+    private final LatencyHistogram ffmpegRunTimeHistogram = new LatencyHistogram(); // ns
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private ServerMetrics() {
+        // Nothing
+    }
+
+    public static ServerMetrics getInstance() {
+        return serverMetrics;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public void onRtpPacketSent(int byteCount) {
+        rtpPacketCount.increment();
+        rtpByteCount.add(byteCount);
+    }
+
+    public void onRtpSend() {
+        rtpSendCount.increment();
+    }
+
+    public void onRtpSendFail() {
+        rtpSendFailCount.increment();
+    }
+
+    public void recordPacingLag(long nanos) {
+        pacingLagHistogram.record(nanos);
+    }
+
+    /**
+     * @fn public void onReportBlock(int fractionLost, long jitter, int clockRate)
+     * @brief 수신한 RR (또는 SR) 의 Report block 에 있는 손실률과 지터를 기록하는 함수
+     * @param fractionLost 손실률 (8 bits 고정 소수점, x / 256)
+     * @param jitter 도착 간격 지터 (RTP timestamp 단위)
+     * @param clockRate RTP clock rate
+     */
+    public void onReportBlock(int fractionLost, long jitter, int clockRate) {
+        rtcpReportBlockCount.increment();
+        rrFractionLostHistogram.record(fractionLost);
+        if (clockRate > 0) {
+            rrJitterHistogram.record(jitter * TimeUnit.SECONDS.toNanos(1) / clockRate);
+        }
+    }
+
+    public void recordRtt(long millis) {
+        rttHistogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public void onRtspIoRejected() {
+        rtspIoRejectCount.increment();
+    }
+
+    public void onRtspIoTimeout() {
+        rtspIoTimeoutCount.increment();
+    }
+
+    /**
+     * @fn public long onFfmpegJobStarted()
+     * @brief ffmpeg 작업 시작을 기록하는 함수
+     * @return 시작 시간 (onFfmpegJobFinished 에 전달)
+     */
+    public long onFfmpegJobStarted() {
+        ffmpegJobCount.increment();
+        ffmpegRunningCount.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void onFfmpegJobFinished(long startTime, boolean isSuccess) {
+        ffmpegRunningCount.decrementAndGet();
+        ffmpegRunTimeHistogram.record(System.nanoTime() - startTime);
+        if (!isSuccess) {
+            ffmpegFailCount.increment();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public long getRtpPacketCount() {
+        return rtpPacketCount.sum();
+    }
+
+    public long getRtpByteCount() {
+        return rtpByteCount.sum();
+    }
+
+    public long getRtpSendCount() {
+        return rtpSendCount.sum();
+    }
+
+    public long getRtpSendFailCount() {
+        return rtpSendFailCount.sum();
+    }
+
+    public LatencyHistogram getPacingLagHistogram() {
+        return pacingLagHistogram;
+    }
+
+    public long getRtcpReportBlockCount() {
+        return rtcpReportBlockCount.sum();
+    }
+
+    public LatencyHistogram getRrFractionLostHistogram() {
+        return rrFractionLostHistogram;
+    }
+
+    public LatencyHistogram getRrJitterHistogram() {
+        return rrJitterHistogram;
+    }
+
+    public LatencyHistogram getRttHistogram() {
+        return rttHistogram;
+    }
+
+    public long getRtspIoRejectCount() {
+        return rtspIoRejectCount.sum();
+    }
+
+    public long getRtspIoTimeoutCount() {
+        return rtspIoTimeoutCount.sum();
+    }
+
+    public long getFfmpegJobCount() {
+        return ffmpegJobCount.sum();
+    }
+
+    public long getFfmpegFailCount() {
+        return ffmpegFailCount.sum();
+    }
+
+    public int getFfmpegRunningCount() {
+        return ffmpegRunningCount.get();
+    }
+
+    public LatencyHistogram getFfmpegRunTimeHistogram() {
+        return ffmpegRunTimeHistogram;
+    }
+
+}
@@ -18,21 +18,29 @@ public abstract class Job implements Runnable {
     private final int interval;
     private final TimeUnit timeUnit; // ex) TimeUnit.MILLISECONDS
 
+    private final JobLane lane;
     private final int priority;
     private final int totalRunCount;
     private final AtomicInteger curRemainRunCount = new AtomicInteger(0);
     private final boolean isLasted;
     private final AtomicBoolean isFinished = new AtomicBoolean(false);
+    private final AtomicBoolean isPending = new AtomicBoolean(false); // JobExecutor 큐에 들어가서 실행이 끝나지 않은 상태
+    private volatile long enqueueTime = 0; // JobExecutor 큐에 들어간 시간 (System.nanoTime)
 
     private String scheduleUnitKey;
     ////////////////////////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////////////////////////
     public Job(String name, int initialDelay, int interval, TimeUnit timeUnit, int priority, int totalRunCount, boolean isLasted) {
+        this(name, initialDelay, interval, timeUnit, JobLane.CONTROL, priority, totalRunCount, isLasted);
+    }
+
+    public Job(String name, int initialDelay, int interval, TimeUnit timeUnit, JobLane lane, int priority, int totalRunCount, boolean isLasted) {
         this.name = name;
         this.initialDelay = initialDelay;
         this.interval = interval;
         this.timeUnit = timeUnit;
+        this.lane = lane != null ? lane : JobLane.CONTROL;
         this.priority = priority;
         this.totalRunCount = totalRunCount;
         this.curRemainRunCount.set(totalRunCount);
@@ -49,6 +57,10 @@ public abstract class Job implements Runnable {
         this.scheduleUnitKey = scheduleUnitKey;
     }
 
+    public JobLane getLane() {
+        return lane;
+    }
+
     public int getPriority() {
         return priority;
     }
@@ -101,6 +113,22 @@ public abstract class Job implements Runnable {
         this.isFinished.set(isFinished);
     }
 
+    public boolean isPending() {
+        return isPending.get();
+    }
+
+    public void setIsPending(boolean isPending) {
+        this.isPending.set(isPending);
+    }
+
+    public long getEnqueueTime() {
+        return enqueueTime;
+    }
+
+    public void setEnqueueTime(long enqueueTime) {
+        this.enqueueTime = enqueueTime;
+    }
+
     @Override
     public String toString() {
         return "Job{" +
@@ -108,6 +136,7 @@ public abstract class Job implements Runnable {
                 ", initialDelay=" + initialDelay +
                 ", interval=" + interval +
                 ", timeUnit=" + timeUnit +
+                ", lane=" + lane +
                 ", priority=" + priority +
                 ", totalRunCount=" + totalRunCount +
                 ", curRemainRunCount=" + curRemainRunCount.get() +
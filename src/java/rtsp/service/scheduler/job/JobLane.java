@@ -0,0 +1,32 @@
+package rtsp.service.scheduler.job;
+
+/**
+ * @enum public enum JobLane
+ * @brief Job 실행 레인
+ * 레인마다 JobExecutor 묶음(JobLaneGroup)이 따로 있어서 한 레인의 Job 이 다른 레인의 스레드를 차지하지 않는다.
+ */
+public enum JobLane {
+
+    CONTROL, // 관리/정리 작업 (HaHandler, LongSessionRemover), 짧게 끝나야 한다.
+    MEDIA, // 미디어 전송 (RtpSender), 스트리밍이 끝날 때까지 스레드를 점유한다.
+    IO; // 블로킹 I/O (파일 변환, 외부 프로세스 등)
+
+    /**
+     * @fn public int getThreadCount(int poolSize)
+     * @brief 레인의 JobExecutor 개수를 반환하는 함수
+     * @param poolSize ScheduleUnit 의 Thread pool size (STREAM_THREAD_POOL_SIZE)
+     * @return JobExecutor 개수
+     */
+    public int getThreadCount(int poolSize) {
+        switch (this) {
+            case CONTROL:
+                return 2;
+            case IO:
+                return Math.max(2, poolSize / 2);
+            case MEDIA:
+            default:
+                return Math.max(1, poolSize);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package rtsp.service.scheduler.metric;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class public class JobMetrics
+ * @brief Job 실행 통계 클래스
+ *
+ * - waitTime : JobExecutor 큐에 들어간 후 실행을 시작할 때까지 걸린 시간
+ * - runTime : Job 실행 시간
+ * - overrun : 반복 Job 의 실행 시간이 되었는데 이전 실행이 아직 끝나지 않은 횟수 (이번 실행은 건너뛴다.)
+ * - rejected : 이미 같은 이름으로 스케줄되어 있거나 설정이 잘못되어 스케줄하지 못한 횟수
+ */
+public class JobMetrics {
+
+    private final String name;
+
+    private final LatencyHistogram waitTimeHistogram = new LatencyHistogram();
+    private final LatencyHistogram runTimeHistogram = new LatencyHistogram();
+    private final LongAdder overrunCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public JobMetrics(String name) {
+        this.name = name;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public void recordWaitTime(long nanos) {
+        waitTimeHistogram.record(nanos);
+    }
+
+    public void recordRunTime(long nanos) {
+        runTimeHistogram.record(nanos);
+    }
+
+    public void incOverrunCount() {
+        overrunCount.increment();
+    }
+
+    public void incRejectedCount() {
+        rejectedCount.increment();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
+    }
+
+    public LatencyHistogram getRunTimeHistogram() {
+        return runTimeHistogram;
+    }
+
+    public long getOverrunCount() {
+        return overrunCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "JobMetrics{" +
+                "name='" + name + '\'' +
+                ", wait=" + waitTimeHistogram +
+                ", run=" + runTimeHistogram +
+                ", overrun=" + getOverrunCount() +
+                ", rejected=" + getRejectedCount() +
+                '}';
+    }
+
+}
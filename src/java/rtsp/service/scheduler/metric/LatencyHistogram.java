@@ -0,0 +1,146 @@
+package rtsp.service.scheduler.metric;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @class public class LatencyHistogram
+ * @brief 시간(ns) 분포를 기록하는 Lock-free 히스토그램 클래스 (HDR Histogram 방식)
+ *
+ * - 값을 2 의 거듭제곱 구간으로 나누고, 구간마다 SUB_BUCKET_COUNT 개로 다시 나눈다. (상대 오차 약 6%)
+ * - record() 는 배열 칸 하나만 증가시키므로 O(1) 이고 메모리 할당이 없다.
+ * - 백분위 값은 읽을 때 배열을 한 번 훑어서 계산한다.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 16
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong(0);
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public void record(long nanos)
+     * @brief 값을 기록하는 함수
+     * @param nanos 기록할 값 (ns, 음수는 0 으로 기록)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(getIndex(value));
+        totalCount.increment();
+        totalSum.add(value);
+
+        long curMax = maxValue.get();
+        while (value > curMax && !maxValue.compareAndSet(curMax, value)) {
+            curMax = maxValue.get();
+        }
+    }
+
+    /**
+     * @fn public long getPercentile(double percentile)
+     * @brief 백분위 값을 반환하는 함수
+     * @param percentile 백분위 (0 ~ 100)
+     * @return 백분위 값 (ns, 해당 구간의 상한), 기록이 없으면 0 반환
+     */
+    public long getPercentile(double percentile) {
+        long count = totalCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+
+        long targetCount = Math.max(1, (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long curCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            curCount += counts.get(i);
+            if (curCount >= targetCount) {
+                return Math.min(getUpperBound(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * @fn public long getCumulativeCount(long value)
+     * @brief 지정한 값 이하로 기록된 개수를 반환하는 함수 (Prometheus histogram 의 le 구간 계산용)
+     * 같은 구간에 있는 값은 모두 포함하므로 구간 폭 (약 6%) 만큼 더 셀 수 있다.
+     * @param value 기준 값 (ns)
+     * @return 누적 개수
+     */
+    public long getCumulativeCount(long value) {
+        if (value < 0) {
+            return 0;
+        }
+
+        int lastIndex = getIndex(value);
+        long curCount = 0;
+        for (int i = 0; i <= lastIndex; i++) {
+            curCount += counts.get(i);
+        }
+        return curCount;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+        int subIndex = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subIndex;
+    }
+
+    private static long getUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subIndex = index % SUB_BUCKET_COUNT;
+        long lowerBound = (1L << exponent) | (subIndex << (exponent - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getSum() {
+        return totalSum.sum();
+    }
+
+    public long getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : totalSum.sum() / count;
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    @Override
+    public String toString() {
+        return "{count=" + getCount() +
+                ", mean=" + toMicros(getMean()) +
+                "us, p50=" + toMicros(getPercentile(50)) +
+                "us, p99=" + toMicros(getPercentile(99)) +
+                "us, p999=" + toMicros(getPercentile(99.9)) +
+                "us, max=" + toMicros(getMax()) +
+                "us}";
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+}
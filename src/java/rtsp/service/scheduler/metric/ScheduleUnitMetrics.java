@@ -0,0 +1,95 @@
+package rtsp.service.scheduler.metric;
+
+import rtsp.service.scheduler.job.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @class public class ScheduleUnitMetrics
+ * @brief ScheduleUnit 하나의 Job 실행 통계 클래스
+ *
+ * - ScheduleUnit 전체 통계와 Job 이름별 통계를 함께 기록한다.
+ * - 이름이 세션마다 달라지는 일회성 Job (ex. RtpSender 는 RtspUnit id 를 이름으로 사용) 은
+ *      통계 개수가 늘어나지 않도록 클래스 이름으로 묶는다.
+ */
+public class ScheduleUnitMetrics {
+
+    private final String scheduleUnitKey;
+
+    private final JobMetrics totalMetrics;
+    private final ConcurrentHashMap<String, JobMetrics> jobMetricsMap = new ConcurrentHashMap<>();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public ScheduleUnitMetrics(String scheduleUnitKey) {
+        this.scheduleUnitKey = scheduleUnitKey;
+        this.totalMetrics = new JobMetrics(scheduleUnitKey);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public void recordWaitTime(Job job, long nanos) {
+        totalMetrics.recordWaitTime(nanos);
+        getJobMetrics(job).recordWaitTime(nanos);
+    }
+
+    public void recordRunTime(Job job, long nanos) {
+        totalMetrics.recordRunTime(nanos);
+        getJobMetrics(job).recordRunTime(nanos);
+    }
+
+    public void incOverrunCount(Job job) {
+        totalMetrics.incOverrunCount();
+        getJobMetrics(job).incOverrunCount();
+    }
+
+    public void incRejectedCount(Job job) {
+        totalMetrics.incRejectedCount();
+        getJobMetrics(job).incRejectedCount();
+    }
+
+    private JobMetrics getJobMetrics(Job job) {
+        String metricName = getMetricName(job);
+        JobMetrics jobMetrics = jobMetricsMap.get(metricName);
+        if (jobMetrics == null) {
+            jobMetrics = jobMetricsMap.computeIfAbsent(metricName, JobMetrics::new);
+        }
+        return jobMetrics;
+    }
+
+    /**
+     * @fn public static String getMetricName(Job job)
+     * @brief 통계를 묶을 이름을 반환하는 함수 (반복 Job 은 Job 이름, 일회성 Job 은 클래스 이름)
+     * @param job Job
+     * @return 통계 이름
+     */
+    public static String getMetricName(Job job) {
+        if (job.isLasted()) {
+            return job.getName();
+        }
+
+        String className = job.getClass().getSimpleName();
+        return className.isEmpty() ? job.getName() : className;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public String getScheduleUnitKey() {
+        return scheduleUnitKey;
+    }
+
+    public JobMetrics getTotalMetrics() {
+        return totalMetrics;
+    }
+
+    public JobMetrics getJobMetrics(String metricName) {
+        return jobMetricsMap.get(metricName);
+    }
+
+    public List<JobMetrics> getJobMetricsList() {
+        return new ArrayList<>(jobMetricsMap.values());
+    }
+
+}
@@ -1,14 +1,35 @@
 package rtsp.service.scheduler.schedule;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.job.JobLane;
+import rtsp.service.scheduler.metric.JobMetrics;
+import rtsp.service.scheduler.metric.ScheduleUnitMetrics;
+import rtsp.service.scheduler.schedule.handler.JobLaneGroup;
+import rtsp.service.scheduler.schedule.handler.JobScheduler;
 import rtsp.service.scheduler.schedule.unit.ScheduleUnit;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * @class public class ScheduleManager
+ * @brief ScheduleUnit 을 관리하는 클래스
+ *
+ * - 모든 ScheduleUnit 은 ScheduleManager 가 가진 타이머 스레드 하나를 공유한다.
+ *      > 지연/반복 Job 은 이 타이머에 등록되고, 시간이 되면 각 ScheduleUnit 의 JobExecutor 로 넘어간다.
+ *      > 반복 Job 은 실행될 때마다 다음 실행 시간으로 다시 등록(re-arm)된다.
+ *      > 취소는 등록된 작업에 표시만 하고 (O(1)) 타이머가 해당 시간에 버린다.
+ * - ScheduleUnit 마다 레인별 큐 길이, Job 대기/실행 시간 분포, overrun/rejected 횟수를 조회할 수 있다.
+ *      > 대기 시간이 길거나 overrun 이 늘어나면 STREAM_THREAD_POOL_SIZE 를 늘린다.
+ */
 public class ScheduleManager {
 
     ////////////////////////////////////////////////////////////
@@ -16,11 +37,21 @@ public class ScheduleManager {
     private static final Logger logger = LoggerFactory.getLogger(ScheduleManager.class);
     private final HashMap<String, ScheduleUnit> scheduleUnitMap = new HashMap<>();
     private final ReentrantLock scheduleUnitMapLock = new ReentrantLock();
+    private final ScheduledThreadPoolExecutor timer; // 모든 ScheduleUnit 이 공유하는 타이머
     ////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
     // CONSTRUCTOR
-    public ScheduleManager() {}
+    public ScheduleManager() {
+        timer = new ScheduledThreadPoolExecutor(1, new BasicThreadFactory
+                .Builder()
+                .namingPattern("ScheduleTimer")
+                .daemon(true)
+                .build()
+        );
+        // 취소한 작업은 큐에서 바로 찾아서 지우지 않고 (O(1)) 실행 시간이 되면 버린다.
+        timer.setRemoveOnCancelPolicy(false);
+    }
     ////////////////////////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////
@@ -62,7 +93,8 @@ public class ScheduleManager {
             scheduleUnit = new ScheduleUnit(
                     key,
                     poolSize,
-                    queueSize
+                    queueSize,
+                    timer
             );
             scheduleUnitMap.put(key, scheduleUnit);
             return scheduleUnit;
@@ -159,6 +191,7 @@ public class ScheduleManager {
         }
 
         clearScheduleUnitMap();
+        timer.shutdownNow();
     }
 
     public int getActiveJobNumber(String scheduleUnitKey) {
@@ -172,6 +205,79 @@ public class ScheduleManager {
         return scheduleUnit.getJobListSize();
     }
 
+    public ScheduleUnitMetrics getScheduleUnitMetrics(String scheduleUnitKey) {
+        ScheduleUnit scheduleUnit = getScheduleUnit(scheduleUnitKey);
+        if (scheduleUnit == null) {
+            return null;
+        }
+
+        return scheduleUnit.getScheduleUnitMetrics();
+    }
+
+    /**
+     * @fn public int getQueuedJobCount(String scheduleUnitKey, JobLane lane)
+     * @brief ScheduleUnit 레인의 실행 대기 Job 개수를 반환하는 함수
+     * @param scheduleUnitKey ScheduleUnit key
+     * @param lane 레인
+     * @return 실행 대기 Job 개수
+     */
+    public int getQueuedJobCount(String scheduleUnitKey, JobLane lane) {
+        ScheduleUnit scheduleUnit = getScheduleUnit(scheduleUnitKey);
+        if (scheduleUnit == null || lane == null) {
+            return 0;
+        }
+
+        JobLaneGroup jobLaneGroup = scheduleUnit.getJobScheduler().getJobLaneGroup(lane);
+        return jobLaneGroup != null ? jobLaneGroup.getQueuedJobCount() : 0;
+    }
+
+    /**
+     * @fn public List<String> getMetricsSummary()
+     * @brief 모든 ScheduleUnit 의 실행 통계 요약을 반환하는 함수
+     * @return ScheduleUnit 마다 [레인별 스레드 수/큐 길이, 전체 통계] 한 줄, Job 이름별 통계 한 줄씩
+     */
+    public List<String> getMetricsSummary() {
+        List<String> summaryList = new ArrayList<>();
+
+        for (ScheduleUnit scheduleUnit : getCloneCallMap().values()) {
+            if (scheduleUnit == null) {
+                continue;
+            }
+
+            JobScheduler jobScheduler = scheduleUnit.getJobScheduler();
+            StringBuilder laneSummary = new StringBuilder();
+            for (JobLane lane : JobLane.values()) {
+                JobLaneGroup jobLaneGroup = jobScheduler.getJobLaneGroup(lane);
+                if (jobLaneGroup == null) {
+                    continue;
+                }
+
+                if (laneSummary.length() > 0) {
+                    laneSummary.append(", ");
+                }
+                laneSummary.append(lane)
+                        .append("(threads=").append(jobLaneGroup.getExecutorCount())
+                        .append(", queued=").append(jobLaneGroup.getQueuedJobCount())
+                        .append(")");
+            }
+
+            ScheduleUnitMetrics scheduleUnitMetrics = scheduleUnit.getScheduleUnitMetrics();
+            summaryList.add("[" + scheduleUnit.getScheduleUnitKey() + "] lanes=[" + laneSummary + "] total=" + scheduleUnitMetrics.getTotalMetrics());
+
+            List<JobMetrics> jobMetricsList = scheduleUnitMetrics.getJobMetricsList();
+            jobMetricsList.sort(Comparator.comparing(JobMetrics::getName));
+            for (JobMetrics jobMetrics : jobMetricsList) {
+                summaryList.add("[" + scheduleUnit.getScheduleUnitKey() + "] " + jobMetrics);
+            }
+        }
+
+        return summaryList;
+    }
+
+    public ScheduledThreadPoolExecutor getTimer() {
+        return timer;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////
 
 }
@@ -4,48 +4,56 @@ import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.job.JobLane;
+import rtsp.service.scheduler.metric.ScheduleUnitMetrics;
 
 import java.util.Comparator;
 import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * @class public class JobExecutor
+ * @brief Job 을 실행하는 전용 스레드 클래스
+ *
+ * - 자기 큐에 Job 이 없으면 같은 레인(JobLaneGroup)의 다른 JobExecutor 큐에서 Job 을 가져와서 실행한다.
+ * - 가져올 Job 도 없으면 take() 로 대기하므로 유휴 상태에서는 깨어나지 않는다.
+ * - Job 이 들어오면 바로 깨어나서 실행한다. (지연 실행 Job 은 ScheduleManager 의 타이머가 시간이 되면 넣어준다.)
+ * - Job 마다 큐 대기 시간과 실행 시간을 ScheduleUnitMetrics 에 기록한다.
+ */
 public class JobExecutor {
 
     ////////////////////////////////////////////////////////////////////////////////
     private static final Logger logger = LoggerFactory.getLogger(JobExecutor.class);
 
     private final String scheduleUnitKey;
+    private final JobLane lane;
     private final int index;
+    private final JobLaneGroup jobLaneGroup;
 
     private final PriorityBlockingQueue<Job> priorityQueue;
-    private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+    private final Thread workerThread;
+    private volatile boolean isRunning = true;
     ////////////////////////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////////////////////////
-    public JobExecutor(String scheduleUnitKey, int index, int queueSize) {
+    public JobExecutor(String scheduleUnitKey, JobLane lane, int index, int queueSize, JobLaneGroup jobLaneGroup) {
         this.scheduleUnitKey = scheduleUnitKey;
+        this.lane = lane;
         this.index = index;
+        this.jobLaneGroup = jobLaneGroup;
 
         priorityQueue = new PriorityBlockingQueue<>(
-                queueSize,
+                Math.max(1, queueSize),
                 Comparator.comparing(Job::getPriority)
         );
 
         ThreadFactory threadFactory = new BasicThreadFactory
                 .Builder()
-                .namingPattern(scheduleUnitKey + "_JobExecutor" + "-" + index)
+                .namingPattern(scheduleUnitKey + "_JobExecutor" + "-" + lane + "-" + index)
                 .daemon(true)
                 .build();
 
-        scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1, threadFactory);
-        scheduledThreadPoolExecutor.scheduleAtFixedRate(
-                new Worker(),
-                0,
-                1,
-                TimeUnit.MILLISECONDS
-        );
+        workerThread = threadFactory.newThread(new Worker());
     }
     ////////////////////////////////////////////////////////////////////////////////
 
@@ -54,13 +62,52 @@ public class JobExecutor {
 
         @Override
         public void run() {
+            while (isRunning) {
+                Job job = nextJob();
+                if (job == null) {
+                    continue;
+                }
+
+                runJob(job);
+            }
+        }
+
+        private Job nextJob() {
+            Job job = priorityQueue.poll();
+            if (job == null) {
+                job = jobLaneGroup.steal(JobExecutor.this);
+            }
+            if (job != null) {
+                return job;
+            }
+
+            // 쉬는 상태로 등록한 후 한 번 더 확인해서, 등록 직전에 다른 JobExecutor 에 들어간 Job 을 놓치지 않는다.
+            jobLaneGroup.parkIdle(JobExecutor.this);
+            job = jobLaneGroup.steal(JobExecutor.this);
+            if (job != null) {
+                jobLaneGroup.unparkIdle(JobExecutor.this);
+                return job;
+            }
+
             try {
-                // poll(): dequeue 후 객체 null 여부에 상관없이 기다리지 않음
-                // take(): dequeue 후 객체가 null 이 아닐 때까지 기다림
-                Job job = priorityQueue.poll();
-                if (job == null) { return; }
+                // take(): 큐에 Job 이 들어올 때까지 스레드를 재우고, 들어오면 바로 깨어난다.
+                return priorityQueue.take();
+            } catch (InterruptedException e) {
+                // stop() 으로 깨운 경우 종료, 아니면 계속 대기
+                return null;
+            } finally {
+                // 순서대로 넣은 Job 으로 깨어난 경우에는 아직 쉬는 상태로 남아 있으므로 제거한다.
+                jobLaneGroup.unparkIdle(JobExecutor.this);
+            }
+        }
 
-                //logger.debug("[scheduleUnitKey={}, index={}] JOB: {}", scheduleUnitKey, index, job.getName());
+        private void runJob(Job job) {
+            ScheduleUnitMetrics scheduleUnitMetrics = jobLaneGroup.getScheduleUnitMetrics();
+            long startTime = System.nanoTime();
+            scheduleUnitMetrics.recordWaitTime(job, startTime - job.getEnqueueTime());
+
+            try {
+                //logger.debug("[scheduleUnitKey={}, lane={}, index={}] JOB: {}", scheduleUnitKey, lane, index, job.getName());
                 job.run();
                 if (!job.isLasted()) {
                     job.decCurRemainRunCount();
@@ -70,20 +117,44 @@ public class JobExecutor {
                 }
             } catch (Exception e) {
                 // ignore
+            } finally {
+                scheduleUnitMetrics.recordRunTime(job, System.nanoTime() - startTime);
+                job.setIsPending(false);
             }
         }
 
     }
 
+    void start() {
+        workerThread.start();
+    }
+
     public void stop() {
-        scheduledThreadPoolExecutor.shutdown();
+        isRunning = false;
         priorityQueue.clear();
+        workerThread.interrupt();
     }
 
     public void addJob(Job job) {
         priorityQueue.offer(job);
     }
 
+    Job peekJob() {
+        return priorityQueue.peek();
+    }
+
+    Job pollJob() {
+        return priorityQueue.poll();
+    }
+
+    public int getQueuedJobCount() {
+        return priorityQueue.size();
+    }
+
+    public JobLane getLane() {
+        return lane;
+    }
+
     public int getIndex() {
         return index;
     }
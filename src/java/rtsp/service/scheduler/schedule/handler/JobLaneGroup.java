@@ -0,0 +1,121 @@
+package rtsp.service.scheduler.schedule.handler;
+
+import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.job.JobLane;
+import rtsp.service.scheduler.metric.ScheduleUnitMetrics;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @class public class JobLaneGroup
+ * @brief 하나의 레인(JobLane)을 처리하는 JobExecutor 묶음 클래스 (Work-stealing)
+ *
+ * - Job 은 쉬고 있는 JobExecutor 가 있으면 그 JobExecutor 에 바로 넣고, 없으면 순서대로 돌아가며 넣는다.
+ * - 자기 큐가 빈 JobExecutor 는 잠들기 전에 다른 JobExecutor 의 큐에서 우선순위가 가장 높은 Job 을 가져온다.
+ *      > 오래 실행되는 Job 뒤에 쌓인 Job 도 다른 JobExecutor 가 처리할 수 있다.
+ * - JobExecutor 는 쉬는 상태로 등록한 후 한 번 더 훔쳐 보고 잠들기 때문에, 그 사이에 들어온 Job 을 놓치지 않는다.
+ */
+public class JobLaneGroup {
+
+    private final JobLane lane;
+    private final ScheduleUnitMetrics scheduleUnitMetrics;
+    private final JobExecutor[] jobExecutors;
+    private final ConcurrentLinkedQueue<JobExecutor> idleExecutorQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger curExecutorIndex = new AtomicInteger(0);
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public JobLaneGroup(String scheduleUnitKey, JobLane lane, int threadCount, int queueSize, ScheduleUnitMetrics scheduleUnitMetrics) {
+        this.lane = lane;
+        this.scheduleUnitMetrics = scheduleUnitMetrics;
+
+        jobExecutors = new JobExecutor[Math.max(1, threadCount)];
+        for (int i = 0; i < jobExecutors.length; i++) {
+            jobExecutors[i] = new JobExecutor(scheduleUnitKey, lane, i, queueSize, this);
+        }
+        for (JobExecutor jobExecutor : jobExecutors) {
+            jobExecutor.start();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public void addJob(Job job)
+     * @brief Job 을 레인의 JobExecutor 에 넣는 함수 (쉬고 있는 JobExecutor 우선)
+     * @param job Job
+     */
+    public void addJob(Job job) {
+        JobExecutor idleExecutor = idleExecutorQueue.poll();
+        if (idleExecutor != null) {
+            idleExecutor.addJob(job);
+            return;
+        }
+
+        int index = Math.floorMod(curExecutorIndex.getAndIncrement(), jobExecutors.length);
+        jobExecutors[index].addJob(job);
+    }
+
+    /**
+     * @fn Job steal(JobExecutor thief)
+     * @brief 다른 JobExecutor 의 큐에서 우선순위가 가장 높은 Job 을 가져오는 함수
+     * @param thief 가져가는 JobExecutor
+     * @return 가져온 Job, 없으면 null 반환
+     */
+    Job steal(JobExecutor thief) {
+        JobExecutor victim = null;
+        Job victimHead = null;
+        for (JobExecutor jobExecutor : jobExecutors) {
+            if (jobExecutor == thief) {
+                continue;
+            }
+
+            Job head = jobExecutor.peekJob();
+            if (head != null && (victimHead == null || head.getPriority() < victimHead.getPriority())) {
+                victim = jobExecutor;
+                victimHead = head;
+            }
+        }
+
+        return victim != null ? victim.pollJob() : null;
+    }
+
+    void parkIdle(JobExecutor jobExecutor) {
+        idleExecutorQueue.offer(jobExecutor);
+    }
+
+    void unparkIdle(JobExecutor jobExecutor) {
+        idleExecutorQueue.remove(jobExecutor);
+    }
+
+    public void stop() {
+        for (JobExecutor jobExecutor : jobExecutors) {
+            jobExecutor.stop();
+        }
+        idleExecutorQueue.clear();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public JobLane getLane() {
+        return lane;
+    }
+
+    public ScheduleUnitMetrics getScheduleUnitMetrics() {
+        return scheduleUnitMetrics;
+    }
+
+    public int getExecutorCount() {
+        return jobExecutors.length;
+    }
+
+    public int getQueuedJobCount() {
+        int count = 0;
+        for (JobExecutor jobExecutor : jobExecutors) {
+            count += jobExecutor.getQueuedJobCount();
+        }
+        return count;
+    }
+
+}
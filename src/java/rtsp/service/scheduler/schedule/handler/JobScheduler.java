@@ -3,12 +3,23 @@ package rtsp.service.scheduler.schedule.handler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.job.JobLane;
+import rtsp.service.scheduler.metric.ScheduleUnitMetrics;
 import rtsp.service.scheduler.schedule.unit.JobAdder;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * @class public class JobScheduler
+ * @brief ScheduleUnit 의 Job 을 레인(JobLane)별 JobLaneGroup 으로 넘기는 클래스
+ * 레인마다 스레드가 따로 있으므로 스트리밍(MEDIA)이 스레드를 모두 차지해도 관리 작업(CONTROL)은 밀리지 않는다.
+ */
 public class JobScheduler {
 
     ////////////////////////////////////////////////////////////////////////////////
@@ -21,20 +32,23 @@ public class JobScheduler {
     private final HashMap<String, JobAdder> scheduleMap = new HashMap<>();
     private final ReentrantLock scheduleLock = new ReentrantLock();
 
-    private final JobExecutor[] jobExecutors; // Round-Robin executor selection
+    private final EnumMap<JobLane, JobLaneGroup> jobLaneGroupMap = new EnumMap<>(JobLane.class); // Work-stealing executor group per lane
+    private final ScheduledExecutorService timer; // 지연/반복 Job 을 시간이 되면 JobExecutor 로 넘기는 공유 타이머 (ScheduleManager 소유)
     private final ReentrantLock executorLock = new ReentrantLock();
-    private int curExecutorIndex = 0;
+
+    private final ScheduleUnitMetrics scheduleUnitMetrics;
     ////////////////////////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////////////////////////
-    public JobScheduler(String scheduleUnitKey, int poolSize, int queueSize) {
+    public JobScheduler(String scheduleUnitKey, int poolSize, int queueSize, ScheduledExecutorService timer) {
         this.scheduleUnitKey = scheduleUnitKey;
         this.poolSize = poolSize;
         this.queueSize = queueSize;
+        this.timer = timer;
+        this.scheduleUnitMetrics = new ScheduleUnitMetrics(scheduleUnitKey);
 
-        jobExecutors = new JobExecutor[poolSize];
-        for (int i = 0; i < poolSize; i++) {
-            jobExecutors[i] = new JobExecutor(scheduleUnitKey, i, queueSize);
+        for (JobLane lane : JobLane.values()) {
+            jobLaneGroupMap.put(lane, new JobLaneGroup(scheduleUnitKey, lane, lane.getThreadCount(poolSize), queueSize, scheduleUnitMetrics));
         }
     }
     ////////////////////////////////////////////////////////////////////////////////
@@ -50,24 +64,22 @@ public class JobScheduler {
                         scheduleUnitKey,
                         job.getName(), job.getInterval()
                 );
+                scheduleUnitMetrics.incRejectedCount(job);
                 return false;
             }
 
             if (scheduleMap.get(scheduleUnitKey + ":" + job.getName()) != null) {
                 logger.warn("[JobScheduler({})] Job is already scheduled. ({})", scheduleUnitKey, job.getName());
+                scheduleUnitMetrics.incRejectedCount(job);
                 return false;
             }
 
-            JobAdder jobAdder = new JobAdder(this, job, curExecutorIndex);
-            jobAdder.run();
-            curExecutorIndex++;
-            if (curExecutorIndex >= poolSize) {
-                curExecutorIndex = 0;
-            }
+            JobAdder jobAdder = new JobAdder(this, job);
             scheduleMap.put(
                     scheduleUnitKey + ":" + job.getName(),
                     jobAdder
             );
+            jobAdder.run();
             logger.debug("[JobScheduler({})] [{}] is started.", scheduleUnitKey, job.getName());
         } catch (Exception e) {
             logger.warn("[JobScheduler({})] Fail to schedule the job. ({})", scheduleUnitKey, job.getName(), e);
@@ -84,7 +96,7 @@ public class JobScheduler {
 
         scheduleLock.lock();
         try {
-            JobAdder jobAdder = scheduleMap.get(scheduleUnitKey + ":" + job.getName());
+            JobAdder jobAdder = scheduleMap.remove(scheduleUnitKey + ":" + job.getName());
             if (jobAdder != null) {
                 jobAdder.stop();
             }
@@ -113,6 +125,7 @@ public class JobScheduler {
                 jobAdder.stop();
                 logger.debug("[JobScheduler({})] [{}] is finished.", scheduleUnitKey, jobKey);
             }
+            scheduleMap.clear();
         } catch (Exception e) {
             logger.warn("[JobScheduler({})] Fail to stop the jobs.", scheduleUnitKey, e);
         } finally {
@@ -121,8 +134,8 @@ public class JobScheduler {
 
         executorLock.lock();
         try {
-            for (int i = 0; i < poolSize; i++) {
-                jobExecutors[i].stop();
+            for (JobLaneGroup jobLaneGroup : jobLaneGroupMap.values()) {
+                jobLaneGroup.stop();
             }
         } catch (Exception e) {
             logger.warn("[JobScheduler({})] Fail to stop the job executors. Exception", scheduleUnitKey, e);
@@ -135,15 +148,42 @@ public class JobScheduler {
     ////////////////////////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////////////////////////
-    public void addJobToExecutor(int executorIndex, Job job) {
-        executorLock.lock();
+    public void addJobToExecutor(Job job) {
         try {
-            jobExecutors[executorIndex].addJob(job);
-            //logger.debug("jobExecutor[{}] add job ({})", curExecutorIndex, job.getName());
+            job.setIsPending(true);
+            job.setEnqueueTime(System.nanoTime());
+            // PriorityBlockingQueue 는 스레드 안전하므로 잠금 없이 넣는다.
+            jobLaneGroupMap.get(job.getLane()).addJob(job);
+            //logger.debug("[{}] add job ({})", job.getLane(), job.getName());
         } catch (Exception e) {
             logger.warn("[JobScheduler({})] Fail to add the job to executors. Exception", scheduleUnitKey, e);
+        }
+    }
+
+    /**
+     * @fn public ScheduledFuture<?> schedule(Runnable runnable, long delay, TimeUnit timeUnit)
+     * @brief 공유 타이머에 작업을 등록하는 함수 (반복 Job 은 실행될 때마다 이 함수로 다시 등록한다.)
+     * @param runnable 시간이 되면 타이머 스레드에서 실행할 작업 (가볍게 유지해야 한다.)
+     * @param delay 지연 시간
+     * @param timeUnit 지연 시간 단위
+     * @return 취소용 ScheduledFuture
+     */
+    public ScheduledFuture<?> schedule(Runnable runnable, long delay, TimeUnit timeUnit) {
+        return timer.schedule(runnable, delay, timeUnit);
+    }
+
+    /**
+     * @fn public void release(Job job, JobAdder jobAdder)
+     * @brief JobExecutor 로 넘긴 일회성 Job 을 스케줄 목록에서 제거하는 함수 (같은 이름으로 다시 스케줄할 수 있다.)
+     * @param job Job
+     * @param jobAdder 해당 Job 의 JobAdder (다른 JobAdder 로 교체된 경우 제거하지 않는다.)
+     */
+    public void release(Job job, JobAdder jobAdder) {
+        scheduleLock.lock();
+        try {
+            scheduleMap.remove(scheduleUnitKey + ":" + job.getName(), jobAdder);
         } finally {
-            executorLock.unlock();
+            scheduleLock.unlock();
         }
     }
 
@@ -151,6 +191,14 @@ public class JobScheduler {
         return scheduleMap.size();
     }
 
+    public JobLaneGroup getJobLaneGroup(JobLane lane) {
+        return jobLaneGroupMap.get(lane);
+    }
+
+    public ScheduleUnitMetrics getScheduleUnitMetrics() {
+        return scheduleUnitMetrics;
+    }
+
     @Override
     public String toString() {
         return "JobScheduler{" +
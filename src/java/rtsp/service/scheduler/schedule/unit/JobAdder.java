@@ -3,42 +3,91 @@ package rtsp.service.scheduler.schedule.unit;
 import rtsp.service.scheduler.job.Job;
 import rtsp.service.scheduler.schedule.handler.JobScheduler;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * @class public class JobAdder implements Runnable
+ * @brief Job 을 시간에 맞춰 JobExecutor 로 넘기는 클래스
+ *
+ * - 스레드를 따로 만들지 않고 ScheduleManager 의 공유 타이머에 등록한다.
+ * - 반복 Job 은 넘길 때마다 다음 실행 시간으로 다시 등록(re-arm)한다. (기준 시간에서 interval 만큼씩 증가시켜 밀리지 않도록 한다.)
+ * - 반복 Job 의 실행 시간이 되었는데 이전 실행이 아직 대기 중이거나 실행 중이면 이번 실행은 넘기지 않는다. (overrun 으로 기록)
+ *      > 느린 Job 이 큐에 계속 쌓여서 같은 레인의 다른 Job 까지 밀리는 것을 막는다.
+ * - 일회성 Job 은 JobExecutor 로 넘긴 후 JobScheduler 스케줄 목록에서 제거된다.
+ */
 public class JobAdder implements Runnable {
 
-    ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1);
-
     private final JobScheduler jobScheduler;
     private final Job job;
-    private final int executorIndex;
 
-    public JobAdder(JobScheduler jobScheduler, Job job, int executorIndex) {
+    private volatile ScheduledFuture<?> scheduledFuture = null; // 공유 타이머에 등록된 다음 작업
+    private volatile boolean isStopped = false;
+    private long nextRunTime = 0; // 반복 Job 의 다음 실행 시간 (System.nanoTime, 타이머 스레드에서만 사용)
+
+    public JobAdder(JobScheduler jobScheduler, Job job) {
         this.jobScheduler = jobScheduler;
         this.job = job;
-        this.executorIndex = executorIndex;
     }
 
     @Override
     public void run() {
+        job.setIsPending(false);
+
         if (job.isLasted()) {
-            scheduledThreadPoolExecutor.scheduleAtFixedRate(
-                    () -> {
-                        if (isJobFinished(job)) {
-                            jobScheduler.cancel(job);
-                        } else {
-                            jobScheduler.addJobToExecutor(executorIndex, job);
-                        }
-                    },
-                    job.getInitialDelay(), job.getInterval(), job.getTimeUnit()
-            );
+            long initialDelay = job.getTimeUnit().toNanos(job.getInitialDelay());
+            nextRunTime = System.nanoTime() + initialDelay;
+            scheduledFuture = jobScheduler.schedule(this::fire, initialDelay, TimeUnit.NANOSECONDS);
+        } else if (job.getInitialDelay() > 0) {
+            scheduledFuture = jobScheduler.schedule(this::handOff, job.getInitialDelay(), job.getTimeUnit());
         } else {
-            jobScheduler.addJobToExecutor(executorIndex, job);
+            handOff();
         }
     }
 
+    private void fire() {
+        if (isStopped) {
+            return;
+        }
+
+        if (isJobFinished(job)) {
+            jobScheduler.cancel(job);
+            return;
+        }
+
+        if (job.isPending()) {
+            jobScheduler.getScheduleUnitMetrics().incOverrunCount(job);
+        } else {
+            jobScheduler.addJobToExecutor(job);
+        }
+
+        // RE-ARM
+        long now = System.nanoTime();
+        nextRunTime += job.getTimeUnit().toNanos(job.getInterval());
+        if (nextRunTime < now) {
+            // 타이머가 늦어진 경우 밀린 실행을 몰아서 하지 않는다.
+            nextRunTime = now;
+        }
+        if (!isStopped) {
+            scheduledFuture = jobScheduler.schedule(this::fire, nextRunTime - now, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void handOff() {
+        if (isStopped) {
+            return;
+        }
+
+        jobScheduler.addJobToExecutor(job);
+        jobScheduler.release(job, this);
+    }
+
     public void stop() {
-        scheduledThreadPoolExecutor.shutdown();
+        isStopped = true;
+        ScheduledFuture<?> curScheduledFuture = scheduledFuture;
+        if (curScheduledFuture != null) {
+            curScheduledFuture.cancel(false);
+        }
     }
 
     public boolean isJobFinished(Job job) {
@@ -3,8 +3,11 @@ package rtsp.service.scheduler.schedule.unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rtsp.service.scheduler.job.Job;
+import rtsp.service.scheduler.metric.ScheduleUnitMetrics;
 import rtsp.service.scheduler.schedule.handler.JobScheduler;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 public class ScheduleUnit {
 
     ////////////////////////////////////////////////////////////////////////////////
@@ -20,7 +23,7 @@ public class ScheduleUnit {
     ////////////////////////////////////////////////////////////////////////////////
 
     ////////////////////////////////////////////////////////////////////////////////
-    public ScheduleUnit(String key, int poolSize, int queueSize) {
+    public ScheduleUnit(String key, int poolSize, int queueSize, ScheduledExecutorService timer) {
         this.scheduleUnitKey = key;
 
         if (poolSize > 0) {
@@ -29,7 +32,7 @@ public class ScheduleUnit {
             this.poolSize = DEFAULT_THREAD_COUNT;
         }
 
-        jobScheduler = new JobScheduler(scheduleUnitKey, poolSize, queueSize);
+        jobScheduler = new JobScheduler(scheduleUnitKey, this.poolSize, queueSize, timer);
     }
     ////////////////////////////////////////////////////////////////////////////////
 
@@ -60,6 +63,10 @@ public class ScheduleUnit {
         return jobScheduler;
     }
 
+    public ScheduleUnitMetrics getScheduleUnitMetrics() {
+        return jobScheduler.getScheduleUnitMetrics();
+    }
+
     public String getScheduleUnitKey() {
         return scheduleUnitKey;
     }
@@ -0,0 +1,592 @@
+package rtsp.tool.load;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.rtsp.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.config.ConfigManager;
+import rtsp.module.netty.NettyTransport;
+import rtsp.protocol.register.RegisterRtspUnitReq;
+import rtsp.protocol.register.RegisterRtspUnitRes;
+import rtsp.protocol.register.UnRegisterRtspUnitReq;
+import rtsp.protocol.register.UnRegisterRtspUnitRes;
+import rtsp.protocol.register.base.URtspMessageType;
+import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.codec.RtcpEncoder;
+import rtsp.protocol.rtcp.codec.RtcpPacketView;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.unit.RtcpUnit;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * @class public class LoadClient
+ * @brief RTSP 클라이언트 하나를 흉내 내는 클래스
+ *
+ * - REGISTER (401 > nonce 로 재요청) > OPTIONS > DESCRIBE > SETUP > PLAY > 수신 유지 > TEARDOWN > UNREGISTER 순서로 진행한다.
+ * - 모든 채널 (Register, RTSP, RTP, RTCP) 은 하나의 EventLoop 에 묶여 있으므로 상태는 그 스레드에서만 바뀐다.
+ * - 요청마다 응답 대기 시간을 두고, 시간 안에 응답이 없으면 그 단계에서 실패로 끝낸다. (서버는 상태가 맞지 않으면 응답하지 않는다.)
+ * - PLAY 성공 후 rr_interval 마다 RtcpUnit 의 값으로 RR + SDES 를 서버 RTCP 포트로 보낸다.
+ */
+public class LoadClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadClient.class);
+
+    public static final String STEP_REGISTER = "REGISTER";
+    public static final String STEP_OPTIONS = "OPTIONS";
+    public static final String STEP_DESCRIBE = "DESCRIBE";
+    public static final String STEP_SETUP = "SETUP";
+    public static final String STEP_PLAY = "PLAY";
+    public static final String STEP_TEARDOWN = "TEARDOWN";
+    public static final String STEP_UNREGISTER = "UNREGISTER";
+    public static final String[] STEPS = {
+            STEP_REGISTER, STEP_OPTIONS, STEP_DESCRIBE, STEP_SETUP, STEP_PLAY, STEP_TEARDOWN, STEP_UNREGISTER
+    };
+
+    public static final String RESULT_READY = "READY";
+    public static final String RESULT_RUNNING = "RUNNING";
+    public static final String RESULT_OK = "OK";
+
+    private static final String USER_AGENT = "JRTSP-LoadGenerator";
+    private static final long REGISTER_EXPIRES = 3600; // sec
+    private static final int MAX_RTSP_CONTENT_LENGTH = 65536;
+    private static final int RECV_BUF_SIZE = 1048576;
+
+    private final String id;
+    private final String clientIp;
+    private final EventLoop eventLoop;
+    private final ConfigManager configManager;
+    private final LoadOptions loadOptions;
+    private final LoadReport loadReport;
+
+    private final InetSocketAddress registerAddress;
+    private final InetSocketAddress rtspAddress;
+    private final InetSocketAddress rtcpAddress;
+
+    private final SessionQos sessionQos = new SessionQos();
+    private final RtcpPacketView rtcpPacketView = new RtcpPacketView();
+    private final long localSsrc = ThreadLocalRandom.current().nextInt() & 0xFFFFFFFFL;
+    private final byte[] cname;
+    private final CompletableFuture<Void> doneFuture = new CompletableFuture<>();
+
+    private Channel registerChannel = null;
+    private Channel rtpChannel = null;
+    private Channel rtcpChannel = null;
+    private Channel rtspChannel = null;
+
+    private CompletableFuture<byte[]> registerFuture = null; // 응답을 기다리는 요청 (registerSeqNumber)
+    private CompletableFuture<HttpResponse> rtspFuture = null; // 응답을 기다리는 요청 (cseq)
+    private ScheduledFuture<?> rrFuture = null;
+
+    private int registerSeqNumber = 0;
+    private int cseq = 0;
+    private boolean isRegistered = false;
+    private String sessionId = null;
+    private long mediaSsrc = 0;
+
+    private String curStep = null;
+    private volatile String result = RESULT_READY;
+    private long startTime = 0; // ns
+    private long playRequestTime = 0; // ns
+    private long setupNanos = 0;
+    private long firstPacketNanos = 0;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public LoadClient(String id, String clientIp, EventLoop eventLoop, ConfigManager configManager, LoadOptions loadOptions, LoadReport loadReport) {
+        this.id = id;
+        this.clientIp = clientIp;
+        this.eventLoop = eventLoop;
+        this.configManager = configManager;
+        this.loadOptions = loadOptions;
+        this.loadReport = loadReport;
+        this.cname = (id + "@" + clientIp).getBytes(StandardCharsets.UTF_8);
+
+        String serverIp = configManager.getLocalListenIp();
+        this.registerAddress = new InetSocketAddress(serverIp, configManager.getLocalRtspRegisterListenPort());
+        this.rtspAddress = new InetSocketAddress(serverIp, configManager.getLocalRtspListenPort());
+        this.rtcpAddress = new InetSocketAddress(serverIp, configManager.getLocalRtcpListenPort());
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public boolean open()
+     * @brief Register, RTP, RTCP 수신 소켓을 클라이언트 IP 에 bind 하는 함수 (EventLoop 밖에서 호출)
+     * @return 성공 시 true, 실패 시 false 반환
+     */
+    public boolean open() {
+        try {
+            registerChannel = bindUdp(loadOptions.getClientPort(), new RegisterClientHandler(this));
+            rtpChannel = bindUdp(loadOptions.getRtpPort(), new RtpClientHandler(this));
+            rtcpChannel = bindUdp(loadOptions.getRtcpPort(), new RtcpClientHandler(this));
+            return true;
+        } catch (Exception e) {
+            logger.warn("({}) Fail to bind the client sockets. (ip={}, port={})", id, clientIp, loadOptions.getClientPort(), e);
+            result = "BIND_FAIL";
+            close();
+            doneFuture.complete(null);
+            return false;
+        }
+    }
+
+    private Channel bindUdp(int port, ChannelHandler channelHandler) {
+        Bootstrap bootstrap = new Bootstrap();
+        bootstrap.group(eventLoop)
+                .channel(NettyTransport.getDatagramChannelClass())
+                .option(ChannelOption.SO_RCVBUF, RECV_BUF_SIZE)
+                .handler(channelHandler);
+        return bootstrap.bind(clientIp, port).syncUninterruptibly().channel();
+    }
+
+    /**
+     * @fn public CompletableFuture<Void> start()
+     * @brief 시나리오를 시작하는 함수
+     * @return 시나리오가 끝나면 (성공, 실패 모두) 완료되는 Future
+     */
+    public CompletableFuture<Void> start() {
+        if (!doneFuture.isDone()) {
+            eventLoop.execute(this::run);
+        }
+        return doneFuture;
+    }
+
+    private void run() {
+        result = RESULT_RUNNING;
+        startTime = System.nanoTime();
+
+        CompletableFuture.completedFuture(null)
+                .thenCompose(v -> register(null))
+                .thenCompose(registerRtspUnitRes -> {
+                    if (registerRtspUnitRes.getStatusCode() == RegisterRtspUnitRes.NOT_AUTHORIZED) {
+                        return register(makeNonce(registerRtspUnitRes.getRealm()));
+                    }
+                    return CompletableFuture.completedFuture(registerRtspUnitRes);
+                })
+                .thenCompose(registerRtspUnitRes -> {
+                    if (registerRtspUnitRes.getStatusCode() != RegisterRtspUnitRes.SUCCESS) {
+                        throw new IllegalStateException("Register is rejected. (statusCode=" + registerRtspUnitRes.getStatusCode() + ")");
+                    }
+                    isRegistered = true;
+                    return connect();
+                })
+                .thenCompose(v -> sendRtsp(STEP_OPTIONS, RtspMethods.OPTIONS, null))
+                .thenCompose(res -> sendRtsp(STEP_DESCRIBE, RtspMethods.DESCRIBE, req ->
+                        req.headers().set(RtspHeaderNames.ACCEPT, "application/sdp")
+                ))
+                .thenCompose(res -> sendRtsp(STEP_SETUP, RtspMethods.SETUP, req ->
+                        req.headers().set(RtspHeaderNames.TRANSPORT,
+                                "RTP/AVP;unicast;client_port=" + loadOptions.getRtpPort() + "-" + loadOptions.getRtcpPort())
+                ))
+                .thenCompose(res -> {
+                    onSetup(res);
+                    playRequestTime = System.nanoTime();
+                    return sendRtsp(STEP_PLAY, RtspMethods.PLAY, req ->
+                            req.headers().set(RtspHeaderNames.RANGE, "npt=0.000-")
+                    );
+                })
+                .thenCompose(res -> {
+                    setupNanos = System.nanoTime() - startTime;
+                    loadReport.recordSetupLatency(setupNanos);
+                    rrFuture = eventLoop.scheduleAtFixedRate(
+                            this::sendReceiverReport,
+                            loadOptions.getRrIntervalMs(), loadOptions.getRrIntervalMs(), TimeUnit.MILLISECONDS
+                    );
+                    logger.debug("({}) Playing. (sessionId={}, setup={}ms)", id, sessionId, TimeUnit.NANOSECONDS.toMillis(setupNanos));
+                    return hold();
+                })
+                .handle((v, t) -> {
+                    if (t != null) {
+                        fail(t);
+                    } else {
+                        result = RESULT_OK;
+                    }
+                    return null;
+                })
+                .thenCompose(v -> finish());
+    }
+
+    private CompletableFuture<Void> hold() {
+        curStep = "HOLD";
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        eventLoop.schedule(() -> future.complete(null), loadOptions.getDurationSec(), TimeUnit.SECONDS);
+        return future;
+    }
+
+    private CompletableFuture<Void> finish() {
+        if (rrFuture != null) {
+            rrFuture.cancel(false);
+            rrFuture = null;
+        }
+
+        CompletableFuture<?> future = CompletableFuture.completedFuture(null);
+        if (sessionId != null && rtspChannel != null && rtspChannel.isActive()) {
+            future = future.thenCompose(v -> sendRtsp(STEP_TEARDOWN, RtspMethods.TEARDOWN, null)).handle(this::ignoreOnFinish);
+        }
+        if (isRegistered) {
+            future = future.thenCompose(v -> unregister()).handle(this::ignoreOnFinish);
+        }
+
+        return future.handle((v, t) -> {
+            close();
+            doneFuture.complete(null);
+            return null;
+        });
+    }
+
+    private Object ignoreOnFinish(Object value, Throwable t) {
+        if (t != null) {
+            logger.warn("({}) Fail to finish the session. ({})", id, getCause(t).toString());
+            if (RESULT_OK.equals(result)) {
+                fail(t);
+            }
+        }
+        return null;
+    }
+
+    private void fail(Throwable t) {
+        Throwable cause = getCause(t);
+        result = curStep + "_FAIL";
+        logger.warn("({}) {} is failed. ({})", id, curStep, cause.toString());
+    }
+
+    private static Throwable getCause(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+
+    /**
+     * @fn public void close()
+     * @brief 모든 채널을 닫는 함수
+     */
+    public void close() {
+        for (Channel channel : new Channel[]{rtspChannel, registerChannel, rtpChannel, rtcpChannel}) {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    // REGISTER
+
+    private CompletableFuture<RegisterRtspUnitRes> register(String nonce) {
+        curStep = STEP_REGISTER;
+
+        RegisterRtspUnitReq registerRtspUnitReq = new RegisterRtspUnitReq(
+                configManager.getMagicCookie(),
+                URtspMessageType.REGISTER,
+                ++registerSeqNumber,
+                System.currentTimeMillis(),
+                id,
+                REGISTER_EXPIRES,
+                (short) loadOptions.getClientPort()
+        );
+        if (nonce != null) {
+            registerRtspUnitReq.setNonce(nonce);
+        }
+
+        return sendRegister(STEP_REGISTER, registerRtspUnitReq.getByteData()).thenApply(data -> {
+            try {
+                return new RegisterRtspUnitRes(data);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private CompletableFuture<Void> unregister() {
+        curStep = STEP_UNREGISTER;
+
+        UnRegisterRtspUnitReq unRegisterRtspUnitReq = new UnRegisterRtspUnitReq(
+                configManager.getMagicCookie(),
+                URtspMessageType.UNREGISTER,
+                ++registerSeqNumber,
+                System.currentTimeMillis(),
+                id,
+                (short) loadOptions.getClientPort()
+        );
+
+        return sendRegister(STEP_UNREGISTER, unRegisterRtspUnitReq.getByteData()).thenAccept(data -> {
+            int statusCode;
+            try {
+                statusCode = new UnRegisterRtspUnitRes(data).getStatusCode();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+            if (statusCode != UnRegisterRtspUnitRes.SUCCESS) {
+                throw new IllegalStateException("Unregister is rejected. (statusCode=" + statusCode + ")");
+            }
+            isRegistered = false;
+        });
+    }
+
+    private CompletableFuture<byte[]> sendRegister(String step, byte[] data) {
+        long requestTime = System.nanoTime();
+        CompletableFuture<byte[]> future = withTimeout(new CompletableFuture<>(), step);
+        registerFuture = future;
+        registerChannel.writeAndFlush(new DatagramPacket(Unpooled.wrappedBuffer(data), registerAddress));
+
+        return future.thenApply(res -> {
+            loadReport.recordStepLatency(step, System.nanoTime() - requestTime);
+            return res;
+        });
+    }
+
+    /**
+     * 서버와 같은 방식으로 nonce 를 만든다. (MD5(MD5(realm + hashKey)))
+     */
+    private String makeNonce(String realm) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("MD5");
+            messageDigest.update(realm.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update(configManager.getHashKey().getBytes(StandardCharsets.UTF_8));
+            byte[] a1 = messageDigest.digest();
+            messageDigest.reset();
+            messageDigest.update(a1);
+            return new String(messageDigest.digest());
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    void onRegisterResponse(int seqNumber, byte[] data) {
+        CompletableFuture<byte[]> future = registerFuture;
+        if (future == null || seqNumber != registerSeqNumber) {
+            logger.debug("({}) Unexpected register response is dropped. (seqNumber={})", id, seqNumber);
+            return;
+        }
+        registerFuture = null;
+        future.complete(data);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    // RTSP
+
+    private CompletableFuture<Void> connect() {
+        Bootstrap bootstrap = new Bootstrap();
+        bootstrap.group(eventLoop)
+                .channel(NettyTransport.getSocketChannelClass())
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, loadOptions.getTimeoutMs())
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel socketChannel) {
+                        socketChannel.pipeline().addLast(
+                                new RtspEncoder(),
+                                new RtspDecoder(),
+                                new HttpObjectAggregator(MAX_RTSP_CONTENT_LENGTH),
+                                new RtspClientHandler(LoadClient.this)
+                        );
+                    }
+                });
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        ChannelFuture channelFuture = bootstrap.connect(rtspAddress, new InetSocketAddress(clientIp, 0));
+        channelFuture.addListener(f -> {
+            if (f.isSuccess()) {
+                rtspChannel = channelFuture.channel();
+                future.complete(null);
+            } else {
+                future.completeExceptionally(f.cause());
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<HttpResponse> sendRtsp(String step, HttpMethod method, Consumer<FullHttpRequest> requestSetter) {
+        curStep = step;
+
+        FullHttpRequest req = new DefaultFullHttpRequest(RtspVersions.RTSP_1_0, method, loadOptions.getUri());
+        req.headers().set(RtspHeaderNames.CSEQ, ++cseq);
+        req.headers().set(RtspHeaderNames.USER_AGENT, USER_AGENT);
+        if (sessionId != null) {
+            req.headers().set(RtspHeaderNames.SESSION, sessionId);
+        }
+        if (requestSetter != null) {
+            requestSetter.accept(req);
+        }
+
+        long requestTime = System.nanoTime();
+        CompletableFuture<HttpResponse> future = withTimeout(new CompletableFuture<>(), step);
+        rtspFuture = future;
+        rtspChannel.writeAndFlush(req);
+
+        return future.thenApply(res -> {
+            loadReport.recordStepLatency(step, System.nanoTime() - requestTime);
+            if (!RtspResponseStatuses.OK.equals(res.status())) {
+                throw new IllegalStateException("Response is not OK. (" + res.status() + ")");
+            }
+            return res;
+        });
+    }
+
+    private void onSetup(HttpResponse res) {
+        String session = res.headers().get(RtspHeaderNames.SESSION);
+        if (session == null || session.isEmpty()) {
+            throw new IllegalStateException("Session is not defined in the SETUP response.");
+        }
+        int index = session.indexOf(';'); // ;timeout=
+        sessionId = (index >= 0 ? session.substring(0, index) : session).trim();
+
+        String transport = res.headers().get(RtspHeaderNames.TRANSPORT);
+        if (transport != null) {
+            for (String parameter : transport.split(";")) {
+                if (parameter.startsWith("ssrc=")) {
+                    try {
+                        mediaSsrc = Long.parseLong(parameter.substring("ssrc=".length()).trim()) & 0xFFFFFFFFL;
+                    } catch (NumberFormatException e) {
+                        logger.debug("({}) Fail to parse the ssrc. ({})", id, parameter);
+                    }
+                }
+            }
+        }
+    }
+
+    void onRtspResponse(HttpResponse res) {
+        CompletableFuture<HttpResponse> future = rtspFuture;
+        String resCseq = res.headers().get(RtspHeaderNames.CSEQ);
+        if (future == null || (resCseq != null && !resCseq.trim().equals(String.valueOf(cseq)))) {
+            logger.debug("({}) Unexpected rtsp response is dropped. ({}, cseq={})", id, res.status(), resCseq);
+            return;
+        }
+        rtspFuture = null;
+        future.complete(res);
+    }
+
+    void onRtspInactive() {
+        CompletableFuture<HttpResponse> future = rtspFuture;
+        if (future != null) {
+            rtspFuture = null;
+            future.completeExceptionally(new ClosedChannelException());
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    // RTP / RTCP
+
+    void onRtp(ByteBuf buf) {
+        long now = System.nanoTime();
+        if (sessionQos.onRtp(buf, now) && playRequestTime > 0) {
+            firstPacketNanos = now - playRequestTime;
+            loadReport.recordFirstPacketLatency(firstPacketNanos);
+        }
+    }
+
+    void onRtcp(ByteBuf buf) {
+        rtcpPacketView.wrap(buf);
+        while (rtcpPacketView.next()) {
+            if (rtcpPacketView.getPacketType() == RtcpType.SENDER_REPORT) {
+                sessionQos.onSenderReport(new RtcpSenderReport(
+                        rtcpPacketView.getNtpMsw(),
+                        rtcpPacketView.getNtpLsw(),
+                        rtcpPacketView.getRtpTimestamp(),
+                        rtcpPacketView.getSenderPacketCount(),
+                        rtcpPacketView.getSenderOctetCount(),
+                        null, null
+                ));
+            }
+        }
+    }
+
+    /**
+     * RtcpUnit 의 수신 통계로 RR (Report block 1 개) + SDES (CNAME) 를 만들어 서버로 보낸다.
+     */
+    private void sendReceiverReport() {
+        if (rtcpChannel == null || !rtcpChannel.isActive() || sessionQos.getReceivedPackets() == 0) {
+            return;
+        }
+
+        RtcpUnit rtcpUnit = sessionQos.getRtcpUnit();
+        long sourceSsrc = mediaSsrc != 0 ? mediaSsrc : rtcpUnit.getSsrc();
+
+        ByteBuf buf = rtcpChannel.alloc().directBuffer(
+                RtcpEncoder.RECEIVER_REPORT_LENGTH + RtcpEncoder.getSourceDescriptionLength(cname.length)
+        );
+        RtcpEncoder.writeReceiverReport(
+                buf,
+                localSsrc,
+                sourceSsrc,
+                (int) Math.min(255, rtcpUnit.getFractionLost()),
+                (int) sessionQos.getLostPackets(),
+                rtcpUnit.getExtHighSequence() & 0xFFFFFFFFL,
+                Math.max(0, rtcpUnit.getJitter()),
+                rtcpUnit.getLastSrTimestamp(),
+                rtcpUnit.getLastSRdelay()
+        );
+        RtcpEncoder.writeSourceDescription(buf, localSsrc, cname);
+
+        rtcpChannel.writeAndFlush(new DatagramPacket(buf, rtcpAddress));
+        sessionQos.onReceiverReportSent();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, String step) {
+        ScheduledFuture<?> timeoutFuture = eventLoop.schedule(
+                () -> future.completeExceptionally(new TimeoutException(step + " timeout (" + loadOptions.getTimeoutMs() + "ms)")),
+                loadOptions.getTimeoutMs(), TimeUnit.MILLISECONDS
+        );
+        future.whenComplete((v, t) -> timeoutFuture.cancel(false));
+        return future;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public String getId() {
+        return id;
+    }
+
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public boolean isSucceeded() {
+        return RESULT_OK.equals(result);
+    }
+
+    public SessionQos getSessionQos() {
+        return sessionQos;
+    }
+
+    public long getSetupNanos() {
+        return setupNanos;
+    }
+
+    public long getFirstPacketNanos() {
+        return firstPacketNanos;
+    }
+
+    public CompletableFuture<Void> getDoneFuture() {
+        return doneFuture;
+    }
+
+}
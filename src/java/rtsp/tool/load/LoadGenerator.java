@@ -0,0 +1,129 @@
+package rtsp.tool.load;
+
+import io.netty.channel.EventLoopGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.config.ConfigManager;
+import rtsp.module.netty.NettyTransport;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @class public class LoadGenerator
+ * @brief 여러 LoadClient 를 동시에 실행하고 결과를 모으는 클래스
+ *
+ * - 모든 클라이언트는 하나의 EventLoopGroup 을 나눠 쓴다. (클라이언트 하나는 EventLoop 하나에 고정)
+ * - 클라이언트는 ramp 간격으로 하나씩 시작한다.
+ * - 요청마다 응답 대기 시간이 있으므로 모든 클라이언트는 정해진 시간 안에 끝난다.
+ *      > 그래도 끝나지 않은 클라이언트는 RUNNING 으로 보고한다.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    // REGISTER x 2 + OPTIONS + DESCRIBE + SETUP + PLAY + TEARDOWN + UNREGISTER + TCP connect
+    private static final int MAX_REQUEST_COUNT_PER_CLIENT = 9;
+
+    private final ConfigManager configManager;
+    private final LoadOptions loadOptions;
+    private final LoadReport loadReport = new LoadReport();
+    private final List<LoadClient> loadClientList = new ArrayList<>();
+
+    private long elapsedNanos = 0;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public LoadGenerator(ConfigManager configManager, LoadOptions loadOptions) {
+        this.configManager = configManager;
+        this.loadOptions = loadOptions;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public void run()
+     * @brief 모든 클라이언트를 실행하고 끝날 때까지 기다리는 함수
+     * @throws UnknownHostException client_ip 가 IPv4 주소가 아닌 경우
+     * @throws InterruptedException 대기 중 인터럽트
+     */
+    public void run() throws UnknownHostException, InterruptedException {
+        int baseIp = toInt(loadOptions.getClientIp());
+        EventLoopGroup eventLoopGroup = NettyTransport.newEventLoopGroup(loadOptions.getThreadCount());
+        long startTime = System.nanoTime();
+
+        try {
+            List<CompletableFuture<Void>> doneFutureList = new ArrayList<>();
+            for (int i = 0; i < loadOptions.getClientCount(); i++) {
+                LoadClient loadClient = new LoadClient(
+                        loadOptions.getIdPrefix() + "-" + i,
+                        toIp(baseIp + i),
+                        eventLoopGroup.next(),
+                        configManager,
+                        loadOptions,
+                        loadReport
+                );
+                loadClientList.add(loadClient);
+
+                if (loadClient.open()) {
+                    doneFutureList.add(loadClient.start());
+                }
+
+                if (loadOptions.getRampMs() > 0 && i + 1 < loadOptions.getClientCount()) {
+                    Thread.sleep(loadOptions.getRampMs());
+                }
+            }
+            logger.info("{} clients are started. ({} failed to open)", doneFutureList.size(), loadOptions.getClientCount() - doneFutureList.size());
+
+            long waitMs = TimeUnit.SECONDS.toMillis(loadOptions.getDurationSec())
+                    + (long) loadOptions.getTimeoutMs() * MAX_REQUEST_COUNT_PER_CLIENT
+                    + loadOptions.getRampMs();
+            try {
+                CompletableFuture.allOf(doneFutureList.toArray(new CompletableFuture<?>[0])).get(waitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Some clients are not finished in {}ms.", waitMs);
+            } catch (ExecutionException e) {
+                logger.warn("LoadGenerator.run.ExecutionException", e);
+            }
+        } finally {
+            elapsedNanos = System.nanoTime() - startTime;
+            for (LoadClient loadClient : loadClientList) {
+                loadClient.close();
+            }
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    private static int toInt(String ip) throws UnknownHostException {
+        byte[] address = InetAddress.getByName(ip).getAddress();
+        if (address.length != 4) {
+            throw new UnknownHostException("Only IPv4 address is supported. (" + ip + ")");
+        }
+        return ((address[0] & 0xFF) << 24) | ((address[1] & 0xFF) << 16) | ((address[2] & 0xFF) << 8) | (address[3] & 0xFF);
+    }
+
+    private static String toIp(int ip) {
+        return ((ip >>> 24) & 0xFF) + "." + ((ip >>> 16) & 0xFF) + "." + ((ip >>> 8) & 0xFF) + "." + (ip & 0xFF);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public LoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    public List<LoadClient> getLoadClientList() {
+        return loadClientList;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+}
@@ -0,0 +1,58 @@
+package rtsp.tool.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.config.ConfigManager;
+
+/**
+ * @class public class LoadGeneratorMain
+ * @brief RTSP/RTP 부하 생성기 실행 클래스
+ *
+ * - 서버와 같은 설정 파일을 읽어서 서버 주소, 포트, REALM, MAGIC_COOKIE, HASH_KEY 를 사용한다.
+ * - 결과는 모든 클라이언트가 끝난 후 표준 출력으로 보고한다.
+ *
+ * 실행) java -cp jrtsp.jar rtsp.tool.load.LoadGeneratorMain LoadGeneratorMain ./config/user_conf.ini clients=50 duration=60 uri=rtsp://127.0.0.1:8554/test.mp4
+ */
+public class LoadGeneratorMain {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeneratorMain.class);
+
+    public static void main(String[] args) {
+
+        if (args.length < 3) {
+            logger.error("Argument Error. (&0: LoadGeneratorMain, &1: config_path, &2~: key=value options ({}, {}, {}, {}, {}, {}, {}, {}, {}, {}))",
+                    LoadOptions.KEY_URI, LoadOptions.KEY_CLIENTS, LoadOptions.KEY_DURATION, LoadOptions.KEY_RAMP,
+                    LoadOptions.KEY_CLIENT_IP, LoadOptions.KEY_CLIENT_PORT, LoadOptions.KEY_RR_INTERVAL,
+                    LoadOptions.KEY_TIMEOUT, LoadOptions.KEY_THREADS, LoadOptions.KEY_ID_PREFIX
+            );
+            return;
+        }
+
+        LoadOptions loadOptions;
+        try {
+            loadOptions = LoadOptions.parse(args, 2);
+        } catch (IllegalArgumentException e) {
+            logger.error("Option Error. ({})", e.getMessage());
+            return;
+        }
+
+        String configPath = args[1].trim();
+        logger.debug("| Config path: {}", configPath);
+        ConfigManager configManager = new ConfigManager(configPath);
+        logger.info("Load generator is started. ({})", loadOptions);
+
+        LoadGenerator loadGenerator = new LoadGenerator(configManager, loadOptions);
+        try {
+            loadGenerator.run();
+        } catch (InterruptedException e) {
+            logger.warn("LoadGeneratorMain is interrupted.");
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("LoadGeneratorMain.Exception", e);
+            return;
+        }
+
+        loadGenerator.getLoadReport().print(System.out, loadGenerator.getLoadClientList(), loadGenerator.getElapsedNanos());
+    }
+
+}
@@ -0,0 +1,194 @@
+package rtsp.tool.load;
+
+/**
+ * @class public class LoadOptions
+ * @brief 부하 생성기 실행 옵션 클래스
+ *
+ * - 옵션은 key=value 형식으로 전달한다. (ex. clients=50 duration=60 uri=rtsp://127.0.0.1:8554/test.mp4)
+ * - 서버는 RTSP 요청의 Session 헤더가 없으면 원격 IP 로 RtspUnit 을 찾기 때문에, 클라이언트마다 다른 IP 를 사용한다.
+ *      > client_ip 부터 1 씩 증가시킨 IP 를 순서대로 사용한다. (127.0.0.0/8 loopback 대역 권장)
+ *      > 포트는 모든 클라이언트가 같은 값을 사용한다. (Register: client_port, RTP: client_port + 2, RTCP: client_port + 3)
+ * - Register 응답 포트는 short 로 전달되므로 client_port + 3 은 32767 이하여야 한다.
+ */
+public class LoadOptions {
+
+    public static final String KEY_CLIENTS = "clients";
+    public static final String KEY_DURATION = "duration";
+    public static final String KEY_RAMP = "ramp";
+    public static final String KEY_URI = "uri";
+    public static final String KEY_CLIENT_IP = "client_ip";
+    public static final String KEY_CLIENT_PORT = "client_port";
+    public static final String KEY_RR_INTERVAL = "rr_interval";
+    public static final String KEY_TIMEOUT = "timeout";
+    public static final String KEY_THREADS = "threads";
+    public static final String KEY_ID_PREFIX = "id_prefix";
+
+    public static final int RTP_PORT_OFFSET = 2;
+    public static final int RTCP_PORT_OFFSET = 3;
+    private static final int MAX_CLIENT_PORT = Short.MAX_VALUE - RTCP_PORT_OFFSET;
+
+    private int clientCount = 1;
+    private int durationSec = 30; // PLAY 성공 후 수신 유지 시간
+    private int rampMs = 100; // 클라이언트 시작 간격
+    private String uri = null;
+    private String clientIp = "127.0.0.2";
+    private int clientPort = 20000;
+    private int rrIntervalMs = 1000;
+    private int timeoutMs = 5000; // 요청 하나의 응답 대기 시간
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private String idPrefix = "load";
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public static LoadOptions parse(String[] args, int offset)
+     * @brief key=value 인자 목록으로 옵션을 만드는 함수
+     * @param args 실행 인자
+     * @param offset 옵션이 시작하는 인자 위치
+     * @return LoadOptions
+     * @throws IllegalArgumentException 알 수 없는 키, 잘못된 값, uri 누락
+     */
+    public static LoadOptions parse(String[] args, int offset) {
+        LoadOptions options = new LoadOptions();
+
+        for (int i = offset; i < args.length; i++) {
+            String arg = args[i].trim();
+            int index = arg.indexOf('=');
+            if (index <= 0) {
+                throw new IllegalArgumentException("Wrong option format. (" + arg + ")");
+            }
+
+            String key = arg.substring(0, index).trim();
+            String value = arg.substring(index + 1).trim();
+            switch (key) {
+                case KEY_CLIENTS:
+                    options.clientCount = parsePositive(key, value);
+                    break;
+                case KEY_DURATION:
+                    options.durationSec = parsePositive(key, value);
+                    break;
+                case KEY_RAMP:
+                    options.rampMs = parseNonNegative(key, value);
+                    break;
+                case KEY_URI:
+                    options.uri = value;
+                    break;
+                case KEY_CLIENT_IP:
+                    options.clientIp = value;
+                    break;
+                case KEY_CLIENT_PORT:
+                    options.clientPort = parsePositive(key, value);
+                    break;
+                case KEY_RR_INTERVAL:
+                    options.rrIntervalMs = parsePositive(key, value);
+                    break;
+                case KEY_TIMEOUT:
+                    options.timeoutMs = parsePositive(key, value);
+                    break;
+                case KEY_THREADS:
+                    options.threadCount = parsePositive(key, value);
+                    break;
+                case KEY_ID_PREFIX:
+                    options.idPrefix = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option. (" + key + ")");
+            }
+        }
+
+        if (options.uri == null || options.uri.isEmpty()) {
+            throw new IllegalArgumentException("uri is not defined.");
+        }
+        if (options.clientPort > MAX_CLIENT_PORT) {
+            throw new IllegalArgumentException("client_port should be less than or equal to " + MAX_CLIENT_PORT + ". (" + options.clientPort + ")");
+        }
+        return options;
+    }
+
+    private static int parsePositive(String key, String value) {
+        int result = parseNonNegative(key, value);
+        if (result == 0) {
+            throw new IllegalArgumentException(key + " should be positive.");
+        }
+        return result;
+    }
+
+    private static int parseNonNegative(String key, String value) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result < 0) {
+                throw new IllegalArgumentException(key + " should not be negative.");
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong number. (" + key + "=" + value + ")");
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public int getDurationSec() {
+        return durationSec;
+    }
+
+    public int getRampMs() {
+        return rampMs;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    public int getClientPort() {
+        return clientPort;
+    }
+
+    public int getRtpPort() {
+        return clientPort + RTP_PORT_OFFSET;
+    }
+
+    public int getRtcpPort() {
+        return clientPort + RTCP_PORT_OFFSET;
+    }
+
+    public int getRrIntervalMs() {
+        return rrIntervalMs;
+    }
+
+    public int getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public String getIdPrefix() {
+        return idPrefix;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadOptions{" +
+                "clientCount=" + clientCount +
+                ", durationSec=" + durationSec +
+                ", rampMs=" + rampMs +
+                ", uri='" + uri + '\'' +
+                ", clientIp='" + clientIp + '\'' +
+                ", clientPort=" + clientPort +
+                ", rrIntervalMs=" + rrIntervalMs +
+                ", timeoutMs=" + timeoutMs +
+                ", threadCount=" + threadCount +
+                ", idPrefix='" + idPrefix + '\'' +
+                '}';
+    }
+
+}
@@ -0,0 +1,160 @@
+package rtsp.tool.load;
+
+import rtsp.service.scheduler.metric.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @class public class LoadReport
+ * @brief 부하 생성 결과를 모아서 출력하는 클래스
+ *
+ * - 요청 단계별 응답 시간, Setup 지연 (REGISTER 시작 ~ PLAY 응답), 첫 패킷 도착 시간 (PLAY 요청 ~ 첫 RTP) 을 히스토그램으로 기록한다.
+ * - 히스토그램은 여러 EventLoop 스레드에서 동시에 기록한다.
+ * - 처리량과 세션별 QoS 는 모든 클라이언트가 끝난 후 SessionQos 를 모아서 계산한다.
+ */
+public class LoadReport {
+
+    private final Map<String, LatencyHistogram> stepLatencyMap = new LinkedHashMap<>();
+    private final LatencyHistogram setupLatency = new LatencyHistogram();
+    private final LatencyHistogram firstPacketLatency = new LatencyHistogram();
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public LoadReport() {
+        // 출력 순서를 고정하기 위해 미리 만든다. (이후에는 읽기만 하므로 동기화가 필요 없다.)
+        for (String step : LoadClient.STEPS) {
+            stepLatencyMap.put(step, new LatencyHistogram());
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public void recordStepLatency(String step, long nanos) {
+        LatencyHistogram latencyHistogram = stepLatencyMap.get(step);
+        if (latencyHistogram != null) {
+            latencyHistogram.record(nanos);
+        }
+    }
+
+    public void recordSetupLatency(long nanos) {
+        setupLatency.record(nanos);
+    }
+
+    public void recordFirstPacketLatency(long nanos) {
+        firstPacketLatency.record(nanos);
+    }
+
+    /**
+     * @fn public void print(PrintStream out, List<LoadClient> loadClientList, long elapsedNanos)
+     * @brief 전체 결과와 세션별 QoS 를 출력하는 함수
+     * @param out 출력 대상
+     * @param loadClientList 종료된 클라이언트 목록
+     * @param elapsedNanos 전체 실행 시간 (ns)
+     */
+    public void print(PrintStream out, List<LoadClient> loadClientList, long elapsedNanos) {
+        int successCount = 0;
+        long totalPackets = 0;
+        long totalBytes = 0;
+        long totalLost = 0;
+        long totalGaps = 0;
+        long totalReordered = 0;
+        long firstPacketTime = Long.MAX_VALUE;
+        long lastPacketTime = Long.MIN_VALUE;
+
+        for (LoadClient loadClient : loadClientList) {
+            if (loadClient.isSucceeded()) {
+                successCount++;
+            }
+
+            SessionQos sessionQos = loadClient.getSessionQos();
+            if (sessionQos.getReceivedPackets() == 0) {
+                continue;
+            }
+            totalPackets += sessionQos.getReceivedPackets();
+            totalBytes += sessionQos.getReceivedBytes();
+            totalLost += sessionQos.getLostPackets();
+            totalGaps += sessionQos.getGapCount();
+            totalReordered += sessionQos.getReorderedPackets();
+            firstPacketTime = Math.min(firstPacketTime, sessionQos.getFirstPacketTime());
+            lastPacketTime = Math.max(lastPacketTime, sessionQos.getLastPacketTime());
+        }
+
+        long receiveNanos = totalPackets > 0 ? lastPacketTime - firstPacketTime : 0;
+        double throughputMbps = receiveNanos > 0 ? totalBytes * 8.0 * 1e3 / receiveNanos : 0; // bits / us
+        double packetRate = receiveNanos > 0 ? totalPackets * 1e9 / receiveNanos : 0;
+        long expectedPackets = totalPackets + totalLost;
+        double lossRate = expectedPackets > 0 ? totalLost * 100.0 / expectedPackets : 0;
+
+        out.println("==================== RTSP LOAD REPORT ====================");
+        out.println(format("clients=%d (success=%d, fail=%d), elapsed=%.1fs",
+                loadClientList.size(), successCount, loadClientList.size() - successCount, elapsedNanos / 1e9));
+        out.println(format("%-14s %s", "setup", toMillisString(setupLatency)));
+        out.println(format("%-14s %s", "first-packet", toMillisString(firstPacketLatency)));
+        for (Map.Entry<String, LatencyHistogram> entry : stepLatencyMap.entrySet()) {
+            out.println(format("%-14s %s", entry.getKey(), toMillisString(entry.getValue())));
+        }
+        out.println(format("throughput     %.2f Mbps, %.0f pkt/s (packets=%d, bytes=%d, %.1fs)",
+                throughputMbps, packetRate, totalPackets, totalBytes, receiveNanos / 1e9));
+        out.println(format("loss           %.3f%% (lost=%d, expected=%d, gaps=%d, reordered=%d)",
+                lossRate, totalLost, expectedPackets, totalGaps, totalReordered));
+
+        out.println("---------------------------------------------------------");
+        out.println(format("%-12s %-15s %-14s %9s %9s %9s %7s %8s %10s %6s %9s %4s %4s",
+                "ID", "IP", "RESULT", "SETUP(ms)", "TTFP(ms)", "PACKETS", "LOST", "LOSS(%)", "JITTER(ms)", "GAPS", "KBPS", "SR", "RR"));
+        for (LoadClient loadClient : loadClientList) {
+            SessionQos sessionQos = loadClient.getSessionQos();
+            long lost = sessionQos.getLostPackets();
+            long expected = sessionQos.getReceivedPackets() + lost;
+            out.println(format("%-12s %-15s %-14s %9.1f %9.1f %9d %7d %8.3f %10.2f %6d %9.1f %4d %4d",
+                    loadClient.getId(),
+                    loadClient.getClientIp(),
+                    loadClient.getResult(),
+                    loadClient.getSetupNanos() / 1e6,
+                    loadClient.getFirstPacketNanos() / 1e6,
+                    sessionQos.getReceivedPackets(),
+                    lost,
+                    expected > 0 ? lost * 100.0 / expected : 0,
+                    sessionQos.getJitterMs(),
+                    sessionQos.getGapCount(),
+                    sessionQos.getBitrateKbps(),
+                    sessionQos.getSrCount(),
+                    sessionQos.getRrCount()
+            ));
+        }
+        out.println("==========================================================");
+    }
+
+    private static String toMillisString(LatencyHistogram latencyHistogram) {
+        return format("(ms) count=%d, mean=%.2f, p50=%.2f, p90=%.2f, p99=%.2f, max=%.2f",
+                latencyHistogram.getCount(),
+                latencyHistogram.getMean() / 1e6,
+                latencyHistogram.getPercentile(50) / 1e6,
+                latencyHistogram.getPercentile(90) / 1e6,
+                latencyHistogram.getPercentile(99) / 1e6,
+                latencyHistogram.getMax() / 1e6
+        );
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public LatencyHistogram getStepLatency(String step) {
+        return stepLatencyMap.get(step);
+    }
+
+    public LatencyHistogram getSetupLatency() {
+        return setupLatency;
+    }
+
+    public LatencyHistogram getFirstPacketLatency() {
+        return firstPacketLatency;
+    }
+
+}
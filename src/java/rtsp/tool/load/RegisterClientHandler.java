@@ -0,0 +1,50 @@
+package rtsp.tool.load;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rtsp.protocol.register.base.URtspHeader;
+
+/**
+ * @class public class RegisterClientHandler extends SimpleChannelInboundHandler<DatagramPacket>
+ * @brief 부하 생성 클라이언트의 REGISTER / UNREGISTER 응답 수신 핸들러
+ */
+public class RegisterClientHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisterClientHandler.class);
+
+    private final LoadClient loadClient;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RegisterClientHandler(LoadClient loadClient) {
+        this.loadClient = loadClient;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) {
+        try {
+            ByteBuf buf = msg.content();
+            if (buf == null || buf.readableBytes() < URtspHeader.U_RTSP_HEADER_SIZE) {
+                return;
+            }
+
+            byte[] data = new byte[buf.readableBytes()];
+            buf.getBytes(buf.readerIndex(), data);
+            loadClient.onRegisterResponse(new URtspHeader(data).getSeqNumber(), data);
+        } catch (Exception e) {
+            logger.warn("({}) RegisterClientHandler.channelRead0.Exception", loadClient.getId(), e);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("({}) RegisterClientHandler.Exception", loadClient.getId(), cause);
+    }
+
+}
@@ -0,0 +1,44 @@
+package rtsp.tool.load;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @class public class RtcpClientHandler extends SimpleChannelInboundHandler<DatagramPacket>
+ * @brief 부하 생성 클라이언트의 RTCP 수신 핸들러
+ * 서버가 보낸 SR 을 RtcpUnit 에 반영한다. (RR 의 LSR, DLSR 계산용)
+ */
+public class RtcpClientHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtcpClientHandler.class);
+
+    private final LoadClient loadClient;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtcpClientHandler(LoadClient loadClient) {
+        this.loadClient = loadClient;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) {
+        try {
+            if (msg.content() != null) {
+                loadClient.onRtcp(msg.content());
+            }
+        } catch (Exception e) {
+            logger.warn("({}) RtcpClientHandler.channelRead0.Exception", loadClient.getId(), e);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("({}) RtcpClientHandler.Exception", loadClient.getId(), cause);
+    }
+
+}
@@ -0,0 +1,44 @@
+package rtsp.tool.load;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @class public class RtpClientHandler extends SimpleChannelInboundHandler<DatagramPacket>
+ * @brief 부하 생성 클라이언트의 RTP 수신 핸들러
+ * 패킷을 복사하지 않고 헤더만 읽어서 SessionQos 에 반영한다.
+ */
+public class RtpClientHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtpClientHandler.class);
+
+    private final LoadClient loadClient;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtpClientHandler(LoadClient loadClient) {
+        this.loadClient = loadClient;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) {
+        try {
+            if (msg.content() != null) {
+                loadClient.onRtp(msg.content());
+            }
+        } catch (Exception e) {
+            logger.warn("({}) RtpClientHandler.channelRead0.Exception", loadClient.getId(), e);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("({}) RtpClientHandler.Exception", loadClient.getId(), cause);
+    }
+
+}
@@ -0,0 +1,46 @@
+package rtsp.tool.load;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @class public class RtspClientHandler extends SimpleChannelInboundHandler<FullHttpResponse>
+ * @brief 부하 생성 클라이언트의 RTSP 응답 수신 핸들러
+ * 응답은 이 함수가 끝나면 해제되므로 상태와 헤더만 복사해서 전달한다. (DESCRIBE 의 SDP 본문은 사용하지 않는다.)
+ */
+public class RtspClientHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtspClientHandler.class);
+
+    private final LoadClient loadClient;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtspClientHandler(LoadClient loadClient) {
+        this.loadClient = loadClient;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse res) {
+        logger.trace("({}) Response: {}", loadClient.getId(), res);
+        loadClient.onRtspResponse(new DefaultHttpResponse(res.protocolVersion(), res.status(), res.headers().copy()));
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        loadClient.onRtspInactive();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("({}) RtspClientHandler.Exception", loadClient.getId(), cause);
+        ctx.close();
+    }
+
+}
@@ -0,0 +1,181 @@
+package rtsp.tool.load;
+
+import io.netty.buffer.ByteBuf;
+import rtsp.protocol.RtpPacket;
+import rtsp.protocol.rtcp.module.RtpClock;
+import rtsp.protocol.rtcp.module.WallClock;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.unit.RtcpUnit;
+
+/**
+ * @class public class SessionQos
+ * @brief 세션 하나의 RTP 수신 품질을 측정하는 클래스
+ *
+ * - 손실, 지터, 확장 최고 순서 번호는 RtcpUnit 으로 계산한다. (서버에 보내는 RR 과 같은 값)
+ * - 순서 번호가 1 이 아닌 만큼 건너뛴 경우를 gap 으로 따로 센다. (연속 손실 구간 수)
+ * - 클라이언트의 EventLoop 스레드에서만 갱신한다.
+ */
+public class SessionQos {
+
+    public static final int RTP_CLOCK_RATE = 90000;
+    private static final int RTP_SEQ_MOD = RtcpUnit.RTP_SEQ_MOD;
+
+    private final RtcpUnit rtcpUnit;
+    private final RtpPacket rtpPacket = new RtpPacket(); // 헤더만 채워서 재사용 (payload 는 복사하지 않는다.)
+
+    private long firstPacketTime = 0; // ns
+    private long lastPacketTime = 0; // ns
+    private long receivedPackets = 0;
+    private long receivedBytes = 0;
+
+    private int lastSequence = -1;
+    private long gapCount = 0;
+    private long gapPackets = 0;
+    private long reorderedPackets = 0;
+
+    private long srCount = 0;
+    private long rrCount = 0;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public SessionQos() {
+        RtpClock rtpClock = new RtpClock(new WallClock());
+        rtpClock.setClockRate(RTP_CLOCK_RATE);
+        this.rtcpUnit = new RtcpUnit(rtpClock, 0);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public boolean onRtp(ByteBuf buf, long now)
+     * @brief 수신한 RTP 패킷을 반영하는 함수
+     * @param buf RTP 데이터 (readerIndex 는 바꾸지 않는다.)
+     * @param now 수신 시각 (System.nanoTime)
+     * @return 첫 번째 패킷이면 true 반환
+     */
+    public boolean onRtp(ByteBuf buf, long now) {
+        int length = buf.readableBytes();
+        if (length < RtpPacket.FIXED_HEADER_LENGTH) {
+            return false;
+        }
+
+        int index = buf.readerIndex();
+        int sequence = buf.getUnsignedShort(index + 2);
+        rtpPacket.setSeqNum(sequence);
+        rtpPacket.setTimeStamp(buf.getUnsignedInt(index + 4));
+        rtpPacket.setSsrc(buf.getUnsignedInt(index + 8));
+        rtpPacket.setPayload(null, length - RtpPacket.FIXED_HEADER_LENGTH);
+
+        if (rtcpUnit.getSsrc() == 0) {
+            rtcpUnit.setSsrc(rtpPacket.getSsrc());
+        }
+        rtcpUnit.onReceiveRtp(rtpPacket);
+
+        if (lastSequence >= 0) {
+            int delta = (sequence - lastSequence) & (RTP_SEQ_MOD - 1);
+            if (delta == 0 || delta > RtcpUnit.MAX_DROPOUT) {
+                reorderedPackets++; // 중복 또는 순서 뒤바뀜
+            } else {
+                if (delta > 1) {
+                    gapCount++;
+                    gapPackets += delta - 1;
+                }
+                lastSequence = sequence;
+            }
+        } else {
+            lastSequence = sequence;
+        }
+
+        receivedPackets++;
+        receivedBytes += length;
+        lastPacketTime = now;
+        if (firstPacketTime == 0) {
+            firstPacketTime = now;
+            return true;
+        }
+        return false;
+    }
+
+    public void onSenderReport(RtcpSenderReport rtcpSenderReport) {
+        rtcpUnit.onReceiveSR(rtcpSenderReport);
+        srCount++;
+    }
+
+    public void onReceiverReportSent() {
+        rrCount++;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public RtcpUnit getRtcpUnit() {
+        return rtcpUnit;
+    }
+
+    public long getFirstPacketTime() {
+        return firstPacketTime;
+    }
+
+    public long getLastPacketTime() {
+        return lastPacketTime;
+    }
+
+    public long getReceivedPackets() {
+        return receivedPackets;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public long getGapCount() {
+        return gapCount;
+    }
+
+    public long getGapPackets() {
+        return gapPackets;
+    }
+
+    public long getReorderedPackets() {
+        return reorderedPackets;
+    }
+
+    public long getSrCount() {
+        return srCount;
+    }
+
+    public long getRrCount() {
+        return rrCount;
+    }
+
+    /**
+     * @fn public long getLostPackets()
+     * @brief 누적 손실 패킷 수를 반환하는 함수 (RtcpUnit 기준, 수신한 패킷이 없으면 0)
+     */
+    public long getLostPackets() {
+        if (receivedPackets == 0) {
+            return 0;
+        }
+        return Math.max(0, rtcpUnit.getCumulativeNumberOfPacketsLost());
+    }
+
+    /**
+     * @fn public double getJitterMs()
+     * @brief 도착 간격 지터를 ms 로 반환하는 함수 (RtcpUnit 의 RTP clock 단위 값을 변환)
+     */
+    public double getJitterMs() {
+        return Math.max(0, rtcpUnit.getJitter()) * 1000.0 / RTP_CLOCK_RATE;
+    }
+
+    /**
+     * @fn public double getBitrateKbps()
+     * @brief 첫 패킷부터 마지막 패킷까지의 평균 수신 비트레이트를 반환하는 함수
+     */
+    public double getBitrateKbps() {
+        long elapsed = lastPacketTime - firstPacketTime;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return receivedBytes * 8.0 * 1e6 / elapsed; // bits / ms
+    }
+
+}
@@ -0,0 +1,116 @@
+package rtsp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rtsp.module.mpegts.content.MpegTsPacket;
+import rtsp.module.mpegts.content.PATSection;
+import rtsp.module.mpegts.content.PMTSection;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class MpegTsParseBenchmark
+ * @brief MPEG-TS 패킷과 PSI (PAT, PMT) 파싱 성능 측정
+ *
+ * - parsePacket : Payload 만 있는 TS 패킷 (대부분의 영상 패킷)
+ * - parsePcrPacket : Adaptation field 에 PCR 이 있는 TS 패킷 (MpegTsStreamer 가 전송 속도를 맞출 때 사용)
+ * - parsePat, parsePmt : MpegTsStreamer 가 PAT/PMT 패킷을 받을 때마다 하는 파싱
+ * - 결과
+ *      > Score (ops/us) : 처리량
+ *      > -prof gc 의 gc.alloc.rate.norm (B/op) : 연산 하나당 할당량
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar MpegTsParseBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MpegTsParseBenchmark {
+
+    private static final int TS_PACKET_SIZE = 188;
+    private static final int VIDEO_PID = 0x100;
+    private static final int PMT_PID = 0x1000;
+
+    private ByteBuffer payloadPacketBuffer;
+    private ByteBuffer pcrPacketBuffer;
+    private ByteBuffer patSectionBuffer;
+    private ByteBuffer pmtSectionBuffer;
+
+    ////////////////////////////////////////////////////////////
+
+    @Setup
+    public void setup() {
+        // Payload only (cc=1)
+        payloadPacketBuffer = ByteBuffer.allocate(TS_PACKET_SIZE);
+        payloadPacketBuffer.put((byte) 0x47);
+        payloadPacketBuffer.putShort((short) VIDEO_PID);
+        payloadPacketBuffer.put((byte) 0x11);
+        while (payloadPacketBuffer.hasRemaining()) {
+            payloadPacketBuffer.put((byte) 0xAA);
+        }
+
+        // PUSI + Adaptation field (PCR) + Payload (cc=0)
+        long pcrBase = 0x123456789L;
+        pcrPacketBuffer = ByteBuffer.allocate(TS_PACKET_SIZE);
+        pcrPacketBuffer.put((byte) 0x47);
+        pcrPacketBuffer.putShort((short) (0x4000 | VIDEO_PID));
+        pcrPacketBuffer.put((byte) 0x30);
+        pcrPacketBuffer.put((byte) 7); // Adaptation field length
+        pcrPacketBuffer.put((byte) 0x10); // PCR flag
+        pcrPacketBuffer.putInt((int) (pcrBase >> 1));
+        pcrPacketBuffer.put((byte) (((pcrBase & 0x1) << 7) | 0x7E));
+        pcrPacketBuffer.put((byte) 0);
+        while (pcrPacketBuffer.hasRemaining()) {
+            pcrPacketBuffer.put((byte) 0xAA);
+        }
+
+        // PAT (program 1 > PMT_PID)
+        patSectionBuffer = ByteBuffer.wrap(new byte[] {
+                0x00, (byte) 0xB0, 13,
+                0x00, 0x01, (byte) 0xC1, 0x00, 0x00,
+                0x00, 0x01, (byte) (0xE0 | (PMT_PID >> 8)), (byte) PMT_PID,
+                0x00, 0x00, 0x00, 0x00 // CRC
+        });
+
+        // PMT (PCR PID = VIDEO_PID, H.264 stream)
+        pmtSectionBuffer = ByteBuffer.wrap(new byte[] {
+                0x02, (byte) 0xB0, 18,
+                0x00, 0x01, (byte) 0xC1, 0x00, 0x00,
+                (byte) (0xE0 | (VIDEO_PID >> 8)), (byte) VIDEO_PID, (byte) 0xF0, 0x00,
+                0x1B, (byte) (0xE0 | (VIDEO_PID >> 8)), (byte) VIDEO_PID, (byte) 0xF0, 0x00,
+                0x00, 0x00, 0x00, 0x00 // CRC
+        });
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public int parsePacket() {
+        MpegTsPacket packet = new MpegTsPacket(payloadPacketBuffer);
+        return packet.getPid() + packet.getContinuityCounter() + packet.getPayload().remaining();
+    }
+
+    @Benchmark
+    public long parsePcrPacket() {
+        MpegTsPacket packet = new MpegTsPacket(pcrPacketBuffer);
+        return packet.getAdaptationField().getPcr().getValue();
+    }
+
+    @Benchmark
+    public int parsePat() {
+        // PSISection.parse() 가 limit 을 바꾸므로 매번 되돌린다.
+        patSectionBuffer.clear();
+        PATSection patSection = PATSection.parse(patSectionBuffer);
+        return patSection.getPrograms().size();
+    }
+
+    @Benchmark
+    public int parsePmt() {
+        pmtSectionBuffer.clear();
+        PMTSection pmtSection = PMTSection.parse(pmtSectionBuffer);
+        return pmtSection.getPcrPid();
+    }
+
+}
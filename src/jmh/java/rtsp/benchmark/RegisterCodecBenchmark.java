@@ -0,0 +1,80 @@
+package rtsp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rtsp.protocol.register.RegisterRtspUnitReq;
+import rtsp.protocol.register.base.URtspHeader;
+import rtsp.protocol.register.base.URtspMessageType;
+import rtsp.protocol.register.exception.URtspException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class RegisterCodecBenchmark
+ * @brief RtspUnit 등록 메시지 (URtspHeader, RegisterRtspUnitReq) 인코딩/디코딩 성능 측정
+ *
+ * - RtspUnit 등록 채널은 클라이언트마다 등록/갱신 요청을 받으므로 세션 수에 비례해서 호출된다.
+ * - 결과
+ *      > Score (ops/us) : 처리량
+ *      > -prof gc 의 gc.alloc.rate.norm (B/op) : 연산 하나당 할당량
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar RegisterCodecBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegisterCodecBenchmark {
+
+    private static final String MAGIC_COOKIE = "UR";
+    private static final String RTSP_UNIT_ID = "5d5a35c2-5c9e-4b79-9d5a-7ab3e0c1f2d4";
+    private static final String NONCE = "2d1f3a8c0b9e4d7f6a5c3b2e1d0f9a8b";
+
+    private byte[] headerData;
+    private byte[] registerReqData;
+    private int seqNumber = 0;
+
+    ////////////////////////////////////////////////////////////
+
+    @Setup
+    public void setup() {
+        headerData = new URtspHeader(MAGIC_COOKIE, URtspMessageType.REGISTER, 1, System.currentTimeMillis(), 0).getByteData();
+        registerReqData = newRegisterReq(1).getByteData();
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public int encodeHeader() {
+        return new URtspHeader(MAGIC_COOKIE, URtspMessageType.REGISTER, ++seqNumber, System.currentTimeMillis(), 0).getByteData().length;
+    }
+
+    @Benchmark
+    public int decodeHeader() throws URtspException {
+        return new URtspHeader(headerData).getSeqNumber();
+    }
+
+    @Benchmark
+    public int encodeRegisterReq() {
+        return newRegisterReq(++seqNumber).getByteData().length;
+    }
+
+    @Benchmark
+    public int decodeRegisterReq() throws URtspException {
+        RegisterRtspUnitReq registerRtspUnitReq = new RegisterRtspUnitReq(registerReqData);
+        return registerRtspUnitReq.getListenPort() + registerRtspUnitReq.getNonce().length();
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    private RegisterRtspUnitReq newRegisterReq(int seqNumber) {
+        RegisterRtspUnitReq registerRtspUnitReq = new RegisterRtspUnitReq(
+                MAGIC_COOKIE, URtspMessageType.REGISTER, seqNumber, System.currentTimeMillis(),
+                RTSP_UNIT_ID, 3600, (short) 5000
+        );
+        registerRtspUnitReq.setNonce(NONCE);
+        return registerRtspUnitReq;
+    }
+
+}
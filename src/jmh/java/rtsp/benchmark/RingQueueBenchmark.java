@@ -0,0 +1,324 @@
+package rtsp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import rtsp.service.base.MpscRingQueue;
+import rtsp.service.base.RingQueue;
+import rtsp.service.base.SpscRingQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class RingQueueBenchmark
+ * @brief 스레드 간 전달 큐 성능 비교 (RingQueue vs ConcurrentCyclicFIFO, ArrayBlockingQueue, PriorityBlockingQueue)
+ *
+ * - handoff : 생산자 1 + 소비자 1 스레드가 동시에 offer/poll 한다. (성공한 offer/poll 수만 센다.)
+ * - handoffBatch : 소비자가 poll 대신 한 번에 최대 BATCH_SIZE 개씩 꺼낸다. (drain / drainTo)
+ * - roundTrip : 원소 하나를 다른 스레드로 보냈다가 돌려받는 데 걸리는 시간 (SampleTime)
+ * - offerThenDrain : 한 스레드에서 BATCH_SIZE 개를 넣고 한 번에 꺼낸다. (경합 없는 원소당 비용, CPU 가 하나뿐인 환경에서도 비교 가능)
+ * - 결과
+ *      > handoff, handoffBatch : offerCount / pollCount (ops/s)
+ *      > offerThenDrain : 초당 넣고 꺼낸 원소 수 (ops/s)
+ *      > roundTrip : 왕복 지연 시간 분포 (ns)
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar RingQueueBenchmark
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingQueueBenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final int BATCH_SIZE = 32;
+    private static final Integer ELEMENT = 1;
+
+    public static final String TYPE_SPSC_RING = "SPSC_RING";
+    public static final String TYPE_MPSC_RING = "MPSC_RING";
+    public static final String TYPE_CYCLIC_FIFO = "CYCLIC_FIFO";
+    public static final String TYPE_ARRAY_BLOCKING = "ARRAY_BLOCKING";
+    public static final String TYPE_PRIORITY_BLOCKING = "PRIORITY_BLOCKING";
+
+    ////////////////////////////////////////////////////////////
+
+    /**
+     * @class interface BenchQueue
+     * @brief 비교할 큐를 같은 방식으로 호출하기 위한 인터페이스
+     */
+    interface BenchQueue {
+        boolean offer(Integer e);
+        Integer poll();
+        int drain(Blackhole blackhole, int limit);
+    }
+
+    static BenchQueue newQueue(String type) {
+        switch (type) {
+            case TYPE_SPSC_RING:
+                return newRingQueue(new SpscRingQueue<>(CAPACITY));
+            case TYPE_MPSC_RING:
+                return newRingQueue(new MpscRingQueue<>(CAPACITY));
+            case TYPE_CYCLIC_FIFO:
+                return newCyclicFifo();
+            case TYPE_ARRAY_BLOCKING:
+                return newBlockingQueue(new ArrayBlockingQueue<>(CAPACITY));
+            case TYPE_PRIORITY_BLOCKING:
+                return newBlockingQueue(new PriorityBlockingQueue<>(CAPACITY));
+            default:
+                throw new IllegalArgumentException("Unknown queue type. (" + type + ")");
+        }
+    }
+
+    private static BenchQueue newRingQueue(RingQueue<Integer> queue) {
+        return new BenchQueue() {
+            @Override
+            public boolean offer(Integer e) {
+                return queue.offer(e);
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+
+            @Override
+            public int drain(Blackhole blackhole, int limit) {
+                return queue.drain(blackhole::consume, limit);
+            }
+        };
+    }
+
+    // 비교 대상으로 deprecated 된 ConcurrentCyclicFIFO 를 그대로 사용한다. (import 경고를 피하려고 전체 이름으로 쓴다.)
+    @SuppressWarnings("deprecation")
+    private static BenchQueue newCyclicFifo() {
+        rtsp.service.base.ConcurrentCyclicFIFO<Integer> queue = new rtsp.service.base.ConcurrentCyclicFIFO<>();
+        return new BenchQueue() {
+            @Override
+            public boolean offer(Integer e) {
+                // 크기 제한이 없으므로 다른 큐와 같이 CAPACITY 개까지만 넣는다.
+                if (queue.size() >= CAPACITY) {
+                    return false;
+                }
+                queue.offer(e);
+                return true;
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+
+            @Override
+            public int drain(Blackhole blackhole, int limit) {
+                int count = 0;
+                Integer e;
+                while (count < limit && (e = queue.poll()) != null) {
+                    blackhole.consume(e);
+                    count++;
+                }
+                return count;
+            }
+        };
+    }
+
+    private static BenchQueue newBlockingQueue(BlockingQueue<Integer> queue) {
+        final List<Integer> drainList = new ArrayList<>(BATCH_SIZE);
+        return new BenchQueue() {
+            @Override
+            public boolean offer(Integer e) {
+                // PriorityBlockingQueue 는 크기 제한이 없으므로 CAPACITY 개까지만 넣는다.
+                return queue.size() < CAPACITY && queue.offer(e);
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+
+            @Override
+            public int drain(Blackhole blackhole, int limit) {
+                int count = queue.drainTo(drainList, limit);
+                for (int i = 0; i < count; i++) {
+                    blackhole.consume(drainList.get(i));
+                }
+                drainList.clear();
+                return count;
+            }
+        };
+    }
+
+    ////////////////////////////////////////////////////////////
+    // HANDOFF
+
+    @State(Scope.Group)
+    public static class HandoffState {
+
+        @Param({TYPE_SPSC_RING, TYPE_MPSC_RING, TYPE_CYCLIC_FIFO, TYPE_ARRAY_BLOCKING, TYPE_PRIORITY_BLOCKING})
+        public String queueType;
+
+        BenchQueue queue;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            queue = newQueue(queueType);
+        }
+
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class OfferCounter {
+        public long offerCount;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            offerCount = 0;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class PollCounter {
+        public long pollCount;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pollCount = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void handoffOffer(HandoffState state, OfferCounter counter) {
+        if (state.queue.offer(ELEMENT)) {
+            counter.offerCount++;
+        }
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void handoffPoll(HandoffState state, PollCounter counter, Blackhole blackhole) {
+        Integer e = state.queue.poll();
+        if (e != null) {
+            blackhole.consume(e);
+            counter.pollCount++;
+        }
+    }
+
+    @Benchmark
+    @Group("handoffBatch")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void handoffBatchOffer(HandoffState state, OfferCounter counter) {
+        if (state.queue.offer(ELEMENT)) {
+            counter.offerCount++;
+        }
+    }
+
+    @Benchmark
+    @Group("handoffBatch")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void handoffBatchDrain(HandoffState state, PollCounter counter, Blackhole blackhole) {
+        counter.pollCount += state.queue.drain(blackhole, BATCH_SIZE);
+    }
+
+    ////////////////////////////////////////////////////////////
+    // UNCONTENDED
+
+    @State(Scope.Thread)
+    public static class SingleThreadState {
+
+        @Param({TYPE_SPSC_RING, TYPE_MPSC_RING, TYPE_CYCLIC_FIFO, TYPE_ARRAY_BLOCKING, TYPE_PRIORITY_BLOCKING})
+        public String queueType;
+
+        BenchQueue queue;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            queue = newQueue(queueType);
+        }
+
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int offerThenDrain(SingleThreadState state, Blackhole blackhole) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            state.queue.offer(ELEMENT);
+        }
+        return state.queue.drain(blackhole, BATCH_SIZE);
+    }
+
+    ////////////////////////////////////////////////////////////
+    // ROUND TRIP
+
+    @State(Scope.Benchmark)
+    public static class RoundTripState {
+
+        @Param({TYPE_SPSC_RING, TYPE_MPSC_RING, TYPE_CYCLIC_FIFO, TYPE_ARRAY_BLOCKING, TYPE_PRIORITY_BLOCKING})
+        public String queueType;
+
+        BenchQueue requestQueue;
+        BenchQueue responseQueue;
+        private volatile boolean isRunning;
+        private Thread echoThread;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            requestQueue = newQueue(queueType);
+            responseQueue = newQueue(queueType);
+            isRunning = true;
+
+            // 받은 원소를 그대로 돌려보내는 스레드
+            echoThread = new Thread(() -> {
+                while (isRunning) {
+                    Integer e = requestQueue.poll();
+                    if (e != null) {
+                        while (!responseQueue.offer(e) && isRunning) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            }, "RingQueueBenchmark-echo");
+            echoThread.setDaemon(true);
+            echoThread.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            isRunning = false;
+            echoThread.join(1000);
+        }
+
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer roundTrip(RoundTripState state) {
+        while (!state.requestQueue.offer(ELEMENT)) {
+            Thread.yield();
+        }
+
+        Integer e;
+        while ((e = state.responseQueue.poll()) == null) {
+            // Busy wait
+        }
+        return e;
+    }
+
+}
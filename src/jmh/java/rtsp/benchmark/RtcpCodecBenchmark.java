@@ -0,0 +1,150 @@
+package rtsp.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+import rtsp.protocol.rtcp.base.RtcpType;
+import rtsp.protocol.rtcp.codec.RtcpEncoder;
+import rtsp.protocol.rtcp.codec.RtcpPacketView;
+import rtsp.protocol.rtcp.packet.RtcpCompoundIterator;
+import rtsp.protocol.rtcp.packet.RtcpCompoundPacket;
+import rtsp.protocol.rtcp.packet.RtcpPacket;
+import rtsp.protocol.rtcp.packet.RtcpPacketPaddingResult;
+import rtsp.protocol.rtcp.type.regular.RtcpReceiverReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSenderReport;
+import rtsp.protocol.rtcp.type.regular.RtcpSourceDescription;
+import rtsp.protocol.rtcp.type.regular.base.RtcpHeader;
+import rtsp.protocol.rtcp.type.regular.base.report.RtcpReportBlock;
+import rtsp.protocol.rtcp.type.regular.base.sdes.SdesChunk;
+import rtsp.protocol.rtcp.type.regular.base.sdes.SdesItem;
+import rtsp.protocol.rtcp.type.regular.base.sdes.SdesType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class RtcpCodecBenchmark
+ * @brief 기존 byte[] 기반 RTCP 클래스와 ByteBuf 기반 코덱(RtcpEncoder, RtcpPacketView) 비교
+ *
+ * - encode : RtcpReporter 가 보내는 SR + SDES(CNAME) Compound 패킷을 송신용 Pooled ByteBuf 에 만드는 비용
+ * - decode : 수신한 RR + SDES Compound 패킷에서 이 스트림 SSRC 의 fraction lost 를 찾는 비용
+ *      > decodeByteBuf 는 RtcpChannelHandler 가 SR/RR 를 처리하는 경로와 같다. (RTPFB/PSFB 만 객체로 변환)
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar RtcpCodecBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RtcpCodecBenchmark {
+
+    private static final long SSRC = 0x12345678L;
+    private static final long REMOTE_SSRC = 0x0BADCAFEL;
+    private static final String CNAME = "rtsp_server@192.168.0.10";
+
+    private final byte[] cnameData = CNAME.getBytes(StandardCharsets.UTF_8);
+
+    private ByteBuf receivedBuf;
+
+    ////////////////////////////////////////////////////////////
+
+    @Setup
+    public void setup() {
+        // RR (1 block) + SDES
+        RtcpReportBlock rtcpReportBlock = new RtcpReportBlock(SSRC, (short) 64, 12, 70000, 30, 0x12340000L, 0x00010000L);
+        RtcpReceiverReport rtcpReceiverReport = new RtcpReceiverReport(Arrays.asList(rtcpReportBlock), null);
+        RtcpPacketPaddingResult rrPaddingResult = RtcpPacket.getPacketLengthByBytes(RtcpReportBlock.LENGTH, false);
+        RtcpPacket rrPacket = new RtcpPacket(new RtcpHeader(2, rrPaddingResult, 1, RtcpType.RECEIVER_REPORT, REMOTE_SSRC), rtcpReceiverReport);
+
+        byte[] data = new RtcpCompoundPacket(Arrays.asList(rrPacket, makeLegacySdes(REMOTE_SSRC))).getData();
+        receivedBuf = PooledByteBufAllocator.DEFAULT.directBuffer(data.length);
+        receivedBuf.writeBytes(data);
+    }
+
+    @TearDown
+    public void tearDown() {
+        receivedBuf.release();
+    }
+
+    ////////////////////////////////////////////////////////////
+    // ENCODE
+
+    @Benchmark
+    public int encodeLegacy() {
+        RtcpSenderReport rtcpSenderReport = new RtcpSenderReport(0xE5A1B2C3L, 0x80000000L, 90000, 1000, 1316000, null, null);
+        RtcpPacketPaddingResult srPaddingResult = RtcpPacket.getPacketLengthByBytes(RtcpSenderReport.MIN_LENGTH, false);
+        RtcpPacket srPacket = new RtcpPacket(new RtcpHeader(2, srPaddingResult, 0, RtcpType.SENDER_REPORT, SSRC), rtcpSenderReport);
+
+        byte[] data = new RtcpCompoundPacket(Arrays.asList(srPacket, makeLegacySdes(SSRC))).getData();
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(data.length);
+        buf.writeBytes(data);
+        int length = buf.readableBytes();
+        buf.release();
+        return length;
+    }
+
+    @Benchmark
+    public int encodeByteBuf() {
+        int length = RtcpEncoder.SENDER_REPORT_LENGTH + RtcpEncoder.getSourceDescriptionLength(cnameData.length);
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(length);
+        RtcpEncoder.writeSenderReport(buf, SSRC, 0xE5A1B2C3L, 0x80000000L, 90000, 1000, 1316000);
+        RtcpEncoder.writeSourceDescription(buf, SSRC, cnameData);
+        length = buf.readableBytes();
+        buf.release();
+        return length;
+    }
+
+    ////////////////////////////////////////////////////////////
+    // DECODE
+
+    @Benchmark
+    public int decodeLegacy() {
+        byte[] data = new byte[receivedBuf.readableBytes()];
+        receivedBuf.getBytes(receivedBuf.readerIndex(), data);
+
+        int fraction = -1;
+        RtcpCompoundIterator rtcpCompoundIterator = new RtcpCompoundIterator(data);
+        while (rtcpCompoundIterator.hasNext()) {
+            RtcpPacket rtcpPacket = rtcpCompoundIterator.next();
+            if (rtcpPacket.getRtcpHeader().getPacketType() == RtcpType.RECEIVER_REPORT) {
+                RtcpReportBlock rtcpReportBlock = ((RtcpReceiverReport) rtcpPacket.getRtcpFormat()).getReportBlockBySsrc(SSRC);
+                if (rtcpReportBlock != null) {
+                    fraction = rtcpReportBlock.getFraction();
+                }
+            }
+        }
+        return fraction;
+    }
+
+    @Benchmark
+    public int decodeByteBuf() {
+        int fraction = -1;
+        RtcpPacketView rtcpPacketView = new RtcpPacketView().wrap(receivedBuf);
+        while (rtcpPacketView.next()) {
+            if (rtcpPacketView.getPacketType() == RtcpType.RECEIVER_REPORT) {
+                int index = rtcpPacketView.findReportBlock(SSRC);
+                if (index >= 0) {
+                    fraction = rtcpPacketView.getFractionLost(index);
+                }
+            }
+        }
+        return fraction;
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    private RtcpPacket makeLegacySdes(long ssrc) {
+        List<SdesItem> sdesItemList = new ArrayList<>();
+        sdesItemList.add(new SdesItem(SdesType.CNAME, cnameData.length, CNAME));
+        sdesItemList.add(new SdesItem(SdesType.END, 0, null));
+        RtcpSourceDescription rtcpSourceDescription = new RtcpSourceDescription(Arrays.asList(new SdesChunk(ssrc, sdesItemList)));
+        RtcpPacketPaddingResult sdesPaddingResult = RtcpPacket.getPacketLengthByBytes(rtcpSourceDescription.getTotalSdesChunkSize(), true);
+        return new RtcpPacket(new RtcpHeader(2, sdesPaddingResult, 1, RtcpType.SOURCE_DESCRIPTION), rtcpSourceDescription);
+    }
+
+}
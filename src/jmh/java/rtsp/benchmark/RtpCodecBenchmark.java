@@ -0,0 +1,76 @@
+package rtsp.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+import rtsp.config.ConfigManager;
+import rtsp.protocol.RtpPacket;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class RtpCodecBenchmark
+ * @brief RtpPacket 인코딩/디코딩 성능 측정
+ *
+ * - encode : RtpSender 와 같이 7 x 188 bytes TS Payload 로 RTP 패킷을 만들고 송신용 Pooled ByteBuf 에 복사하는 비용
+ * - decode : 수신한 RTP 패킷을 RtpPacket 으로 Unpacking 하는 비용
+ * - 결과
+ *      > Score (ops/us) : 처리량
+ *      > -prof gc 의 gc.alloc.rate.norm (B/op) : 연산 하나당 할당량
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar RtpCodecBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RtpCodecBenchmark {
+
+    private static final int PAYLOAD_SIZE = 7 * 188;
+    private static final long SSRC = 0x12345678L;
+
+    private final RtpPacket rtpPacket = new RtpPacket();
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+
+    private byte[] receivedData;
+    private int seqNum = 0;
+    private long timeStamp = 0;
+
+    ////////////////////////////////////////////////////////////
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < payload.length; i += 188) {
+            payload[i] = 0x47;
+        }
+
+        RtpPacket receivedPacket = new RtpPacket();
+        receivedPacket.setValue(2, 0, 0, 0, 0, ConfigManager.MP2T_TYPE, 1000, 90000, SSRC, payload, payload.length);
+        receivedData = receivedPacket.getData();
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public int encode() {
+        seqNum = (seqNum + 1) & 0xFFFF;
+        timeStamp += 3000;
+        rtpPacket.setValue(2, 0, 0, 0, 0, ConfigManager.MP2T_TYPE, seqNum, timeStamp & 0xFFFFFFFFL, SSRC, payload, payload.length);
+
+        byte[] data = rtpPacket.getData();
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(data.length);
+        buf.writeBytes(data);
+        int length = buf.readableBytes();
+        buf.release();
+        return length;
+    }
+
+    @Benchmark
+    public long decode() {
+        RtpPacket receivedPacket = new RtpPacket(receivedData, receivedData.length);
+        return receivedPacket.getSeqNum() + receivedPacket.getTimeStamp() + receivedPacket.getPayload().length;
+    }
+
+}
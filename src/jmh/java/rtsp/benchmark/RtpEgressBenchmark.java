@@ -0,0 +1,121 @@
+package rtsp.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.openjdk.jmh.annotations.*;
+import rtsp.module.egress.RtpEgress;
+import rtsp.module.egress.RtpEgressFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class RtpEgressBenchmark
+ * @brief RtpEgress 구현체별 RTP 송신 성능 비교
+ *
+ * - 7 x 188 bytes TS + RTP Header (1328 bytes) 패킷을 loopback 으로 송신한다. (수신 소켓은 읽지 않으므로 커널에서 버려진다.)
+ * - RtpSender 와 같이 SEND_BATCH_COUNT 개마다 flush 한다.
+ * - 결과
+ *      > Score (ops/s) : 초당 송신 패킷 수
+ *      > 각 Iteration 마다 [cpu-ms/Gbit] : 1 Gbit 를 송신하는 데 사용한 프로세스 CPU 시간 (EventLoop 스레드 포함)
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar RtpEgressBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RtpEgressBenchmark {
+
+    private static final int PACKET_SIZE = 12 + 7 * 188;
+    private static final int SEND_BATCH_COUNT = 32;
+
+    @Param({RtpEgressFactory.TYPE_NETTY_NIO, RtpEgressFactory.TYPE_NETTY_EPOLL, RtpEgressFactory.TYPE_JDK, RtpEgressFactory.TYPE_NULL})
+    public String egressType;
+
+    private DatagramChannel receiveChannel;
+    private InetSocketAddress remoteAddress;
+    private RtpEgress rtpEgress;
+    private final byte[] packetData = new byte[PACKET_SIZE];
+
+    private long sentBytes;
+    private long iterationStartBytes;
+    private long iterationStartCpuNanos;
+
+    ////////////////////////////////////////////////////////////
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        receiveChannel = DatagramChannel.open();
+        receiveChannel.bind(new InetSocketAddress("127.0.0.1", 0));
+        remoteAddress = (InetSocketAddress) receiveChannel.getLocalAddress();
+
+        rtpEgress = RtpEgressFactory.create(
+                egressType, "bench", 1, 1048576, 1048576,
+                ChannelInboundHandlerAdapter::new
+        );
+        if (!rtpEgress.open(remoteAddress)) {
+            throw new IllegalStateException("Fail to open the egress. (" + egressType + ")");
+        }
+
+        packetData[0] = (byte) 0x80;
+        packetData[1] = 33; // MP2T
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        rtpEgress.release();
+        receiveChannel.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        iterationStartBytes = sentBytes;
+        iterationStartCpuNanos = getProcessCpuNanos();
+    }
+
+    @TearDown(Level.Iteration)
+    public void finishIteration() {
+        long cpuNanos = getProcessCpuNanos() - iterationStartCpuNanos;
+        double gbits = (sentBytes - iterationStartBytes) * 8 / 1e9;
+        if (cpuNanos > 0 && gbits > 0) {
+            System.out.printf(" [%s] cpu-ms/Gbit: %.1f%n", rtpEgress.getName(), (cpuNanos / 1e6) / gbits);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    @Benchmark
+    @OperationsPerInvocation(SEND_BATCH_COUNT)
+    public void sendBatch() {
+        // Netty 대기열이 넘치지 않도록 송신 버퍼에 여유가 생길 때까지 기다린다.
+        while (!rtpEgress.isWritable()) {
+            Thread.yield();
+        }
+
+        for (int i = 0; i < SEND_BATCH_COUNT; i++) {
+            ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(PACKET_SIZE);
+            buf.writeBytes(packetData);
+            rtpEgress.write(buf, remoteAddress);
+        }
+        rtpEgress.flush();
+        sentBytes += (long) SEND_BATCH_COUNT * PACKET_SIZE;
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    private static long getProcessCpuNanos() {
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuTime();
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,64 @@
+package rtsp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rtsp.config.ConfigManager;
+import rtsp.module.sdp.SdpParser;
+import rtsp.module.sdp.base.Sdp;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class public class SdpBenchmark
+ * @brief SDP 생성/파싱 성능 측정
+ *
+ * - loadLocalSdpConfig : DESCRIBE 요청마다 설정으로 로컬 SDP 를 만들고 파싱하는 비용
+ * - parseSdp : 같은 SDP 문자열을 파싱만 하는 비용
+ * - 설정 파일 경로는 -Dbenchmark.config 로 지정한다. (기본값: 저장소 루트 기준 src/resources/config/user_conf.ini)
+ * - 로컬 SDP 를 DEBUG 로그로 출력하므로 로그 설정을 INFO 이상으로 지정해야 로그 비용이 섞이지 않는다.
+ * - 결과
+ *      > Score (ops/us) : 처리량
+ *      > -prof gc 의 gc.alloc.rate.norm (B/op) : 연산 하나당 할당량
+ *
+ * 실행) mvn -P jmh package && java -jar target/benchmarks.jar SdpBenchmark -prof gc -jvmArgsAppend -Dlogback.configurationFile=src/resources/config/logback.xml
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SdpBenchmark {
+
+    private static final String DEFAULT_CONFIG_PATH = "src/resources/config/user_conf.ini";
+    private static final String RTSP_UNIT_ID = "5d5a35c2-5c9e-4b79-9d5a-7ab3e0c1f2d4";
+
+    private ConfigManager configManager;
+    private final SdpParser sdpParser = new SdpParser();
+    private String localSdpStr;
+
+    ////////////////////////////////////////////////////////////
+
+    @Setup
+    public void setup() {
+        configManager = new ConfigManager(System.getProperty("benchmark.config", DEFAULT_CONFIG_PATH));
+
+        Sdp localSdp = configManager.loadLocalSdpConfig(RTSP_UNIT_ID, 5000);
+        if (localSdp == null) {
+            throw new IllegalStateException("Fail to load the local sdp. Check the config path. (-Dbenchmark.config)");
+        }
+        localSdpStr = localSdp.getData(false);
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public Sdp loadLocalSdpConfig() {
+        return configManager.loadLocalSdpConfig(RTSP_UNIT_ID, 5000);
+    }
+
+    @Benchmark
+    public Sdp parseSdp() throws Exception {
+        return sdpParser.parseSdp(RTSP_UNIT_ID, null, null, localSdpStr);
+    }
+
+}
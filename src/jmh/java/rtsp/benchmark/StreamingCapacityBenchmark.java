@@ -0,0 +1,417 @@
+package rtsp.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import rtsp.config.ConfigManager;
+import rtsp.module.PlaybackCursor;
+import rtsp.module.Streamer;
+import rtsp.module.egress.RtpEgress;
+import rtsp.module.egress.RtpEgressFactory;
+import rtsp.module.netty.handler.RtpSender;
+import rtsp.service.AppInstance;
+import rtsp.service.scheduler.metric.LatencyHistogram;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @class public class StreamingCapacityBenchmark
+ * @brief 합성 TS 를 실제 RtpSender/Streamer 경로로 전송해서 코어당 최대 동시 세션 수 (세션 수 x 비트레이트) 를 찾는 측정
+ *
+ * - SyntheticTsGenerator 로 만든 세그먼트를 세션마다 PlaybackCursor 로 감싸서 Streamer 에 설정한다.
+ *      > RtpSender 는 PAUSE 후 재개할 때와 같이 커서를 바로 전송하므로 ffmpeg, M3U8, 미디어 파일이 필요 없다.
+ *      > 세션마다 스레드 하나에서 RtpSender 를 실행한다. (MEDIA 레인의 JobExecutor 와 같다.)
+ * - 송신 계층 (benchmark.egress)
+ *      > NULL : 네트워크 없이 RTP 생성과 PCR 페이싱 비용만 측정한다.
+ *      > NETTY_NIO, NETTY_EPOLL, JDK, AUTO : loopback 소켓으로 송신한다. (수신 소켓은 읽지 않으므로 커널에서 버려진다.)
+ * - 페이싱 오차 : 송신 계층에 넘어간 PCR 패킷의 시간이 PCR 기준 예정 시간보다 늦은 정도
+ *      > RtpSender 는 TS 파일마다 PCR 기준 시간을 새로 잡으므로, PAT 다음 첫 PCR 에서 기준을 다시 잡는다.
+ *      > 밀린 시간은 다시 따라잡지 않으므로 CPU 가 부족하면 오차가 계속 커진다.
+ * - 세션 수를 benchmark.sessions 부터 2 배씩 늘리면서, 페이싱 오차 p99 가 benchmark.threshold 를 넘으면 멈춘다.
+ * - 결과
+ *      > 단계마다 전체 송신 비트레이트 (RTP 헤더 포함), 사용한 CPU (코어 수), 코어당 비트레이트, 페이싱 오차 (p50, p99, max)
+ *      > 마지막으로 통과한 단계의 세션 수 x 비트레이트와 코어당 값
+ *
+ * 실행) mvn -P jmh package && java -Dlogback.configurationFile=<INFO 레벨 설정> -Dbenchmark.egress=NULL -cp target/benchmarks.jar rtsp.benchmark.StreamingCapacityBenchmark
+ *      옵션) -Dbenchmark.config (기본 src/resources/config/user_conf.ini), -Dbenchmark.bitrate (kbps, 기본 4000),
+ *            -Dbenchmark.duration (단계별 sec, 기본 10), -Dbenchmark.sessions (시작 세션 수, 기본 1),
+ *            -Dbenchmark.max_sessions (기본 1024), -Dbenchmark.threshold (ms, 기본 5), -Dbenchmark.warmup (sec, 기본 5)
+ */
+public class StreamingCapacityBenchmark {
+
+    private static final String DEFAULT_CONFIG_PATH = "src/resources/config/user_conf.ini";
+    private static final String RTSP_UNIT_ID = "capacity-bench";
+    private static final String URI = "rtsp://127.0.0.1:8554/bench/synthetic.mp4";
+    private static final String DEST_IP = "127.0.0.1";
+
+    private static final int FPS = 25;
+    private static final int TBN = 90000;
+    private static final double SEGMENT_DURATION = 2.0; // sec
+    private static final int RTP_HEADER_LENGTH = 12;
+
+    private final ConfigManager configManager;
+    private final String egressType;
+    private final int bitrate; // bps
+    private final int durationSec;
+    private final long thresholdNanos;
+
+    private final List<byte[]> segmentList;
+    private DatagramChannel receiveChannel = null;
+    private int destPort = 0;
+
+    ////////////////////////////////////////////////////////////
+
+    public StreamingCapacityBenchmark(ConfigManager configManager, String egressType, int bitrate, int durationSec, long thresholdNanos) {
+        this.configManager = configManager;
+        this.egressType = egressType;
+        this.bitrate = bitrate;
+        this.durationSec = durationSec;
+        this.thresholdNanos = thresholdNanos;
+
+        SyntheticTsGenerator generator = new SyntheticTsGenerator(bitrate, FPS, FPS, SEGMENT_DURATION);
+        segmentList = generator.generate(durationSec);
+        if (!SyntheticTsGenerator.verify(segmentList.get(0))) {
+            throw new IllegalStateException("Fail to verify the synthetic ts segment.");
+        }
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) throws Exception {
+        ConfigManager configManager = new ConfigManager(System.getProperty("benchmark.config", DEFAULT_CONFIG_PATH));
+        AppInstance.getInstance().setConfigManager(configManager);
+
+        String egressType = System.getProperty("benchmark.egress", RtpEgressFactory.TYPE_NULL).toUpperCase();
+        if (!RtpEgressFactory.isValidType(egressType)) {
+            throw new IllegalArgumentException("Unknown egress type. (" + egressType + ")");
+        }
+        int bitrate = Integer.getInteger("benchmark.bitrate", 4000) * 1000;
+        int durationSec = Integer.getInteger("benchmark.duration", 10);
+        int sessionCount = Integer.getInteger("benchmark.sessions", 1);
+        int maxSessionCount = Integer.getInteger("benchmark.max_sessions", 1024);
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("benchmark.threshold", 5));
+        int warmupSec = Integer.getInteger("benchmark.warmup", 5);
+
+        StreamingCapacityBenchmark benchmark = new StreamingCapacityBenchmark(configManager, egressType, bitrate, durationSec, thresholdNanos);
+        benchmark.open();
+        try {
+            System.out.println(format("# egress=%s, bitrate=%.1f Mbps, duration=%ds, threshold(p99)=%.1fms, cpus=%d",
+                    egressType, bitrate / 1e6, durationSec, thresholdNanos / 1e6, Runtime.getRuntime().availableProcessors()));
+
+            if (warmupSec > 0) {
+                System.out.println("# warmup");
+                benchmark.runStep(sessionCount, warmupSec);
+            }
+
+            StepResult lastPassed = null;
+            for (int curSessionCount = sessionCount; curSessionCount <= maxSessionCount; curSessionCount *= 2) {
+                StepResult stepResult = benchmark.runStep(curSessionCount, durationSec);
+                System.out.println(stepResult);
+                if (!stepResult.isPassed()) {
+                    break;
+                }
+                lastPassed = stepResult;
+            }
+
+            if (lastPassed == null) {
+                System.out.println("# max sustainable: none");
+            } else {
+                System.out.println(format("# max sustainable: %d sessions x %.1f Mbps = %.1f Mbps (%.1f Mbps/core, %.1f sessions/core)",
+                        lastPassed.sessionCount, bitrate / 1e6, lastPassed.getSentMbps(),
+                        lastPassed.getMbpsPerCore(), lastPassed.sessionCount / Math.max(lastPassed.getCores(), 1e-3)));
+            }
+        } finally {
+            benchmark.close();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    private void open() throws Exception {
+        if (RtpEgressFactory.TYPE_NULL.equals(egressType)) {
+            destPort = 9; // 송신하지 않는다. (discard)
+            return;
+        }
+
+        receiveChannel = DatagramChannel.open();
+        receiveChannel.bind(new InetSocketAddress(DEST_IP, 0));
+        destPort = ((InetSocketAddress) receiveChannel.getLocalAddress()).getPort();
+    }
+
+    private void close() throws Exception {
+        if (receiveChannel != null) {
+            receiveChannel.close();
+        }
+    }
+
+    /**
+     * @fn private StepResult runStep(int sessionCount, int durationSec)
+     * @brief 지정한 수의 세션을 동시에 전송하고 결과를 반환하는 함수
+     * @param sessionCount 세션 수
+     * @param durationSec 전송할 미디어 길이 (sec)
+     * @return StepResult
+     */
+    private StepResult runStep(int sessionCount, int durationSec) throws Exception {
+        LatencyHistogram latenessHistogram = new LatencyHistogram();
+        LongAdder sentBytes = new LongAdder();
+        int segmentCount = (int) Math.min(segmentList.size(), Math.ceil(durationSec / SEGMENT_DURATION));
+
+        List<Streamer> streamerList = new ArrayList<>(sessionCount);
+        List<PacingProbeEgress> probeList = new ArrayList<>(sessionCount);
+        List<RtpSender> rtpSenderList = new ArrayList<>(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            String sessionId = "bench-" + i;
+            Streamer streamer = new Streamer(RTSP_UNIT_ID, sessionId, DEST_IP, 0);
+            streamer.setUri(URI);
+            streamer.setDestIp(DEST_IP);
+            streamer.setDestPort(destPort);
+
+            PacingProbeEgress probe = new PacingProbeEgress(
+                    RtpEgressFactory.create(
+                            egressType, sessionId,
+                            configManager.getStreamThreadPoolSize(),
+                            configManager.getSendBufSize(),
+                            configManager.getRecvBufSize(),
+                            ChannelInboundHandlerAdapter::new
+                    ),
+                    latenessHistogram, sentBytes
+            );
+            streamer.init(probe);
+
+            // 세그먼트 데이터는 모든 세션이 공유하고, 읽은 위치만 세션마다 따로 가진다.
+            List<InputStream> inputStreamList = new ArrayList<>(segmentCount);
+            for (int j = 0; j < segmentCount; j++) {
+                inputStreamList.add(new ByteArrayInputStream(segmentList.get(j)));
+            }
+            streamer.setPlaybackCursor(new PlaybackCursor(sessionId, inputStreamList, FPS, TBN, 0));
+
+            streamerList.add(streamer);
+            probeList.add(probe);
+            rtpSenderList.add(new RtpSender(
+                    sessionId, 0, 0, TimeUnit.MILLISECONDS, 0, 1, false,
+                    null, streamer.getVideo(), 0, 0, 0,
+                    null, streamer, destPort
+            ));
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(sessionCount, r -> {
+            Thread thread = new Thread(r, "bench-sender-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 세션들이 같은 순간에 깨어나지 않도록 프레임 간격 안에서 시작 시간을 나눈다.
+        long frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / FPS;
+        long startCpuNanos = getProcessCpuNanos();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < sessionCount; i++) {
+            RtpSender rtpSender = rtpSenderList.get(i);
+            long startDelayNanos = frameIntervalNanos * i / sessionCount;
+            executor.execute(() -> {
+                LockSupport.parkNanos(startDelayNanos);
+                rtpSender.run();
+            });
+        }
+
+        executor.shutdown();
+        boolean isFinished = executor.awaitTermination(durationSec * 2L + 30, TimeUnit.SECONDS);
+        long elapsedNanos = System.nanoTime() - startTime;
+        long cpuNanos = getProcessCpuNanos() - startCpuNanos;
+
+        if (!isFinished) {
+            for (Streamer streamer : streamerList) {
+                streamer.setPaused(true);
+            }
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        for (PacingProbeEgress probe : probeList) {
+            probe.release();
+        }
+
+        return new StepResult(sessionCount, bitrate, isFinished, elapsedNanos, cpuNanos, sentBytes.sum(), latenessHistogram, thresholdNanos);
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    private static long getProcessCpuNanos() {
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuTime();
+        }
+        return 0;
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    ////////////////////////////////////////////////////////////
+
+    /**
+     * @class private static class PacingProbeEgress implements RtpEgress
+     * @brief RtpSender 가 넘긴 RTP 패킷의 PCR 로 페이싱 오차를 기록하고 실제 RtpEgress 로 넘기는 클래스
+     * 세션마다 하나씩 만들고 RtpSender 스레드에서만 write() 하므로 기준 시간은 동기화하지 않는다.
+     */
+    private static class PacingProbeEgress implements RtpEgress {
+
+        private final RtpEgress rtpEgress;
+        private final LatencyHistogram latenessHistogram;
+        private final LongAdder sentBytes;
+
+        private boolean isAnchorReset = true;
+        private long anchorTime = 0;
+        private long anchorPcrValue = 0;
+
+        private PacingProbeEgress(RtpEgress rtpEgress, LatencyHistogram latenessHistogram, LongAdder sentBytes) {
+            this.rtpEgress = rtpEgress;
+            this.latenessHistogram = latenessHistogram;
+            this.sentBytes = sentBytes;
+        }
+
+        @Override
+        public boolean open(InetSocketAddress remoteAddress) {
+            return rtpEgress.open(remoteAddress);
+        }
+
+        @Override
+        public boolean isActive() {
+            return rtpEgress.isActive();
+        }
+
+        @Override
+        public boolean isWritable() {
+            return rtpEgress.isWritable();
+        }
+
+        @Override
+        public void write(ByteBuf buf, InetSocketAddress remoteAddress) {
+            if (buf != null && buf.readableBytes() >= RTP_HEADER_LENGTH + SyntheticTsGenerator.TS_PACKET_SIZE) {
+                sentBytes.add(buf.readableBytes());
+                probe(buf, buf.readerIndex() + RTP_HEADER_LENGTH);
+            }
+            rtpEgress.write(buf, remoteAddress);
+        }
+
+        private void probe(ByteBuf buf, int offset) {
+            int pid = ((buf.getUnsignedByte(offset + 1) & 0x1f) << 8) | buf.getUnsignedByte(offset + 2);
+            if (pid == 0) {
+                isAnchorReset = true; // 다음 TS 파일
+                return;
+            }
+
+            if ((buf.getUnsignedByte(offset + 3) & 0x20) == 0
+                    || buf.getUnsignedByte(offset + 4) < 7
+                    || (buf.getUnsignedByte(offset + 5) & 0x10) == 0) {
+                return;
+            }
+
+            long base = (buf.getUnsignedInt(offset + 6) << 1) | (buf.getUnsignedByte(offset + 10) >> 7);
+            long extension = ((buf.getUnsignedByte(offset + 10) & 0x01L) << 8) | buf.getUnsignedByte(offset + 11);
+            long pcrValue = base * 300 + extension;
+            long now = System.nanoTime();
+
+            if (isAnchorReset) {
+                isAnchorReset = false;
+                anchorTime = now;
+                anchorPcrValue = pcrValue;
+                return;
+            }
+
+            long scheduledNanos = (pcrValue - anchorPcrValue) * 1000 / 27; // 27MHz > ns
+            latenessHistogram.record((now - anchorTime) - scheduledNanos);
+        }
+
+        @Override
+        public void flush() {
+            rtpEgress.flush();
+        }
+
+        @Override
+        public void close() {
+            rtpEgress.close();
+        }
+
+        @Override
+        public void release() {
+            rtpEgress.release();
+        }
+
+        @Override
+        public String getName() {
+            return rtpEgress.getName();
+        }
+
+    }
+
+    /**
+     * @class private static class StepResult
+     * @brief 세션 수 단계 하나의 측정 결과
+     */
+    private static class StepResult {
+
+        private final int sessionCount;
+        private final int bitrate;
+        private final boolean isFinished;
+        private final long elapsedNanos;
+        private final long cpuNanos;
+        private final long sentBytes;
+        private final LatencyHistogram latenessHistogram;
+        private final long thresholdNanos;
+
+        private StepResult(int sessionCount, int bitrate, boolean isFinished, long elapsedNanos, long cpuNanos,
+                           long sentBytes, LatencyHistogram latenessHistogram, long thresholdNanos) {
+            this.sessionCount = sessionCount;
+            this.bitrate = bitrate;
+            this.isFinished = isFinished;
+            this.elapsedNanos = elapsedNanos;
+            this.cpuNanos = cpuNanos;
+            this.sentBytes = sentBytes;
+            this.latenessHistogram = latenessHistogram;
+            this.thresholdNanos = thresholdNanos;
+        }
+
+        private boolean isPassed() {
+            return isFinished && latenessHistogram.getCount() > 0 && latenessHistogram.getPercentile(99) <= thresholdNanos;
+        }
+
+        private double getSentMbps() {
+            return elapsedNanos > 0 ? sentBytes * 8.0 * 1e3 / elapsedNanos : 0; // bits / us
+        }
+
+        private double getCores() {
+            return elapsedNanos > 0 ? (double) cpuNanos / elapsedNanos : 0;
+        }
+
+        private double getMbpsPerCore() {
+            double cores = getCores();
+            return cores > 0 ? getSentMbps() / cores : 0;
+        }
+
+        @Override
+        public String toString() {
+            return format("sessions=%-5d target=%8.1f Mbps, sent=%8.1f Mbps, cpu=%5.2f cores, %8.1f Mbps/core, lateness(ms) p50=%.2f p99=%.2f max=%.2f > %s",
+                    sessionCount, sessionCount * bitrate / 1e6, getSentMbps(), getCores(), getMbpsPerCore(),
+                    latenessHistogram.getPercentile(50) / 1e6,
+                    latenessHistogram.getPercentile(99) / 1e6,
+                    latenessHistogram.getMax() / 1e6,
+                    !isFinished ? "TIMEOUT" : (isPassed() ? "PASS" : "FAIL")
+            );
+        }
+
+    }
+
+}
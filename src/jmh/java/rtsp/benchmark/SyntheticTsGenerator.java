@@ -0,0 +1,247 @@
+package rtsp.benchmark;
+
+import rtsp.module.mpegts.content.MpegTsPacket;
+import rtsp.module.mpegts.content.PATSection;
+import rtsp.module.mpegts.content.PMTSection;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @class public class SyntheticTsGenerator
+ * @brief 지정한 비트레이트의 MPEG-TS 세그먼트를 만드는 클래스 (ffmpeg, 미디어 파일 없이 RtpSender 경로를 시험할 때 사용)
+ *
+ * - 세그먼트마다 PAT, PMT 를 먼저 넣고, 영상 PID 로 프레임 단위 패킷을 채운다.
+ *      > 프레임의 첫 패킷은 Adaptation field 에 PCR 을 넣는다. (GOP 의 첫 프레임은 RAI 도 설정)
+ *      > 나머지 패킷은 Payload 만 있는 패킷이다.
+ * - PCR 은 세그먼트 사이에서도 이어진다. (HLS 세그먼트와 같다.)
+ * - 패킷은 MpegTsPacket.write() 로 만들고, PAT/PMT 는 PATSection/PMTSection 으로 다시 파싱해서 확인한다.
+ */
+public class SyntheticTsGenerator {
+
+    public static final int TS_PACKET_SIZE = 188;
+    public static final int PMT_PID = 0x1000;
+    public static final int VIDEO_PID = 0x100;
+    public static final int PCR_CLOCK_RATE = 27000000;
+
+    private static final int TS_PAYLOAD_SIZE = TS_PACKET_SIZE - 4;
+    private static final int PCR_ADAPTATION_FIELD_SIZE = 1 + 1 + 6; // length + flags + PCR
+    private static final long FIRST_PCR_VALUE = 10L * PCR_CLOCK_RATE; // PCR 0 은 피한다.
+
+    private final int bitrate; // bps
+    private final int fps;
+    private final int gop; // frames
+    private final double segmentDuration; // sec
+
+    private int patContinuityCounter = 0;
+    private int pmtContinuityCounter = 0;
+    private int videoContinuityCounter = 0;
+    private long frameIndex = 0;
+    private double packetRemainder = 0;
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public SyntheticTsGenerator(int bitrate, int fps, int gop, double segmentDuration)
+     * @brief SyntheticTsGenerator 생성자 함수
+     * @param bitrate TS 비트레이트 (bps, PSI 포함)
+     * @param fps 초당 프레임 수 (PCR 간격)
+     * @param gop GOP 길이 (프레임 수)
+     * @param segmentDuration 세그먼트 길이 (sec)
+     */
+    public SyntheticTsGenerator(int bitrate, int fps, int gop, double segmentDuration) {
+        if (bitrate <= 0 || fps <= 0 || gop <= 0 || segmentDuration <= 0) {
+            throw new IllegalArgumentException("bitrate, fps, gop and segmentDuration should be positive.");
+        }
+
+        this.bitrate = bitrate;
+        this.fps = fps;
+        this.gop = gop;
+        this.segmentDuration = segmentDuration;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public List<byte[]> generate(double duration)
+     * @brief 지정한 길이 만큼의 세그먼트 목록을 만드는 함수 (이전 호출에서 이어진다.)
+     * @param duration 전체 길이 (sec)
+     * @return 세그먼트 목록 (세그먼트마다 188 bytes 배수)
+     */
+    public List<byte[]> generate(double duration) {
+        int segmentCount = Math.max(1, (int) Math.ceil(duration / segmentDuration));
+        int framesPerSegment = Math.max(1, (int) Math.round(segmentDuration * fps));
+
+        List<byte[]> segmentList = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segmentList.add(generateSegment(framesPerSegment));
+        }
+        return segmentList;
+    }
+
+    private byte[] generateSegment(int frameCount) {
+        double packetsPerFrame = (double) bitrate / 8 / TS_PACKET_SIZE / fps;
+
+        List<ByteBuffer> packetList = new ArrayList<>();
+        packetList.add(newPsiPacket(0, patContinuityCounter++, getPatSection()));
+        packetList.add(newPsiPacket(PMT_PID, pmtContinuityCounter++, getPmtSection()));
+
+        for (int i = 0; i < frameCount; i++) {
+            // 소수점 아래 패킷 수는 다음 프레임으로 넘긴다. (PAT, PMT 는 첫 프레임에 포함)
+            packetRemainder += packetsPerFrame;
+            int packetCount = Math.max(1, (int) packetRemainder);
+            packetRemainder -= packetCount;
+            if (i == 0) {
+                packetCount = Math.max(1, packetCount - 2);
+            }
+
+            long pcrValue = FIRST_PCR_VALUE + frameIndex * PCR_CLOCK_RATE / fps;
+            packetList.add(newPcrPacket(videoContinuityCounter++, pcrValue, frameIndex % gop == 0));
+            for (int j = 1; j < packetCount; j++) {
+                packetList.add(newPayloadPacket(videoContinuityCounter++));
+            }
+            frameIndex++;
+        }
+
+        byte[] segment = new byte[packetList.size() * TS_PACKET_SIZE];
+        for (int i = 0; i < packetList.size(); i++) {
+            packetList.get(i).get(segment, i * TS_PACKET_SIZE, TS_PACKET_SIZE);
+        }
+        return segment;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    private static ByteBuffer newPsiPacket(int pid, int continuityCounter, byte[] section) {
+        ByteBuffer payload = ByteBuffer.allocate(TS_PAYLOAD_SIZE);
+        payload.put((byte) 0); // pointer field
+        payload.put(section);
+        while (payload.hasRemaining()) {
+            payload.put((byte) 0xFF); // stuffing
+        }
+
+        MpegTsPacket packet = new MpegTsPacket(false, true, false, pid, 0, continuityCounter & 0x0f);
+        packet.setContainsPayload(true);
+        packet.setPayload(payload);
+        return packet.getBuffer();
+    }
+
+    private static ByteBuffer newPcrPacket(int continuityCounter, long pcrValue, boolean isRandomAccess) {
+        MpegTsPacket packet = new MpegTsPacket(false, true, false, VIDEO_PID, 0, continuityCounter & 0x0f);
+        MpegTsPacket.AdaptationField.PCR pcr = new MpegTsPacket.AdaptationField.PCR(
+                null, pcrValue / 300, (int) (pcrValue % 300), (byte) 0x3F
+        );
+        packet.setAdaptationField(new MpegTsPacket.AdaptationField(
+                packet, false, isRandomAccess, false,
+                true, false, false, false, false,
+                pcr, null, (byte) 0, null, null
+        ));
+        packet.setAdaptationFieldExist(true);
+        packet.setContainsPayload(true);
+        packet.setPayload(newVideoPayload(TS_PAYLOAD_SIZE - PCR_ADAPTATION_FIELD_SIZE));
+        return packet.getBuffer();
+    }
+
+    private static ByteBuffer newPayloadPacket(int continuityCounter) {
+        MpegTsPacket packet = new MpegTsPacket(false, false, false, VIDEO_PID, 0, continuityCounter & 0x0f);
+        packet.setContainsPayload(true);
+        packet.setPayload(newVideoPayload(TS_PAYLOAD_SIZE));
+        return packet.getBuffer();
+    }
+
+    private static ByteBuffer newVideoPayload(int size) {
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) i;
+        }
+        return ByteBuffer.wrap(payload);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @fn public static byte[] getPatSection()
+     * @brief 프로그램 하나 (1 > PMT_PID) 를 가진 PAT section 을 반환하는 함수
+     */
+    public static byte[] getPatSection() {
+        return withCrc(new byte[] {
+                0x00, (byte) 0xB0, 13,
+                0x00, 0x01, (byte) 0xC1, 0x00, 0x00,
+                0x00, 0x01, (byte) (0xE0 | (PMT_PID >> 8)), (byte) PMT_PID,
+                0x00, 0x00, 0x00, 0x00 // CRC
+        });
+    }
+
+    /**
+     * @fn public static byte[] getPmtSection()
+     * @brief H.264 스트림 하나 (PCR PID = VIDEO_PID) 를 가진 PMT section 을 반환하는 함수
+     */
+    public static byte[] getPmtSection() {
+        return withCrc(new byte[] {
+                0x02, (byte) 0xB0, 18,
+                0x00, 0x01, (byte) 0xC1, 0x00, 0x00,
+                (byte) (0xE0 | (VIDEO_PID >> 8)), (byte) VIDEO_PID, (byte) 0xF0, 0x00,
+                0x1B, (byte) (0xE0 | (VIDEO_PID >> 8)), (byte) VIDEO_PID, (byte) 0xF0, 0x00,
+                0x00, 0x00, 0x00, 0x00 // CRC
+        });
+    }
+
+    /**
+     * @fn public static boolean verify(byte[] segment)
+     * @brief 세그먼트의 첫 PAT, PMT 를 PATSection, PMTSection 으로 파싱해서 확인하는 함수
+     * @param segment 세그먼트
+     * @return PAT 가 PMT_PID 를 가리키고 PMT 의 PCR PID 가 VIDEO_PID 이면 true 반환
+     */
+    public static boolean verify(byte[] segment) {
+        MpegTsPacket patPacket = new MpegTsPacket(ByteBuffer.wrap(segment, 0, TS_PACKET_SIZE).slice());
+        ByteBuffer patPayload = patPacket.getPayload();
+        patPayload.position(1 + (patPayload.get(0) & 0xff));
+        PATSection patSection = PATSection.parse(patPayload);
+        if (patSection == null || !Integer.valueOf(PMT_PID).equals(patSection.getPrograms().get(1))) {
+            return false;
+        }
+
+        MpegTsPacket pmtPacket = new MpegTsPacket(ByteBuffer.wrap(segment, TS_PACKET_SIZE, TS_PACKET_SIZE).slice());
+        ByteBuffer pmtPayload = pmtPacket.getPayload();
+        pmtPayload.position(1 + (pmtPayload.get(0) & 0xff));
+        return pmtPacket.getPid() == PMT_PID && PMTSection.parse(pmtPayload).getPcrPid() == VIDEO_PID;
+    }
+
+    // CRC-32/MPEG-2 (PSI section)
+    private static byte[] withCrc(byte[] section) {
+        int crc = 0xFFFFFFFF;
+        for (int i = 0; i < section.length - 4; i++) {
+            crc ^= (section[i] & 0xff) << 24;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04C11DB7 : crc << 1;
+            }
+        }
+
+        int index = section.length - 4;
+        section[index] = (byte) (crc >>> 24);
+        section[index + 1] = (byte) (crc >>> 16);
+        section[index + 2] = (byte) (crc >>> 8);
+        section[index + 3] = (byte) crc;
+        return section;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+
+    public int getBitrate() {
+        return bitrate;
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    public int getGop() {
+        return gop;
+    }
+
+    public double getSegmentDuration() {
+        return segmentDuration;
+    }
+
+}